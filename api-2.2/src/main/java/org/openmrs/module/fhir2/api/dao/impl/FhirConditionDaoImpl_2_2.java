@@ -144,6 +144,10 @@ public class FhirConditionDaoImpl_2_2 extends BaseFhirDao<Condition> implements
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
 			switch (entry.getKey()) {
+				case FhirConstants.PATIENT_ID_SEARCH_HANDLER:
+					entry.getValue().forEach(
+					    param -> handlePatientId("patient", (Integer) param.getParam()).ifPresent(criteria::add));
+					break;
 				case FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue()
 					        .forEach(param -> handlePatientReference(criteria, (ReferenceAndListParam) param.getParam()));
@@ -183,6 +187,11 @@ public class FhirConditionDaoImpl_2_2 extends BaseFhirDao<Condition> implements
 		        .ifPresent(criteria::add);
 	}
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("patient.names", "patient.identifiers");
+	}
+	
 	@Override
 	public Condition saveCondition(Condition condition) {
 		Session session = getSessionFactory().getCurrentSession();
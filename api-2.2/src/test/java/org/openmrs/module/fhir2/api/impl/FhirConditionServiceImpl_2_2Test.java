@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.SortSpec;
@@ -104,6 +105,17 @@ public class FhirConditionServiceImpl_2_2Test {
 		assertThat(condition.getId(), equalTo(CONDITION_UUID));
 	}
 	
+	@Test
+	public void shouldSetVersionIdOfCondition() {
+		when(dao.get(CONDITION_UUID)).thenReturn(openmrsCondition);
+		when(dao.getLastUpdated(openmrsCondition)).thenReturn(new Date(1000L));
+		when(conditionTranslator.toFhirResource(openmrsCondition)).thenReturn(fhirCondition);
+		
+		org.hl7.fhir.r4.model.Condition condition = conditionService.get(CONDITION_UUID);
+		
+		assertThat(condition.getMeta().getVersionId(), equalTo("1000"));
+	}
+	
 	@Test
 	public void whenGetConditionByWrongUuidShouldReturnNull() {
 		assertThat(conditionService.get(WRONG_CONDITION_UUID), nullValue());
@@ -162,7 +174,7 @@ public class FhirConditionServiceImpl_2_2Test {
 		when(conditionTranslator.toFhirResource(openmrsCondition)).thenReturn(fhirCondition);
 		
 		IBundleProvider result = conditionService.searchConditions(patientReference, codeList, clinicalList, onsetDate,
-		    onsetAge, recordDate, sort);
+		    onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
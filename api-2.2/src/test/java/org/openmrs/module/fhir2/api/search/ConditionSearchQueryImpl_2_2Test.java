@@ -37,9 +37,11 @@ import ca.uhn.fhir.rest.param.TokenParam;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.Condition;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirConditionDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -56,6 +58,8 @@ public class ConditionSearchQueryImpl_2_2Test extends BaseModuleContextSensitive
 	
 	private static final String CONDITION_INITIAL_DATA_XML = "org/openmrs/module/fhir2/api/dao/impl/FhirConditionDaoImplTest_initial_data.xml";
 	
+	private static final String STATEMENT_BUDGET_DATA_XML = "org/openmrs/module/fhir2/api/search/StatementBudgetData_2_2.xml";
+	
 	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
 	
 	private static final String PATIENT_WRONG_UUID = "c2299800-cca9-11e0-9572-abcdef0c9a66";
@@ -124,6 +128,9 @@ public class ConditionSearchQueryImpl_2_2Test extends BaseModuleContextSensitive
 	@Autowired
 	private CalendarFactory calendarFactory;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Before
 	public void setup() {
 		executeDataSet(CONDITION_INITIAL_DATA_XML);
@@ -846,4 +853,18 @@ public class ConditionSearchQueryImpl_2_2Test extends BaseModuleContextSensitive
 		assertThat(resultList.size(), greaterThanOrEqualTo(1));
 	}
 	
+	@Test
+	public void searchForConditions_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		executeDataSet(STATEMENT_BUDGET_DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.CONDITION);
+		
+		queryCount.assertStatementsPerResult(0, StatementBudgetData.PAGE_SIZE, "Condition search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
+	
 }
@@ -9,7 +9,10 @@
  */
 package org.openmrs.module.fhir2;
 
+import lombok.Getter;
 import org.openmrs.module.BaseModuleActivator;
+import org.openmrs.module.DaemonToken;
+import org.openmrs.module.DaemonTokenAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,10 +20,18 @@ import org.slf4j.LoggerFactory;
  * This class contains the logic that is run every time this module is either started or shutdown
  */
 @SuppressWarnings("unused")
-public class FhirActivator extends BaseModuleActivator {
+public class FhirActivator extends BaseModuleActivator implements DaemonTokenAware {
 	
 	private static final Logger log = LoggerFactory.getLogger(FhirActivator.class);
 	
+	@Getter
+	private static DaemonToken daemonToken;
+	
+	@Override
+	public void setDaemonToken(DaemonToken token) {
+		daemonToken = token;
+	}
+	
 	@Override
 	public void started() {
 		log.info("Started FHIR");
@@ -98,6 +98,24 @@ public class FhirConstants {
 	
 	public static final String OPENMRS_FHIR_MAXIMUM_PAGE_SIZE = "fhir2.paging.maximum";
 	
+	public static final String CREDENTIAL_CACHE_TTL_PROPERTY = "fhir2.credentialCache.ttlSeconds";
+	
+	public static final String BEARER_TOKENS_ENABLED_PROPERTY = "fhir2.bearerTokens.enabled";
+	
+	public static final String BEARER_TOKEN_TTL_PROPERTY = "fhir2.bearerTokens.ttlSeconds";
+	
+	public static final String QUERY_COUNT_REPEAT_THRESHOLD_PROPERTY = "fhir2.queryCount.repeatThreshold";
+	
+	public static final String RENDERED_RESOURCE_CACHE_SIZE_PROPERTY = "fhir2.renderedResourceCache.maxSizeMb";
+	
+	public static final String MATERIALIZED_RESOURCES_ENABLED_PROPERTY = "fhir2.materializedResources.enabled";
+	
+	public static final String SEARCH_INDEX_MODE_PROPERTY = "fhir2.searchIndex.mode";
+	
+	public static final String SUBSCRIPTION_ALLOWED_ENDPOINTS_PROPERTY = "fhir2.subscriptions.allowedEndpoints";
+	
+	public static final String MANAGE_SUBSCRIPTIONS_PRIVILEGE = "Manage FHIR Subscriptions";
+	
 	public static final String ALLERGY_INTOLERANCE = "AllergyIntolerance";
 	
 	public static final String ENCOUNTER = "Encounter";
@@ -122,6 +140,8 @@ public class FhirConstants {
 	
 	public static final String TASK = "Task";
 	
+	public static final String SUBSCRIPTION = "Subscription";
+	
 	public static final String MEDICATION = "Medication";
 	
 	public static final String DIAGNOSTIC_REPORT_CATEGORY_LAB = "LAB";
@@ -186,6 +206,8 @@ public class FhirConstants {
 	
 	public static final String FAMILY_PROPERTY = "family.property";
 	
+	public static final String PHONETIC_PROPERTY = "phonetic.property";
+	
 	public static final String CITY_PROPERTY = "city.property";
 	
 	public static final String COUNTRY_PROPERTY = "country.property";
@@ -223,4 +245,14 @@ public class FhirConstants {
 	public static final String BASED_ON_REFERENCE_SEARCH_HANDLER = "based.on.reference.search.handler";
 	
 	public static final String OWNER_REFERENCE_SEARCH_HANDLER = "owner.reference.search.handler";
+	
+	public static final String PATIENT_ID_SEARCH_HANDLER = "patient.id.search.handler";
+	
+	public static final String COMMON_SEARCH_HANDLER = "common.search.handler";
+	
+	public static final String LAST_UPDATED_PROPERTY = "_lastUpdated.property";
+	
+	public static final String ID_PROPERTY = "_id.property";
+	
+	public static final String LASTN_OBSERVATION_SEARCH_HANDLER = "lastn.observation.search.handler";
 }
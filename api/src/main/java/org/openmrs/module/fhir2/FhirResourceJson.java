@@ -0,0 +1,61 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The JSON of a FHIR resource as last translated from the OpenMRS object it represents, together
+ * with the version of that object it was translated from
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_resource_json")
+public class FhirResourceJson implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "resource_json_id")
+	private Integer id;
+	
+	@Column(name = "resource_type", nullable = false, length = 50)
+	private String resourceType;
+	
+	@Column(name = "uuid", nullable = false, length = 38)
+	private String uuid;
+	
+	@Column(name = "version_id", nullable = false, length = 50)
+	private String versionId;
+	
+	@Column(name = "last_updated")
+	private Date lastUpdated;
+	
+	@Lob
+	@Column(name = "body", nullable = false)
+	private String body;
+}
@@ -0,0 +1,54 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to an object many resources depend on, e.g., a concept, whose search index rows are
+ * recreated in the background. Rows are written and read in bulk by the search index, see
+ * {@link org.openmrs.module.fhir2.api.dao.FhirSearchIndexDao}.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_search_index_queue")
+public class FhirSearchIndexQueueEntry implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// rows are inserted by native SQL, so the database must generate the id
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "search_index_queue_id")
+	private Long id;
+	
+	/**
+	 * The kind of the changed object or REBUILD if the whole index must be rebuilt
+	 */
+	@Column(name = "dependency", nullable = false, length = 50)
+	private String dependency;
+	
+	@Column(name = "object_id", nullable = false)
+	private Integer objectId;
+}
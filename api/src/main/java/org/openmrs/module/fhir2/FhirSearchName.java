@@ -0,0 +1,53 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The normalized form of one person name, i.e., lower-cased and with accents removed, so that name
+ * searches can be answered by indexed comparisons. Rows are written in bulk by the search index, so
+ * this is only mapped to allow searches to query them.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_search_name")
+public class FhirSearchName implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@Column(name = "person_name_id")
+	private Integer personNameId;
+	
+	@Column(name = "person_id", nullable = false)
+	private Integer personId;
+	
+	@Column(name = "given_name", length = 50)
+	private String givenName;
+	
+	@Column(name = "middle_name", length = 50)
+	private String middleName;
+	
+	@Column(name = "family_name", length = 50)
+	private String familyName;
+}
@@ -0,0 +1,51 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One phonetic code of a word in any part of a {@link FhirSearchName}, used to answer phonetic name
+ * searches with an equality lookup. Rows are written in bulk by the search index, so this is only
+ * mapped to allow searches to query them.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_search_name_phonetic")
+public class FhirSearchNamePhonetic implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// rows are inserted by native SQL, so the database must generate the id
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "search_name_phonetic_id")
+	private Long id;
+	
+	@Column(name = "person_name_id", nullable = false)
+	private Integer personNameId;
+	
+	@Column(name = "code", nullable = false, length = 10)
+	private String code;
+}
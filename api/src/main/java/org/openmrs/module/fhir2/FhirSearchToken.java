@@ -0,0 +1,63 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One value of a token search parameter of a resource, e.g., one coding of the code of an
+ * Observation. Rows are written in bulk by the search index, so this is only mapped to allow
+ * searches to query them.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_search_token")
+public class FhirSearchToken implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// rows are inserted by native SQL, so the database must generate the id
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "search_token_id")
+	private Long id;
+	
+	@Column(name = "resource_type", nullable = false, length = 50)
+	private String resourceType;
+	
+	/**
+	 * The primary key of the OpenMRS object behind the resource
+	 */
+	@Column(name = "resource_id", nullable = false)
+	private Integer resourceId;
+	
+	@Column(name = "param_name", nullable = false, length = 50)
+	private String paramName;
+	
+	@Column(name = "token_system")
+	private String system;
+	
+	@Column(name = "token_value", nullable = false)
+	private String value;
+}
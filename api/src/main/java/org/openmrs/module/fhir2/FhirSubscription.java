@@ -0,0 +1,105 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.util.Date;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.openmrs.BaseOpenmrsMetadata;
+
+/**
+ * FHIR Subscription - https://www.hl7.org/fhir/R4/subscription.html
+ */
+@Data(staticConstructor = "of")
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+@Entity
+@Table(name = "fhir_subscription")
+public class FhirSubscription extends BaseOpenmrsMetadata {
+	
+	// Based on https://www.hl7.org/fhir/R4/valueset-subscription-status.html
+	public enum SubscriptionStatus {
+		REQUESTED,
+		ACTIVE,
+		ERROR,
+		OFF
+	}
+	
+	// Based on https://www.hl7.org/fhir/R4/valueset-subscription-channel-type.html
+	public enum ChannelType {
+		REST_HOOK,
+		WEBSOCKET
+	}
+	
+	private static final long serialVersionUID = 1L;
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "subscription_id")
+	private Integer id;
+	
+	@Column(name = "status", nullable = false)
+	@Enumerated(EnumType.STRING)
+	private SubscriptionStatus status;
+	
+	/**
+	 * The search criteria which resources must match to trigger a notification, e.g.
+	 * Observation?code=5089AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
+	 */
+	@Column(name = "criteria", nullable = false)
+	private String criteria;
+	
+	@Column(name = "channel_type", nullable = false)
+	@Enumerated(EnumType.STRING)
+	private ChannelType channelType;
+	
+	/**
+	 * The url notifications are sent to; only used by rest-hook subscriptions
+	 */
+	@Column(name = "endpoint")
+	private String endpoint;
+	
+	/**
+	 * The mime type of the notification payload; if this is empty, notifications do not include the
+	 * resource
+	 */
+	@Column(name = "payload")
+	private String payload;
+	
+	/**
+	 * Additional headers to send with rest-hook notifications, one "Name: value" pair per line
+	 */
+	@Column(name = "headers")
+	private String headers;
+	
+	/**
+	 * The time at which the subscription stops delivering notifications
+	 */
+	@Column(name = "end_date")
+	private Date end;
+	
+	/**
+	 * The latest error reported for this subscription
+	 */
+	@Column(name = "error")
+	private String error;
+}
@@ -18,5 +18,5 @@ public interface FhirAllergyIntoleranceService extends FhirService<AllergyIntole
 	
 	IBundleProvider searchForAllergies(ReferenceAndListParam patientReference, TokenAndListParam category,
 	        TokenAndListParam allergen, TokenAndListParam severity, TokenAndListParam manifestationCode,
-	        TokenAndListParam clinicalStatus);
+	        TokenAndListParam clinicalStatus, TokenAndListParam id);
 }
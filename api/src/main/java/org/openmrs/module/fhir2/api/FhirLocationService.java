@@ -20,5 +20,5 @@ public interface FhirLocationService extends FhirService<Location> {
 	
 	IBundleProvider searchForLocations(StringAndListParam name, StringAndListParam city, StringAndListParam country,
 	        StringAndListParam postalCode, StringAndListParam state, TokenAndListParam tag, ReferenceAndListParam parent,
-	        SortSpec sort);
+	        TokenAndListParam id, SortSpec sort);
 }
@@ -23,5 +23,5 @@ public interface FhirMedicationRequestService extends FhirService<MedicationRequ
 	
 	IBundleProvider searchForMedicationRequests(ReferenceAndListParam patientReference,
 	        ReferenceAndListParam encounterReference, TokenAndListParam code, ReferenceAndListParam participantReference,
-	        ReferenceAndListParam medicationReference);
+	        ReferenceAndListParam medicationReference, TokenAndListParam id);
 }
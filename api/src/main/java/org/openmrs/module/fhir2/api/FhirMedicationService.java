@@ -17,6 +17,6 @@ import org.hl7.fhir.r4.model.Medication;
 public interface FhirMedicationService extends FhirService<Medication> {
 	
 	Collection<Medication> searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
-	        TokenAndListParam ingredientCode, TokenAndListParam status);
+	        TokenAndListParam ingredientCode, TokenAndListParam status, TokenAndListParam id);
 	
 }
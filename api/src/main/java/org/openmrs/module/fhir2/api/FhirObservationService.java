@@ -18,8 +18,10 @@ import ca.uhn.fhir.rest.param.QuantityAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Parameters;
 
 public interface FhirObservationService extends FhirService<Observation> {
 	
@@ -28,5 +30,50 @@ public interface FhirObservationService extends FhirService<Observation> {
 	IBundleProvider searchForObservations(ReferenceAndListParam encounterReference, ReferenceAndListParam patientReference,
 	        ReferenceParam hasMemberReference, TokenAndListParam valueConcept, DateRangeParam valueDateParam,
 	        QuantityAndListParam valueQuantityParam, StringAndListParam valueStringParam, DateRangeParam date,
-	        TokenAndListParam code, TokenAndListParam category, SortSpec sort);
+	        TokenAndListParam code, TokenAndListParam category, TokenAndListParam id, SortSpec sort);
+	
+	/**
+	 * Implements the Observation $lastn operation, i.e., returns the most recent observations of each
+	 * code for each patient, newest first
+	 *
+	 * @param max the number of observations to return for each code; defaults to 1
+	 * @param patientReference the patients whose observations are returned; required
+	 * @param category if specified, only observations in these categories are returned
+	 * @param code if specified, only observations with these codes are returned
+	 * @return an {@link IBundleProvider} over the latest observations
+	 */
+	IBundleProvider getLastnObservations(Integer max, ReferenceAndListParam patientReference, TokenAndListParam category,
+	        TokenAndListParam code);
+	
+	/**
+	 * Implements the Observation $stats operation, i.e., summarises the numeric values of the matching
+	 * observations for each code and interval
+	 *
+	 * @param patientReference the patient whose observations are summarised; must be the id of exactly
+	 *            one patient
+	 * @param code the codes of the observations to summarise
+	 * @param period if specified, only observations made in this period are summarised
+	 * @param statistic the statistics to calculate; defaults to all supported statistics
+	 * @param interval if specified, one of day, week or month to summarise the values for each such
+	 *            interval; otherwise the values of each code are summarised for the whole period
+	 * @return a {@link Parameters} resource containing an Observation for each code and interval
+	 */
+	Parameters getStatistics(ReferenceAndListParam patientReference, TokenAndListParam code, DateRangeParam period,
+	        StringOrListParam statistic, String interval);
+	
+	/**
+	 * Implements the Observation $timeseries operation, i.e., returns the numeric values of the
+	 * matching observations of each code as parallel lists of times and values, which is far more
+	 * compact than a bundle of Observations when the values are only charted
+	 *
+	 * @param patientReference the patient whose observations are returned; must be the id of exactly one
+	 *            patient
+	 * @param code the codes of the observations to return
+	 * @param date if specified, only observations made in this period are returned
+	 * @param maxPoints if specified, the maximum number of values to return for each code; longer
+	 *            series are downsampled in a way that preserves their shape
+	 * @return a {@link Parameters} resource containing a series for each code
+	 */
+	Parameters getTimeSeries(ReferenceAndListParam patientReference, TokenAndListParam code, DateRangeParam date,
+	        Integer maxPoints);
 }
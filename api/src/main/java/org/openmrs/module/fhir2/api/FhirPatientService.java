@@ -13,8 +13,10 @@ import javax.validation.constraints.NotNull;
 
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.Patient;
@@ -29,5 +31,32 @@ public interface FhirPatientService extends FhirService<Patient> {
 	IBundleProvider searchForPatients(StringAndListParam name, StringAndListParam given, StringAndListParam family,
 	        TokenAndListParam identifier, TokenAndListParam gender, DateRangeParam birthDate, DateRangeParam deathDate,
 	        TokenAndListParam deceased, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country, SortSpec sort);
+	        StringAndListParam country, TokenAndListParam id, SortSpec sort);
+	
+	/**
+	 * Searches for patients with a name sounding like the search values, e.g., to find a patient at
+	 * registration despite misspellings. This requires the search index to be enabled.
+	 *
+	 * @param phonetic the names to search for
+	 * @param gender if specified, only patients of these genders are returned
+	 * @param birthDate if specified, only patients born in this range are returned
+	 * @param id if specified, only patients with these ids are returned
+	 * @param sort the sort order of the results
+	 * @return an {@link IBundleProvider} over the matching patients
+	 */
+	IBundleProvider searchForPatientsByPhonetic(StringAndListParam phonetic, TokenAndListParam gender,
+	        DateRangeParam birthDate, TokenAndListParam id, SortSpec sort);
+	
+	/**
+	 * Returns the patient identified by the uuid together with all of the resources in its
+	 * compartment that this module supports
+	 *
+	 * @param uuid the uuid of the patient
+	 * @param since if specified, only resources created or updated at or after this instant are
+	 *            returned
+	 * @param type if specified, only resources of these types are returned
+	 * @param count if specified, the preferred page size of the result
+	 * @return an {@link IBundleProvider} over the patient compartment or null if no such patient exists
+	 */
+	IBundleProvider getPatientEverything(@NotNull String uuid, DateParam since, StringOrListParam type, Integer count);
 }
@@ -16,6 +16,6 @@ import org.hl7.fhir.r4.model.Practitioner;
 
 public interface FhirPractitionerService extends FhirService<Practitioner> {
 	
-	IBundleProvider searchForPractitioners(StringAndListParam name, TokenAndListParam identifier);
+	IBundleProvider searchForPractitioners(StringAndListParam name, TokenAndListParam identifier, TokenAndListParam id);
 	
 }
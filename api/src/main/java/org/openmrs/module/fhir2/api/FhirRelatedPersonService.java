@@ -26,5 +26,5 @@ public interface FhirRelatedPersonService extends FhirService<RelatedPerson> {
 	
 	Collection<RelatedPerson> searchForRelatedPeople(StringAndListParam name, TokenAndListParam gender,
 	        DateRangeParam birthDate, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country, SortSpec sort);
+	        StringAndListParam country, TokenAndListParam id, SortSpec sort);
 }
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.api;
 
 import javax.validation.constraints.NotNull;
 
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import org.hl7.fhir.instance.model.api.IAnyResource;
 
 public interface FhirService<T extends IAnyResource> {
@@ -19,7 +20,63 @@ public interface FhirService<T extends IAnyResource> {
 	
 	T create(T newResource);
 	
+	/**
+	 * Returns the current version id of the resource without translating it. This is intended to be
+	 * cheap enough to answer conditional reads.
+	 *
+	 * @param uuid the uuid of the resource
+	 * @return the current version id or null if the resource does not exist
+	 */
+	String getVersionId(@NotNull String uuid);
+	
 	T update(String uuid, T updatedResource);
 	
+	/**
+	 * Updates the resource only if its current version matches the supplied version id
+	 *
+	 * @param uuid the uuid of the resource to update
+	 * @param updatedResource the new version of the resource
+	 * @param versionId the version the client expects to be updating; if null, no version check is done
+	 * @return the updated resource
+	 */
+	T update(String uuid, T updatedResource, String versionId);
+	
+	/**
+	 * Applies a patch to the resource. Only the elements changed by the patch are written back to the
+	 * OpenMRS object where the translator supports this. A patch which removes an element that cannot
+	 * be cleared on the OpenMRS object is rejected.
+	 *
+	 * @param uuid the uuid of the resource to patch
+	 * @param patchType the type of the patch document; only JSON Patch is supported
+	 * @param patchBody the patch document
+	 * @return the patched resource
+	 */
+	T patch(String uuid, PatchTypeEnum patchType, String patchBody);
+	
+	/**
+	 * Applies a patch to the resource only if its current version matches the supplied version id
+	 *
+	 * @param uuid the uuid of the resource to patch
+	 * @param patchType the type of the patch document; only JSON Patch is supported
+	 * @param patchBody the patch document
+	 * @param versionId the version the client expects to be patching; if null, no version check is done
+	 * @return the patched resource
+	 */
+	T patch(String uuid, PatchTypeEnum patchType, String patchBody, String versionId);
+	
+	/**
+	 * Writes back a resource a patch has already been applied to, e.g., in another FHIR version, in the
+	 * same way as {@link #patch(String, PatchTypeEnum, String, String)}. The elements the patch changed
+	 * are found by comparing the patched resource with the original one, so both should have been
+	 * converted in the same way.
+	 *
+	 * @param uuid the uuid of the resource to patch
+	 * @param originalResource the resource the patch was applied to
+	 * @param patchedResource the resource with the patch applied
+	 * @param versionId the version the patch was applied to; if null, no version check is done
+	 * @return the patched resource
+	 */
+	T patchResource(String uuid, T originalResource, T patchedResource, String versionId);
+	
 	T delete(@NotNull String uuid);
 }
@@ -9,6 +9,8 @@
  */
 package org.openmrs.module.fhir2.api;
 
+import java.util.List;
+
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
@@ -30,5 +32,15 @@ public interface FhirTaskService extends FhirService<Task> {
 	 * @return the collection of Tasks that match the search parameters
 	 */
 	IBundleProvider searchForTasks(ReferenceAndListParam basedOnReference, ReferenceAndListParam ownerReference,
-	        TokenAndListParam status, SortSpec sort);
+	        TokenAndListParam status, TokenAndListParam id, SortSpec sort);
+	
+	/**
+	 * Claims up to count requested Tasks for the given owner, moving them to accepted
+	 *
+	 * @param ownerType the resource type of the owner, e.g. Practitioner
+	 * @param ownerId the id of the owner
+	 * @param count the maximum number of tasks to claim; defaults to 1
+	 * @return the claimed Tasks, oldest first
+	 */
+	List<Task> claimTasks(String ownerType, String ownerId, Integer count);
 }
@@ -12,7 +12,9 @@ package org.openmrs.module.fhir2.api.dao;
 import javax.validation.constraints.NotNull;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.openmrs.module.fhir2.FhirConceptSource;
 
@@ -23,4 +25,6 @@ public interface FhirConceptSourceDao {
 	Optional<FhirConceptSource> getFhirConceptSourceByUrl(@NotNull String url);
 	
 	Optional<FhirConceptSource> getFhirConceptSourceByConceptSourceName(@NotNull String sourceName);
+	
+	Map<String, Set<Integer>> getMappedConceptIds(@NotNull String url, @NotNull Collection<String> codes);
 }
@@ -13,6 +13,7 @@ import javax.validation.constraints.NotNull;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Date;
 
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
@@ -25,6 +26,35 @@ public interface FhirDao<T extends OpenmrsObject & Auditable> extends Serializab
 	
 	T get(@NotNull String uuid);
 	
+	/**
+	 * Loads the object identified by the uuid and locks it until the current transaction completes, so
+	 * that its version can be checked before it is changed
+	 *
+	 * @param uuid the uuid of the object
+	 * @return the object or null if no such object exists
+	 */
+	T getForUpdate(@NotNull String uuid);
+	
+	/**
+	 * Returns the date the object identified by the uuid was last modified, without loading the whole
+	 * object. This is the latest dateChanged or dateCreated of the object and of the rows its resource
+	 * is built from, e.g., the names, identifiers and addresses of a patient.
+	 *
+	 * @param uuid the uuid of the object
+	 * @return the last modification date or null if no such object exists
+	 */
+	Date getLastUpdated(@NotNull String uuid);
+	
+	/**
+	 * Returns the date a loaded object was last modified, in the same way as
+	 * {@link #getLastUpdated(String)}. This reads the rows the resource is built from through the
+	 * object, so it should only be used for objects whose fetch plan already loads them.
+	 *
+	 * @param object the object
+	 * @return the last modification date or null if it cannot be determined
+	 */
+	Date getLastUpdated(@NotNull T object);
+	
 	T createOrUpdate(T newEntry);
 	
 	T delete(@NotNull String uuid);
@@ -17,5 +17,5 @@ import org.openmrs.Drug;
 public interface FhirMedicationDao extends FhirDao<Drug> {
 	
 	Collection<Drug> searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
-	        TokenAndListParam ingredientCode, TokenAndListParam status);
+	        TokenAndListParam ingredientCode, TokenAndListParam status, TokenAndListParam id);
 }
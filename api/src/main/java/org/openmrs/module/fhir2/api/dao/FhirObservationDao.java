@@ -9,8 +9,30 @@
  */
 package org.openmrs.module.fhir2.api.dao;
 
+import javax.validation.constraints.NotNull;
+
+import java.util.List;
+
 import org.openmrs.Obs;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 
 public interface FhirObservationDao extends FhirDao<Obs> {
 	
+	/**
+	 * Aggregates the numeric values of the observations matching the search parameters in the
+	 * database, so that only one row for each concept and day needs to be loaded
+	 *
+	 * @param theParams the parameters restricting which observations are aggregated
+	 * @return the summaries of the numeric values for each concept and day
+	 */
+	List<NumericObsSummary> getNumericObsSummaries(@NotNull SearchParameterMap theParams);
+	
+	/**
+	 * Loads only the concept, date and numeric value of the observations matching the search
+	 * parameters, ordered by concept and then by date
+	 *
+	 * @param theParams the parameters restricting which observations are loaded
+	 * @return the numeric values of the matching observations
+	 */
+	List<NumericObsValue> getNumericObsValues(@NotNull SearchParameterMap theParams);
 }
@@ -26,5 +26,5 @@ public interface FhirRelatedPersonDao extends FhirDao<Relationship> {
 	
 	Collection<Relationship> searchRelationships(StringAndListParam name, TokenAndListParam gender, DateRangeParam birthDate,
 	        StringAndListParam city, StringAndListParam state, StringAndListParam postalCode, StringAndListParam country,
-	        SortSpec sort);
+	        TokenAndListParam id, SortSpec sort);
 }
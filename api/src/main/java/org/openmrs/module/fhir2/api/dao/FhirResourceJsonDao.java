@@ -0,0 +1,53 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.FhirResourceJson;
+
+public interface FhirResourceJsonDao {
+	
+	FhirResourceJson get(String resourceType, String uuid);
+	
+	List<FhirResourceJson> get(String resourceType, Collection<String> uuids);
+	
+	/**
+	 * Inserts or replaces the stored JSON of resources. The JSON of a resource is not replaced by JSON
+	 * translated from an older version of the same object. The stored rows are locked before they are
+	 * compared, so concurrent writes of the same resource cannot replace newer JSON with older JSON,
+	 * whatever order they run in.
+	 *
+	 * @param resources the resources to store
+	 */
+	void saveOrUpdate(Collection<FhirResourceJson> resources);
+	
+	void delete(String resourceType, Collection<String> uuids);
+	
+	/**
+	 * Removes the stored JSON of the resources which embed the display values of an object, e.g., the
+	 * observations and encounters whose subject is a person, or the observations coded with a concept
+	 *
+	 * @param object a person, provider, concept, concept reference term or location which has changed
+	 */
+	void deleteReferencing(OpenmrsObject object);
+	
+	/**
+	 * Pages through all objects of a type in the order of their primary key
+	 *
+	 * @param type the type of object to load
+	 * @param afterId only objects with a greater id than this are returned; null to start at the first
+	 * @param maxResults the maximum number of objects to return
+	 * @return the next page of objects
+	 */
+	<T extends OpenmrsObject> List<T> getObjects(Class<T> type, Integer afterId, int maxResults);
+}
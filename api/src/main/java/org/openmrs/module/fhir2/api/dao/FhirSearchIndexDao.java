@@ -0,0 +1,102 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.openmrs.module.fhir2.api.searchindex.SearchTokenIndex;
+
+public interface FhirSearchIndexDao {
+	
+	/**
+	 * Recreates the rows of an index for the resources affected by changes to some objects
+	 *
+	 * @param index the index to update
+	 * @param dependency the kind of the changed objects
+	 * @param ids the primary keys of the changed objects
+	 */
+	void reindex(SearchTokenIndex index, SearchTokenIndex.Dependency dependency, Collection<Integer> ids);
+	
+	/**
+	 * Recreates the rows of an index for a range of resources
+	 *
+	 * @param index the index to update
+	 * @param afterId the range starts after this resource id
+	 * @param upToId the range ends at this resource id, inclusive
+	 */
+	void reindex(SearchTokenIndex index, int afterId, int upToId);
+	
+	int getMaxResourceId(SearchTokenIndex index);
+	
+	/**
+	 * Recreates the normalized names, name trigrams and phonetic codes of some person names
+	 *
+	 * @param personNameIds the primary keys of the changed person names
+	 */
+	void reindexNames(Collection<Integer> personNameIds);
+	
+	/**
+	 * Recreates the normalized names, name trigrams and phonetic codes of a range of person names
+	 *
+	 * @param afterId the range starts after this person name id
+	 * @param upToId the range ends at this person name id, inclusive
+	 */
+	void reindexNames(int afterId, int upToId);
+	
+	int getMaxPersonNameId();
+	
+	/**
+	 * Records changes whose affected resources are reindexed later, see {@link #getQueued(long)}
+	 *
+	 * @param dependency the kind of the changed objects
+	 * @param ids the primary keys of the changed objects
+	 */
+	void enqueue(SearchTokenIndex.Dependency dependency, Collection<Integer> ids);
+	
+	/**
+	 * @return the id of the last entry of the queue, including markers added by
+	 *         {@link #requireRebuild()}, or 0 if the queue is empty
+	 */
+	long getLastQueueId();
+	
+	/**
+	 * @param upToId the last entry to return, inclusive
+	 * @return the primary keys of the queued changes by the kind of the changed objects
+	 */
+	Map<SearchTokenIndex.Dependency, Set<Integer>> getQueued(long upToId);
+	
+	/**
+	 * Removes queued changes once they have been reindexed, but not the markers added by
+	 * {@link #requireRebuild()}
+	 *
+	 * @param upToId the last entry to remove, inclusive
+	 */
+	void dequeue(long upToId);
+	
+	/**
+	 * Records that the index no longer matches the data and must be rebuilt before searches use it
+	 */
+	void requireRebuild();
+	
+	/**
+	 * @return true if {@link #requireRebuild()} was called after the last rebuild
+	 */
+	boolean isRebuildRequired();
+	
+	/**
+	 * Removes every entry of the queue, including markers added by {@link #requireRebuild()}, once the
+	 * whole index has been rebuilt
+	 *
+	 * @param upToId the last entry to remove, inclusive
+	 */
+	void clearQueue(long upToId);
+}
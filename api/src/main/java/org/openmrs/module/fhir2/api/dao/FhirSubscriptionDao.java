@@ -0,0 +1,30 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import java.util.List;
+
+import org.openmrs.module.fhir2.FhirSubscription;
+
+public interface FhirSubscriptionDao extends FhirDao<FhirSubscription> {
+	
+	/**
+	 * @return all subscriptions which are currently active and have not ended
+	 */
+	List<FhirSubscription> getActiveSubscriptions();
+	
+	/**
+	 * Puts a subscription in the error state, so that it no longer delivers notifications
+	 *
+	 * @param uuid the uuid of the subscription
+	 * @param error the reason the subscription is in error
+	 */
+	void markError(String uuid, String error);
+}
@@ -9,8 +9,23 @@
  */
 package org.openmrs.module.fhir2.api.dao;
 
+import javax.validation.constraints.NotNull;
+
+import java.util.List;
+
 import org.openmrs.module.fhir2.FhirTask;
 
 public interface FhirTaskDao extends FhirDao<FhirTask> {
 	
+	/**
+	 * Moves up to count requested tasks for the given owner to accepted and returns them. Each task
+	 * can only ever be claimed by a single caller, even if several callers claim tasks for the same
+	 * owner concurrently.
+	 *
+	 * @param ownerType the resource type of the owner, e.g. Practitioner
+	 * @param ownerId the id of the owner
+	 * @param count the maximum number of tasks to claim
+	 * @return the claimed tasks, oldest first
+	 */
+	List<FhirTask> claimTasks(@NotNull String ownerType, @NotNull String ownerId, int count);
 }
@@ -0,0 +1,27 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.openmrs.OpenmrsObject;
+
+public interface FhirUuidDao {
+	
+	/**
+	 * @param type the type of the objects
+	 * @param uuids the uuids of the objects
+	 * @return the primary keys of the objects which exist, by uuid
+	 */
+	Map<String, Integer> getIds(@NotNull Class<? extends OpenmrsObject> type, @NotNull Collection<String> uuids);
+}
@@ -0,0 +1,37 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.openmrs.Concept;
+
+/**
+ * The number, sum, minimum and maximum of the numeric values of the observations of one concept
+ * made on one day
+ */
+@Data
+@AllArgsConstructor
+public class NumericObsSummary {
+	
+	private Concept concept;
+	
+	private Date date;
+	
+	private long count;
+	
+	private double sum;
+	
+	private double min;
+	
+	private double max;
+}
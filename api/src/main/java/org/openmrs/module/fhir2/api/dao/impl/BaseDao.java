@@ -19,11 +19,14 @@ import static org.hibernate.criterion.Restrictions.ilike;
 import static org.hibernate.criterion.Restrictions.in;
 import static org.hibernate.criterion.Restrictions.isNull;
 import static org.hibernate.criterion.Restrictions.le;
+import static org.hibernate.criterion.Restrictions.like;
 import static org.hibernate.criterion.Restrictions.lt;
 import static org.hibernate.criterion.Restrictions.ne;
 import static org.hibernate.criterion.Restrictions.not;
 import static org.hibernate.criterion.Restrictions.or;
+import static org.hibernate.criterion.Restrictions.sqlRestriction;
 import static org.hibernate.criterion.Subqueries.propertyEq;
+import static org.hibernate.criterion.Subqueries.propertyIn;
 
 import javax.validation.constraints.NotNull;
 
@@ -37,6 +40,7 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.BiFunction;
@@ -56,20 +60,26 @@ import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import ca.uhn.fhir.rest.param.QuantityAndListParam;
 import ca.uhn.fhir.rest.param.QuantityParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.hibernate.Criteria;
+import org.hibernate.criterion.Conjunction;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Disjunction;
 import org.hibernate.criterion.MatchMode;
 import org.hibernate.criterion.Order;
 import org.hibernate.internal.CriteriaImpl;
@@ -79,7 +89,25 @@ import org.hl7.fhir.r4.model.Location;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Practitioner;
 import org.hl7.fhir.r4.model.codesystems.AdministrativeGender;
+import org.openmrs.Encounter;
+import org.openmrs.EncounterProvider;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.Person;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
 import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirSearchName;
+import org.openmrs.module.fhir2.FhirSearchNameGram;
+import org.openmrs.module.fhir2.FhirSearchNamePhonetic;
+import org.openmrs.module.fhir2.FhirSearchToken;
+import org.openmrs.module.fhir2.api.search.ConceptCodeResolver;
+import org.openmrs.module.fhir2.api.search.ReferenceIdResolver;
+import org.openmrs.module.fhir2.api.search.param.PropParam;
+import org.openmrs.module.fhir2.api.searchindex.SearchNameIndex;
+import org.openmrs.module.fhir2.api.searchindex.SearchTokenIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * <p>
@@ -158,6 +186,23 @@ public abstract class BaseDao {
 	
 	private static final BigDecimal APPROX_RANGE = new BigDecimal("0.1");
 	
+	protected static final int MAX_IDS_PER_IN_LIST = 1000;
+	
+	/**
+	 * A criterion which no object can meet, e.g., for a reference to an object which does not exist.
+	 * Searches which are restricted by it are answered without querying, see
+	 * {@link #matchesNothing(Criteria)}.
+	 */
+	protected static final Criterion NO_RESULTS = sqlRestriction("1 = 0");
+	
+	@Autowired(required = false)
+	@Setter(AccessLevel.PACKAGE)
+	private ConceptCodeResolver conceptCodeResolver;
+	
+	@Autowired(required = false)
+	@Setter(AccessLevel.PACKAGE)
+	private ReferenceIdResolver referenceIdResolver;
+	
 	/**
 	 * Converts an {@link Iterable} to a {@link Stream}
 	 *
@@ -229,6 +274,18 @@ public abstract class BaseDao {
 		return stream(subcriteriaIterator).anyMatch(sc -> sc.getAlias().equals(alias));
 	}
 	
+	/**
+	 * Determines whether a criteria object has been restricted by {@link #NO_RESULTS} in a way which
+	 * means it cannot match anything, so that it does not need to be executed
+	 *
+	 * @param criteria the criteria object to check
+	 * @return true if the criteria object cannot match anything
+	 */
+	protected boolean matchesNothing(@NotNull Criteria criteria) {
+		return asImpl(criteria).map(impl -> stream(impl.iterateExpressionEntries())
+		        .anyMatch(entry -> matchesNothing(entry.getCriterion()))).orElse(false);
+	}
+	
 	/**
 	 * A generic handler for any subtype of {@link IQueryParameterAnd} which creates a criterion that
 	 * represents the intersection of all of the parameters contained
@@ -487,6 +544,38 @@ public abstract class BaseDao {
 		    token -> Optional.of(eq(String.format("%s.uuid", encounterAlias), token.getIdPart())));
 	}
 	
+	/**
+	 * Variant of {@link #handleEncounterReference(String, ReferenceAndListParam)} which compares the
+	 * foreign key of the encounter on the root table, only joining the encounter under the given alias
+	 * if the encounters cannot be resolved to their ids
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param associationPath the path of the encounter association on the root object
+	 * @param encounterAlias the alias to join the encounter under, if needed
+	 * @param encounterReference the encounters to search for
+	 * @return a {@link Criterion} restricting the query to the given encounters
+	 */
+	protected Optional<Criterion> handleEncounterReference(Criteria criteria, @NotNull String associationPath,
+	        @NotNull String encounterAlias, ReferenceAndListParam encounterReference) {
+		if (encounterReference == null) {
+			return Optional.empty();
+		}
+		
+		return handleAndListParam(encounterReference, token -> {
+			Optional<Criterion> resolved = handleResolvedReference(Encounter.class,
+			    String.format("%s.encounterId", associationPath), token.getIdPart());
+			if (resolved.isPresent()) {
+				return resolved;
+			}
+			
+			if (!containsAlias(criteria, encounterAlias)) {
+				criteria.createAlias(associationPath, encounterAlias);
+			}
+			
+			return Optional.of(eq(String.format("%s.uuid", encounterAlias), token.getIdPart()));
+		});
+	}
+	
 	protected Optional<Criterion> handleGender(@NotNull String propertyName, TokenAndListParam gender) {
 		if (gender == null) {
 			return Optional.empty();
@@ -523,125 +612,100 @@ public abstract class BaseDao {
 			return Optional.empty();
 		}
 		
+		return handleAndListParam(locationReference, token -> handleLocationToken(locationAlias, token));
+		
+	}
+	
+	/**
+	 * Variant of {@link #handleLocationReference(String, ReferenceAndListParam)} which compares the
+	 * foreign key of the location on the root table for references by id, only joining the location
+	 * under the given alias for chained searches or if the locations cannot be resolved to their ids
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param associationPath the path of the location association on the root object
+	 * @param locationAlias the alias to join the location under, if needed
+	 * @param locationReference the locations to search for
+	 * @return a {@link Criterion} restricting the query to the given locations
+	 */
+	protected Optional<Criterion> handleLocationReference(Criteria criteria, @NotNull String associationPath,
+	        @NotNull String locationAlias, ReferenceAndListParam locationReference) {
+		if (locationReference == null) {
+			return Optional.empty();
+		}
+		
 		return handleAndListParam(locationReference, token -> {
-			if (token.getChain() != null) {
-				switch (token.getChain()) {
-					case Location.SP_NAME:
-						return propertyLike(String.format("%s.name", locationAlias), token.getValue());
-					case Location.SP_ADDRESS_CITY:
-						return propertyLike(String.format("%s.cityVillage", locationAlias), token.getValue());
-					case Location.SP_ADDRESS_STATE:
-						return propertyLike(String.format("%s.stateProvince", locationAlias), token.getValue());
-					case Location.SP_ADDRESS_POSTALCODE:
-						return propertyLike(String.format("%s.postalCode", locationAlias), token.getValue());
-					case Location.SP_ADDRESS_COUNTRY:
-						return propertyLike(String.format("%s.country", locationAlias), token.getValue());
+			if (token.getChain() == null) {
+				Optional<Criterion> resolved = handleResolvedReference(org.openmrs.Location.class,
+				    String.format("%s.locationId", associationPath), token.getValue());
+				if (resolved.isPresent()) {
+					return resolved;
 				}
-			} else {
-				return Optional.of(eq(String.format("%s.uuid", locationAlias), token.getValue()));
 			}
 			
-			return Optional.empty();
+			if (!containsAlias(criteria, locationAlias)) {
+				criteria.createAlias(associationPath, locationAlias);
+			}
+			
+			return handleLocationToken(locationAlias, token);
 		});
-		
 	}
 	
+	/**
+	 * Handler for chained searches on the participants of an encounter. Each value is matched by a
+	 * subquery over the encounter providers, so encounters with several matching providers are only
+	 * returned once and the providers are only joined where a value needs them.
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param participantReference the participants to search for
+	 */
 	protected void handleParticipantReference(Criteria criteria, ReferenceAndListParam participantReference) {
-		if (participantReference != null && !containsAlias(criteria, "ep")) {
-			criteria.createAlias("encounterProviders", "ep");
-			
+		if (participantReference != null) {
 			handleAndListParam(participantReference, participantToken -> {
-				if (participantToken.getChain() != null) {
-					switch (participantToken.getChain()) {
-						case Practitioner.SP_IDENTIFIER:
-							if (!containsAlias(criteria, "p")) {
-								criteria.createAlias("ep.provider", "p");
-							}
-							return Optional.of(ilike("p.identifier", participantToken.getValue()));
-						case Practitioner.SP_GIVEN:
-							if ((!containsAlias(criteria, "pro")
-							        && (!containsAlias(criteria, "ps") && (!containsAlias(criteria, "pn"))))) {
-								criteria.createAlias("ep.provider", "pro").createAlias("pro.person", "ps")
-								        .createAlias("ps.names", "pn");
-							}
-							return Optional.of(ilike("pn.givenName", participantToken.getValue(), MatchMode.START));
-						case Practitioner.SP_FAMILY:
-							if ((!containsAlias(criteria, "pro")
-							        && (!containsAlias(criteria, "ps") && (!containsAlias(criteria, "pn"))))) {
-								criteria.createAlias("ep.provider", "pro").createAlias("pro.person", "ps")
-								        .createAlias("ps.names", "pn");
-							}
-							return Optional.of(ilike("pn.familyName", participantToken.getValue(), MatchMode.START));
-						case Practitioner.SP_NAME:
-							if ((!containsAlias(criteria, "pro")
-							        && (!containsAlias(criteria, "ps") && (!containsAlias(criteria, "pn"))))) {
-								criteria.createAlias("ep.provider", "pro").createAlias("pro.person", "ps")
-								        .createAlias("ps.names", "pn");
-							}
-							
-							List<Optional<Criterion>> criterionList = new ArrayList<>();
-							
-							for (String token : StringUtils.split(participantToken.getValue(), " \t,")) {
-								criterionList.add(propertyLike("pn.givenName", token));
-								criterionList.add(propertyLike("pn.middleName", token));
-								criterionList.add(propertyLike("pn.familyName", token));
-							}
-							
-							return Optional.of(or(toCriteriaArray(criterionList)));
+				if (participantToken.getChain() == null) {
+					Optional<Criterion> resolved = handleResolvedReference(Provider.class, "ep.provider.providerId",
+					    participantToken.getValue());
+					if (resolved.isPresent()) {
+						if (resolved.get() == NO_RESULTS) {
+							return resolved;
+						}
+						
+						return Optional.of(propertyIn("encounterId", DetachedCriteria.forClass(EncounterProvider.class, "ep")
+						        .add(resolved.get()).setProjection(property("ep.encounter.encounterId"))));
 					}
-				} else {
-					if (!containsAlias(criteria, "pro")) {
-						criteria.createAlias("ep.provider", "pro");
-					}
-					return Optional.of(eq("pro.uuid", participantToken.getValue()));
 				}
 				
-				return Optional.empty();
+				DetachedCriteria encounterProviders = DetachedCriteria.forClass(EncounterProvider.class, "ep")
+				        .createAlias("ep.provider", "pro");
+				
+				return handleProviderChain(encounterProviders, "pro", participantToken)
+				        .map(criterion -> propertyIn("encounterId",
+				            encounterProviders.add(criterion).setProjection(property("ep.encounter.encounterId"))));
 			}).ifPresent(criteria::add);
-			
 		}
 	}
 	
-	//Added this method to allow handling classes with provider instead  of encounterProvider
+	/**
+	 * Handler for chained searches on the orderer of an order, see
+	 * {@link #handleParticipantReference(Criteria, ReferenceAndListParam)}
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param providerReference the providers to search for
+	 */
 	protected void handleProviderReference(Criteria criteria, ReferenceAndListParam providerReference) {
 		if (providerReference != null) {
-			criteria.createAlias("orderer", "or");
-			
-			handleAndListParam(providerReference, participantToken -> {
-				if (participantToken.getChain() != null) {
-					switch (participantToken.getChain()) {
-						case Practitioner.SP_IDENTIFIER:
-							return Optional.of(ilike("or.identifier", participantToken.getValue()));
-						case Practitioner.SP_GIVEN:
-							if ((!containsAlias(criteria, "ps") && (!containsAlias(criteria, "pn")))) {
-								criteria.createAlias("or.person", "ps").createAlias("ps.names", "pn");
-							}
-							return Optional.of(ilike("pn.givenName", participantToken.getValue(), MatchMode.START));
-						case Practitioner.SP_FAMILY:
-							if ((!containsAlias(criteria, "ps") && (!containsAlias(criteria, "pn")))) {
-								criteria.createAlias("or.person", "ps").createAlias("ps.names", "pn");
-							}
-							return Optional.of(ilike("pn.familyName", participantToken.getValue(), MatchMode.START));
-						case Practitioner.SP_NAME:
-							if ((!containsAlias(criteria, "ps") && (!containsAlias(criteria, "pn")))) {
-								criteria.createAlias("or.person", "ps").createAlias("ps.names", "pn");
-							}
-							
-							List<Optional<Criterion>> criterionList = new ArrayList<>();
-							
-							for (String token : StringUtils.split(participantToken.getValue(), " \t,")) {
-								criterionList.add(propertyLike("pn.givenName", token));
-								criterionList.add(propertyLike("pn.middleName", token));
-								criterionList.add(propertyLike("pn.familyName", token));
-							}
-							
-							return Optional.of(or(toCriteriaArray(criterionList)));
+			handleAndListParam(providerReference, providerToken -> {
+				if (providerToken.getChain() == null) {
+					Optional<Criterion> resolved = handleResolvedReference(Provider.class, "orderer.providerId",
+					    providerToken.getValue());
+					if (resolved.isPresent()) {
+						return resolved;
 					}
-				} else {
-					return Optional.of(eq("or.uuid", participantToken.getValue()));
 				}
 				
-				return Optional.empty();
+				DetachedCriteria providers = DetachedCriteria.forClass(Provider.class, "pro");
+				
+				return handleProviderChain(providers, "pro", providerToken).map(criterion -> propertyIn(
+				    "orderer.providerId", providers.add(criterion).setProjection(property("pro.providerId"))));
 			}).ifPresent(criteria::add);
 		}
 	}
@@ -654,10 +718,12 @@ public abstract class BaseDao {
 		
 		return handleAndListParamBySystem(concepts, (system, tokens) -> {
 			if (system.isEmpty()) {
-				return Optional.of(or(
-				    in(String.format("%s.conceptId", conceptAlias),
-				        tokensToParams(tokens).map(NumberUtils::toInt).collect(Collectors.toList())),
-				    in(String.format("%s.uuid", conceptAlias), tokensToList(tokens))));
+				return Optional.of(conceptIdOrUuidIn(conceptAlias, tokens));
+			} else if (conceptCodeResolver != null) {
+				// the mappings are resolved up front, so the query itself does not need to join to them
+				Set<Integer> conceptIds = conceptCodeResolver.getConceptIds(system, tokensToList(tokens));
+				return Optional.of(
+				    conceptIds.isEmpty() ? NO_RESULTS : in(String.format("%s.conceptId", conceptAlias), conceptIds));
 			} else {
 				if (!containsAlias(criteria, conceptMapAlias)) {
 					criteria.createAlias(String.format("%s.conceptMappings", conceptAlias), conceptMapAlias).createAlias(
@@ -669,6 +735,32 @@ public abstract class BaseDao {
 		});
 	}
 	
+	/**
+	 * Variant of {@link #handleCodeableConcept(Criteria, TokenAndListParam, String, String, String)}
+	 * which matches codes from code systems against the search index rather than joining to the
+	 * concept mappings
+	 *
+	 * @param concepts the codes to search for
+	 * @param conceptAlias the alias of the concept being searched, used for codes without a system
+	 * @param idProperty the property holding the id of the resource
+	 * @param index the index of the search parameter
+	 * @return a {@link Criterion} matching resources with any of the codes in each or-list
+	 */
+	protected Optional<Criterion> handleIndexedCodeableConcept(TokenAndListParam concepts, @NotNull String conceptAlias,
+	        @NotNull String idProperty, @NotNull SearchTokenIndex index) {
+		if (concepts == null) {
+			return Optional.empty();
+		}
+		
+		return handleAndListParamBySystem(concepts, (system, tokens) -> {
+			if (system.isEmpty()) {
+				return Optional.of(conceptIdOrUuidIn(conceptAlias, tokens));
+			}
+			
+			return Optional.of(searchTokenIn(idProperty, index, system, tokensToList(tokens)));
+		});
+	}
+	
 	protected void handleIdentifier(Criteria criteria, TokenAndListParam identifier) {
 		if (identifier == null) {
 			return;
@@ -689,6 +781,23 @@ public abstract class BaseDao {
 		}).ifPresent(criteria::add);
 	}
 	
+	/**
+	 * Variant of {@link #handleIdentifier(Criteria, TokenAndListParam)} which matches identifiers
+	 * against the search index rather than joining to the patient's identifiers
+	 *
+	 * @param identifier the identifiers to search for
+	 * @param idProperty the property holding the id of the patient
+	 * @return a {@link Criterion} matching patients with any of the identifiers in each or-list
+	 */
+	protected Optional<Criterion> handleIndexedIdentifier(TokenAndListParam identifier, @NotNull String idProperty) {
+		if (identifier == null) {
+			return Optional.empty();
+		}
+		
+		return handleAndListParamBySystem(identifier, (system, tokens) -> Optional.of(searchTokenIn(idProperty,
+		    SearchTokenIndex.PATIENT_IDENTIFIER, system.isEmpty() ? null : system, tokensToList(tokens))));
+	}
+	
 	protected void handleNames(Criteria criteria, StringAndListParam name, StringAndListParam given,
 	        StringAndListParam family) {
 		handleNames(criteria, name, given, family, null);
@@ -725,49 +834,102 @@ public abstract class BaseDao {
 		}
 	}
 	
+	/**
+	 * Variant of {@link #handleNames(Criteria, StringAndListParam, StringAndListParam, StringAndListParam)}
+	 * which matches the normalized names in the search index rather than the person_name table, so that
+	 * both prefix and contains searches are indexed lookups. As before, all the parameters must match the
+	 * same name of a person.
+	 *
+	 * @param name the names to search for in any part of the name
+	 * @param given the given names to search for
+	 * @param family the family names to search for
+	 * @param idProperty the property holding the id of the person
+	 * @return a {@link Criterion} matching persons with a name matching all the parameters
+	 */
+	protected Optional<Criterion> handleIndexedNames(StringAndListParam name, StringAndListParam given,
+	        StringAndListParam family, @NotNull String idProperty) {
+		return handleIndexedNames(name, given, family, null, idProperty);
+	}
+	
+	/**
+	 * Variant of
+	 * {@link #handleIndexedNames(StringAndListParam, StringAndListParam, StringAndListParam, String)}
+	 * which also supports the phonetic search parameter
+	 *
+	 * @param name the names to search for in any part of the name
+	 * @param given the given names to search for
+	 * @param family the family names to search for
+	 * @param phonetic the names to search for in any part of the name by how they sound
+	 * @param idProperty the property holding the id of the person
+	 * @return a {@link Criterion} matching persons with a name matching all the parameters
+	 */
+	protected Optional<Criterion> handleIndexedNames(StringAndListParam name, StringAndListParam given,
+	        StringAndListParam family, StringAndListParam phonetic, @NotNull String idProperty) {
+		if (name == null && given == null && family == null && phonetic == null) {
+			return Optional.empty();
+		}
+		
+		DetachedCriteria names = DetachedCriteria.forClass(FhirSearchName.class);
+		
+		if (name != null) {
+			handleAndListParamAsStream(name,
+			    (nameParam) -> Arrays.stream(StringUtils.split(nameParam.getValue(), " \t,"))
+			            .map(token -> new StringParam().setValue(token).setExact(nameParam.isExact())
+			                    .setContains(nameParam.isContains()))
+			            .map(tokenParam -> Arrays.asList(indexedNameLike("givenName", tokenParam),
+			                indexedNameLike("middleName", tokenParam), indexedNameLike("familyName", tokenParam)))
+			            .flatMap(Collection::stream)).ifPresent(names::add);
+		}
+		
+		handleAndListParam(given, (givenName) -> indexedNameLike("givenName", givenName)).ifPresent(names::add);
+		handleAndListParam(family, (familyName) -> indexedNameLike("familyName", familyName)).ifPresent(names::add);
+		handleAndListParam(phonetic, this::indexedNamePhonetic).ifPresent(names::add);
+		
+		return Optional.of(propertyIn(idProperty, names.setProjection(property("personId"))));
+	}
+	
 	protected void handlePatientReference(Criteria criteria, ReferenceAndListParam patientReference) {
 		handlePatientReference(criteria, patientReference, "patient");
 	}
 	
+	/**
+	 * Handler for searches on the patient of a resource, including chained searches on the patient's
+	 * identifiers and names. Each value is matched by a subquery on the id of the patient, so the root
+	 * table is never joined to the patient's identifiers or names and patients with several matching
+	 * identifiers or names do not produce duplicate results.
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param patientReference the patients to search for
+	 * @param associationPath the path of the patient (or person) association on the root object
+	 */
 	protected void handlePatientReference(Criteria criteria, ReferenceAndListParam patientReference,
 	        String associationPath) {
 		if (patientReference != null) {
-			criteria.createAlias(associationPath, "p");
+			String patientId = String.format("%s.personId", associationPath);
 			
 			handleAndListParam(patientReference, patientToken -> {
-				if (patientToken.getChain() != null) {
-					switch (patientToken.getChain()) {
-						case Patient.SP_IDENTIFIER:
-							if (!containsAlias(criteria, "pi")) {
-								criteria.createAlias("p.identifiers", "pi");
-							}
-							return Optional.of(ilike("pi.identifier", patientToken.getValue()));
-						case Patient.SP_GIVEN:
-							if (!containsAlias(criteria, "pn")) {
-								criteria.createAlias("p.names", "pn");
-							}
-							return Optional.of(ilike("pn.givenName", patientToken.getValue(), MatchMode.START));
-						case Patient.SP_FAMILY:
-							if (!containsAlias(criteria, "pn")) {
-								criteria.createAlias("p.names", "pn");
-							}
-							return Optional.of(ilike("pn.familyName", patientToken.getValue(), MatchMode.START));
-						case Patient.SP_NAME:
-							if (!containsAlias(criteria, "pn")) {
-								criteria.createAlias("p.names", "pn");
-							}
-							List<Optional<Criterion>> criterionList = new ArrayList<>();
-							
-							for (String token : StringUtils.split(patientToken.getValue(), " \t,")) {
-								criterionList.add(propertyLike("pn.givenName", token));
-								criterionList.add(propertyLike("pn.middleName", token));
-								criterionList.add(propertyLike("pn.familyName", token));
-							}
-							
-							return Optional.of(or(toCriteriaArray(criterionList)));
+				if (patientToken.getChain() == null) {
+					Optional<Criterion> resolved = handleResolvedReference(Person.class, patientId, patientToken.getValue());
+					if (resolved.isPresent()) {
+						return resolved;
 					}
-				} else {
-					return Optional.of(eq("p.uuid", patientToken.getValue()));
+					
+					return Optional.of(propertyIn(patientId, DetachedCriteria.forClass(Person.class)
+					        .add(eq("uuid", patientToken.getValue())).setProjection(property("personId"))));
+				}
+				
+				switch (patientToken.getChain()) {
+					case Patient.SP_IDENTIFIER:
+						return Optional.of(propertyIn(patientId,
+						    DetachedCriteria.forClass(PatientIdentifier.class, "pi")
+						            .add(ilike("pi.identifier", patientToken.getValue()))
+						            .setProjection(property("pi.patient.personId"))));
+					case Patient.SP_GIVEN:
+					case Patient.SP_FAMILY:
+					case Patient.SP_NAME:
+						return handleNameChain("pn", patientToken.getChain(), patientToken.getValue())
+						        .map(criterion -> propertyIn(patientId, DetachedCriteria.forClass(PersonName.class, "pn")
+						                .add(criterion).setProjection(property("pn.person.personId"))));
 				}
 				
 				return Optional.empty();
@@ -775,6 +937,97 @@ public abstract class BaseDao {
 		}
 	}
 	
+	/**
+	 * Handler for a patient which has already been resolved to its internal id. Unlike
+	 * {@link #handlePatientReference(Criteria, ReferenceAndListParam, String)}, this does not need to
+	 * join the patient table, as the comparison is made directly against the foreign key on the root
+	 * table.
+	 *
+	 * @param associationPath the path of the patient (or person) association on the root object
+	 * @param patientId the internal id of the patient
+	 * @return a {@link Criterion} restricting the query to objects belonging to the given patient
+	 */
+	protected Optional<Criterion> handlePatientId(@NotNull String associationPath, Integer patientId) {
+		if (patientId == null) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(eq(String.format("%s.personId", associationPath), patientId));
+	}
+	
+	/**
+	 * Handler for the search parameters which are common to all resources, e.g. _lastUpdated
+	 *
+	 * @param theCommonParams the list of {@link PropParam}s registered under
+	 *            {@link FhirConstants#COMMON_SEARCH_HANDLER}
+	 * @return a {@link Criterion} representing the intersection of all the common parameters
+	 */
+	protected Optional<Criterion> handleCommonSearchParameters(List<PropParam<?>> theCommonParams) {
+		if (theCommonParams == null || theCommonParams.isEmpty()) {
+			return Optional.empty();
+		}
+		
+		List<Optional<Criterion>> criterionList = new ArrayList<>();
+		
+		for (PropParam<?> commonSearchParam : theCommonParams) {
+			switch (commonSearchParam.getPropertyName()) {
+				case FhirConstants.LAST_UPDATED_PROPERTY:
+					criterionList.add(handleLastUpdated((DateRangeParam) commonSearchParam.getParam()));
+					break;
+				case FhirConstants.ID_PROPERTY:
+					criterionList.add(handleResourceIds((TokenAndListParam) commonSearchParam.getParam()));
+					break;
+			}
+		}
+		
+		if (criterionList.isEmpty()) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(and(toCriteriaArray(criterionList)));
+	}
+	
+	/**
+	 * A handler for the _lastUpdated parameter. OpenMRS objects only have a dateChanged once they have
+	 * been modified, so objects which have never been changed are compared by their dateCreated.
+	 *
+	 * @param lastUpdated the {@link DateRangeParam} to handle
+	 * @return a {@link Criterion} to be added to the query for the indicated date range
+	 */
+	protected Optional<Criterion> handleLastUpdated(DateRangeParam lastUpdated) {
+		if (lastUpdated == null) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(or(toCriteriaArray(Stream.of(handleDateRange("dateChanged", lastUpdated),
+		    Optional.of(and(toCriteriaArray(
+		        Stream.of(Optional.of(isNull("dateChanged")), handleDateRange("dateCreated", lastUpdated)))))))));
+	}
+	
+	/**
+	 * A handler for the _id parameter. Each list of alternative ids becomes a single uuid in (...)
+	 * restriction, split into several lists for very long lists of ids.
+	 *
+	 * @param ids the {@link TokenAndListParam} to handle
+	 * @return a {@link Criterion} to be added to the query for the indicated ids
+	 */
+	protected Optional<Criterion> handleResourceIds(TokenAndListParam ids) {
+		if (ids == null) {
+			return Optional.empty();
+		}
+		
+		return handleAndListParamBy(ids, orListParam -> {
+			List<String> uuids = handleOrListParam(orListParam).map(TokenParam::getValue).filter(StringUtils::isNotBlank)
+			        .distinct().collect(Collectors.toList());
+			if (uuids.isEmpty()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(or(Lists.partition(uuids, MAX_IDS_PER_IN_LIST).stream().map(chunk -> in("uuid", chunk))
+			        .toArray(Criterion[]::new)));
+		});
+	}
+	
 	protected Optional<Criterion> handlePersonAddress(String aliasPrefix, StringAndListParam city, StringAndListParam state,
 	        StringAndListParam postalCode, StringAndListParam country) {
 		if (city == null && state == null && postalCode == null && country == null) {
@@ -868,6 +1121,32 @@ public abstract class BaseDao {
 		}
 	}
 	
+	/**
+	 * Matches resources which have a row in the search index with one of the values
+	 *
+	 * @param idProperty the property holding the id of the resource
+	 * @param index the index to search
+	 * @param system the system of the values or null to match values from any system
+	 * @param values the values to match
+	 * @return a {@link Criterion} restricting the id of the resource to those found in the index
+	 */
+	protected Criterion searchTokenIn(String idProperty, SearchTokenIndex index, String system, List<String> values) {
+		DetachedCriteria tokenCriteria = DetachedCriteria.forClass(FhirSearchToken.class)
+		        .add(eq("resourceType", index.getResourceType())).add(eq("paramName", index.getParamName()));
+		
+		if (system != null) {
+			tokenCriteria.add(eq("system", system));
+		}
+		
+		if (values.size() > 1) {
+			tokenCriteria.add(in("value", values));
+		} else {
+			tokenCriteria.add(eq("value", values.get(0)));
+		}
+		
+		return propertyIn(idProperty, tokenCriteria.setProjection(property("resourceId")));
+	}
+	
 	protected TokenOrListParam convertStringStatusToBoolean(TokenOrListParam statusParam) {
 		if (statusParam != null) {
 			return handleOrListParam(statusParam).map(s -> {
@@ -967,6 +1246,69 @@ public abstract class BaseDao {
 		return Optional.of(ilike(propertyName, param.getValue(), MatchMode.START));
 	}
 	
+	/**
+	 * Compares a property of {@link FhirSearchName} with a normalized search value. Contains searches
+	 * first narrow the candidates to the names with all of the value's trigrams. Exact searches compare
+	 * the value with the name as stored in person_name, so that they still tell accents apart.
+	 *
+	 * @param propertyName the name property to compare
+	 * @param param the value to search for
+	 * @return a {@link Criterion} matching the name property
+	 */
+	protected Optional<Criterion> indexedNameLike(@NotNull String propertyName, StringParam param) {
+		String value = param == null ? null : SearchNameIndex.normalize(param.getValue());
+		if (value == null) {
+			return Optional.empty();
+		}
+		
+		if (param.isExact()) {
+			return propertyLike(propertyName, param).map(name -> propertyIn("personNameId",
+			    DetachedCriteria.forClass(PersonName.class).add(name).setProjection(property("personNameId"))));
+		} else if (param.isContains()) {
+			Conjunction result = and();
+			for (String gram : SearchNameIndex.getGrams(value)) {
+				result.add(propertyIn("personNameId", DetachedCriteria.forClass(FhirSearchNameGram.class)
+				        .add(eq("gram", gram)).setProjection(property("personNameId"))));
+			}
+			
+			return Optional.of(result.add(like(propertyName, value, MatchMode.ANYWHERE)));
+		}
+		
+		return Optional.of(like(propertyName, value, MatchMode.START));
+	}
+	
+	/**
+	 * Matches {@link FhirSearchName}s with a word sounding like each word of the search value, using
+	 * one equality lookup of the words' phonetic codes each
+	 *
+	 * @param param the value to search for
+	 * @return a {@link Criterion} matching the names
+	 */
+	protected Optional<Criterion> indexedNamePhonetic(StringParam param) {
+		String value = param == null ? null : SearchNameIndex.normalize(param.getValue());
+		if (value == null) {
+			return Optional.empty();
+		}
+		
+		// nothing sounds like a value without letters
+		if (SearchNameIndex.getPhoneticCodes(value).isEmpty()) {
+			return Optional.of(NO_RESULTS);
+		}
+		
+		Conjunction result = and();
+		for (String word : StringUtils.split(value, " \t,")) {
+			Set<String> codes = SearchNameIndex.getPhoneticCodes(word);
+			if (codes.isEmpty()) {
+				continue;
+			}
+			
+			result.add(propertyIn("personNameId", DetachedCriteria.forClass(FhirSearchNamePhonetic.class)
+			        .add(in("code", codes)).setProjection(property("personNameId"))));
+		}
+		
+		return Optional.of(result);
+	}
+	
 	protected Optional<CriteriaImpl> asImpl(Criteria criteria) {
 		if (CriteriaImpl.class.isAssignableFrom(criteria.getClass())) {
 			return Optional.of((CriteriaImpl) criteria);
@@ -985,6 +1327,118 @@ public abstract class BaseDao {
 		return tokens.stream().map(TokenParam::getValue);
 	}
 	
+	/**
+	 * @param type the type of the referenced object
+	 * @param idProperty the property holding the id of the referenced object
+	 * @param uuid the uuid of the referenced object
+	 * @return a {@link Criterion} comparing the id property with the id of the referenced object,
+	 *         {@link #NO_RESULTS} if there is no such object or empty if ids cannot be resolved
+	 */
+	private Optional<Criterion> handleResolvedReference(Class<? extends OpenmrsObject> type, String idProperty,
+	        String uuid) {
+		if (referenceIdResolver == null) {
+			return Optional.empty();
+		}
+		
+		Integer id = referenceIdResolver.getId(type, uuid);
+		return Optional.of(id == null ? NO_RESULTS : eq(idProperty, id));
+	}
+	
+	private Optional<Criterion> handleLocationToken(String locationAlias, ReferenceParam token) {
+		if (token.getChain() != null) {
+			switch (token.getChain()) {
+				case Location.SP_NAME:
+					return propertyLike(String.format("%s.name", locationAlias), token.getValue());
+				case Location.SP_ADDRESS_CITY:
+					return propertyLike(String.format("%s.cityVillage", locationAlias), token.getValue());
+				case Location.SP_ADDRESS_STATE:
+					return propertyLike(String.format("%s.stateProvince", locationAlias), token.getValue());
+				case Location.SP_ADDRESS_POSTALCODE:
+					return propertyLike(String.format("%s.postalCode", locationAlias), token.getValue());
+				case Location.SP_ADDRESS_COUNTRY:
+					return propertyLike(String.format("%s.country", locationAlias), token.getValue());
+			}
+		} else {
+			return Optional.of(eq(String.format("%s.uuid", locationAlias), token.getValue()));
+		}
+		
+		return Optional.empty();
+	}
+	
+	/**
+	 * @param providers a subquery in which the provider being searched for is available as
+	 *            providerAlias
+	 * @param providerAlias the alias of the provider
+	 * @param providerToken the provider, or a chained value of the provider, to search for
+	 * @return a {@link Criterion} to add to the subquery
+	 */
+	private Optional<Criterion> handleProviderChain(DetachedCriteria providers, String providerAlias,
+	        ReferenceParam providerToken) {
+		if (providerToken.getChain() == null) {
+			return Optional.of(eq(String.format("%s.uuid", providerAlias), providerToken.getValue()));
+		}
+		
+		switch (providerToken.getChain()) {
+			case Practitioner.SP_IDENTIFIER:
+				return Optional.of(ilike(String.format("%s.identifier", providerAlias), providerToken.getValue()));
+			case Practitioner.SP_GIVEN:
+			case Practitioner.SP_FAMILY:
+			case Practitioner.SP_NAME:
+				providers.createAlias(String.format("%s.person", providerAlias), "ps").createAlias("ps.names", "pn");
+				return handleNameChain("pn", providerToken.getChain(), providerToken.getValue());
+		}
+		
+		return Optional.empty();
+	}
+	
+	/**
+	 * @param nameAlias the alias of the person name
+	 * @param chain the given, family or name chain, which are the same for patients and practitioners
+	 * @param value the value to search for
+	 * @return a {@link Criterion} matching the person name
+	 */
+	private Optional<Criterion> handleNameChain(String nameAlias, String chain, String value) {
+		switch (chain) {
+			case Patient.SP_GIVEN:
+				return Optional.of(ilike(String.format("%s.givenName", nameAlias), value, MatchMode.START));
+			case Patient.SP_FAMILY:
+				return Optional.of(ilike(String.format("%s.familyName", nameAlias), value, MatchMode.START));
+			case Patient.SP_NAME:
+				List<Optional<Criterion>> criterionList = new ArrayList<>();
+				
+				for (String token : StringUtils.split(value, " \t,")) {
+					criterionList.add(propertyLike(String.format("%s.givenName", nameAlias), token));
+					criterionList.add(propertyLike(String.format("%s.middleName", nameAlias), token));
+					criterionList.add(propertyLike(String.format("%s.familyName", nameAlias), token));
+				}
+				
+				return Optional.of(or(toCriteriaArray(criterionList)));
+		}
+		
+		return Optional.empty();
+	}
+	
+	private static boolean matchesNothing(Criterion criterion) {
+		if (criterion == NO_RESULTS) {
+			return true;
+		} else if (criterion instanceof Conjunction) {
+			return stream(((Conjunction) criterion).conditions()).anyMatch(BaseDao::matchesNothing);
+		} else if (criterion instanceof Disjunction) {
+			Iterator<Criterion> conditions = ((Disjunction) criterion).conditions().iterator();
+			// an empty disjunction matches everything
+			return conditions.hasNext() && stream(conditions).allMatch(BaseDao::matchesNothing);
+		}
+		
+		return false;
+	}
+	
+	private Criterion conceptIdOrUuidIn(String conceptAlias, List<TokenParam> tokens) {
+		return or(
+		    in(String.format("%s.conceptId", conceptAlias),
+		        tokensToParams(tokens).map(NumberUtils::toInt).collect(Collectors.toList())),
+		    in(String.format("%s.uuid", conceptAlias), tokensToList(tokens)));
+	}
+	
 	private String groupBySystem(@NotNull TokenParam token) {
 		return StringUtils.trimToEmpty(token.getSystem());
 	}
@@ -11,15 +11,32 @@ package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hibernate.criterion.Restrictions.eq;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.google.common.reflect.TypeToken;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.LockOptions;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.sql.JoinType;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
 import org.openmrs.Retireable;
@@ -28,9 +45,11 @@ import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.searchindex.FhirSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * This is a base class for FHIR2 Dao objects providing default implementations for the
@@ -44,6 +63,9 @@ import org.springframework.transaction.annotation.Transactional;
 @SuppressWarnings("UnstableApiUsage")
 public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends BaseDao implements FhirDao<T> {
 	
+	private static final String[] LAST_UPDATED_PROPERTIES = { "dateCreated", "dateChanged", "personDateCreated",
+	        "personDateChanged" };
+	
 	private final TypeToken<T> typeToken;
 	
 	@Autowired
@@ -55,6 +77,10 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 	@Autowired
 	private FhirGlobalPropertyService globalPropertyService;
 	
+	@Autowired(required = false)
+	@Setter(AccessLevel.PACKAGE)
+	private FhirSearchIndex searchIndex;
+	
 	protected BaseFhirDao() {
 		typeToken = new TypeToken<T>(getClass()) {
 			
@@ -65,8 +91,68 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 	@Transactional(readOnly = true)
 	@SuppressWarnings("unchecked")
 	public T get(String uuid) {
-		return (T) sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType()).add(eq("uuid", uuid))
-		        .uniqueResult();
+		return (T) applyReadOnlyMode(sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType()))
+		        .add(eq("uuid", uuid)).uniqueResult();
+	}
+	
+	@Override
+	public T getForUpdate(String uuid) {
+		T existing = get(uuid);
+		if (existing != null) {
+			// re-reads the row with select ... for update, so the state checked is the state that is changed
+			sessionFactory.getCurrentSession().refresh(existing, LockOptions.UPGRADE);
+		}
+		
+		return existing;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Date getLastUpdated(String uuid) {
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType())
+		        .add(eq("uuid", uuid));
+		
+		// a single query: the joins only multiply the few child rows of one object
+		ProjectionList projections = Projections.projectionList().add(Projections.rowCount());
+		Map<String, String> aliases = new HashMap<>();
+		addLastUpdatedProjections(projections, null, sessionFactory.getClassMetadata(typeToken.getRawType()));
+		for (String dependency : getVersionDependencies()) {
+			String alias = createDependencyAlias(criteria, dependency, aliases);
+			addLastUpdatedProjections(projections, alias, getDependencyMetadata(dependency));
+		}
+		
+		Object[] result = (Object[]) criteria.setProjection(projections).uniqueResult();
+		if (result == null || ((Number) result[0]).longValue() == 0) {
+			return null;
+		}
+		
+		Date lastUpdated = null;
+		for (int i = 1; i < result.length; i++) {
+			lastUpdated = latest(lastUpdated, (Date) result[i]);
+		}
+		
+		return lastUpdated;
+	}
+	
+	@Override
+	public Date getLastUpdated(T object) {
+		if (object == null) {
+			return null;
+		}
+		
+		Date lastUpdated = getLastUpdatedOf(object);
+		for (String dependency : getVersionDependencies()) {
+			Collection<Object> values = Collections.singletonList(object);
+			for (String property : dependency.split("\\.")) {
+				values = getPropertyValues(values, property);
+			}
+			
+			for (Object value : values) {
+				lastUpdated = latest(lastUpdated, getLastUpdatedOf(value));
+			}
+		}
+		
+		return lastUpdated;
 	}
 	
 	@Override
@@ -98,9 +184,16 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Long getResultCounts(SearchParameterMap theParams) {
-		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
+		Criteria criteria = applyReadOnlyMode(sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType()));
+		setupCommonSearchParams(criteria, theParams);
 		setupSearchParams(criteria, theParams);
+		
+		if (matchesNothing(criteria)) {
+			return 0L;
+		}
+		
 		return (Long) criteria.setProjection(Projections.rowCount()).uniqueResult();
 	}
 	
@@ -109,18 +202,99 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 		return globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_DEFAULT_PAGE_SIZE, 10);
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
 	@SuppressWarnings("unchecked")
 	public Collection<T> search(SearchParameterMap theParams, int firstResult, int maxResults) {
-		return createCriteria(theParams).setFirstResult(firstResult).setMaxResults(maxResults).list();
+		Criteria criteria = createCriteria(theParams);
+		if (matchesNothing(criteria)) {
+			return Collections.emptyList();
+		}
+		
+		return applyFetchPlan(
+		    applyReadOnlyMode(criteria).setFirstResult(firstResult).setMaxResults(maxResults).list());
 	}
 	
 	protected Criteria createCriteria(SearchParameterMap theParams) {
 		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
+		setupCommonSearchParams(criteria, theParams);
 		setupSearchParams(criteria, theParams);
 		handleSort(criteria, theParams.getSortSpec());
 		return criteria;
 	}
 	
+	/**
+	 * Entities loaded in a read-only transaction are only ever translated, so they are loaded
+	 * read-only and the session is not flushed before the query. Hibernate then keeps no dirty checking
+	 * snapshot of them. What this saves in memory or time per request has not been measured; the load
+	 * test in the benchmarks module can compare it. Transactions that may write are left alone, as they
+	 * can still change what is loaded.
+	 *
+	 * @param criteria the criteria object about to be executed
+	 * @return the same criteria object
+	 */
+	protected Criteria applyReadOnlyMode(Criteria criteria) {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			criteria.setReadOnly(true).setFlushMode(FlushMode.MANUAL);
+		}
+		
+		return criteria;
+	}
+	
+	/**
+	 * @return true if searches may match indexed parameters against the search index
+	 */
+	protected boolean isSearchIndexQueryable() {
+		return searchIndex != null && searchIndex.isQueryable();
+	}
+	
+	/**
+	 * This is intended to be overridden by subclasses whose resources are built from rows other than
+	 * the object itself, e.g., the names of a person, so that changes to those rows change the version
+	 * of the resource. Only rows which are updated in place or voided, not deleted, can be tracked
+	 * this way.
+	 *
+	 * @return the association paths, e.g., "names" or "person.names", the resource depends on
+	 */
+	protected List<String> getVersionDependencies() {
+		return Collections.emptyList();
+	}
+	
+	/**
+	 * This is intended to be overridden by subclasses to describe which associations their translator
+	 * reads, so these can be loaded for a whole page of search results at once
+	 *
+	 * @return the fetch plan applied to each page of search results
+	 */
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.none();
+	}
+	
+	/**
+	 * Loads the associations of the fetch plan for results found by queries other than
+	 * {@link #search(SearchParameterMap, int, int)}, e.g., the type-specific searches of some DAOs
+	 *
+	 * @param results the results to load the associations for
+	 * @return the same results
+	 */
+	protected List<T> applyFetchPlan(List<T> results) {
+		getFetchPlan().apply(sessionFactory.getCurrentSession(), typeToken.getRawType(), results,
+		    TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+		return results;
+	}
+	
+	/**
+	 * Applies the search parameters that are shared by all resource types, e.g. _lastUpdated, to the
+	 * criteria object
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param theParams the parameters for this search
+	 */
+	protected void setupCommonSearchParams(Criteria criteria, SearchParameterMap theParams) {
+		handleCommonSearchParameters(theParams.getParameters(FhirConstants.COMMON_SEARCH_HANDLER))
+		        .ifPresent(criteria::add);
+	}
+	
 	/**
 	 * This is intended to be overridden by subclasses to implement any special handling they might
 	 * require
@@ -131,4 +305,91 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		
 	}
+	
+	private ClassMetadata getDependencyMetadata(String dependency) {
+		ClassMetadata metadata = sessionFactory.getClassMetadata(typeToken.getRawType());
+		for (String property : dependency.split("\\.")) {
+			Type type = metadata.getPropertyType(property);
+			if (type.isCollectionType()) {
+				type = ((CollectionType) type).getElementType((SessionFactoryImplementor) sessionFactory);
+			}
+			
+			metadata = sessionFactory.getClassMetadata(((EntityType) type).getAssociatedEntityName());
+		}
+		
+		return metadata;
+	}
+	
+	private static String createDependencyAlias(Criteria criteria, String dependency, Map<String, String> aliases) {
+		String alias = null;
+		String path = null;
+		for (String property : dependency.split("\\.")) {
+			path = path == null ? property : path + "." + property;
+			String parentAlias = alias;
+			alias = aliases.get(path);
+			if (alias == null) {
+				alias = "v" + aliases.size();
+				criteria.createAlias(parentAlias == null ? property : parentAlias + "." + property, alias,
+				    JoinType.LEFT_OUTER_JOIN);
+				aliases.put(path, alias);
+			}
+		}
+		
+		return alias;
+	}
+	
+	private static void addLastUpdatedProjections(ProjectionList projections, String alias, ClassMetadata metadata) {
+		for (String property : getLastUpdatedProperties(metadata)) {
+			projections.add(Projections.max(alias == null ? property : alias + "." + property));
+		}
+	}
+	
+	private Date getLastUpdatedOf(Object object) {
+		ClassMetadata metadata = sessionFactory.getClassMetadata(Hibernate.getClass(object));
+		if (metadata == null) {
+			return null;
+		}
+		
+		Date lastUpdated = null;
+		for (String property : getLastUpdatedProperties(metadata)) {
+			lastUpdated = latest(lastUpdated, (Date) metadata.getPropertyValue(object, property));
+		}
+		
+		return lastUpdated;
+	}
+	
+	private Collection<Object> getPropertyValues(Collection<Object> objects, String property) {
+		List<Object> result = new ArrayList<>();
+		for (Object object : objects) {
+			Object value = sessionFactory.getClassMetadata(Hibernate.getClass(object)).getPropertyValue(object, property);
+			if (value instanceof Collection) {
+				result.addAll((Collection<?>) value);
+			} else if (value != null) {
+				result.add(value);
+			}
+		}
+		
+		return result;
+	}
+	
+	// persons map their audit fields under different names than other objects
+	private static List<String> getLastUpdatedProperties(ClassMetadata metadata) {
+		List<String> propertyNames = Arrays.asList(metadata.getPropertyNames());
+		List<String> result = new ArrayList<>(2);
+		for (String property : LAST_UPDATED_PROPERTIES) {
+			if (propertyNames.contains(property)) {
+				result.add(property);
+			}
+		}
+		
+		return result;
+	}
+	
+	private static Date latest(Date first, Date second) {
+		if (first == null) {
+			return second;
+		}
+		
+		return second == null || !second.after(first) ? first : second;
+	}
 }
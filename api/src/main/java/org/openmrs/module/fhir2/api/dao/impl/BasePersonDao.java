@@ -51,6 +51,11 @@ public abstract class BasePersonDao<T extends OpenmrsObject & Auditable> extends
 	 */
 	protected abstract String getSqlAlias();
 	
+	@Override
+	protected List<String> getVersionDependencies() {
+		return Arrays.asList("names", "addresses", "attributes");
+	}
+	
 	@Override
 	protected Collection<Order> paramToProps(SortState sortState) {
 		String param = sortState.getParameter();
@@ -0,0 +1,80 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.Session;
+
+/**
+ * Checks the database behind a session against the minimum versions at which a feature is available,
+ * for the few queries which can use database specific syntax when it is available.
+ */
+final class DatabaseVersions {
+	
+	private static final Pattern VERSION = Pattern.compile("^(\\d+)\\.(\\d+)(?:\\.(\\d+))?");
+	
+	// MySQL drivers report MariaDB as e.g. 5.5.5-10.3.27-MariaDB
+	private static final Pattern MARIADB_VERSION = Pattern.compile("(\\d+)\\.(\\d+)(?:\\.(\\d+))?-MariaDB");
+	
+	private static final String MARIADB = "MariaDB";
+	
+	private DatabaseVersions() {
+	}
+	
+	/**
+	 * @param session the session whose database to check
+	 * @param minimumVersions the minimum {major, minor, patch} version for each database product name
+	 * @return true if the database is one of the given products, at or above its minimum version
+	 */
+	static boolean isAtLeast(Session session, Map<String, int[]> minimumVersions) {
+		return session.doReturningWork(connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			return isAtLeast(metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion(), minimumVersions);
+		});
+	}
+	
+	/**
+	 * @param productName the database product name, as reported by the JDBC driver
+	 * @param productVersion the database product version, as reported by the JDBC driver
+	 * @param minimumVersions the minimum {major, minor, patch} version for each database product name
+	 * @return true if the database is one of the given products, at or above its minimum version
+	 */
+	static boolean isAtLeast(String productName, String productVersion, Map<String, int[]> minimumVersions) {
+		if (productName == null || productVersion == null) {
+			return false;
+		}
+		
+		Matcher version;
+		if (productVersion.contains(MARIADB)) {
+			productName = MARIADB;
+			version = MARIADB_VERSION.matcher(productVersion);
+		} else {
+			version = VERSION.matcher(productVersion.trim());
+		}
+		
+		int[] minimum = minimumVersions.get(productName);
+		if (minimum == null || !version.find()) {
+			return false;
+		}
+		
+		for (int i = 0; i < minimum.length; i++) {
+			int part = version.group(i + 1) == null ? 0 : Integer.parseInt(version.group(i + 1));
+			if (part != minimum[i]) {
+				return part > minimum[i];
+			}
+		}
+		
+		return true;
+	}
+}
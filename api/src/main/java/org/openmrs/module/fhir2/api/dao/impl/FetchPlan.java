@@ -0,0 +1,116 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import org.hibernate.FlushMode;
+import org.hibernate.Query;
+import org.hibernate.Session;
+
+/**
+ * Describes which associations of an entity the translator for that entity reads, so that they can
+ * be loaded for a whole page of search results at once rather than lazily, one select per entity.
+ * Each association is given as a property path, e.g., {@code concept.names}, and is loaded with a
+ * single fetch join query over the page. Translating a page therefore takes one query per path,
+ * however many entities the page holds.
+ * <p/>
+ * Paths should start with or pass through at most one collection, as fetching several collections
+ * in one query multiplies the rows returned.
+ */
+public final class FetchPlan {
+	
+	private static final FetchPlan NONE = new FetchPlan(Collections.emptyList());
+	
+	private static final int MAX_IDS_PER_QUERY = 500;
+	
+	private final List<String> paths;
+	
+	private FetchPlan(List<String> paths) {
+		this.paths = paths;
+	}
+	
+	/**
+	 * @return a plan that leaves all associations to be loaded lazily
+	 */
+	public static FetchPlan none() {
+		return NONE;
+	}
+	
+	/**
+	 * @param paths the property paths of the associations to load
+	 * @return a plan loading the given associations
+	 */
+	public static FetchPlan of(String... paths) {
+		return new FetchPlan(Collections.unmodifiableList(Arrays.asList(paths)));
+	}
+	
+	public List<String> getPaths() {
+		return paths;
+	}
+	
+	public boolean isEmpty() {
+		return paths.isEmpty();
+	}
+	
+	/**
+	 * Loads the associations of this plan for entities already in the session. Entities which already
+	 * have an association initialized are not affected.
+	 *
+	 * @param session the session the entities belong to
+	 * @param entityClass the mapped class of the entities
+	 * @param entities the entities, e.g., a page of search results
+	 * @param readOnly whether the associated entities should be loaded read-only
+	 */
+	public void apply(Session session, Class<?> entityClass, Collection<?> entities, boolean readOnly) {
+		if (paths.isEmpty() || entities.isEmpty()) {
+			return;
+		}
+		
+		List<Serializable> ids = new ArrayList<>(entities.size());
+		for (Object entity : entities) {
+			if (session.contains(entity)) {
+				ids.add(session.getIdentifier(entity));
+			}
+		}
+		
+		if (ids.isEmpty()) {
+			return;
+		}
+		
+		for (String path : paths) {
+			String hql = toHql(entityClass, path);
+			for (List<Serializable> chunk : Lists.partition(ids, MAX_IDS_PER_QUERY)) {
+				Query query = session.createQuery(hql).setParameterList("ids", chunk);
+				// the results only fill in the associations of entities already in the session
+				query.setFlushMode(FlushMode.MANUAL).setReadOnly(readOnly).list();
+			}
+		}
+	}
+	
+	static String toHql(Class<?> entityClass, String path) {
+		StringBuilder hql = new StringBuilder("select e from ").append(entityClass.getName()).append(" e");
+		String parent = "e";
+		String[] properties = path.split("\\.");
+		for (int i = 0; i < properties.length; i++) {
+			String alias = "f" + i;
+			hql.append(" left join fetch ").append(parent).append('.').append(properties[i]).append(' ').append(alias);
+			parent = alias;
+		}
+		
+		return hql.append(" where e.id in (:ids)").toString();
+	}
+}
@@ -50,10 +50,19 @@ public class FhirAllergyIntoleranceDaoImpl extends BaseFhirDao<Allergy> implemen
 		return savedAllergy;
 	}
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("patient.names", "patient.identifiers", "reactions");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
 			switch (entry.getKey()) {
+				case FhirConstants.PATIENT_ID_SEARCH_HANDLER:
+					entry.getValue().forEach(
+					    param -> handlePatientId("patient", (Integer) param.getParam()).ifPresent(criteria::add));
+					break;
 				case FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue().forEach(
 					    param -> handlePatientReference(criteria, (ReferenceAndListParam) param.getParam(), "patient"));
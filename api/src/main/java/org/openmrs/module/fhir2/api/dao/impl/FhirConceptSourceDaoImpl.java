@@ -9,14 +9,25 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import static org.hibernate.criterion.Projections.property;
 import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.in;
+import static org.hibernate.criterion.Subqueries.propertyIn;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Projections;
+import org.openmrs.ConceptMap;
 import org.openmrs.module.fhir2.FhirConceptSource;
 import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,4 +63,29 @@ public class FhirConceptSourceDaoImpl implements FhirConceptSourceDao {
 		                .createAlias("conceptSource", "conceptSource").add(eq("conceptSource.name", sourceName))
 		                .add(eq("conceptSource.retired", false)).add(eq("retired", false)).uniqueResult());
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public Map<String, Set<Integer>> getMappedConceptIds(String url, Collection<String> codes) {
+		Map<String, Set<Integer>> result = new HashMap<>();
+		if (codes.isEmpty()) {
+			return result;
+		}
+		
+		DetachedCriteria conceptSourceCriteria = DetachedCriteria.forClass(FhirConceptSource.class).add(eq("url", url))
+		        .setProjection(property("conceptSource"));
+		
+		List<Object[]> rows = sessionFactory.getCurrentSession().createCriteria(ConceptMap.class)
+		        .createAlias("conceptReferenceTerm", "crt").createAlias("concept", "c")
+		        .add(propertyIn("crt.conceptSource", conceptSourceCriteria)).add(in("crt.code", codes))
+		        .setProjection(Projections.projectionList().add(property("crt.code")).add(property("c.conceptId")))
+		        .list();
+		
+		for (Object[] row : rows) {
+			result.computeIfAbsent((String) row[0], code -> new HashSet<>()).add((Integer) row[1]);
+		}
+		
+		return result;
+	}
 }
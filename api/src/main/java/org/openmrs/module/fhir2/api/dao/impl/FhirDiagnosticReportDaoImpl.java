@@ -17,6 +17,7 @@ import ca.uhn.fhir.rest.param.TokenAndListParam;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.criterion.Restrictions;
 import org.hl7.fhir.r4.model.DiagnosticReport;
 import org.openmrs.Obs;
 import org.openmrs.api.db.DAOException;
@@ -38,18 +39,30 @@ public class FhirDiagnosticReportDaoImpl extends BaseFhirDao<Obs> implements Fhi
 		return super.createOrUpdate(newObs);
 	}
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("concept.names", "concept.conceptMappings.conceptReferenceTerm.conceptSource", "person.names",
+		    "encounter", "groupMembers");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
 			switch (entry.getKey()) {
 				case FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER:
-					entry.getValue().forEach(param -> handleEncounterReference("e", (ReferenceAndListParam) param.getParam())
-					        .ifPresent(c -> criteria.createAlias("encounter", "e").add(c)));
+					entry.getValue().forEach(param -> handleEncounterReference(criteria, "encounter", "e",
+					    (ReferenceAndListParam) param.getParam()).ifPresent(criteria::add));
 					break;
 				case FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue().forEach(
 					    param -> handlePatientReference(criteria, (ReferenceAndListParam) param.getParam(), "person"));
 					break;
+				case FhirConstants.PATIENT_ID_SEARCH_HANDLER:
+					// compartment searches must not pick up the patient's other obs
+					entry.getValue().forEach(
+					    param -> handlePatientId("person", (Integer) param.getParam()).ifPresent(criterion -> criteria
+					            .add(criterion).add(Restrictions.isNotEmpty("groupMembers"))));
+					break;
 				case FhirConstants.CODED_SEARCH_HANDLER:
 					entry.getValue().forEach(param -> handleCodedConcept(criteria, (TokenAndListParam) param.getParam()));
 					break;
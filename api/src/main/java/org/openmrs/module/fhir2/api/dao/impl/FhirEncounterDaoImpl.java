@@ -24,6 +24,11 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirEncounterDaoImpl extends BaseFhirDao<Encounter> implements FhirEncounterDao {
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("patient.names", "patient.identifiers", "encounterProviders.provider", "location");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
@@ -33,13 +38,17 @@ public class FhirEncounterDaoImpl extends BaseFhirDao<Encounter> implements Fhir
 					        .ifPresent(criteria::add));
 					break;
 				case FhirConstants.LOCATION_REFERENCE_SEARCH_HANDLER:
-					entry.getValue().forEach(param -> handleLocationReference("l", (ReferenceAndListParam) param.getParam())
-					        .ifPresent(l -> criteria.createAlias("location", "l").add(l)));
+					entry.getValue().forEach(param -> handleLocationReference(criteria, "location", "l",
+					    (ReferenceAndListParam) param.getParam()).ifPresent(criteria::add));
 					break;
 				case FhirConstants.PARTICIPANT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue().forEach(
 					    param -> handleParticipantReference(criteria, (ReferenceAndListParam) param.getParam()));
 					break;
+				case FhirConstants.PATIENT_ID_SEARCH_HANDLER:
+					entry.getValue().forEach(
+					    param -> handlePatientId("patient", (Integer) param.getParam()).ifPresent(criteria::add));
+					break;
 				case FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue()
 					        .forEach(param -> handlePatientReference(criteria, (ReferenceAndListParam) param.getParam()));
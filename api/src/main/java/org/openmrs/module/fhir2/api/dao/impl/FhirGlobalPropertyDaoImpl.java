@@ -9,7 +9,6 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,8 +33,9 @@ public class FhirGlobalPropertyDaoImpl implements FhirGlobalPropertyDao {
 	
 	@Override
 	public String getGlobalProperty(String property) throws APIException {
-		GlobalProperty globalProperty = (GlobalProperty) sessionFactory.getCurrentSession()
-		        .createCriteria(GlobalProperty.class).add(Restrictions.eq("property", property)).uniqueResult();
+		// looked up by id, so translating a page of results only queries each property once per session
+		GlobalProperty globalProperty = (GlobalProperty) sessionFactory.getCurrentSession().get(GlobalProperty.class,
+		    property);
 		return globalProperty == null ? null : globalProperty.getPropertyValue();
 	}
 	
@@ -49,11 +49,12 @@ public class FhirGlobalPropertyDaoImpl implements FhirGlobalPropertyDao {
 	public Map<String, String> getGlobalProperties(String... properties) {
 		Map<String, String> globalPropertiesMap = new HashMap<>();
 		
-		Collection<GlobalProperty> globalProperties = (sessionFactory.getCurrentSession()
-		        .createCriteria(GlobalProperty.class).add(Restrictions.in("property", properties)).list());
-		
-		for (GlobalProperty property : globalProperties) {
-			globalPropertiesMap.put(property.getProperty(), property.getPropertyValue());
+		for (String property : properties) {
+			GlobalProperty globalProperty = (GlobalProperty) sessionFactory.getCurrentSession().get(GlobalProperty.class,
+			    property);
+			if (globalProperty != null) {
+				globalPropertiesMap.put(globalProperty.getProperty(), globalProperty.getPropertyValue());
+			}
 		}
 		
 		return globalPropertiesMap;
@@ -34,6 +34,11 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirLocationDaoImpl extends BaseFhirDao<Location> implements FhirLocationDao {
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("tags");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		handleBooleanProperty("retired", false).ifPresent(criteria::add);
@@ -103,7 +108,7 @@ public class FhirLocationDaoImpl extends BaseFhirDao<Location> implements FhirLo
 	}
 	
 	private void handleParentLocation(Criteria criteria, ReferenceAndListParam parent) {
-		handleLocationReference("loc", parent).ifPresent(loc -> criteria.createAlias("parentLocation", "loc").add(loc));
+		handleLocationReference(criteria, "parentLocation", "loc", parent).ifPresent(criteria::add);
 	}
 	
 	@Override
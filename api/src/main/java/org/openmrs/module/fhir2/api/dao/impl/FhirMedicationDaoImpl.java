@@ -37,13 +37,19 @@ public class FhirMedicationDaoImpl extends BaseFhirDao<Drug> implements FhirMedi
 	
 	@Override
 	public Collection<Drug> searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
-	        TokenAndListParam ingredientCode, TokenAndListParam status) {
+	        TokenAndListParam ingredientCode, TokenAndListParam status, TokenAndListParam id) {
 		Criteria criteria = getSessionFactory().getCurrentSession().createCriteria(Drug.class);
 		handleMedicationCode(criteria, code);
 		handleMedicationDosageForm(criteria, dosageForm);
 		handleBoolean("retired", convertStringStatusToBoolean(status)).ifPresent(criteria::add);
+		handleResourceIds(id).ifPresent(criteria::add);
 		
-		return criteria.list();
+		return applyFetchPlan(criteria.list());
+	}
+	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("ingredients");
 	}
 	
 	private void handleMedicationCode(Criteria criteria, TokenAndListParam code) {
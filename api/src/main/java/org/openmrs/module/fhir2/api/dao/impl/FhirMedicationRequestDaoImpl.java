@@ -9,11 +9,15 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import java.util.Optional;
+
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.criterion.Criterion;
 import org.openmrs.DrugOrder;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirMedicationRequestDao;
@@ -24,13 +28,22 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirMedicationRequestDaoImpl extends BaseFhirDao<DrugOrder> implements FhirMedicationRequestDao {
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("concept.names", "drug", "patient.names", "orderer");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
 			switch (entry.getKey()) {
 				case FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER:
-					entry.getValue().forEach(e -> handleEncounterReference("e", (ReferenceAndListParam) e.getParam())
-					        .ifPresent(c -> criteria.createAlias("encounter", "e").add(c)));
+					entry.getValue().forEach(e -> handleEncounterReference(criteria, "encounter", "e",
+					    (ReferenceAndListParam) e.getParam()).ifPresent(criteria::add));
+					break;
+				case FhirConstants.PATIENT_ID_SEARCH_HANDLER:
+					entry.getValue().forEach(
+					    param -> handlePatientId("patient", (Integer) param.getParam()).ifPresent(criteria::add));
 					break;
 				case FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue().forEach(patientReference -> handlePatientReference(criteria,
@@ -61,4 +74,9 @@ public class FhirMedicationRequestDaoImpl extends BaseFhirDao<DrugOrder> impleme
 		}
 	}
 	
+	@Override
+	protected Optional<Criterion> handleLastUpdated(DateRangeParam lastUpdated) {
+		// Orders are never updated in place, so only the dateCreated is meaningful
+		return handleDateRange("dateCreated", lastUpdated);
+	}
 }
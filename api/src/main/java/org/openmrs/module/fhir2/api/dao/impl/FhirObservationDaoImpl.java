@@ -9,10 +9,21 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import static org.hibernate.criterion.Restrictions.and;
 import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.eqProperty;
+import static org.hibernate.criterion.Restrictions.gtProperty;
+import static org.hibernate.criterion.Restrictions.isNotNull;
+import static org.hibernate.criterion.Restrictions.or;
+import static org.hibernate.criterion.Restrictions.sqlRestriction;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ca.uhn.fhir.rest.param.DateRangeParam;
@@ -22,30 +33,119 @@ import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.Setter;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Subqueries;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
 import org.hl7.fhir.r4.model.Observation;
+import org.openmrs.Concept;
 import org.openmrs.Obs;
+import org.openmrs.Person;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.NumericObsSummary;
+import org.openmrs.module.fhir2.api.dao.NumericObsValue;
 import org.openmrs.module.fhir2.api.mappings.ObservationCategoryMap;
+import org.openmrs.module.fhir2.api.search.param.PropParam;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.searchindex.SearchTokenIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObservationDao {
 	
+	/**
+	 * Window functions are available from MySQL 8.0, MariaDB 10.2, PostgreSQL 8.4 and H2 1.4.198
+	 */
+	private static final Map<String, int[]> WINDOW_FUNCTION_VERSIONS = ImmutableMap.of("MySQL", new int[] { 8, 0, 0 },
+	    "MariaDB", new int[] { 10, 2, 0 }, "PostgreSQL", new int[] { 8, 4, 0 }, "H2", new int[] { 1, 4, 198 });
+	
 	@Autowired
 	private ObservationCategoryMap categoryMap;
 	
+	/**
+	 * Whether the database supports window functions; detected on first use
+	 */
+	@Setter(AccessLevel.PACKAGE)
+	private volatile Boolean windowFunctionSupported;
+	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("concept.names", "concept.conceptMappings.conceptReferenceTerm.conceptSource",
+		    "valueCoded.names", "person.names", "encounter", "groupMembers", "order");
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public List<NumericObsSummary> getNumericObsSummaries(SearchParameterMap theParams) {
+		Criteria criteria = applyReadOnlyMode(getSessionFactory().getCurrentSession().createCriteria(Obs.class));
+		setupSearchParams(criteria, theParams);
+		if (matchesNothing(criteria)) {
+			return Collections.emptyList();
+		}
+		
+		criteria.add(eq("voided", false)).add(isNotNull("valueNumeric"))
+		        .setProjection(Projections.projectionList().add(Projections.groupProperty("concept"))
+		                .add(Projections.sqlGroupProjection("cast({alias}.obs_datetime as date) as obs_date",
+		                    "cast({alias}.obs_datetime as date)", new String[] { "obs_date" },
+		                    new Type[] { StandardBasicTypes.DATE }))
+		                .add(Projections.count("valueNumeric")).add(Projections.sum("valueNumeric"))
+		                .add(Projections.min("valueNumeric")).add(Projections.max("valueNumeric")));
+		
+		List<NumericObsSummary> result = new ArrayList<>();
+		for (Object[] row : (List<Object[]>) criteria.list()) {
+			result.add(new NumericObsSummary((Concept) row[0], (Date) row[1], ((Number) row[2]).longValue(),
+			        ((Number) row[3]).doubleValue(), ((Number) row[4]).doubleValue(), ((Number) row[5]).doubleValue()));
+		}
+		
+		return result;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public List<NumericObsValue> getNumericObsValues(SearchParameterMap theParams) {
+		Criteria criteria = applyReadOnlyMode(getSessionFactory().getCurrentSession().createCriteria(Obs.class));
+		setupSearchParams(criteria, theParams);
+		if (matchesNothing(criteria)) {
+			return Collections.emptyList();
+		}
+		
+		criteria.add(eq("voided", false)).add(isNotNull("valueNumeric"))
+		        .setProjection(Projections.projectionList().add(Projections.property("concept"))
+		                .add(Projections.property("obsDatetime")).add(Projections.property("valueNumeric")))
+		        .addOrder(Order.asc("concept")).addOrder(Order.asc("obsDatetime")).addOrder(Order.asc("obsId"));
+		
+		List<NumericObsValue> result = new ArrayList<>();
+		for (Object[] row : (List<Object[]>) criteria.list()) {
+			result.add(new NumericObsValue((Concept) row[0], (Date) row[1], ((Number) row[2]).doubleValue()));
+		}
+		
+		return result;
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
 			switch (entry.getKey()) {
 				case FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER:
-					entry.getValue().forEach(p -> handleEncounterReference("e", (ReferenceAndListParam) p.getParam())
-					        .ifPresent(c -> criteria.createAlias("encounter", "e").add(c)));
+					entry.getValue().forEach(p -> handleEncounterReference(criteria, "encounter", "e",
+					    (ReferenceAndListParam) p.getParam()).ifPresent(criteria::add));
+					break;
+				case FhirConstants.PATIENT_ID_SEARCH_HANDLER:
+					entry.getValue().forEach(
+					    param -> handlePatientId("person", (Integer) param.getParam()).ifPresent(criteria::add));
 					break;
 				case FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER:
 					entry.getValue().forEach(patientReference -> handlePatientReference(criteria,
@@ -80,10 +180,105 @@ public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObse
 					    string -> handleValueStringParam(string.getPropertyName(), (StringAndListParam) string.getParam())
 					            .ifPresent(criteria::add));
 					break;
+				case FhirConstants.LASTN_OBSERVATION_SEARCH_HANDLER:
+					entry.getValue().forEach(max -> handleLastn(criteria, theParams, (Integer) max.getParam()));
+					break;
 			}
 		});
 	}
 	
+	/**
+	 * Restricts the search to the latest observations of each concept for each patient. Where the
+	 * database supports window functions, the observations of the searched patients are ranked once by
+	 * date within each concept. Otherwise, or if the search is not restricted to any patients, an
+	 * observation is among the latest max observations if fewer than max newer ones exist for the same
+	 * patient and concept, which costs a count for every candidate observation.
+	 */
+	private void handleLastn(Criteria criteria, SearchParameterMap theParams, int max) {
+		criteria.add(eq("voided", false));
+		
+		Optional<List<Integer>> personIds = isWindowFunctionSupported() ? getPersonIds(theParams) : Optional.empty();
+		if (personIds.isPresent()) {
+			handleRankedLastn(criteria, personIds.get(), max);
+			return;
+		}
+		
+		DetachedCriteria newer = DetachedCriteria.forClass(Obs.class, "newer")
+		        .add(eqProperty("newer.person", "this.person")).add(eqProperty("newer.concept", "this.concept"))
+		        .add(eq("newer.voided", false))
+		        .add(or(gtProperty("newer.obsDatetime", "this.obsDatetime"),
+		            and(eqProperty("newer.obsDatetime", "this.obsDatetime"), gtProperty("newer.obsId", "this.obsId"))))
+		        .setProjection(Projections.rowCount());
+		
+		criteria.add(Subqueries.gt((long) max, newer));
+	}
+	
+	private void handleRankedLastn(Criteria criteria, List<Integer> personIds, int max) {
+		if (personIds.isEmpty()) {
+			criteria.add(NO_RESULTS);
+			return;
+		}
+		
+		List<Object> values = new ArrayList<>();
+		List<Type> types = new ArrayList<>();
+		values.add(false);
+		types.add(StandardBasicTypes.BOOLEAN);
+		
+		List<String> inLists = new ArrayList<>();
+		for (List<Integer> chunk : Lists.partition(personIds, MAX_IDS_PER_IN_LIST)) {
+			inLists.add("o.person_id in (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")");
+			values.addAll(chunk);
+			types.addAll(Collections.nCopies(chunk.size(), StandardBasicTypes.INTEGER));
+		}
+		
+		values.add(max);
+		types.add(StandardBasicTypes.INTEGER);
+		
+		criteria.add(sqlRestriction("{alias}.obs_id in (select ranked.obs_id from (select o.obs_id, row_number() over "
+		        + "(partition by o.person_id, o.concept_id order by o.obs_datetime desc, o.obs_id desc) as lastn_rank "
+		        + "from obs o where o.voided = ? and (" + String.join(" or ", inLists) + ")) ranked "
+		        + "where ranked.lastn_rank <= ?)",
+		    values.toArray(), types.toArray(new Type[0])));
+	}
+	
+	/**
+	 * Resolves the patients a search is restricted to, so that only their observations are ranked
+	 *
+	 * @return the ids of the matching patients, or an empty optional if the search is not restricted to
+	 *         any patients
+	 */
+	@SuppressWarnings("unchecked")
+	private Optional<List<Integer>> getPersonIds(SearchParameterMap theParams) {
+		List<PropParam<?>> patientIds = theParams.getParameters(FhirConstants.PATIENT_ID_SEARCH_HANDLER);
+		List<PropParam<?>> patientReferences = theParams.getParameters(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER);
+		if (patientIds.stream().allMatch(p -> p.getParam() == null)
+		        && patientReferences.stream().allMatch(p -> p.getParam() == null)) {
+			return Optional.empty();
+		}
+		
+		Criteria persons = getSessionFactory().getCurrentSession().createCriteria(Person.class, "p");
+		patientIds.forEach(p -> handlePatientId("p", (Integer) p.getParam()).ifPresent(persons::add));
+		patientReferences.forEach(p -> handlePatientReference(persons, (ReferenceAndListParam) p.getParam(), "p"));
+		if (matchesNothing(persons)) {
+			return Optional.of(Collections.emptyList());
+		}
+		
+		return Optional.of((List<Integer>) persons.setProjection(Projections.property("p.personId")).list());
+	}
+	
+	private boolean isWindowFunctionSupported() {
+		if (windowFunctionSupported == null) {
+			windowFunctionSupported = DatabaseVersions.isAtLeast(getSessionFactory().getCurrentSession(),
+			    WINDOW_FUNCTION_VERSIONS);
+		}
+		
+		return windowFunctionSupported;
+	}
+	
+	static boolean supportsWindowFunctions(String productName, String productVersion) {
+		return DatabaseVersions.isAtLeast(productName, productVersion, WINDOW_FUNCTION_VERSIONS);
+	}
+	
 	private void handleHasMemberReference(Criteria criteria, ReferenceParam hasMemberReference) {
 		if (hasMemberReference != null) {
 			criteria.createAlias("groupMembers", "gm");
@@ -93,7 +288,12 @@ public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObse
 					TokenAndListParam code = new TokenAndListParam()
 					        .addAnd(new TokenParam().setValue(hasMemberReference.getValue()));
 					criteria.createAlias("gm.concept", "c");
-					handleCodeableConcept(criteria, code, "c", "cm", "crt").ifPresent(criteria::add);
+					if (isSearchIndexQueryable()) {
+						handleIndexedCodeableConcept(code, "c", "obsId", SearchTokenIndex.OBSERVATION_CODE)
+						        .ifPresent(criteria::add);
+					} else {
+						handleCodeableConcept(criteria, code, "c", "cm", "crt").ifPresent(criteria::add);
+					}
 					break;
 				case "":
 					criteria.add(eq("gm.uuid", hasMemberReference.getIdPart()));
@@ -112,7 +312,11 @@ public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObse
 				criteria.createAlias("concept", "c");
 			}
 			
-			handleCodeableConcept(criteria, code, "c", "cm", "crt").ifPresent(criteria::add);
+			if (isSearchIndexQueryable()) {
+				handleIndexedCodeableConcept(code, "c", "obsId", SearchTokenIndex.OBSERVATION_CODE).ifPresent(criteria::add);
+			} else {
+				handleCodeableConcept(criteria, code, "c", "cm", "crt").ifPresent(criteria::add);
+			}
 		}
 	}
 	
@@ -147,7 +351,13 @@ public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObse
 			if (!containsAlias(criteria, "vc")) {
 				criteria.createAlias("valueCoded", "vc");
 			}
-			handleCodeableConcept(criteria, valueConcept, "vc", "vcm", "vcrt").ifPresent(criteria::add);
+			
+			if (isSearchIndexQueryable()) {
+				handleIndexedCodeableConcept(valueConcept, "vc", "obsId", SearchTokenIndex.OBSERVATION_VALUE_CONCEPT)
+				        .ifPresent(criteria::add);
+			} else {
+				handleCodeableConcept(criteria, valueConcept, "vc", "vcm", "vcrt").ifPresent(criteria::add);
+			}
 		}
 	}
 	
@@ -159,4 +369,10 @@ public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObse
 		
 		return null;
 	}
+	
+	@Override
+	protected Optional<Criterion> handleLastUpdated(DateRangeParam lastUpdated) {
+		// Obs are never updated in place, so only the dateCreated is meaningful
+		return handleDateRange("dateCreated", lastUpdated);
+	}
 }
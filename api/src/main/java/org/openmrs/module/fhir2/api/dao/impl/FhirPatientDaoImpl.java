@@ -14,6 +14,7 @@ import static org.hibernate.criterion.Restrictions.eq;
 import static org.hibernate.criterion.Restrictions.or;
 import static org.hl7.fhir.r4.model.Patient.SP_DEATH_DATE;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -37,8 +38,8 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 	
 	@Override
 	public Patient getPatientById(Integer id) {
-		return (Patient) getSessionFactory().getCurrentSession().createCriteria(Patient.class).add(eq("patientId", id))
-		        .uniqueResult();
+		// patients already in the session, e.g., as part of a page of results, are returned without a query
+		return (Patient) getSessionFactory().getCurrentSession().get(Patient.class, id);
 	}
 	
 	@Override
@@ -64,6 +65,16 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 		}
 	}
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("names", "identifiers.identifierType", "addresses", "attributes");
+	}
+	
+	@Override
+	protected List<String> getVersionDependencies() {
+		return Arrays.asList("names", "identifiers", "addresses", "attributes");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
@@ -76,8 +87,13 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 					    p -> handleGender(p.getPropertyName(), (TokenAndListParam) p.getParam()).ifPresent(criteria::add));
 					break;
 				case FhirConstants.IDENTIFIER_SEARCH_HANDLER:
-					entry.getValue()
-					        .forEach(identifier -> handleIdentifier(criteria, (TokenAndListParam) identifier.getParam()));
+					if (isSearchIndexQueryable()) {
+						entry.getValue().forEach(identifier -> handleIndexedIdentifier(
+						    (TokenAndListParam) identifier.getParam(), "patientId").ifPresent(criteria::add));
+					} else {
+						entry.getValue().forEach(
+						    identifier -> handleIdentifier(criteria, (TokenAndListParam) identifier.getParam()));
+					}
 					break;
 				case FhirConstants.DATE_RANGE_SEARCH_HANDLER:
 					entry.getValue().forEach(dateRangeParam -> handleDateRange(dateRangeParam.getPropertyName(),
@@ -112,6 +128,7 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 		StringAndListParam name = null;
 		StringAndListParam given = null;
 		StringAndListParam family = null;
+		StringAndListParam phonetic = null;
 		for (PropParam<?> param : params) {
 			switch (param.getPropertyName()) {
 				case FhirConstants.NAME_PROPERTY:
@@ -123,9 +140,17 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 				case FhirConstants.FAMILY_PROPERTY:
 					family = (StringAndListParam) param.getParam();
 					break;
+				case FhirConstants.PHONETIC_PROPERTY:
+					phonetic = (StringAndListParam) param.getParam();
+					break;
 			}
 		}
 		
-		handleNames(criteria, name, given, family);
+		// phonetic codes only exist in the search index
+		if (isSearchIndexQueryable() || phonetic != null) {
+			handleIndexedNames(name, given, family, phonetic, "patientId").ifPresent(criteria::add);
+		} else {
+			handleNames(criteria, name, given, family);
+		}
 	}
 }
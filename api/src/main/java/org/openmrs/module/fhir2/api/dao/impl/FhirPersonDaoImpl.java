@@ -40,13 +40,23 @@ public class FhirPersonDaoImpl extends BasePersonDao<Person> implements FhirPers
 		        .list();
 	}
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("names", "addresses", "attributes");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
 			switch (entry.getKey()) {
 				case FhirConstants.NAME_SEARCH_HANDLER:
-					entry.getValue()
-					        .forEach(param -> handleNames(criteria, (StringAndListParam) param.getParam(), null, null));
+					if (isSearchIndexQueryable()) {
+						entry.getValue().forEach(param -> handleIndexedNames((StringAndListParam) param.getParam(), null,
+						    null, "personId").ifPresent(criteria::add));
+					} else {
+						entry.getValue()
+						        .forEach(param -> handleNames(criteria, (StringAndListParam) param.getParam(), null, null));
+					}
 					break;
 				case FhirConstants.GENDER_SEARCH_HANDLER:
 					entry.getValue().forEach(
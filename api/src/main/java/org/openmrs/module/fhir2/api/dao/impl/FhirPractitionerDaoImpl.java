@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hibernate.criterion.Restrictions.eq;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,16 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirPractitionerDaoImpl extends BaseFhirDao<Provider> implements FhirPractitionerDao {
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("person.names", "person.addresses");
+	}
+	
+	@Override
+	protected List<String> getVersionDependencies() {
+		return Arrays.asList("person", "person.names", "person.addresses");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		handleBooleanProperty("retired", false).ifPresent(criteria::add);
@@ -47,6 +58,7 @@ public class FhirPractitionerDaoImpl extends BaseFhirDao<Provider> implements Fh
 	}
 	
 	private void handleName(Criteria criteria, StringAndListParam name) {
+		// only provider.name is matched, whether or not the search index is enabled; the provider table is small
 		handleAndListParam(name, param -> propertyLike("name", param)).ifPresent(criteria::add);
 	}
 	
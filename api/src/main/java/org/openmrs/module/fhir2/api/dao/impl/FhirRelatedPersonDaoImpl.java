@@ -25,6 +25,7 @@ import static org.hl7.fhir.r4.model.Person.SP_NAME;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import ca.uhn.fhir.rest.api.SortSpec;
@@ -53,22 +54,37 @@ public class FhirRelatedPersonDaoImpl extends BaseFhirDao<Relationship> implemen
 	@Override
 	public Collection<Relationship> searchRelationships(StringAndListParam name, TokenAndListParam gender,
 	        DateRangeParam birthDate, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country, SortSpec sort) {
+	        StringAndListParam country, TokenAndListParam id, SortSpec sort) {
 		
 		Criteria criteria = getSessionFactory().getCurrentSession().createCriteria(Relationship.class, "r");
 		
 		criteria.createAlias("r.personA", "m"); //inner join with person table
-		handleNames(criteria, name, null, null, "m");
+		if (isSearchIndexQueryable()) {
+			handleIndexedNames(name, null, null, "m.personId").ifPresent(criteria::add);
+		} else {
+			handleNames(criteria, name, null, null, "m");
+		}
 		handleGender("m.gender", gender).ifPresent(criteria::add);
 		handleDateRange("m.birthdate", birthDate).ifPresent(criteria::add);
 		handlePersonAddress("pad", city, state, postalCode, country).ifPresent(c -> {
 			criteria.createAlias("m.addresses", "pad");
 			criteria.add(c);
 		});
+		handleResourceIds(id).ifPresent(criteria::add);
 		
 		handleSort(criteria, sort);
 		
-		return criteria.list();
+		return applyFetchPlan(criteria.list());
+	}
+	
+	@Override
+	protected List<String> getVersionDependencies() {
+		return Arrays.asList("personA", "personA.names", "personA.addresses");
+	}
+	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("personA.names", "personA.addresses", "personB.names");
 	}
 	
 	@Override
@@ -0,0 +1,177 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.gt;
+import static org.hibernate.criterion.Restrictions.in;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.Criteria;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Order;
+import org.openmrs.Concept;
+import org.openmrs.ConceptReferenceTerm;
+import org.openmrs.Location;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.Person;
+import org.openmrs.Provider;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirResourceJson;
+import org.openmrs.module.fhir2.api.dao.FhirResourceJsonDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional
+@Setter(AccessLevel.PACKAGE)
+public class FhirResourceJsonDaoImpl implements FhirResourceJsonDao {
+	
+	private static final int MAX_UUIDS_PER_QUERY = 500;
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public FhirResourceJson get(String resourceType, String uuid) {
+		return (FhirResourceJson) sessionFactory.getCurrentSession().createCriteria(FhirResourceJson.class)
+		        .add(eq("resourceType", resourceType)).add(eq("uuid", uuid)).setReadOnly(true).uniqueResult();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public List<FhirResourceJson> get(String resourceType, Collection<String> uuids) {
+		List<FhirResourceJson> result = new ArrayList<>(uuids.size());
+		for (List<String> chunk : Lists.partition(new ArrayList<>(uuids), MAX_UUIDS_PER_QUERY)) {
+			result.addAll(sessionFactory.getCurrentSession().createCriteria(FhirResourceJson.class)
+			        .add(eq("resourceType", resourceType)).add(in("uuid", chunk)).setReadOnly(true).list());
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public void saveOrUpdate(Collection<FhirResourceJson> resources) {
+		Map<String, List<FhirResourceJson>> resourcesByType = new HashMap<>();
+		for (FhirResourceJson resource : resources) {
+			resourcesByType.computeIfAbsent(resource.getResourceType(), k -> new ArrayList<>()).add(resource);
+		}
+		
+		Session session = sessionFactory.getCurrentSession();
+		for (Map.Entry<String, List<FhirResourceJson>> entry : resourcesByType.entrySet()) {
+			Map<String, FhirResourceJson> existingByUuid = new HashMap<>();
+			List<String> uuids = new ArrayList<>();
+			entry.getValue().forEach(resource -> uuids.add(resource.getUuid()));
+			for (List<String> chunk : Lists.partition(uuids, MAX_UUIDS_PER_QUERY)) {
+				// the rows stay locked until the transaction completes, so a concurrent write cannot
+				// replace them between the comparison below and this one's update
+				for (Object existing : session.createCriteria(FhirResourceJson.class)
+				        .add(eq("resourceType", entry.getKey())).add(in("uuid", chunk))
+				        .setLockMode(LockMode.PESSIMISTIC_WRITE).list()) {
+					existingByUuid.put(((FhirResourceJson) existing).getUuid(), (FhirResourceJson) existing);
+				}
+			}
+			
+			for (FhirResourceJson resource : entry.getValue()) {
+				FhirResourceJson existing = existingByUuid.get(resource.getUuid());
+				if (existing == null) {
+					session.save(resource);
+					existingByUuid.put(resource.getUuid(), resource);
+				} else if (!isOlder(resource, existing)) {
+					existing.setVersionId(resource.getVersionId());
+					existing.setLastUpdated(resource.getLastUpdated());
+					existing.setBody(resource.getBody());
+				}
+			}
+		}
+		
+		session.flush();
+	}
+	
+	@Override
+	public void delete(String resourceType, Collection<String> uuids) {
+		for (List<String> chunk : Lists.partition(new ArrayList<>(uuids), MAX_UUIDS_PER_QUERY)) {
+			sessionFactory.getCurrentSession()
+			        .createQuery("delete from FhirResourceJson where resourceType = :resourceType and uuid in (:uuids)")
+			        .setParameter("resourceType", resourceType).setParameterList("uuids", chunk).executeUpdate();
+		}
+	}
+	
+	@Override
+	public void deleteReferencing(OpenmrsObject object) {
+		if (object instanceof Person) {
+			Integer personId = ((Person) object).getPersonId();
+			deleteWhereUuidIn(FhirConstants.OBSERVATION, "select o.uuid from Obs o where o.person.personId = :id", personId);
+			deleteWhereUuidIn(FhirConstants.ENCOUNTER, "select e.uuid from Encounter e where e.patient.patientId = :id",
+			    personId);
+			deleteWhereUuidIn(FhirConstants.ENCOUNTER,
+			    "select ep.encounter.uuid from EncounterProvider ep where ep.provider.person.personId = :id", personId);
+		} else if (object instanceof Provider) {
+			deleteWhereUuidIn(FhirConstants.ENCOUNTER,
+			    "select ep.encounter.uuid from EncounterProvider ep where ep.provider.providerId = :id",
+			    ((Provider) object).getProviderId());
+		} else if (object instanceof Concept) {
+			deleteWhereUuidIn(FhirConstants.OBSERVATION,
+			    "select o.uuid from Obs o where o.concept.conceptId = :id or o.valueCoded.conceptId = :id",
+			    ((Concept) object).getConceptId());
+		} else if (object instanceof ConceptReferenceTerm) {
+			String concepts = "select m.concept.conceptId from ConceptMap m"
+			        + " where m.conceptReferenceTerm.conceptReferenceTermId = :id";
+			deleteWhereUuidIn(FhirConstants.OBSERVATION, "select o.uuid from Obs o where o.concept.conceptId in ("
+			        + concepts + ") or o.valueCoded.conceptId in (" + concepts + ")",
+			    ((ConceptReferenceTerm) object).getConceptReferenceTermId());
+		} else if (object instanceof Location) {
+			deleteWhereUuidIn(FhirConstants.ENCOUNTER, "select e.uuid from Encounter e where e.location.locationId = :id",
+			    ((Location) object).getLocationId());
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public <T extends OpenmrsObject> List<T> getObjects(Class<T> type, Integer afterId, int maxResults) {
+		String idProperty = sessionFactory.getClassMetadata(type).getIdentifierPropertyName();
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(type);
+		if (afterId != null) {
+			criteria.add(gt(idProperty, afterId));
+		}
+		
+		return criteria.addOrder(Order.asc(idProperty)).setMaxResults(maxResults).list();
+	}
+	
+	private void deleteWhereUuidIn(String resourceType, String uuidQuery, Integer id) {
+		if (id != null) {
+			sessionFactory.getCurrentSession()
+			        .createQuery("delete from FhirResourceJson where resourceType = :resourceType and uuid in (" + uuidQuery
+			                + ")")
+			        .setParameter("resourceType", resourceType).setInteger("id", id).executeUpdate();
+		}
+	}
+	
+	private static boolean isOlder(FhirResourceJson resource, FhirResourceJson existing) {
+		return resource.getLastUpdated() != null && existing.getLastUpdated() != null
+		        && resource.getLastUpdated().before(existing.getLastUpdated());
+	}
+}
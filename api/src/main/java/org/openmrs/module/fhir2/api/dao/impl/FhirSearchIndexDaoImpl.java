@@ -0,0 +1,293 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SQLQuery;
+import org.hibernate.SessionFactory;
+import org.openmrs.module.fhir2.api.dao.FhirSearchIndexDao;
+import org.openmrs.module.fhir2.api.searchindex.SearchNameIndex;
+import org.openmrs.module.fhir2.api.searchindex.SearchTokenIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the search index tables with bulk SQL statements, so that index rows never have to be
+ * loaded into the session
+ */
+@Component
+@Transactional
+@Setter(AccessLevel.PACKAGE)
+public class FhirSearchIndexDaoImpl implements FhirSearchIndexDao {
+	
+	private static final String TOKEN_TABLE = "fhir_search_token";
+	
+	private static final String NAME_TABLE = "fhir_search_name";
+	
+	private static final String NAME_GRAM_TABLE = "fhir_search_name_gram";
+	
+	private static final String NAME_PHONETIC_TABLE = "fhir_search_name_phonetic";
+	
+	private static final String QUEUE_TABLE = "fhir_search_index_queue";
+	
+	private static final String REBUILD = "REBUILD";
+	
+	private static final String[] NAME_TABLES = { NAME_GRAM_TABLE, NAME_PHONETIC_TABLE, NAME_TABLE };
+	
+	private static final String PERSON_NAMES_SQL = "select person_name_id, person_id, given_name, middle_name, family_name "
+	        + "from person_name where ";
+	
+	private static final String INSERT_NAME_SQL = "insert into " + NAME_TABLE
+	        + " (person_name_id, person_id, given_name, middle_name, family_name) values (?, ?, ?, ?, ?)";
+	
+	private static final String INSERT_NAME_GRAM_SQL = "insert into " + NAME_GRAM_TABLE
+	        + " (person_name_id, gram) values (?, ?)";
+	
+	private static final String INSERT_NAME_PHONETIC_SQL = "insert into " + NAME_PHONETIC_TABLE
+	        + " (person_name_id, code) values (?, ?)";
+	
+	private static final int MAX_IDS_PER_QUERY = 500;
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	public void reindex(SearchTokenIndex index, SearchTokenIndex.Dependency dependency, Collection<Integer> ids) {
+		String affectedResources = index.getAffectedResourcesSql(dependency);
+		if (affectedResources == null || ids.isEmpty()) {
+			return;
+		}
+		
+		for (List<Integer> chunk : Lists.partition(new ArrayList<>(ids), MAX_IDS_PER_QUERY)) {
+			createQuery(TOKEN_TABLE, deleteSql(index, "resource_id in (" + affectedResources + ")"))
+			        .setParameterList("ids", chunk).executeUpdate();
+			createQuery(TOKEN_TABLE, insertSql(index, index.getRowIdColumn() + " in (" + affectedResources + ")"))
+			        .setParameterList("ids", chunk).executeUpdate();
+		}
+	}
+	
+	@Override
+	public void reindex(SearchTokenIndex index, int afterId, int upToId) {
+		String rowId = index.getRowIdColumn();
+		createQuery(TOKEN_TABLE, deleteSql(index, "resource_id > :afterId and resource_id <= :upToId"))
+		        .setParameter("afterId", afterId).setParameter("upToId", upToId).executeUpdate();
+		createQuery(TOKEN_TABLE, insertSql(index, rowId + " > :afterId and " + rowId + " <= :upToId"))
+		        .setParameter("afterId", afterId).setParameter("upToId", upToId).executeUpdate();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public int getMaxResourceId(SearchTokenIndex index) {
+		Number result = (Number) sessionFactory.getCurrentSession()
+		        .createSQLQuery(String.format("select max(%s) from %s", index.getIdColumn(), index.getTable()))
+		        .uniqueResult();
+		return result == null ? 0 : result.intValue();
+	}
+	
+	@Override
+	public void reindexNames(Collection<Integer> personNameIds) {
+		for (List<Integer> chunk : Lists.partition(new ArrayList<>(personNameIds), MAX_IDS_PER_QUERY)) {
+			for (String table : NAME_TABLES) {
+				createQuery(table, "delete from " + table + " where person_name_id in (:ids)").setParameterList("ids", chunk)
+				        .executeUpdate();
+			}
+			
+			insertNames(sessionFactory.getCurrentSession().createSQLQuery(PERSON_NAMES_SQL + "person_name_id in (:ids)")
+			        .setParameterList("ids", chunk).list());
+		}
+	}
+	
+	@Override
+	public void reindexNames(int afterId, int upToId) {
+		for (String table : NAME_TABLES) {
+			createQuery(table, "delete from " + table + " where person_name_id > :afterId and person_name_id <= :upToId")
+			        .setParameter("afterId", afterId).setParameter("upToId", upToId).executeUpdate();
+		}
+		
+		insertNames(sessionFactory.getCurrentSession()
+		        .createSQLQuery(PERSON_NAMES_SQL + "person_name_id > :afterId and person_name_id <= :upToId")
+		        .setParameter("afterId", afterId).setParameter("upToId", upToId).list());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public int getMaxPersonNameId() {
+		Number result = (Number) sessionFactory.getCurrentSession()
+		        .createSQLQuery("select max(person_name_id) from person_name").uniqueResult();
+		return result == null ? 0 : result.intValue();
+	}
+	
+	@Override
+	public void enqueue(SearchTokenIndex.Dependency dependency, Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		
+		sessionFactory.getCurrentSession().doWork(connection -> {
+			try (PreparedStatement insert = connection
+			        .prepareStatement("insert into " + QUEUE_TABLE + " (dependency, object_id) values (?, ?)")) {
+				for (Integer id : ids) {
+					insert.setString(1, dependency.name());
+					insert.setInt(2, id);
+					insert.addBatch();
+				}
+				
+				insert.executeBatch();
+			}
+		});
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long getLastQueueId() {
+		Number result = (Number) sessionFactory.getCurrentSession()
+		        .createSQLQuery("select max(search_index_queue_id) from " + QUEUE_TABLE).uniqueResult();
+		return result == null ? 0 : result.longValue();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public Map<SearchTokenIndex.Dependency, Set<Integer>> getQueued(long upToId) {
+		List<Object[]> rows = sessionFactory.getCurrentSession()
+		        .createSQLQuery("select dependency, object_id from " + QUEUE_TABLE
+		                + " where search_index_queue_id <= :upToId and dependency <> :rebuild")
+		        .setParameter("upToId", upToId).setParameter("rebuild", REBUILD).list();
+		
+		Map<SearchTokenIndex.Dependency, Set<Integer>> result = new EnumMap<>(SearchTokenIndex.Dependency.class);
+		for (Object[] row : rows) {
+			result.computeIfAbsent(SearchTokenIndex.Dependency.valueOf((String) row[0]), d -> new HashSet<>())
+			        .add(((Number) row[1]).intValue());
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public void dequeue(long upToId) {
+		createQuery(QUEUE_TABLE,
+		    "delete from " + QUEUE_TABLE + " where search_index_queue_id <= :upToId and dependency <> :rebuild")
+		            .setParameter("upToId", upToId).setParameter("rebuild", REBUILD).executeUpdate();
+	}
+	
+	@Override
+	public void requireRebuild() {
+		createQuery(QUEUE_TABLE, "insert into " + QUEUE_TABLE + " (dependency, object_id) values (:rebuild, 0)")
+		        .setParameter("rebuild", REBUILD).executeUpdate();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public boolean isRebuildRequired() {
+		Number result = (Number) sessionFactory.getCurrentSession()
+		        .createSQLQuery("select count(*) from " + QUEUE_TABLE + " where dependency = :rebuild")
+		        .setParameter("rebuild", REBUILD).uniqueResult();
+		return result != null && result.intValue() > 0;
+	}
+	
+	@Override
+	public void clearQueue(long upToId) {
+		createQuery(QUEUE_TABLE, "delete from " + QUEUE_TABLE + " where search_index_queue_id <= :upToId")
+		        .setParameter("upToId", upToId).executeUpdate();
+	}
+	
+	// names are normalized in Java, as there is no portable SQL for removing accents, then batch inserted
+	@SuppressWarnings("unchecked")
+	private void insertNames(List<?> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		
+		sessionFactory.getCurrentSession().doWork(connection -> {
+			try (PreparedStatement insertName = connection.prepareStatement(INSERT_NAME_SQL);
+			        PreparedStatement insertGram = connection.prepareStatement(INSERT_NAME_GRAM_SQL);
+			        PreparedStatement insertPhonetic = connection.prepareStatement(INSERT_NAME_PHONETIC_SQL)) {
+				for (Object[] row : (List<Object[]>) rows) {
+					int personNameId = ((Number) row[0]).intValue();
+					String givenName = SearchNameIndex.normalize((String) row[2]);
+					String middleName = SearchNameIndex.normalize((String) row[3]);
+					String familyName = SearchNameIndex.normalize((String) row[4]);
+					
+					insertName.setInt(1, personNameId);
+					insertName.setInt(2, ((Number) row[1]).intValue());
+					setString(insertName, 3, givenName);
+					setString(insertName, 4, middleName);
+					setString(insertName, 5, familyName);
+					insertName.addBatch();
+					
+					for (String gram : SearchNameIndex.getGrams(givenName, middleName, familyName)) {
+						insertGram.setInt(1, personNameId);
+						insertGram.setString(2, gram);
+						insertGram.addBatch();
+					}
+					
+					for (String code : SearchNameIndex.getPhoneticCodes(givenName, middleName, familyName)) {
+						insertPhonetic.setInt(1, personNameId);
+						insertPhonetic.setString(2, code);
+						insertPhonetic.addBatch();
+					}
+				}
+				
+				insertName.executeBatch();
+				insertGram.executeBatch();
+				insertPhonetic.executeBatch();
+			}
+		});
+	}
+	
+	private SQLQuery createQuery(String table, String sql) {
+		// only the index table is affected, so nothing else needs to be evicted from the second-level cache
+		SQLQuery query = sessionFactory.getCurrentSession().createSQLQuery(sql);
+		query.addSynchronizedQuerySpace(table);
+		return query;
+	}
+	
+	private static void setString(PreparedStatement statement, int index, String value) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, Types.VARCHAR);
+		} else {
+			statement.setString(index, value);
+		}
+	}
+	
+	// the resource type and parameter name are constants of the index, never request values
+	private static String deleteSql(SearchTokenIndex index, String condition) {
+		return String.format("delete from %s where resource_type = '%s' and param_name = '%s' and %s", TOKEN_TABLE,
+		    index.getResourceType(), index.getParamName(), condition);
+	}
+	
+	private static String insertSql(SearchTokenIndex index, String condition) {
+		StringBuilder sb = new StringBuilder("insert into ").append(TOKEN_TABLE)
+		        .append(" (resource_type, param_name, resource_id, token_system, token_value) select '")
+		        .append(index.getResourceType()).append("', '").append(index.getParamName()).append("', ")
+		        .append(index.getRowsSql().substring("select ".length())).append(" where ").append(condition);
+		if (index.getRowsCondition() != null) {
+			sb.append(" and ").append(index.getRowsCondition());
+		}
+		
+		return sb.toString();
+	}
+}
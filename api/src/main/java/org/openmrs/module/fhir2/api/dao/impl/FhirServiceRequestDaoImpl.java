@@ -21,6 +21,11 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirServiceRequestDaoImpl extends BaseFhirDao<TestOrder> implements FhirServiceRequestDao<TestOrder> {
 	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("concept.names", "patient.names", "patient.identifiers", "orderer");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		
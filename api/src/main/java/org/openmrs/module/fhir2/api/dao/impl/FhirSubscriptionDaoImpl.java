@@ -0,0 +1,45 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.gt;
+import static org.hibernate.criterion.Restrictions.isNull;
+import static org.hibernate.criterion.Restrictions.or;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.springframework.stereotype.Component;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirSubscriptionDaoImpl extends BaseFhirDao<FhirSubscription> implements FhirSubscriptionDao {
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<FhirSubscription> getActiveSubscriptions() {
+		return getSessionFactory().getCurrentSession().createCriteria(FhirSubscription.class)
+		        .add(eq("status", FhirSubscription.SubscriptionStatus.ACTIVE)).add(eq("retired", false))
+		        .add(or(isNull("end"), gt("end", new Date()))).list();
+	}
+	
+	@Override
+	public void markError(String uuid, String error) {
+		getSessionFactory().getCurrentSession()
+		        .createQuery("update FhirSubscription s set s.status = :status, s.error = :error where s.uuid = :uuid")
+		        .setParameter("status", FhirSubscription.SubscriptionStatus.ERROR).setString("error", error)
+		        .setString("uuid", uuid).executeUpdate();
+	}
+}
@@ -11,21 +11,31 @@ package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hibernate.criterion.Restrictions.and;
 import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.in;
+import static org.hibernate.criterion.Restrictions.not;
 
 import javax.validation.constraints.NotNull;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
+import com.google.common.collect.ImmutableMap;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
 import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.openmrs.api.context.Context;
 import org.openmrs.api.db.DAOException;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.FhirTask;
@@ -38,6 +48,22 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirTaskDaoImpl extends BaseFhirDao<FhirTask> implements FhirTaskDao {
 	
+	/**
+	 * SELECT ... FOR UPDATE SKIP LOCKED is available from MySQL 8.0.1, MariaDB 10.6 and PostgreSQL 9.5
+	 */
+	private static final Map<String, int[]> SKIP_LOCKED_VERSIONS = ImmutableMap.of("MySQL", new int[] { 8, 0, 1 },
+	    "MariaDB", new int[] { 10, 6, 0 }, "PostgreSQL", new int[] { 9, 5, 0 });
+	
+	/**
+	 * Whether the database supports SKIP LOCKED; detected on first use
+	 */
+	private volatile Boolean skipLockedSupported;
+	
+	@Override
+	protected FetchPlan getFetchPlan() {
+		return FetchPlan.of("basedOnReferences", "input", "output");
+	}
+	
 	@Override
 	protected void setupSearchParams(Criteria criteria, SearchParameterMap theParams) {
 		theParams.getParameters().forEach(entry -> {
@@ -70,6 +96,109 @@ public class FhirTaskDaoImpl extends BaseFhirDao<FhirTask> implements FhirTaskDa
 		return task;
 	}
 	
+	@Override
+	public List<FhirTask> claimTasks(String ownerType, String ownerId, int count) {
+		Session session = getSessionFactory().getCurrentSession();
+		
+		if (skipLockedSupported == null) {
+			skipLockedSupported = DatabaseVersions.isAtLeast(session, SKIP_LOCKED_VERSIONS);
+		}
+		
+		// either way, the claim itself is made through the entity so that it is audited and seen by the
+		// interceptors which keep subscriptions and derived data up to date
+		List<FhirTask> claimed = new ArrayList<>(count);
+		Date now = new Date();
+		if (skipLockedSupported) {
+			// rows locked by a concurrent claimer are skipped rather than waited for, so each claimer
+			// gets its own tasks; the tasks found are locked, so they are still requested
+			for (Integer candidate : findAndLockRequestedTasks(session, ownerType, ownerId, count)) {
+				claim(session, candidate, now).ifPresent(claimed::add);
+			}
+			
+			return claimed;
+		}
+		
+		// without SKIP LOCKED, each candidate is claimed with a conditional update, which only succeeds for
+		// one of several concurrent claimers. A task lost to another claimer is replaced with the next
+		// requested one, until enough tasks are claimed or none are left
+		List<Integer> tried = new ArrayList<>();
+		while (claimed.size() < count) {
+			List<Integer> candidates = findRequestedTasks(session, ownerType, ownerId, tried, count - claimed.size());
+			if (candidates.isEmpty()) {
+				break;
+			}
+			
+			for (Integer candidate : candidates) {
+				tried.add(candidate);
+				
+				int updated = session
+				        .createQuery("update FhirTask t set t.dateChanged = :now where t.id = :id and t.status = :status")
+				        .setTimestamp("now", now).setInteger("id", candidate)
+				        .setParameter("status", FhirTask.TaskStatus.REQUESTED).executeUpdate();
+				if (updated == 1) {
+					claim(session, candidate, now).ifPresent(claimed::add);
+				}
+			}
+		}
+		
+		return claimed;
+	}
+	
+	static boolean supportsSkipLocked(String productName, String productVersion) {
+		return DatabaseVersions.isAtLeast(productName, productVersion, SKIP_LOCKED_VERSIONS);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<Integer> findAndLockRequestedTasks(Session session, String ownerType, String ownerId, int count) {
+		List<Number> ids = session.createSQLQuery("select t.task_id from fhir_task t"
+		        + " join fhir_reference o on o.reference_id = t.owner_reference_id"
+		        + " where o.target_type = :ownerType and o.reference = :ownerId and t.status = :status"
+		        + " and t.retired = :retired order by t.date_created, t.task_id limit " + count
+		        + " for update skip locked")
+		        .setString("ownerType", ownerType).setString("ownerId", ownerId)
+		        .setString("status", FhirTask.TaskStatus.REQUESTED.name()).setBoolean("retired", false).list();
+		
+		List<Integer> result = new ArrayList<>(ids.size());
+		for (Number id : ids) {
+			result.add(id.intValue());
+		}
+		
+		return result;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<Integer> findRequestedTasks(Session session, String ownerType, String ownerId, List<Integer> excluded,
+	        int count) {
+		Criteria criteria = session.createCriteria(FhirTask.class).createAlias("ownerReference", "o")
+		        .add(eq("o.type", ownerType)).add(eq("o.reference", ownerId))
+		        .add(eq("status", FhirTask.TaskStatus.REQUESTED)).add(eq("retired", false));
+		
+		if (!excluded.isEmpty()) {
+			criteria.add(not(in("id", excluded)));
+		}
+		
+		return criteria.addOrder(Order.asc("dateCreated")).addOrder(Order.asc("id")).setProjection(Projections.id())
+		        .setMaxResults(count).list();
+	}
+	
+	private Optional<FhirTask> claim(Session session, Integer id, Date now) {
+		FhirTask task = (FhirTask) session.get(FhirTask.class, id);
+		if (task == null) {
+			return Optional.empty();
+		}
+		
+		// the row is already locked or updated by this transaction, so this re-read does not wait
+		session.refresh(task, LockOptions.UPGRADE);
+		if (task.getStatus() != FhirTask.TaskStatus.REQUESTED) {
+			return Optional.empty();
+		}
+		
+		task.setStatus(FhirTask.TaskStatus.ACCEPTED);
+		task.setChangedBy(Context.getAuthenticatedUser());
+		task.setDateChanged(now);
+		return Optional.of(task);
+	}
+	
 	@Override
 	protected String paramToProp(@NotNull String paramName) {
 		switch (paramName) {
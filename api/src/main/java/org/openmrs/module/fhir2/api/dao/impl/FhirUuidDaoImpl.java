@@ -0,0 +1,59 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Projections.property;
+import static org.hibernate.criterion.Restrictions.in;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Projections;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.dao.FhirUuidDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirUuidDaoImpl implements FhirUuidDao {
+	
+	private static final int MAX_UUIDS_PER_QUERY = 500;
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public Map<String, Integer> getIds(Class<? extends OpenmrsObject> type, Collection<String> uuids) {
+		Map<String, Integer> result = new HashMap<>();
+		for (List<String> chunk : Lists.partition(new ArrayList<>(uuids), MAX_UUIDS_PER_QUERY)) {
+			List<Object[]> rows = sessionFactory.getCurrentSession().createCriteria(type).add(in("uuid", chunk))
+			        .setProjection(Projections.projectionList().add(property("uuid")).add(Projections.id())).list();
+			
+			for (Object[] row : rows) {
+				result.put((String) row[0], (Integer) row[1]);
+			}
+		}
+		
+		return result;
+	}
+}
@@ -9,21 +9,74 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
+import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import lombok.AccessLevel;
+import lombok.Setter;
 import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.hl7.fhir.r4.model.Resource;
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
 import org.openmrs.module.fhir2.api.FhirService;
 import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.materialization.MaterializedResourceStore;
+import org.openmrs.module.fhir2.api.metrics.FhirMetrics;
 import org.openmrs.module.fhir2.api.translators.OpenmrsFhirTranslator;
+import org.openmrs.module.fhir2.api.translators.PartiallyUpdatableOpenmrsTranslator;
 import org.openmrs.module.fhir2.api.translators.UpdatableOpenmrsTranslator;
+import org.openmrs.module.fhir2.api.util.FhirPatchUtils;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.annotation.Transactional;
 
 public abstract class BaseFhirService<T extends IAnyResource, U extends OpenmrsObject & Auditable> implements FhirService<T> {
 	
+	@Autowired
+	@Qualifier("fhirR4")
+	@Setter(AccessLevel.PACKAGE)
+	private FhirContext fhirContext;
+	
+	@Autowired(required = false)
+	@Setter(AccessLevel.PACKAGE)
+	private MaterializedResourceStore materializedResourceStore;
+	
 	@Override
+	@Transactional(readOnly = true)
 	public T get(String uuid) {
-		return getTranslator().toFhirResource(getDao().get(uuid));
+		T materialized = getMaterialized(uuid);
+		if (materialized != null) {
+			return materialized;
+		}
+		
+		long start = System.nanoTime();
+		U existingObject = getDao().get(uuid);
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_DAO_GET, start);
+		
+		start = System.nanoTime();
+		T result = getTranslator().toFhirResource(existingObject);
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, start);
+		
+		if (result != null && existingObject != null) {
+			// one aggregate query, rather than loading each of the rows the version depends on
+			result.getMeta().setVersionId(FhirUtils.getVersionId(getDao().getLastUpdated(uuid)));
+		}
+		
+		return result;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public String getVersionId(String uuid) {
+		return FhirUtils.getVersionId(getDao().getLastUpdated(uuid));
 	}
 	
 	@Override
@@ -33,6 +86,12 @@ public abstract class BaseFhirService<T extends IAnyResource, U extends OpenmrsO
 	
 	@Override
 	public T update(String uuid, T updatedResource) {
+		return update(uuid, updatedResource, null);
+	}
+	
+	@Override
+	@Transactional
+	public T update(String uuid, T updatedResource, String versionId) {
 		if (uuid == null) {
 			throw new InvalidRequestException("Uuid cannot be null.");
 		}
@@ -47,12 +106,18 @@ public abstract class BaseFhirService<T extends IAnyResource, U extends OpenmrsO
 			        String.format("%s id does not match resource id.", updatedResource.getClass().getSimpleName()));
 		}
 		
-		U existingObject = getDao().get(uuid);
+		// the object is locked while its version is checked, so it cannot change before it is updated
+		U existingObject = versionId == null ? getDao().get(uuid) : getDao().getForUpdate(uuid);
 		
 		if (existingObject == null) {
 			throw new MethodNotAllowedException("No object found to update");
 		}
 		
+		if (versionId != null && !versionId.equals(FhirUtils.getVersionId(getDao().getLastUpdated(existingObject)))) {
+			throw new PreconditionFailedException(String.format("%s %s has been modified since version %s",
+			    updatedResource.getClass().getSimpleName(), uuid, versionId));
+		}
+		
 		OpenmrsFhirTranslator<U, T> translator = getTranslator();
 		
 		if (translator instanceof UpdatableOpenmrsTranslator) {
@@ -64,11 +129,108 @@ public abstract class BaseFhirService<T extends IAnyResource, U extends OpenmrsO
 		}
 	}
 	
+	@Override
+	public T patch(String uuid, PatchTypeEnum patchType, String patchBody) {
+		return patch(uuid, patchType, patchBody, null);
+	}
+	
+	@Override
+	@Transactional
+	@SuppressWarnings("unchecked")
+	public T patch(String uuid, PatchTypeEnum patchType, String patchBody, String versionId) {
+		if (patchType != PatchTypeEnum.JSON_PATCH) {
+			throw new InvalidRequestException(String.format("Patch type %s is not supported", patchType));
+		}
+		
+		return patch(uuid, versionId, null, existingResource -> (T) FhirPatchUtils.applyPatch(fhirContext,
+		    (Resource) existingResource, uuid, patchType, patchBody));
+	}
+	
+	@Override
+	@Transactional
+	public T patchResource(String uuid, T originalResource, T patchedResource, String versionId) {
+		return patch(uuid, versionId, originalResource, existingResource -> patchedResource);
+	}
+	
+	/**
+	 * @param originalResource the resource the patch was applied to, if it is not the current resource
+	 *            itself, e.g., because it was converted from another FHIR version
+	 * @param patcher applies the patch to the current resource
+	 */
+	@SuppressWarnings("unchecked")
+	private T patch(String uuid, String versionId, T originalResource, UnaryOperator<T> patcher) {
+		if (uuid == null) {
+			throw new InvalidRequestException("Uuid cannot be null.");
+		}
+		
+		// as for updates, the object is locked while its version is checked
+		U existingObject = versionId == null ? getDao().get(uuid) : getDao().getForUpdate(uuid);
+		
+		if (existingObject == null) {
+			throw new MethodNotAllowedException("No object found to patch");
+		}
+		
+		OpenmrsFhirTranslator<U, T> translator = getTranslator();
+		T existingResource = translator.toFhirResource(existingObject);
+		
+		if (versionId != null && !versionId.equals(FhirUtils.getVersionId(getDao().getLastUpdated(existingObject)))) {
+			throw new PreconditionFailedException(String.format("%s %s has been modified since version %s",
+			    existingResource.getClass().getSimpleName(), uuid, versionId));
+		}
+		
+		Resource patchedResource = (Resource) patcher.apply(existingResource);
+		
+		List<String> changedElements = FhirPatchUtils.getChangedElements(
+		    (Resource) (originalResource == null ? existingResource : originalResource), patchedResource);
+		if (changedElements.isEmpty()) {
+			return existingResource;
+		}
+		
+		List<String> removedElements = changedElements.stream()
+		        .filter(name -> FhirPatchUtils.isEmpty(patchedResource, name)).collect(Collectors.toList());
+		
+		T result;
+		if (translator instanceof PartiallyUpdatableOpenmrsTranslator) {
+			PartiallyUpdatableOpenmrsTranslator<U, T> partialTranslator =
+			        (PartiallyUpdatableOpenmrsTranslator<U, T>) translator;
+			removedElements.forEach(name -> partialTranslator.removeElement(existingObject, name));
+			T changes = (T) FhirPatchUtils.copyElements(fhirContext, patchedResource, changedElements);
+			result = translator
+			        .toFhirResource(getDao().createOrUpdate(partialTranslator.toOpenmrsType(existingObject, changes)));
+		} else {
+			result = update(uuid, (T) patchedResource);
+		}
+		
+		// translators only map the elements present on a resource, so they may not clear a removed element
+		for (String name : removedElements) {
+			if (!FhirPatchUtils.isEmpty((Resource) result, name)) {
+				throw new UnprocessableEntityException(String.format("%s cannot be removed from %s %s", name,
+				    existingResource.getClass().getSimpleName(), uuid));
+			}
+		}
+		
+		return result;
+	}
+	
 	@Override
 	public T delete(String uuid) {
 		return getTranslator().toFhirResource(getDao().delete(uuid));
 	}
 	
+	@SuppressWarnings("unchecked")
+	private T getMaterialized(String uuid) {
+		String resourceType = materializedResourceStore == null ? null
+		        : materializedResourceStore.getResourceType(getTranslator());
+		if (resourceType == null) {
+			return null;
+		}
+		
+		long start = System.nanoTime();
+		T result = (T) materializedResourceStore.read(resourceType, uuid, getVersionId(uuid));
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_MATERIALIZED_READ, start);
+		return result;
+	}
+	
 	protected abstract FhirDao<U> getDao();
 	
 	protected abstract OpenmrsFhirTranslator<U, T> getTranslator();
@@ -46,7 +46,7 @@ public class FhirAllergyIntoleranceServiceImpl extends BaseFhirService<AllergyIn
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForAllergies(ReferenceAndListParam patientReference, TokenAndListParam category,
 	        TokenAndListParam allergen, TokenAndListParam severity, TokenAndListParam manifestationCode,
-	        TokenAndListParam clinicalStatus) {
+	        TokenAndListParam clinicalStatus, TokenAndListParam id) {
 		
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference)
@@ -54,7 +54,8 @@ public class FhirAllergyIntoleranceServiceImpl extends BaseFhirService<AllergyIn
 		        .addParameter(FhirConstants.ALLERGEN_SEARCH_HANDLER, allergen)
 		        .addParameter(FhirConstants.SEVERITY_SEARCH_HANDLER, severity)
 		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER, manifestationCode)
-		        .addParameter(FhirConstants.BOOLEAN_SEARCH_HANDLER, clinicalStatus);
+		        .addParameter(FhirConstants.BOOLEAN_SEARCH_HANDLER, clinicalStatus)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
@@ -47,7 +47,7 @@ public class FhirLocationServiceImpl extends BaseFhirService<Location, org.openm
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForLocations(StringAndListParam name, StringAndListParam city, StringAndListParam country,
 	        StringAndListParam postalCode, StringAndListParam state, TokenAndListParam tag, ReferenceAndListParam parent,
-	        SortSpec sort) {
+	        TokenAndListParam id, SortSpec sort) {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, name)
 		        .addParameter(FhirConstants.CITY_SEARCH_HANDLER, city)
@@ -55,7 +55,8 @@ public class FhirLocationServiceImpl extends BaseFhirService<Location, org.openm
 		        .addParameter(FhirConstants.COUNTRY_SEARCH_HANDLER, country)
 		        .addParameter(FhirConstants.POSTALCODE_SEARCH_HANDLER, postalCode)
 		        .addParameter(FhirConstants.LOCATION_REFERENCE_SEARCH_HANDLER, parent)
-		        .addParameter(FhirConstants.TAG_SEARCH_HANDLER, tag).setSortSpec(sort);
+		        .addParameter(FhirConstants.TAG_SEARCH_HANDLER, tag)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id).setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
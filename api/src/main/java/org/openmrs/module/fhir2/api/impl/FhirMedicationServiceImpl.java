@@ -40,10 +40,10 @@ public class FhirMedicationServiceImpl extends BaseFhirService<Medication, Drug>
 	@Override
 	@Transactional(readOnly = true)
 	public Collection<Medication> searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
-	        TokenAndListParam ingredientCode, TokenAndListParam status) {
+	        TokenAndListParam ingredientCode, TokenAndListParam status, TokenAndListParam id) {
 		
-		return dao.searchForMedications(code, dosageForm, ingredientCode, status).stream().map(translator::toFhirResource)
-		        .collect(Collectors.toList());
+		return dao.searchForMedications(code, dosageForm, ingredientCode, status, id).stream()
+		        .map(translator::toFhirResource).collect(Collectors.toList());
 	}
 	
 }
@@ -9,6 +9,25 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.model.api.TemporalPrecisionEnum;
+import ca.uhn.fhir.rest.api.SortOrderEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.DateRangeParam;
@@ -16,18 +35,36 @@ import ca.uhn.fhir.rest.param.QuantityAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
+import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.IntegerType;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.Period;
+import org.hl7.fhir.r4.model.Quantity;
+import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.StringType;
+import org.openmrs.Concept;
+import org.openmrs.ConceptNumeric;
 import org.openmrs.Obs;
+import org.openmrs.api.ConceptService;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirObservationService;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.NumericObsSummary;
+import org.openmrs.module.fhir2.api.dao.NumericObsValue;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.util.TimeSeriesUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +75,11 @@ import org.springframework.transaction.annotation.Transactional;
 @Setter(AccessLevel.PACKAGE)
 public class FhirObservationServiceImpl extends BaseFhirService<Observation, org.openmrs.Obs> implements FhirObservationService {
 	
+	private static final String STATISTICS_SYSTEM_URI = "http://hl7.org/fhir/observation-statistics";
+	
+	private static final List<String> SUPPORTED_STATISTICS = Arrays.asList("average", "maximum", "minimum", "count",
+	    "sum");
+	
 	@Autowired
 	private FhirObservationDao dao;
 	
@@ -47,10 +89,16 @@ public class FhirObservationServiceImpl extends BaseFhirService<Observation, org
 	@Autowired
 	private SearchQuery<Obs, Observation, FhirObservationDao, ObservationTranslator> searchQuery;
 	
+	@Autowired
+	private ConceptTranslator conceptTranslator;
+	
+	@Autowired
+	private ConceptService conceptService;
+	
 	@Override
 	@Transactional(readOnly = true)
 	public Observation get(String uuid) {
-		return translator.toFhirResource(dao.get(uuid));
+		return super.get(uuid);
 	}
 	
 	@Override
@@ -58,7 +106,7 @@ public class FhirObservationServiceImpl extends BaseFhirService<Observation, org
 	public IBundleProvider searchForObservations(ReferenceAndListParam encounterReference,
 	        ReferenceAndListParam patientReference, ReferenceParam hasMemberReference, TokenAndListParam valueConcept,
 	        DateRangeParam valueDateParam, QuantityAndListParam valueQuantityParam, StringAndListParam valueStringParam,
-	        DateRangeParam date, TokenAndListParam code, TokenAndListParam category, SortSpec sort) {
+	        DateRangeParam date, TokenAndListParam code, TokenAndListParam category, TokenAndListParam id, SortSpec sort) {
 		
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER, encounterReference)
@@ -70,8 +118,285 @@ public class FhirObservationServiceImpl extends BaseFhirService<Observation, org
 		        .addParameter(FhirConstants.VALUE_STRING_SEARCH_HANDLER, "valueText", valueStringParam)
 		        .addParameter(FhirConstants.QUANTITY_SEARCH_HANDLER, "valueNumeric", valueQuantityParam)
 		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "obsDatetime", date)
-		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "valueDatetime", valueDateParam).setSortSpec(sort);
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "valueDatetime", valueDateParam)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id).setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public IBundleProvider getLastnObservations(Integer max, ReferenceAndListParam patientReference,
+	        TokenAndListParam category, TokenAndListParam code) {
+		if (patientReference == null) {
+			throw new InvalidRequestException("$lastn requires a subject");
+		}
+		
+		if (max != null && max < 1) {
+			throw new InvalidRequestException("max must be a positive integer");
+		}
+		
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference)
+		        .addParameter(FhirConstants.CATEGORY_SEARCH_HANDLER, category)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER, code)
+		        .addParameter(FhirConstants.LASTN_OBSERVATION_SEARCH_HANDLER, max == null ? 1 : max)
+		        .setSortSpec(new SortSpec(Observation.SP_DATE, SortOrderEnum.DESC));
+		
+		return searchQuery.getQueryResults(theParams, dao, translator);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Parameters getStatistics(ReferenceAndListParam patientReference, TokenAndListParam code,
+	        DateRangeParam period, StringOrListParam statistic, String interval) {
+		if (patientReference == null || code == null) {
+			throw new InvalidRequestException("$stats requires a subject and a code");
+		}
+		
+		// the values are summarised per code only, so they must all belong to the same patient
+		Reference subject = getSingleSubject(patientReference, "$stats");
+		
+		List<String> statistics = statistic == null ? SUPPORTED_STATISTICS
+		        : statistic.getValuesAsQueryTokens().stream().map(StringParam::getValue).collect(Collectors.toList());
+		for (String name : statistics) {
+			if (!SUPPORTED_STATISTICS.contains(name)) {
+				throw new InvalidRequestException(String.format("Unsupported statistic %s", name));
+			}
+		}
+		
+		ChronoUnit unit = getIntervalUnit(interval);
+		
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER, code)
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "obsDatetime", period);
+		
+		// the database summarises the values of each day, which are combined into the requested intervals here
+		Map<String, ObsStatistics> intervals = new HashMap<>();
+		for (NumericObsSummary summary : dao.getNumericObsSummaries(theParams)) {
+			LocalDate date = new java.sql.Date(summary.getDate().getTime()).toLocalDate();
+			LocalDate start = getIntervalStart(date, unit);
+			intervals.computeIfAbsent(summary.getConcept().getConceptId() + "|" + start,
+			    key -> new ObsStatistics(summary.getConcept())).add(date, summary);
+		}
+		
+		Parameters result = new Parameters();
+		intervals.values().stream()
+		        .sorted(Comparator.comparing((ObsStatistics s) -> s.getConcept().getConceptId())
+		                .thenComparing(ObsStatistics::getFirst))
+		        .forEach(s -> result.addParameter().setName("statistic")
+		                .setResource(toObservation(s, unit, subject, statistics)));
+		
+		return result;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Parameters getTimeSeries(ReferenceAndListParam patientReference, TokenAndListParam code, DateRangeParam date,
+	        Integer maxPoints) {
+		if (patientReference == null || code == null) {
+			throw new InvalidRequestException("$timeseries requires a subject and a code");
+		}
+		
+		// each code yields a single series, so the values must all belong to the same patient
+		getSingleSubject(patientReference, "$timeseries");
+		
+		if (maxPoints != null && maxPoints < 3) {
+			throw new InvalidRequestException("maxPoints must be at least 3");
+		}
+		
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER, code)
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "obsDatetime", date);
+		
+		// the values are ordered by concept, so each series is already in chronological order
+		Map<Integer, List<NumericObsValue>> series = new LinkedHashMap<>();
+		for (NumericObsValue value : dao.getNumericObsValues(theParams)) {
+			series.computeIfAbsent(value.getConcept().getConceptId(), key -> new ArrayList<>()).add(value);
+		}
+		
+		Parameters result = new Parameters();
+		for (List<NumericObsValue> values : series.values()) {
+			result.addParameter(toSeries(values, maxPoints));
+		}
+		
+		return result;
+	}
+	
+	private Parameters.ParametersParameterComponent toSeries(List<NumericObsValue> values, Integer maxPoints) {
+		long[] times = new long[values.size()];
+		double[] numbers = new double[values.size()];
+		for (int i = 0; i < values.size(); i++) {
+			times[i] = values.get(i).getDate().getTime();
+			numbers[i] = values.get(i).getValue();
+		}
+		
+		int[] indices = TimeSeriesUtils.largestTriangleThreeBuckets(times, numbers,
+		    maxPoints == null ? Integer.MAX_VALUE : maxPoints);
+		
+		Concept concept = values.get(0).getConcept();
+		// the concept is usually a lazy proxy of Concept, which is never an instance of ConceptNumeric
+		ConceptNumeric conceptNumeric = conceptService.getConceptNumeric(concept.getConceptId());
+		boolean hasRanges = conceptNumeric != null && (conceptNumeric.getLowCritical() != null
+		        || conceptNumeric.getHiCritical() != null || conceptNumeric.getLowNormal() != null
+		        || conceptNumeric.getHiNormal() != null);
+		
+		StringJoiner timeList = new StringJoiner(" ");
+		StringJoiner valueList = new StringJoiner(" ");
+		StringJoiner interpretationList = new StringJoiner(" ");
+		for (int index : indices) {
+			timeList.add(Long.toString(times[index]));
+			valueList.add(BigDecimal.valueOf(numbers[index]).stripTrailingZeros().toPlainString());
+			if (hasRanges) {
+				interpretationList.add(getInterpretation(conceptNumeric, numbers[index]));
+			}
+		}
+		
+		Parameters.ParametersParameterComponent result = new Parameters.ParametersParameterComponent().setName("series");
+		result.addPart().setName("code").setValue(conceptTranslator.toFhirResource(concept));
+		if (conceptNumeric != null && StringUtils.isNotBlank(conceptNumeric.getUnits())) {
+			result.addPart().setName("unit").setValue(new StringType(conceptNumeric.getUnits()));
+		}
+		result.addPart().setName("total").setValue(new IntegerType(values.size()));
+		result.addPart().setName("time").setValue(new StringType(timeList.toString()));
+		result.addPart().setName("value").setValue(new StringType(valueList.toString()));
+		if (hasRanges) {
+			result.addPart().setName("interpretation").setValue(new StringType(interpretationList.toString()));
+		}
+		
+		return result;
+	}
+	
+	private Observation toObservation(ObsStatistics statistics, ChronoUnit unit, Reference subject,
+	        List<String> requestedStatistics) {
+		Observation result = new Observation();
+		result.setStatus(Observation.ObservationStatus.FINAL);
+		result.setCode(conceptTranslator.toFhirResource(statistics.getConcept()));
+		result.setSubject(subject);
+		
+		// without an interval, the period is the one in which values were actually found
+		LocalDate start = unit == null ? statistics.getFirst() : getIntervalStart(statistics.getFirst(), unit);
+		LocalDate end = unit == null ? statistics.getLast() : start.plus(1, unit).minusDays(1);
+		result.setEffective(new Period().setStartElement(toDateTimeType(start)).setEndElement(toDateTimeType(end)));
+		
+		for (String name : requestedStatistics) {
+			Observation.ObservationComponentComponent component = result.addComponent();
+			component.getCode().addCoding().setSystem(STATISTICS_SYSTEM_URI).setCode(name);
+			
+			switch (name) {
+				case "average":
+					component.setValue(new Quantity(statistics.getSum() / statistics.getCount()));
+					break;
+				case "maximum":
+					component.setValue(new Quantity(statistics.getMax()));
+					break;
+				case "minimum":
+					component.setValue(new Quantity(statistics.getMin()));
+					break;
+				case "count":
+					component.setValue(new IntegerType(Math.toIntExact(statistics.getCount())));
+					break;
+				case "sum":
+					component.setValue(new Quantity(statistics.getSum()));
+					break;
+			}
+		}
+		
+		return result;
+	}
+	
+	private static String getInterpretation(ConceptNumeric concept, double value) {
+		if (concept.getLowCritical() != null && value < concept.getLowCritical()) {
+			return "LL";
+		} else if (concept.getHiCritical() != null && value > concept.getHiCritical()) {
+			return "HH";
+		} else if (concept.getLowNormal() != null && value < concept.getLowNormal()) {
+			return "L";
+		} else if (concept.getHiNormal() != null && value > concept.getHiNormal()) {
+			return "H";
+		}
+		
+		return "N";
+	}
+	
+	private static ChronoUnit getIntervalUnit(String interval) {
+		if (StringUtils.isBlank(interval)) {
+			return null;
+		}
+		
+		switch (interval) {
+			case "day":
+				return ChronoUnit.DAYS;
+			case "week":
+				return ChronoUnit.WEEKS;
+			case "month":
+				return ChronoUnit.MONTHS;
+			default:
+				throw new InvalidRequestException(String.format("Unsupported interval %s", interval));
+		}
+	}
+	
+	private static LocalDate getIntervalStart(LocalDate date, ChronoUnit unit) {
+		if (unit == null) {
+			return null;
+		}
+		
+		switch (unit) {
+			case WEEKS:
+				return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			case MONTHS:
+				return date.withDayOfMonth(1);
+			default:
+				return date;
+		}
+	}
+	
+	private static Reference getSingleSubject(ReferenceAndListParam patientReference, String operation) {
+		List<ReferenceParam> params = patientReference.getValuesAsQueryTokens().stream()
+		        .flatMap(orListParam -> orListParam.getValuesAsQueryTokens().stream()).collect(Collectors.toList());
+		if (params.size() != 1 || StringUtils.isNotBlank(params.get(0).getChain())
+		        || StringUtils.isBlank(params.get(0).getIdPart())) {
+			throw new InvalidRequestException(String.format("%s requires the id of exactly one patient", operation));
+		}
+		
+		return new Reference().setReference("Patient/" + params.get(0).getIdPart());
+	}
+	
+	private static DateTimeType toDateTimeType(LocalDate date) {
+		return new DateTimeType(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()),
+		        TemporalPrecisionEnum.DAY);
+	}
+	
+	@Getter
+	private static final class ObsStatistics {
+		
+		private final Concept concept;
+		
+		private LocalDate first;
+		
+		private LocalDate last;
+		
+		private long count;
+		
+		private double sum;
+		
+		private double min = Double.POSITIVE_INFINITY;
+		
+		private double max = Double.NEGATIVE_INFINITY;
+		
+		ObsStatistics(Concept concept) {
+			this.concept = concept;
+		}
+		
+		void add(LocalDate date, NumericObsSummary summary) {
+			first = first == null || date.isBefore(first) ? date : first;
+			last = last == null || date.isAfter(last) ? date : last;
+			count += summary.getCount();
+			sum += summary.getSum();
+			min = Math.min(min, summary.getMin());
+			max = Math.max(max, summary.getMax());
+		}
+	}
 }
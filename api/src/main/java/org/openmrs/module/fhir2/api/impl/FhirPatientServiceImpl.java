@@ -9,11 +9,23 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
+import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.server.SimpleBundleProvider;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -22,9 +34,24 @@ import org.hl7.fhir.r4.model.Patient;
 import org.openmrs.PatientIdentifierType;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirPatientService;
+import org.openmrs.module.fhir2.api.dao.FhirAllergyIntoleranceDao;
+import org.openmrs.module.fhir2.api.dao.FhirConditionDao;
+import org.openmrs.module.fhir2.api.dao.FhirDiagnosticReportDao;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirMedicationRequestDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
 import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.search.CompositeBundleProvider;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
+import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.searchindex.FhirSearchIndex;
+import org.openmrs.module.fhir2.api.translators.AllergyIntoleranceTranslator;
+import org.openmrs.module.fhir2.api.translators.ConditionTranslator;
+import org.openmrs.module.fhir2.api.translators.DiagnosticReportTranslator;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.MedicationRequestTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientTranslator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -45,6 +72,46 @@ public class FhirPatientServiceImpl extends BaseFhirService<Patient, org.openmrs
 	@Autowired
 	private SearchQuery<org.openmrs.Patient, Patient, FhirPatientDao, PatientTranslator> searchQuery;
 	
+	@Autowired
+	private FhirObservationDao observationDao;
+	
+	@Autowired
+	private ObservationTranslator observationTranslator;
+	
+	@Autowired
+	private FhirEncounterDao encounterDao;
+	
+	@Autowired
+	private EncounterTranslator encounterTranslator;
+	
+	@Autowired
+	private FhirAllergyIntoleranceDao allergyIntoleranceDao;
+	
+	@Autowired
+	private AllergyIntoleranceTranslator allergyIntoleranceTranslator;
+	
+	@Autowired
+	private FhirMedicationRequestDao medicationRequestDao;
+	
+	@Autowired
+	private MedicationRequestTranslator medicationRequestTranslator;
+	
+	@Autowired
+	private FhirDiagnosticReportDao diagnosticReportDao;
+	
+	@Autowired
+	private DiagnosticReportTranslator diagnosticReportTranslator;
+	
+	// conditions are only supported on platform versions which have them
+	@Autowired(required = false)
+	private FhirConditionDao<?> conditionDao;
+	
+	@Autowired(required = false)
+	private ConditionTranslator<?> conditionTranslator;
+	
+	@Autowired(required = false)
+	private FhirSearchIndex searchIndex;
+	
 	@Override
 	@Transactional(readOnly = true)
 	public PatientIdentifierType getPatientIdentifierTypeByIdentifier(Identifier identifier) {
@@ -56,7 +123,7 @@ public class FhirPatientServiceImpl extends BaseFhirService<Patient, org.openmrs
 	public IBundleProvider searchForPatients(StringAndListParam name, StringAndListParam given, StringAndListParam family,
 	        TokenAndListParam identifier, TokenAndListParam gender, DateRangeParam birthDate, DateRangeParam deathDate,
 	        TokenAndListParam deceased, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country, SortSpec sort) {
+	        StringAndListParam country, TokenAndListParam id, SortSpec sort) {
 		
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.NAME_SEARCH_HANDLER, FhirConstants.NAME_PROPERTY, name)
@@ -71,8 +138,103 @@ public class FhirPatientServiceImpl extends BaseFhirService<Patient, org.openmrs
 		        .addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER, FhirConstants.STATE_PROPERTY, state)
 		        .addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER, FhirConstants.POSTAL_CODE_PROPERTY, postalCode)
 		        .addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER, FhirConstants.COUNTRY_PROPERTY, country)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id)
 		        .setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public IBundleProvider searchForPatientsByPhonetic(StringAndListParam phonetic, TokenAndListParam gender,
+	        DateRangeParam birthDate, TokenAndListParam id, SortSpec sort) {
+		if (searchIndex == null || !searchIndex.isQueryable()) {
+			throw new InvalidRequestException("Phonetic searches require the FHIR search index to be enabled");
+		}
+		
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.NAME_SEARCH_HANDLER, FhirConstants.PHONETIC_PROPERTY, phonetic)
+		        .addParameter(FhirConstants.GENDER_SEARCH_HANDLER, "gender", gender)
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "birthdate", birthDate)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id).setSortSpec(sort);
+		
+		return searchQuery.getQueryResults(theParams, dao, translator);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public IBundleProvider getPatientEverything(String uuid, DateParam since, StringOrListParam type, Integer count) {
+		org.openmrs.Patient patient = dao.get(uuid);
+		if (patient == null) {
+			return null;
+		}
+		
+		Set<String> types = null;
+		if (type != null && !type.getValuesAsQueryTokens().isEmpty()) {
+			types = type.getValuesAsQueryTokens().stream().map(StringParam::getValue).collect(Collectors.toSet());
+		}
+		
+		DateRangeParam lastUpdated = null;
+		if (since != null) {
+			lastUpdated = new DateRangeParam(new DateParam(ParamPrefixEnum.GREATERTHAN_OR_EQUALS, since.getValue()), null);
+		}
+		
+		List<IBundleProvider> bundleProviders = new ArrayList<>();
+		if (includeType(types, "Patient") && (since == null || isUpdatedSince(patient, since))) {
+			bundleProviders.add(new SimpleBundleProvider(translator.toFhirResource(patient)));
+		}
+		
+		if (includeType(types, "Encounter")) {
+			bundleProviders.add(new SearchQueryBundleProvider<>(compartmentParams(patient, lastUpdated), encounterDao,
+			        encounterTranslator));
+		}
+		
+		if (includeType(types, "Observation")) {
+			bundleProviders.add(new SearchQueryBundleProvider<>(compartmentParams(patient, lastUpdated), observationDao,
+			        observationTranslator));
+		}
+		
+		if (includeType(types, "DiagnosticReport")) {
+			bundleProviders.add(new SearchQueryBundleProvider<>(compartmentParams(patient, lastUpdated), diagnosticReportDao,
+			        diagnosticReportTranslator));
+		}
+		
+		if (includeType(types, "AllergyIntolerance")) {
+			bundleProviders.add(new SearchQueryBundleProvider<>(compartmentParams(patient, lastUpdated),
+			        allergyIntoleranceDao, allergyIntoleranceTranslator));
+		}
+		
+		if (includeType(types, "MedicationRequest")) {
+			bundleProviders.add(new SearchQueryBundleProvider<>(compartmentParams(patient, lastUpdated),
+			        medicationRequestDao, medicationRequestTranslator));
+		}
+		
+		if (conditionDao != null && conditionTranslator != null && includeType(types, "Condition")) {
+			bundleProviders.add(new SearchQueryBundleProvider(compartmentParams(patient, lastUpdated), conditionDao,
+			        conditionTranslator));
+		}
+		
+		return new CompositeBundleProvider(bundleProviders, count != null ? count : dao.getPreferredPageSize());
+	}
+	
+	private SearchParameterMap compartmentParams(org.openmrs.Patient patient, DateRangeParam lastUpdated) {
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER,
+		    patient.getPatientId());
+		
+		if (lastUpdated != null) {
+			theParams.addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated);
+		}
+		
+		return theParams;
+	}
+	
+	private static boolean includeType(Set<String> types, String type) {
+		return types == null || types.contains(type);
+	}
+	
+	private static boolean isUpdatedSince(org.openmrs.Patient patient, DateParam since) {
+		Date lastUpdated = patient.getDateChanged() != null ? patient.getDateChanged() : patient.getDateCreated();
+		return lastUpdated == null || !lastUpdated.before(since.getValue());
+	}
 }
@@ -43,9 +43,11 @@ public class FhirPractitionerServiceImpl extends BaseFhirService<Practitioner, P
 	private SearchQuery<Provider, Practitioner, FhirPractitionerDao, PractitionerTranslator<Provider>> searchQuery;
 	
 	@Override
-	public IBundleProvider searchForPractitioners(StringAndListParam name, TokenAndListParam identifier) {
+	public IBundleProvider searchForPractitioners(StringAndListParam name, TokenAndListParam identifier,
+	        TokenAndListParam id) {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, name)
-		        .addParameter(FhirConstants.IDENTIFIER_SEARCH_HANDLER, identifier);
+		        .addParameter(FhirConstants.IDENTIFIER_SEARCH_HANDLER, identifier)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
@@ -43,14 +43,14 @@ public class FhirRelatedPersonServiceImpl extends BaseFhirService<RelatedPerson,
 	@Override
 	@Transactional(readOnly = true)
 	public RelatedPerson get(String uuid) {
-		return translator.toFhirResource(dao.get(uuid));
+		return super.get(uuid);
 	}
 	
 	@Override
 	public Collection<RelatedPerson> searchForRelatedPeople(StringAndListParam name, TokenAndListParam gender,
 	        DateRangeParam birthDate, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country, SortSpec sort) {
-		return dao.searchRelationships(name, gender, birthDate, city, state, postalCode, country, sort).stream()
+	        StringAndListParam country, TokenAndListParam id, SortSpec sort) {
+		return dao.searchRelationships(name, gender, birthDate, city, state, postalCode, country, id, sort).stream()
 		        .map(translator::toFhirResource).collect(Collectors.toList());
 	}
 	
@@ -0,0 +1,92 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.FhirSubscriptionService;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionCriteria;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionPolicy;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionRegistry;
+import org.openmrs.module.fhir2.api.translators.SubscriptionTranslator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional
+@Setter(AccessLevel.PACKAGE)
+@Getter(AccessLevel.PROTECTED)
+public class FhirSubscriptionServiceImpl extends BaseFhirService<Subscription, FhirSubscription> implements FhirSubscriptionService {
+	
+	@Autowired
+	private FhirSubscriptionDao dao;
+	
+	@Autowired
+	private SubscriptionTranslator translator;
+	
+	@Autowired
+	private SubscriptionRegistry registry;
+	
+	@Autowired
+	private SubscriptionPolicy policy;
+	
+	@Override
+	public Subscription create(Subscription newResource) {
+		policy.checkCanManageSubscriptions();
+		validate(newResource);
+		
+		// subscriptions are activated as soon as they have been validated
+		if (!newResource.hasStatus() || newResource.getStatus() == Subscription.SubscriptionStatus.REQUESTED) {
+			newResource.setStatus(Subscription.SubscriptionStatus.ACTIVE);
+		}
+		
+		Subscription result = super.create(newResource);
+		registry.invalidateAfterCommit();
+		return result;
+	}
+	
+	@Override
+	public Subscription update(String uuid, Subscription updatedResource, String versionId) {
+		policy.checkCanManageSubscriptions();
+		validate(updatedResource);
+		
+		Subscription result = super.update(uuid, updatedResource, versionId);
+		registry.invalidateAfterCommit();
+		return result;
+	}
+	
+	@Override
+	public Subscription delete(String uuid) {
+		policy.checkCanManageSubscriptions();
+		Subscription result = super.delete(uuid);
+		registry.invalidateAfterCommit();
+		return result;
+	}
+	
+	private void validate(Subscription subscription) {
+		SubscriptionCriteria.parse(subscription.getCriteria());
+		
+		Subscription.SubscriptionChannelComponent channel = subscription.getChannel();
+		if (!channel.hasType() || (channel.getType() != Subscription.SubscriptionChannelType.RESTHOOK
+		        && channel.getType() != Subscription.SubscriptionChannelType.WEBSOCKET)) {
+			throw new InvalidRequestException("Only rest-hook and websocket subscriptions are supported");
+		}
+		
+		if (channel.getType() == Subscription.SubscriptionChannelType.RESTHOOK) {
+			policy.validateEndpoint(channel.getEndpoint());
+		}
+	}
+}
@@ -9,10 +9,14 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -55,13 +59,28 @@ public class FhirTaskServiceImpl extends BaseFhirService<Task, FhirTask> impleme
 	@Override
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForTasks(ReferenceAndListParam basedOnReference, ReferenceAndListParam ownerReference,
-	        TokenAndListParam status, SortSpec sort) {
+	        TokenAndListParam status, TokenAndListParam id, SortSpec sort) {
 		
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.BASED_ON_REFERENCE_SEARCH_HANDLER, basedOnReference)
 		        .addParameter(FhirConstants.OWNER_REFERENCE_SEARCH_HANDLER, ownerReference)
-		        .addParameter(FhirConstants.STATUS_SEARCH_HANDLER, status).setSortSpec(sort);
+		        .addParameter(FhirConstants.STATUS_SEARCH_HANDLER, status)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id).setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
+	
+	@Override
+	public List<Task> claimTasks(String ownerType, String ownerId, Integer count) {
+		if (ownerType == null || ownerId == null) {
+			throw new InvalidRequestException("Tasks can only be claimed for an owner with a type and id");
+		}
+		
+		if (count != null && count < 1) {
+			throw new InvalidRequestException("The number of tasks to claim must be at least 1");
+		}
+		
+		return dao.claimTasks(ownerType, ownerId, count == null ? 1 : count).stream().map(translator::toFhirResource)
+		        .collect(Collectors.toList());
+	}
 }
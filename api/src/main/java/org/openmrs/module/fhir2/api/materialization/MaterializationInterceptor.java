@@ -0,0 +1,131 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.materialization;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Transaction;
+import org.hibernate.type.Type;
+import org.openmrs.module.fhir2.FhirResourceJson;
+import org.openmrs.module.fhir2.api.util.TransactionChanges;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link MaterializedResourceStore} up to date. Just before a transaction completes, the
+ * stored JSON of the resources it changed is removed and the changed objects are translated, while
+ * they are still attached to the session; the new JSON is only stored once the transaction has been
+ * committed.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class MaterializationInterceptor extends EmptyInterceptor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// the session factory depends on all interceptors, so this must be resolved lazily
+	@Lazy
+	@Autowired
+	private transient MaterializedResourceStore store;
+	
+	// kept per transaction, as a nested transaction must neither store the JSON of the changes of the
+	// transaction it suspended nor lose them when it commits or rolls back first
+	private final transient TransactionChanges changedObjects = new TransactionChanges();
+	
+	private final transient TransactionChanges deletedObjects = new TransactionChanges();
+	
+	private final transient ThreadLocal<Map<Transaction, List<FhirResourceJson>>> pendingWrites = ThreadLocal
+	        .withInitial(IdentityHashMap::new);
+	
+	@Override
+	public void afterTransactionBegin(Transaction tx) {
+		changedObjects.begin(tx);
+		deletedObjects.begin(tx);
+	}
+	
+	@Override
+	public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		if (MaterializedResourceStore.isTracked(entity)) {
+			changedObjects.add(entity);
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState,
+	        String[] propertyNames, Type[] types) {
+		if (MaterializedResourceStore.isTracked(entity)) {
+			changedObjects.add(entity);
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		if (MaterializedResourceStore.isTracked(entity)) {
+			deletedObjects.add(entity);
+		}
+	}
+	
+	@Override
+	public void beforeTransactionCompletion(Transaction tx) {
+		Set<Object> changed = changedObjects.remove(tx);
+		Set<Object> deleted = deletedObjects.remove(tx);
+		if (changed.isEmpty() && deleted.isEmpty()) {
+			return;
+		}
+		
+		List<Object> toPrepare = new ArrayList<>(changed);
+		List<Object> toRemove = new ArrayList<>(deleted);
+		
+		if (!store.isEnabled()) {
+			return;
+		}
+		
+		try {
+			List<FhirResourceJson> writes = store.prepare(toPrepare, toRemove);
+			if (!writes.isEmpty()) {
+				pendingWrites.get().computeIfAbsent(tx, t -> new ArrayList<>()).addAll(writes);
+			}
+		}
+		catch (Exception e) {
+			log.warn("Unable to update materialized resources", e);
+		}
+	}
+	
+	@Override
+	public void afterTransactionCompletion(Transaction tx) {
+		Map<Transaction, List<FhirResourceJson>> writesByTransaction = pendingWrites.get();
+		List<FhirResourceJson> writes = writesByTransaction.remove(tx);
+		if (writesByTransaction.isEmpty()) {
+			pendingWrites.remove();
+		}
+		
+		changedObjects.end(tx);
+		deletedObjects.end(tx);
+		
+		if (writes != null && tx != null && tx.wasCommitted()) {
+			store.write(writes);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.materialization;
+
+import java.util.List;
+
+import org.openmrs.api.context.Context;
+import org.openmrs.scheduler.tasks.AbstractTask;
+
+/**
+ * Scheduler task which runs the {@link MaterializedResourceRebuilder}. It should be run once after
+ * materialized resources are enabled and can be scheduled, e.g., nightly, to check the store for
+ * consistency.
+ */
+public class MaterializedResourceRebuildTask extends AbstractTask {
+	
+	@Override
+	public void execute() {
+		List<MaterializedResourceRebuilder> rebuilders = Context
+		        .getRegisteredComponents(MaterializedResourceRebuilder.class);
+		if (!rebuilders.isEmpty()) {
+			rebuilders.get(0).rebuild();
+		}
+	}
+}
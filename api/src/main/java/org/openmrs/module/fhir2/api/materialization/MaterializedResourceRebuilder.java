@@ -0,0 +1,170 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.materialization;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.FhirResourceJson;
+import org.openmrs.module.fhir2.api.dao.FhirResourceJsonDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Translates every object behind a materialized resource and compares the result with the stored
+ * JSON, storing JSON which is missing or out of date. This is used to fill the store after it has
+ * been enabled and to repair anything the {@link MaterializationInterceptor} missed, e.g., changes
+ * made while the store was disabled or directly in the database.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class MaterializedResourceRebuilder {
+	
+	static final int BATCH_SIZE = 200;
+	
+	@Autowired
+	private MaterializedResourceStore store;
+	
+	@Autowired
+	private FhirResourceJsonDao dao;
+	
+	@Autowired
+	@Qualifier("transactionManager")
+	private PlatformTransactionManager transactionManager;
+	
+	private final AtomicBoolean running = new AtomicBoolean(false);
+	
+	/**
+	 * Rebuilds the store, one batch of objects per transaction
+	 *
+	 * @return what was found for each resource type or null if the store is disabled or a rebuild is
+	 *         already running
+	 */
+	public Map<String, Summary> rebuild() {
+		if (!store.isEnabled()) {
+			log.info("Materialized resources are disabled, nothing to rebuild");
+			return null;
+		}
+		
+		if (!running.compareAndSet(false, true)) {
+			log.info("Materialized resources are already being rebuilt");
+			return null;
+		}
+		
+		try {
+			Map<String, Summary> result = new HashMap<>();
+			for (Class<? extends OpenmrsObject> type : MaterializedResourceStore.MATERIALIZED_TYPES) {
+				Summary summary = rebuild(type);
+				result.put(MaterializedResourceStore.getResourceTypeOf(type), summary);
+				log.info("Rebuilt materialized {} resources: {}", type.getSimpleName(), summary);
+			}
+			
+			return result;
+		}
+		finally {
+			running.set(false);
+		}
+	}
+	
+	private Summary rebuild(Class<? extends OpenmrsObject> type) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		Summary summary = new Summary();
+		
+		Integer lastId = null;
+		do {
+			Integer afterId = lastId;
+			lastId = transactionTemplate.execute(status -> rebuildBatch(type, afterId, summary));
+		} while (lastId != null);
+		
+		return summary;
+	}
+	
+	private Integer rebuildBatch(Class<? extends OpenmrsObject> type, Integer afterId, Summary summary) {
+		List<? extends OpenmrsObject> objects = dao.getObjects(type, afterId, BATCH_SIZE);
+		if (objects.isEmpty()) {
+			return null;
+		}
+		
+		List<FhirResourceJson> rendered = new ArrayList<>(objects.size());
+		List<String> uuids = new ArrayList<>(objects.size());
+		for (OpenmrsObject object : objects) {
+			FhirResourceJson resource = store.render(object);
+			if (resource != null) {
+				rendered.add(resource);
+				uuids.add(resource.getUuid());
+			}
+		}
+		
+		Map<String, FhirResourceJson> storedByUuid = new HashMap<>();
+		if (!rendered.isEmpty()) {
+			for (FhirResourceJson stored : dao.get(rendered.get(0).getResourceType(), uuids)) {
+				storedByUuid.put(stored.getUuid(), stored);
+			}
+		}
+		
+		List<FhirResourceJson> toWrite = new ArrayList<>();
+		for (FhirResourceJson resource : rendered) {
+			FhirResourceJson stored = storedByUuid.get(resource.getUuid());
+			if (stored == null) {
+				summary.missing++;
+				toWrite.add(resource);
+			} else if (isNewer(stored, resource)) {
+				// changed and stored since this batch was loaded
+				summary.upToDate++;
+			} else if (!stored.getVersionId().equals(resource.getVersionId())
+			        || !stored.getBody().equals(resource.getBody())) {
+				summary.outOfDate++;
+				toWrite.add(resource);
+			} else {
+				summary.upToDate++;
+			}
+		}
+		
+		store.writeNow(toWrite);
+		
+		// the batch has been flushed, so nothing needs to stay in the session
+		Context.clearSession();
+		
+		return objects.get(objects.size() - 1).getId();
+	}
+	
+	private static boolean isNewer(FhirResourceJson stored, FhirResourceJson resource) {
+		return stored.getLastUpdated() != null && resource.getLastUpdated() != null
+		        && stored.getLastUpdated().after(resource.getLastUpdated());
+	}
+	
+	/**
+	 * Counts of what a rebuild found for one resource type
+	 */
+	@Getter
+	@ToString
+	public static class Summary {
+		
+		private int missing;
+		
+		private int outOfDate;
+		
+		private int upToDate;
+	}
+}
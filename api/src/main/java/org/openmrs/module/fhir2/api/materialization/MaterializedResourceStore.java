@@ -0,0 +1,435 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.materialization;
+
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import ca.uhn.fhir.context.FhirContext;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Resource;
+import org.openmrs.Concept;
+import org.openmrs.ConceptMap;
+import org.openmrs.ConceptName;
+import org.openmrs.ConceptReferenceTerm;
+import org.openmrs.Encounter;
+import org.openmrs.Location;
+import org.openmrs.Obs;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.Person;
+import org.openmrs.PersonAddress;
+import org.openmrs.PersonAttribute;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirResourceJson;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.dao.FhirResourceJsonDao;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the JSON of frequently read resources in the fhir_resource_json table, so that reads and
+ * searches can parse the stored JSON rather than loading and translating the objects behind them.
+ * <p/>
+ * Stored JSON is tagged with the version of the object it was translated from and is only used if
+ * that is still the current version of the object. The version covers the rows the resource is built
+ * from, e.g., the names of a patient, see {@link org.openmrs.module.fhir2.api.dao.FhirDao#getLastUpdated(String)},
+ * and changes to any of those rows also remove the stored JSON in the same transaction. The JSON
+ * of changed objects is written in the background once the change has been committed, see
+ * {@link MaterializationInterceptor}, and {@link MaterializedResourceRebuilder} fills in anything
+ * which is missing. As background writes may run after later changes to the same object, JSON is
+ * only written if the version it was translated from is still the current one, and never replaces
+ * JSON of a newer version, see {@link FhirResourceJsonDao#saveOrUpdate(Collection)}.
+ * <p/>
+ * Resources also embed values of objects their version does not cover, e.g., the name and identifier
+ * of the subject of an observation, the codings of its concept or the name of the location of an
+ * encounter. When a person's names or identifiers, a provider, a concept, its names or mappings, a
+ * reference term or a location change, the stored JSON of the resources embedding them is removed,
+ * see {@link FhirResourceJsonDao#deleteReferencing(OpenmrsObject)}. Those resources are translated
+ * again on each read until they change or {@link MaterializedResourceRebuilder} stores them again.
+ * Values of other objects, such as the names of users in the provenance of a resource or the names of
+ * identifier types, are stored as they were when the resource was translated.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class MaterializedResourceStore {
+	
+	/**
+	 * The OpenMRS types whose resources are materialized
+	 */
+	public static final List<Class<? extends OpenmrsObject>> MATERIALIZED_TYPES = Collections
+	        .unmodifiableList(Arrays.asList(Patient.class, Encounter.class, Obs.class));
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Autowired
+	private FhirResourceJsonDao dao;
+	
+	@Autowired
+	private FhirPatientDao patientDao;
+	
+	@Autowired
+	private FhirEncounterDao encounterDao;
+	
+	@Autowired
+	private FhirObservationDao observationDao;
+	
+	@Autowired
+	private PatientTranslator patientTranslator;
+	
+	@Autowired
+	private EncounterTranslator encounterTranslator;
+	
+	@Autowired
+	private ObservationTranslator observationTranslator;
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired
+	@Qualifier("transactionManager")
+	private PlatformTransactionManager transactionManager;
+	
+	private volatile Boolean enabled;
+	
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(
+	    new ThreadFactoryBuilder().setNameFormat("fhir2-materialization-%d").setDaemon(true).build());
+	
+	/**
+	 * @param entity an object which has changed
+	 * @return true if changes to the object can change a materialized resource
+	 */
+	public static boolean isTracked(Object entity) {
+		return entity instanceof Person || entity instanceof PersonName || entity instanceof PersonAddress
+		        || entity instanceof PersonAttribute || entity instanceof PatientIdentifier || entity instanceof Encounter
+		        || entity instanceof Obs || entity instanceof Provider || entity instanceof Concept
+		        || entity instanceof ConceptName || entity instanceof ConceptMap || entity instanceof ConceptReferenceTerm
+		        || entity instanceof Location;
+	}
+	
+	public boolean isEnabled() {
+		if (enabled == null) {
+			enabled = Boolean.parseBoolean(
+			    globalPropertyService.getGlobalProperty(FhirConstants.MATERIALIZED_RESOURCES_ENABLED_PROPERTY, "false"));
+		}
+		
+		return enabled;
+	}
+	
+	/**
+	 * Stored JSON is only equivalent to the output of the translator it was produced by, so e.g.,
+	 * observations translated to DiagnosticReports are never served from the store
+	 *
+	 * @param translator the translator a read or search would use
+	 * @return the type of resource the translator produces if it is materialized, otherwise null
+	 */
+	public String getResourceType(Object translator) {
+		if (translator == null || !isEnabled()) {
+			return null;
+		}
+		
+		if (translator == patientTranslator) {
+			return FhirConstants.PATIENT;
+		} else if (translator == encounterTranslator) {
+			return FhirConstants.ENCOUNTER;
+		} else if (translator == observationTranslator) {
+			return FhirConstants.OBSERVATION;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * @param resourceType the type of the resource
+	 * @param uuid the id of the resource
+	 * @param versionId the current version of the resource
+	 * @return the resource parsed from the stored JSON or null if there is no JSON for that version
+	 */
+	public IBaseResource read(String resourceType, String uuid, String versionId) {
+		if (versionId == null) {
+			return null;
+		}
+		
+		FhirResourceJson stored = dao.get(resourceType, uuid);
+		if (stored == null || !versionId.equals(stored.getVersionId())) {
+			return null;
+		}
+		
+		return parse(stored);
+	}
+	
+	/**
+	 * @param resourceType the type of the resources
+	 * @param versionIdsByUuid the current version of each resource
+	 * @return the resources parsed from the stored JSON by uuid; resources without JSON for their
+	 *         current version are omitted
+	 */
+	public Map<String, IBaseResource> read(String resourceType, Map<String, String> versionIdsByUuid) {
+		Map<String, IBaseResource> result = new HashMap<>();
+		if (versionIdsByUuid.isEmpty()) {
+			return result;
+		}
+		
+		for (FhirResourceJson stored : dao.get(resourceType, versionIdsByUuid.keySet())) {
+			if (stored.getVersionId().equals(versionIdsByUuid.get(stored.getUuid()))) {
+				result.put(stored.getUuid(), parse(stored));
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Removes the stored JSON of the resources affected by a set of changes, including those embedding
+	 * values of the changed objects, and translates the changed resources which still exist. This must
+	 * be called before the transaction making the changes completes, so that the stored JSON is removed
+	 * along with the changes.
+	 *
+	 * @param changedObjects objects which were created or updated
+	 * @param deletedObjects objects which were deleted
+	 * @return the JSON to store once the changes have been committed
+	 */
+	public List<FhirResourceJson> prepare(Collection<?> changedObjects, Collection<?> deletedObjects) {
+		Map<String, Set<String>> removed = new HashMap<>();
+		Set<OpenmrsObject> referenced = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<OpenmrsObject> toRender = Collections.newSetFromMap(new IdentityHashMap<>());
+		changedObjects.forEach(object -> resolve(object, removed, toRender, referenced));
+		
+		Set<OpenmrsObject> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+		deletedObjects.forEach(object -> resolve(object, removed, deleted, referenced));
+		toRender.removeAll(deleted);
+		
+		removed.forEach((resourceType, uuids) -> dao.delete(resourceType, uuids));
+		referenced.forEach(dao::deleteReferencing);
+		
+		List<FhirResourceJson> result = new ArrayList<>(toRender.size());
+		for (OpenmrsObject object : toRender) {
+			FhirResourceJson rendered = render(object);
+			if (rendered != null) {
+				result.add(rendered);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Stores JSON in the background, in the order it was submitted. JSON whose object has changed again
+	 * in the meantime is dropped, as the later change stores its own JSON.
+	 *
+	 * @param resources the JSON to store
+	 */
+	public void write(Collection<FhirResourceJson> resources) {
+		if (resources.isEmpty() || executor.isShutdown()) {
+			return;
+		}
+		
+		List<FhirResourceJson> toWrite = new ArrayList<>(resources);
+		executor.execute(() -> {
+			try {
+				new TransactionTemplate(transactionManager).execute(status -> {
+					writeNow(retainCurrent(toWrite));
+					return null;
+				});
+			}
+			catch (Exception e) {
+				log.warn("Unable to store the JSON of {} resources", toWrite.size(), e);
+			}
+		});
+	}
+	
+	/**
+	 * Stores JSON in the current transaction
+	 *
+	 * @param resources the JSON to store
+	 */
+	void writeNow(Collection<FhirResourceJson> resources) {
+		if (!resources.isEmpty()) {
+			dao.saveOrUpdate(resources);
+		}
+	}
+	
+	/**
+	 * @param resources JSON translated earlier
+	 * @return the JSON which was translated from the current version of its object
+	 */
+	List<FhirResourceJson> retainCurrent(Collection<FhirResourceJson> resources) {
+		List<FhirResourceJson> result = new ArrayList<>(resources.size());
+		for (FhirResourceJson resource : resources) {
+			FhirDao<?> objectDao = getDao(resource.getResourceType());
+			if (objectDao != null && resource.getVersionId()
+			        .equals(FhirUtils.getVersionId(objectDao.getLastUpdated(resource.getUuid())))) {
+				result.add(resource);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @param object one of the {@link #MATERIALIZED_TYPES}
+	 * @return the JSON of the resource the object translates to or null if it cannot be translated
+	 */
+	FhirResourceJson render(OpenmrsObject object) {
+		String resourceType = getResourceTypeOf(object);
+		Date lastUpdated = getLastUpdated(object);
+		String versionId = FhirUtils.getVersionId(lastUpdated);
+		if (resourceType == null || versionId == null) {
+			return null;
+		}
+		
+		Resource resource = translate(object);
+		if (resource == null) {
+			return null;
+		}
+		
+		resource.getMeta().setVersionId(versionId);
+		
+		FhirResourceJson result = new FhirResourceJson();
+		result.setResourceType(resourceType);
+		result.setUuid(object.getUuid());
+		result.setVersionId(versionId);
+		result.setLastUpdated(lastUpdated);
+		result.setBody(fhirContext.newJsonParser().encodeResourceToString(resource));
+		return result;
+	}
+	
+	static String getResourceTypeOf(Object object) {
+		return object == null ? null : getResourceTypeOf(object.getClass());
+	}
+	
+	static String getResourceTypeOf(Class<?> type) {
+		if (Patient.class.isAssignableFrom(type)) {
+			return FhirConstants.PATIENT;
+		} else if (Encounter.class.isAssignableFrom(type)) {
+			return FhirConstants.ENCOUNTER;
+		} else if (Obs.class.isAssignableFrom(type)) {
+			return FhirConstants.OBSERVATION;
+		}
+		
+		return null;
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+	
+	private Resource translate(Object object) {
+		if (object instanceof Patient) {
+			return patientTranslator.toFhirResource((Patient) object);
+		} else if (object instanceof Encounter) {
+			return encounterTranslator.toFhirResource((Encounter) object);
+		} else if (object instanceof Obs) {
+			return observationTranslator.toFhirResource((Obs) object);
+		}
+		
+		return null;
+	}
+	
+	private IBaseResource parse(FhirResourceJson stored) {
+		return fhirContext.newJsonParser().parseResource(stored.getBody());
+	}
+	
+	private static void resolve(Object object, Map<String, Set<String>> removed, Set<OpenmrsObject> affected,
+	        Set<OpenmrsObject> referenced) {
+		if (object instanceof PersonName) {
+			// names and identifiers are part of the display of references to the person
+			addIfNotNull(referenced, ((PersonName) object).getPerson());
+			resolve(((PersonName) object).getPerson(), removed, affected, referenced);
+		} else if (object instanceof PersonAddress) {
+			resolve(((PersonAddress) object).getPerson(), removed, affected, referenced);
+		} else if (object instanceof PersonAttribute) {
+			resolve(((PersonAttribute) object).getPerson(), removed, affected, referenced);
+		} else if (object instanceof PatientIdentifier) {
+			addIfNotNull(referenced, ((PatientIdentifier) object).getPatient());
+			resolve(((PatientIdentifier) object).getPatient(), removed, affected, referenced);
+		} else if (object instanceof ConceptName) {
+			addIfNotNull(referenced, ((ConceptName) object).getConcept());
+		} else if (object instanceof ConceptMap) {
+			addIfNotNull(referenced, ((ConceptMap) object).getConcept());
+		} else if (object instanceof Provider || object instanceof Concept || object instanceof ConceptReferenceTerm
+		        || object instanceof Location) {
+			referenced.add((OpenmrsObject) object);
+		} else if (object instanceof Person && !(object instanceof Patient)) {
+			// the person may be a patient, but it cannot be translated as one
+			removed.computeIfAbsent(FhirConstants.PATIENT, k -> new HashSet<>()).add(((Person) object).getUuid());
+		} else if (getResourceTypeOf(object) != null) {
+			OpenmrsObject openmrsObject = (OpenmrsObject) object;
+			removed.computeIfAbsent(getResourceTypeOf(object), k -> new HashSet<>()).add(openmrsObject.getUuid());
+			affected.add(openmrsObject);
+		}
+	}
+	
+	private static void addIfNotNull(Set<OpenmrsObject> objects, OpenmrsObject object) {
+		if (object != null) {
+			objects.add(object);
+		}
+	}
+	
+	private FhirDao<?> getDao(String resourceType) {
+		switch (resourceType) {
+			case FhirConstants.PATIENT:
+				return patientDao;
+			case FhirConstants.ENCOUNTER:
+				return encounterDao;
+			case FhirConstants.OBSERVATION:
+				return observationDao;
+			default:
+				return null;
+		}
+	}
+	
+	private Date getLastUpdated(OpenmrsObject object) {
+		if (object instanceof Patient) {
+			return patientDao.getLastUpdated((Patient) object);
+		} else if (object instanceof Encounter) {
+			return encounterDao.getLastUpdated((Encounter) object);
+		} else if (object instanceof Obs) {
+			return observationDao.getLastUpdated((Obs) object);
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Collects latency histograms for FHIR requests and for the phases that make up a request, e.g.
+ * running the database query or translating the results. Phases are attributed to the request
+ * currently being handled by the calling thread.
+ * <p/>
+ * This is static rather than a Spring bean because some of the timed code, such as the bundle
+ * providers, is not managed by Spring.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FhirMetrics {
+	
+	public static final String PHASE_DAO_GET = "dao_get";
+	
+	public static final String PHASE_DAO_SEARCH = "dao_search";
+	
+	public static final String PHASE_DAO_COUNT = "dao_count";
+	
+	public static final String PHASE_TRANSLATE = "translate";
+	
+	public static final String PHASE_ENCODE = "encode";
+	
+	public static final String PHASE_MATERIALIZED_READ = "materialized_read";
+	
+	public static final String OUTCOME_SUCCESS = "success";
+	
+	public static final String OUTCOME_ERROR = "error";
+	
+	public static final String OUTCOME_NOT_MODIFIED = "not_modified";
+	
+	private static final String UNKNOWN = "unknown";
+	
+	private static final ConcurrentMap<Labels, LatencyHistogram> requestHistograms = new ConcurrentHashMap<>();
+	
+	private static final ConcurrentMap<Labels, LatencyHistogram> phaseHistograms = new ConcurrentHashMap<>();
+	
+	// phases recorded outside of a request, by phase, so that recording them does not allocate labels
+	private static final ConcurrentMap<String, LatencyHistogram> unattributedPhaseHistograms = new ConcurrentHashMap<>();
+	
+	private static final ThreadLocal<Request> currentRequest = new ThreadLocal<>();
+	
+	/**
+	 * Marks the start of a request on the current thread, so that phases can be attributed to it
+	 *
+	 * @param resourceType the resource type of the request or null for a server-level request
+	 * @param operation the interaction or operation being performed
+	 */
+	public static void startRequest(String resourceType, String operation) {
+		currentRequest.set(new Request(
+		        new Labels(resourceType == null ? "system" : resourceType, operation == null ? UNKNOWN : operation, null)));
+	}
+	
+	/**
+	 * Records the total duration of the request on the current thread and ends it
+	 *
+	 * @param outcome the outcome of the request, e.g. {@link #OUTCOME_SUCCESS}
+	 * @param nanos the total duration of the request
+	 */
+	public static void endRequest(String outcome, long nanos) {
+		Request request = currentRequest.get();
+		currentRequest.remove();
+		if (request != null) {
+			Labels labels = request.getLabels();
+			getHistogram(requestHistograms, new Labels(labels.getResourceType(), labels.getOperation(), outcome))
+			        .record(nanos);
+		}
+	}
+	
+	/**
+	 * Records a phase of the request on the current thread
+	 *
+	 * @param phase the phase, e.g. {@link #PHASE_DAO_SEARCH}
+	 * @param startNanos the value of {@link System#nanoTime()} when the phase started
+	 */
+	public static void recordPhase(String phase, long startNanos) {
+		long nanos = System.nanoTime() - startNanos;
+		Request request = currentRequest.get();
+		
+		// labels are only created the first time a phase is recorded for a request, or at all
+		LatencyHistogram histogram;
+		if (request == null) {
+			histogram = unattributedPhaseHistograms.get(phase);
+			if (histogram == null) {
+				histogram = unattributedPhaseHistograms.computeIfAbsent(phase,
+				    p -> getHistogram(phaseHistograms, new Labels(UNKNOWN, UNKNOWN, p)));
+			}
+		} else {
+			histogram = request.getPhaseHistograms().get(phase);
+			if (histogram == null) {
+				Labels labels = request.getLabels();
+				histogram = getHistogram(phaseHistograms,
+				    new Labels(labels.getResourceType(), labels.getOperation(), phase));
+				request.getPhaseHistograms().put(phase, histogram);
+			}
+		}
+		
+		histogram.record(nanos);
+	}
+	
+	/**
+	 * Writes all metrics in the Prometheus text exposition format
+	 *
+	 * @param writer the writer to write the metrics to
+	 * @throws IOException if the metrics could not be written
+	 */
+	public static void writePrometheus(Writer writer) throws IOException {
+		writeHistograms(writer, "fhir2_request_duration_seconds", "Time taken to handle FHIR requests", "outcome",
+		    requestHistograms);
+		writeHistograms(writer, "fhir2_phase_duration_seconds", "Time taken by each phase of handling FHIR requests",
+		    "phase", phaseHistograms);
+	}
+	
+	/**
+	 * Discards all recorded metrics
+	 */
+	public static void reset() {
+		requestHistograms.clear();
+		phaseHistograms.clear();
+		unattributedPhaseHistograms.clear();
+	}
+	
+	static LatencyHistogram getRequestHistogram(String resourceType, String operation, String outcome) {
+		return requestHistograms.get(new Labels(resourceType, operation, outcome));
+	}
+	
+	static LatencyHistogram getPhaseHistogram(String resourceType, String operation, String phase) {
+		return phaseHistograms.get(new Labels(resourceType, operation, phase));
+	}
+	
+	private static LatencyHistogram getHistogram(ConcurrentMap<Labels, LatencyHistogram> histograms, Labels labels) {
+		LatencyHistogram histogram = histograms.get(labels);
+		if (histogram == null) {
+			histogram = histograms.computeIfAbsent(labels, l -> new LatencyHistogram());
+		}
+		
+		return histogram;
+	}
+	
+	private static void writeHistograms(Writer writer, String name, String help, String detailLabel,
+	        Map<Labels, LatencyHistogram> histograms) throws IOException {
+		writer.write("# HELP " + name + " " + help + "\n");
+		writer.write("# TYPE " + name + " histogram\n");
+		
+		// sort so that the output is stable between scrapes
+		Map<String, LatencyHistogram> sorted = new TreeMap<>();
+		for (Map.Entry<Labels, LatencyHistogram> entry : histograms.entrySet()) {
+			Labels labels = entry.getKey();
+			sorted.put("resource=\"" + escape(labels.getResourceType()) + "\",operation=\"" + escape(labels.getOperation())
+			        + "\"," + detailLabel + "=\"" + escape(labels.getDetail()) + "\"",
+			    entry.getValue());
+		}
+		
+		for (Map.Entry<String, LatencyHistogram> entry : sorted.entrySet()) {
+			String labels = entry.getKey();
+			LatencyHistogram histogram = entry.getValue();
+			
+			long[] cumulativeCounts = histogram.getCumulativeCounts();
+			for (int i = 0; i < LatencyHistogram.BUCKET_BOUNDS_NANOS.length; i++) {
+				writer.write(name + "_bucket{" + labels + ",le=\""
+				        + toSeconds(LatencyHistogram.BUCKET_BOUNDS_NANOS[i]) + "\"} " + cumulativeCounts[i] + "\n");
+			}
+			writer.write(name + "_bucket{" + labels + ",le=\"+Inf\"} " + cumulativeCounts[cumulativeCounts.length - 1]
+			        + "\n");
+			writer.write(name + "_sum{" + labels + "} " + toSeconds(histogram.getSumNanos()) + "\n");
+			writer.write(name + "_count{" + labels + "} " + cumulativeCounts[cumulativeCounts.length - 1] + "\n");
+		}
+	}
+	
+	private static String toSeconds(long nanos) {
+		return Double.toString(nanos / 1e9);
+	}
+	
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+	
+	/**
+	 * The request being handled by a thread, with the histograms of the phases it has recorded so far
+	 */
+	@Data
+	private static class Request {
+		
+		private final Labels labels;
+		
+		private final Map<String, LatencyHistogram> phaseHistograms = new HashMap<>();
+	}
+	
+	@Data
+	private static class Labels {
+		
+		private final String resourceType;
+		
+		private final String operation;
+		
+		private final String detail;
+	}
+}
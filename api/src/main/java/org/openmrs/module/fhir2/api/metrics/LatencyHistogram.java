@@ -0,0 +1,101 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-bucket latency histogram. Recording is lock-free and allocation-free, so it is cheap enough
+ * to be used on every request; the buckets are chosen to give useful resolution for percentiles
+ * from sub-millisecond up to tens of seconds.
+ */
+public class LatencyHistogram {
+	
+	/**
+	 * The upper bounds, in nanoseconds, of each bucket apart from the last, which is unbounded
+	 */
+	static final long[] BUCKET_BOUNDS_NANOS = { 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L,
+	        25_000_000L, 50_000_000L, 100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L,
+	        5_000_000_000L, 10_000_000_000L, 30_000_000_000L };
+	
+	private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+	
+	private final LongAdder count = new LongAdder();
+	
+	private final LongAdder sumNanos = new LongAdder();
+	
+	public LatencyHistogram() {
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * @param nanos the duration to record
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		
+		int index = Arrays.binarySearch(BUCKET_BOUNDS_NANOS, nanos);
+		buckets[index >= 0 ? index : -index - 1].increment();
+		count.increment();
+		sumNanos.add(nanos);
+	}
+	
+	/**
+	 * @return the number of recorded values less than or equal to each bucket bound, with the last
+	 *         element being the total count
+	 */
+	public long[] getCumulativeCounts() {
+		long[] result = new long[buckets.length];
+		long total = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			total += buckets[i].sum();
+			result[i] = total;
+		}
+		
+		return result;
+	}
+	
+	public long getCount() {
+		return count.sum();
+	}
+	
+	public long getSumNanos() {
+		return sumNanos.sum();
+	}
+	
+	/**
+	 * Estimates a percentile as the upper bound of the bucket it falls into
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the estimated value in nanoseconds, Long.MAX_VALUE if it falls into the unbounded bucket
+	 *         or 0 if nothing has been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long[] cumulativeCounts = getCumulativeCounts();
+		long total = cumulativeCounts[cumulativeCounts.length - 1];
+		if (total == 0) {
+			return 0;
+		}
+		
+		long rank = (long) Math.ceil(percentile / 100.0 * total);
+		for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+			if (cumulativeCounts[i] >= rank) {
+				return BUCKET_BOUNDS_NANOS[i];
+			}
+		}
+		
+		return Long.MAX_VALUE;
+	}
+}
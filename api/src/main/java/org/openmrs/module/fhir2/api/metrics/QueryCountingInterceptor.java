@@ -0,0 +1,46 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.io.Serializable;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every statement Hibernate prepares and every entity it loads into the
+ * {@link QueryStatistics} of the current request, if any
+ */
+@Component
+public class QueryCountingInterceptor extends EmptyInterceptor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Override
+	public String onPrepareStatement(String sql) {
+		QueryStatistics statistics = QueryStatistics.current();
+		if (statistics != null) {
+			statistics.recordStatement(sql);
+		}
+		
+		return sql;
+	}
+	
+	@Override
+	public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		QueryStatistics statistics = QueryStatistics.current();
+		if (statistics != null) {
+			statistics.recordEntityLoad();
+		}
+		
+		return false;
+	}
+}
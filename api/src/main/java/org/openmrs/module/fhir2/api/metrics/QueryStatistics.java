@@ -0,0 +1,112 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements issued and the entities loaded by Hibernate while handling a single
+ * request. Statistics are collected per thread and only while a request is being counted, i.e.,
+ * between {@link #start()} and {@link #stop()}.
+ */
+public class QueryStatistics {
+	
+	private static final ThreadLocal<QueryStatistics> current = new ThreadLocal<>();
+	
+	// Hibernate expands collection parameters to one placeholder per element
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+	
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	
+	private final long startNanos = System.nanoTime();
+	
+	private final Map<String, Integer> statementsByShape = new HashMap<>();
+	
+	private int statementCount = 0;
+	
+	private int entityLoadCount = 0;
+	
+	/**
+	 * Starts counting statements on the current thread
+	 *
+	 * @return the statistics for the current thread
+	 */
+	public static QueryStatistics start() {
+		QueryStatistics statistics = new QueryStatistics();
+		current.set(statistics);
+		return statistics;
+	}
+	
+	/**
+	 * @return the statistics being collected on the current thread or null if none are
+	 */
+	public static QueryStatistics current() {
+		return current.get();
+	}
+	
+	/**
+	 * Stops counting statements on the current thread
+	 *
+	 * @return the statistics collected on the current thread or null if none were
+	 */
+	public static QueryStatistics stop() {
+		QueryStatistics statistics = current.get();
+		current.remove();
+		return statistics;
+	}
+	
+	/**
+	 * Reduces a SQL statement to its shape, so that statements that only differ in the number of
+	 * elements passed to an IN clause or in whitespace are treated as the same
+	 *
+	 * @param sql the statement
+	 * @return the shape of the statement
+	 */
+	public static String getShape(String sql) {
+		return IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?)");
+	}
+	
+	public void recordStatement(String sql) {
+		statementCount++;
+		statementsByShape.merge(getShape(sql), 1, Integer::sum);
+	}
+	
+	public void recordEntityLoad() {
+		entityLoadCount++;
+	}
+	
+	public int getStatementCount() {
+		return statementCount;
+	}
+	
+	public int getEntityLoadCount() {
+		return entityLoadCount;
+	}
+	
+	public long getElapsedNanos() {
+		return System.nanoTime() - startNanos;
+	}
+	
+	/**
+	 * @param threshold the number of times a statement may be run before it is considered repeated
+	 * @return the shapes of the statements run more than threshold times and how often they were run,
+	 *         most frequent first
+	 */
+	public Map<String, Integer> getRepeatedStatements(int threshold) {
+		Map<String, Integer> result = new LinkedHashMap<>();
+		statementsByShape.entrySet().stream().filter(e -> e.getValue() > threshold)
+		        .sorted(Map.Entry.<String, Integer> comparingByValue().reversed())
+		        .forEachOrdered(e -> result.put(e.getKey(), e.getValue()));
+		return result;
+	}
+}
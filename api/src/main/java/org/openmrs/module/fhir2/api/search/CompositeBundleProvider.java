@@ -0,0 +1,118 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IPrimitiveType;
+import org.hl7.fhir.r4.model.InstantType;
+
+/**
+ * An {@link IBundleProvider} which presents the results of several other bundle providers as a
+ * single result set, e.g. for the resources in a patient compartment. The counts of the underlying
+ * providers are computed once, on the calling thread so that they share its session and transaction,
+ * and only the providers which overlap the requested page are asked for resources, so at most one
+ * page worth of resources is ever loaded.
+ */
+public class CompositeBundleProvider implements IBundleProvider, Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final List<IBundleProvider> bundleProviders;
+	
+	private final Integer preferredPageSize;
+	
+	private final Date datePublished;
+	
+	private final UUID uuid;
+	
+	private transient int[] sizes;
+	
+	public CompositeBundleProvider(List<IBundleProvider> bundleProviders, Integer preferredPageSize) {
+		this.bundleProviders = new ArrayList<>(bundleProviders);
+		this.preferredPageSize = preferredPageSize;
+		this.datePublished = new Date();
+		this.uuid = UUID.randomUUID();
+	}
+	
+	@Override
+	public IPrimitiveType<Date> getPublished() {
+		return new InstantType(datePublished);
+	}
+	
+	@Nonnull
+	@Override
+	public List<IBaseResource> getResources(int fromIndex, int toIndex) {
+		int[] providerSizes = getSizes();
+		
+		int start = Math.max(fromIndex, 0);
+		int end = toIndex;
+		
+		List<IBaseResource> result = new ArrayList<>();
+		int offset = 0;
+		for (int i = 0; i < providerSizes.length && offset < end; i++) {
+			int providerSize = providerSizes[i];
+			if (start < offset + providerSize) {
+				int providerFrom = Math.max(start - offset, 0);
+				int providerTo = Math.min(end - offset, providerSize);
+				if (providerTo > providerFrom) {
+					result.addAll(bundleProviders.get(i).getResources(providerFrom, providerTo));
+				}
+			}
+			
+			offset += providerSize;
+		}
+		
+		return result;
+	}
+	
+	@Nullable
+	@Override
+	public String getUuid() {
+		return uuid.toString();
+	}
+	
+	@Override
+	public Integer preferredPageSize() {
+		return preferredPageSize;
+	}
+	
+	@Nullable
+	@Override
+	public Integer size() {
+		int total = 0;
+		for (int providerSize : getSizes()) {
+			total += providerSize;
+		}
+		
+		return total;
+	}
+	
+	private int[] getSizes() {
+		if (sizes == null) {
+			sizes = new int[bundleProviders.size()];
+			for (int i = 0; i < sizes.length; i++) {
+				Integer size = bundleProviders.get(i).size();
+				sizes[i] = size == null ? 0 : size;
+			}
+		}
+		
+		return sizes;
+	}
+}
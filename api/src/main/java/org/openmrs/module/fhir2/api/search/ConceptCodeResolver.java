@@ -0,0 +1,170 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves codes from code systems, i.e., system|code search tokens, to the ids of the concepts
+ * mapped to them, so that searches can restrict the concept of a resource by id instead of joining
+ * to the concept mappings. Resolved codes are remembered until a concept mapping, reference term or
+ * concept source changes, see {@link ConceptCodeResolverInterceptor}, or for at most
+ * {@link #EXPIRY_MINUTES}, as changes made elsewhere, e.g., directly in the database, are not seen.
+ * Codes no concept is mapped to are only remembered for {@link #UNMAPPED_EXPIRY_SECONDS}, so that a
+ * newly added mapping is found soon.
+ * <p/>
+ * Codes are compared by the database, so whether they are case sensitive depends on its collation.
+ * Codes are remembered exactly as they were searched for, and codes which only differ in case are
+ * resolved by separate queries, so the result of each is the one the database gives.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class ConceptCodeResolver {
+	
+	static final int MAXIMUM_SIZE = 10000;
+	
+	static final long EXPIRY_MINUTES = 60;
+	
+	static final long UNMAPPED_EXPIRY_SECONDS = 60;
+	
+	@Autowired
+	private FhirConceptSourceDao conceptSourceDao;
+	
+	private final Cache<String, Set<Integer>> conceptIds;
+	
+	private final Cache<String, Boolean> unmappedCodes;
+	
+	private final Object lock = new Object();
+	
+	// incremented whenever the cache is cleared, so that lookups started before that are not remembered
+	private long generation = 0;
+	
+	public ConceptCodeResolver() {
+		this(Ticker.systemTicker());
+	}
+	
+	ConceptCodeResolver(Ticker ticker) {
+		conceptIds = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(EXPIRY_MINUTES, TimeUnit.MINUTES)
+		        .ticker(ticker).build();
+		unmappedCodes = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE)
+		        .expireAfterWrite(UNMAPPED_EXPIRY_SECONDS, TimeUnit.SECONDS).ticker(ticker).build();
+	}
+	
+	/**
+	 * @param system the url of the code system
+	 * @param codes the codes to resolve
+	 * @return the ids of the concepts mapped to any of the codes, which is empty if there are none
+	 */
+	public Set<Integer> getConceptIds(String system, Collection<String> codes) {
+		Set<Integer> result = new HashSet<>();
+		Set<String> unresolved = new LinkedHashSet<>();
+		for (String code : codes) {
+			String key = getKey(system, code);
+			Set<Integer> ids = conceptIds.getIfPresent(key);
+			if (ids != null) {
+				result.addAll(ids);
+			} else if (unmappedCodes.getIfPresent(key) == null) {
+				unresolved.add(code);
+			}
+		}
+		
+		if (unresolved.isEmpty()) {
+			return result;
+		}
+		
+		long startedIn;
+		synchronized (lock) {
+			startedIn = generation;
+		}
+		
+		// the database may return codes in a different case, so each query only contains one code per
+		// case-insensitive value, which is then the code every row it returns belongs to
+		Map<String, Set<Integer>> resolved = new HashMap<>();
+		for (Map<String, String> batch : splitByCase(unresolved)) {
+			for (Map.Entry<String, Set<Integer>> entry : conceptSourceDao
+			        .getMappedConceptIds(system, new ArrayList<>(batch.values())).entrySet()) {
+				String code = batch.get(entry.getKey().toLowerCase(Locale.ROOT));
+				if (code != null) {
+					resolved.computeIfAbsent(code, c -> new HashSet<>()).addAll(entry.getValue());
+				}
+			}
+		}
+		
+		synchronized (lock) {
+			for (String code : unresolved) {
+				String key = getKey(system, code);
+				Set<Integer> ids = resolved.get(code);
+				if (ids != null) {
+					result.addAll(ids);
+				}
+				
+				if (startedIn == generation) {
+					if (ids == null) {
+						unmappedCodes.put(key, Boolean.TRUE);
+					} else {
+						conceptIds.put(key, Collections.unmodifiableSet(ids));
+					}
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	public void invalidateAll() {
+		synchronized (lock) {
+			generation++;
+			conceptIds.invalidateAll();
+			unmappedCodes.invalidateAll();
+		}
+	}
+	
+	private static String getKey(String system, String code) {
+		return system + "|" + code;
+	}
+	
+	// each batch maps the lower-cased codes to the codes searched for
+	private static List<Map<String, String>> splitByCase(Collection<String> codes) {
+		List<Map<String, String>> batches = new ArrayList<>();
+		for (String code : codes) {
+			String lowerCase = code.toLowerCase(Locale.ROOT);
+			Map<String, String> batch = batches.stream().filter(b -> !b.containsKey(lowerCase)).findFirst()
+			        .orElse(null);
+			if (batch == null) {
+				batch = new LinkedHashMap<>();
+				batches.add(batch);
+			}
+			
+			batch.put(lowerCase, code);
+		}
+		
+		return batches;
+	}
+}
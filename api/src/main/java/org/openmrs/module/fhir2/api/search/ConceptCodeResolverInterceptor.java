@@ -0,0 +1,78 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.io.Serializable;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Transaction;
+import org.hibernate.type.Type;
+import org.openmrs.ConceptMap;
+import org.openmrs.ConceptReferenceTerm;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clears the {@link ConceptCodeResolver} once a transaction which changed a concept mapping,
+ * reference term or concept source has been committed
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class ConceptCodeResolverInterceptor extends EmptyInterceptor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// the session factory depends on all interceptors, so this must be resolved lazily
+	@Lazy
+	@Autowired
+	private transient ConceptCodeResolver resolver;
+	
+	private final transient ThreadLocal<Boolean> mappingsChanged = ThreadLocal.withInitial(() -> false);
+	
+	@Override
+	public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		recordChange(entity);
+		return false;
+	}
+	
+	@Override
+	public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState,
+	        String[] propertyNames, Type[] types) {
+		recordChange(entity);
+		return false;
+	}
+	
+	@Override
+	public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		recordChange(entity);
+	}
+	
+	@Override
+	public void afterTransactionCompletion(Transaction tx) {
+		try {
+			if (mappingsChanged.get() && tx != null && tx.wasCommitted()) {
+				resolver.invalidateAll();
+			}
+		}
+		finally {
+			mappingsChanged.remove();
+		}
+	}
+	
+	private void recordChange(Object entity) {
+		if (entity instanceof ConceptMap || entity instanceof ConceptReferenceTerm || entity instanceof FhirConceptSource) {
+			mappingsChanged.set(true);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.dao.FhirUuidDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the uuids of referenced objects, e.g., the patient of a patient reference, to their
+ * primary keys, so that searches can compare the foreign key on the root table instead of joining
+ * to the referenced table. The uuid and primary key of an object never change, so resolved ids are
+ * remembered; uuids which do not exist are not, as the object may still be created.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class ReferenceIdResolver {
+	
+	static final int MAXIMUM_SIZE = 50000;
+	
+	@Autowired
+	private FhirUuidDao uuidDao;
+	
+	private final Cache<String, Integer> ids = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+	
+	/**
+	 * @param type the type of the referenced object
+	 * @param uuid the uuid of the referenced object
+	 * @return the primary key of the object or null if there is no such object
+	 */
+	public Integer getId(Class<? extends OpenmrsObject> type, String uuid) {
+		if (uuid == null) {
+			return null;
+		}
+		
+		String key = getKey(type, uuid);
+		Integer result = ids.getIfPresent(key);
+		if (result == null) {
+			// the database may compare uuids case insensitively, so take whatever single match it found
+			Map<String, Integer> resolved = uuidDao.getIds(type, Collections.singleton(uuid));
+			result = resolved.isEmpty() ? null : resolved.values().iterator().next();
+			if (result != null) {
+				ids.put(key, result);
+			}
+		}
+		
+		return result;
+	}
+	
+	private static String getKey(Class<?> type, String uuid) {
+		return type.getSimpleName() + "/" + uuid;
+	}
+}
@@ -13,8 +13,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,8 +29,11 @@ import org.hl7.fhir.r4.model.InstantType;
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
 import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.materialization.MaterializedResourceStore;
+import org.openmrs.module.fhir2.api.metrics.FhirMetrics;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 
 public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U extends IBaseResource> implements IBundleProvider, Serializable {
 	
@@ -42,14 +49,22 @@ public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U ex
 	
 	private final UUID uuid;
 	
+	private final transient MaterializedResourceStore materializedResourceStore;
+	
 	private transient Integer count;
 	
 	public SearchQueryBundleProvider(SearchParameterMap theParams, FhirDao<T> dao, ToFhirTranslator<T, U> translator) {
+		this(theParams, dao, translator, null);
+	}
+	
+	public SearchQueryBundleProvider(SearchParameterMap theParams, FhirDao<T> dao, ToFhirTranslator<T, U> translator,
+	    MaterializedResourceStore materializedResourceStore) {
 		this.dao = dao;
 		this.datePublished = new Date();
 		this.theParams = theParams;
 		this.translator = translator;
 		this.uuid = UUID.randomUUID();
+		this.materializedResourceStore = materializedResourceStore;
 	}
 	
 	@Override
@@ -70,8 +85,15 @@ public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U ex
 			maxResults = toIndex - fromIndex;
 		}
 		
-		return dao.search(theParams, firstResult, maxResults).stream().map(translator::toFhirResource)
-		        .collect(Collectors.toList());
+		long start = System.nanoTime();
+		Collection<T> results = dao.search(theParams, firstResult, maxResults);
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_DAO_SEARCH, start);
+		
+		start = System.nanoTime();
+		List<IBaseResource> resources = translate(results);
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, start);
+		
+		return resources;
 	}
 	
 	@Nullable
@@ -89,9 +111,34 @@ public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U ex
 	@Override
 	public Integer size() {
 		if (count == null) {
+			long start = System.nanoTime();
 			count = dao.getResultCounts(theParams).intValue();
+			FhirMetrics.recordPhase(FhirMetrics.PHASE_DAO_COUNT, start);
 		}
 		
 		return count;
 	}
+	
+	private List<IBaseResource> translate(Collection<T> results) {
+		String resourceType = materializedResourceStore == null ? null
+		        : materializedResourceStore.getResourceType(translator);
+		if (resourceType == null) {
+			return results.stream().map(translator::toFhirResource).collect(Collectors.toList());
+		}
+		
+		Map<String, String> versionIdsByUuid = new HashMap<>();
+		for (T result : results) {
+			versionIdsByUuid.put(result.getUuid(), FhirUtils.getVersionId(dao.getLastUpdated(result)));
+		}
+		
+		// only objects without up-to-date stored JSON are translated
+		Map<String, IBaseResource> materialized = materializedResourceStore.read(resourceType, versionIdsByUuid);
+		List<IBaseResource> resources = new ArrayList<>(results.size());
+		for (T result : results) {
+			IBaseResource resource = materialized.get(result.getUuid());
+			resources.add(resource != null ? resource : translator.toFhirResource(result));
+		}
+		
+		return resources;
+	}
 }
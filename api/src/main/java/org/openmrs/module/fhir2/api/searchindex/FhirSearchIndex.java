@@ -0,0 +1,283 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import javax.annotation.PreDestroy;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.ConceptMap;
+import org.openmrs.ConceptReferenceTerm;
+import org.openmrs.Obs;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.PersonName;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirSearchIndexDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Entry point to the search index tables, see {@link SearchTokenIndex} and {@link SearchNameIndex}. Whether the index is
+ * maintained and whether searches use it is controlled by the {@link Mode} set in the
+ * {@link FhirConstants#SEARCH_INDEX_MODE_PROPERTY} global property.
+ * <p/>
+ * Changes to objects which only affect a few resources, e.g., an Obs, are reindexed in the
+ * transaction which made them. Changes to objects any number of resources may depend on, e.g., a
+ * concept mapping, are queued in the same transaction and reindexed in the background once it has
+ * committed, see {@link SearchTokenIndex.Dependency#isQueued()}, so searches may miss them for a
+ * moment. If an update fails, the index is marked as out of date, which is stored, and searches do
+ * not use it until it has been rebuilt by the {@link SearchIndexRebuilder}.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirSearchIndex {
+	
+	public enum Mode {
+		/**
+		 * The index is neither maintained nor used
+		 */
+		DISABLED,
+		/**
+		 * The index is maintained, but searches do not use it yet, e.g., while it is being rebuilt
+		 */
+		MAINTAIN,
+		/**
+		 * The index is maintained and used by searches
+		 */
+		ENABLED
+	}
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Autowired
+	private FhirSearchIndexDao dao;
+	
+	@Autowired
+	@Qualifier("transactionManager")
+	private PlatformTransactionManager transactionManager;
+	
+	private volatile Mode mode;
+	
+	private volatile Boolean outOfDate;
+	
+	private final AtomicLong failures = new AtomicLong();
+	
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(
+	    new ThreadFactoryBuilder().setNameFormat("fhir2-search-index-%d").setDaemon(true).build());
+	
+	/**
+	 * @param entity the entity to check
+	 * @return true if changes to this entity may change the rows of the search index
+	 */
+	public static boolean isTracked(Object entity) {
+		return entity instanceof Obs || entity instanceof PatientIdentifier || entity instanceof ConceptMap
+		        || entity instanceof ConceptReferenceTerm || entity instanceof FhirConceptSource
+		        || entity instanceof PatientIdentifierType || entity instanceof PersonName;
+	}
+	
+	/**
+	 * The mode is read once, so changing it requires a restart
+	 *
+	 * @return the configured mode
+	 */
+	public Mode getMode() {
+		if (mode == null) {
+			String value = globalPropertyService.getGlobalProperty(FhirConstants.SEARCH_INDEX_MODE_PROPERTY, "disabled");
+			try {
+				mode = Mode.valueOf(value.trim().toUpperCase());
+			}
+			catch (IllegalArgumentException e) {
+				log.warn("Unknown search index mode {}, the search index will not be used", value);
+				mode = Mode.DISABLED;
+			}
+		}
+		
+		return mode;
+	}
+	
+	public boolean isMaintained() {
+		return getMode() != Mode.DISABLED;
+	}
+	
+	public boolean isQueryable() {
+		return getMode() == Mode.ENABLED && !isOutOfDate();
+	}
+	
+	/**
+	 * @return true if an update failed and the index has not been rebuilt since
+	 */
+	public boolean isOutOfDate() {
+		if (outOfDate == null) {
+			outOfDate = dao.isRebuildRequired();
+		}
+		
+		return outOfDate;
+	}
+	
+	/**
+	 * Stops searches from using the index until it has been rebuilt. This is called when an update
+	 * failed, so the marker is stored in a separate transaction.
+	 */
+	public void markOutOfDate() {
+		failures.incrementAndGet();
+		outOfDate = true;
+		executor.execute(() -> {
+			try {
+				new TransactionTemplate(transactionManager).execute(status -> {
+					dao.requireRebuild();
+					return null;
+				});
+			}
+			catch (Exception e) {
+				log.error("Unable to store that the search index is out of date", e);
+			}
+		});
+	}
+	
+	/**
+	 * @return the number of failed updates so far, see {@link #rebuilt(long)}
+	 */
+	public long getFailureCount() {
+		return failures.get();
+	}
+	
+	/**
+	 * Lets searches use the index again, unless another update failed while it was being rebuilt
+	 *
+	 * @param failureCount the {@link #getFailureCount()} when the rebuild started
+	 */
+	public void rebuilt(long failureCount) {
+		if (failures.get() == failureCount) {
+			// re-read, as a marker stored after the rebuild started is still in place
+			outOfDate = null;
+		}
+	}
+	
+	/**
+	 * Recreates the rows of every resource affected by changes to the supplied objects. This is
+	 * expected to run in the transaction which changed them, after it has been flushed. Changes which
+	 * are {@link SearchTokenIndex.Dependency#isQueued() queued} are only recorded, see
+	 * {@link #processQueue()}.
+	 *
+	 * @param changedObjects objects which were saved, updated or deleted
+	 * @return true if any changes were queued
+	 */
+	public boolean update(Collection<?> changedObjects) {
+		Map<SearchTokenIndex.Dependency, Set<Integer>> changes = new EnumMap<>(SearchTokenIndex.Dependency.class);
+		Set<Integer> changedNames = new HashSet<>();
+		for (Object changed : changedObjects) {
+			if (changed instanceof Obs) {
+				addChange(changes, SearchTokenIndex.Dependency.OBS, ((Obs) changed).getObsId());
+			} else if (changed instanceof PatientIdentifier) {
+				PatientIdentifier identifier = (PatientIdentifier) changed;
+				if (identifier.getPatient() != null) {
+					addChange(changes, SearchTokenIndex.Dependency.PATIENT, identifier.getPatient().getPatientId());
+				}
+			} else if (changed instanceof ConceptMap) {
+				ConceptMap conceptMap = (ConceptMap) changed;
+				if (conceptMap.getConcept() != null) {
+					addChange(changes, SearchTokenIndex.Dependency.CONCEPT, conceptMap.getConcept().getConceptId());
+				}
+			} else if (changed instanceof ConceptReferenceTerm) {
+				addChange(changes, SearchTokenIndex.Dependency.CONCEPT_REFERENCE_TERM,
+				    ((ConceptReferenceTerm) changed).getConceptReferenceTermId());
+			} else if (changed instanceof FhirConceptSource) {
+				FhirConceptSource conceptSource = (FhirConceptSource) changed;
+				if (conceptSource.getConceptSource() != null) {
+					addChange(changes, SearchTokenIndex.Dependency.CONCEPT_SOURCE,
+					    conceptSource.getConceptSource().getConceptSourceId());
+				}
+			} else if (changed instanceof PatientIdentifierType) {
+				addChange(changes, SearchTokenIndex.Dependency.PATIENT_IDENTIFIER_TYPE,
+				    ((PatientIdentifierType) changed).getPatientIdentifierTypeId());
+			} else if (changed instanceof PersonName && ((PersonName) changed).getPersonNameId() != null) {
+				changedNames.add(((PersonName) changed).getPersonNameId());
+			}
+		}
+		
+		boolean queued = false;
+		for (Map.Entry<SearchTokenIndex.Dependency, Set<Integer>> change : changes.entrySet()) {
+			if (change.getKey().isQueued()) {
+				dao.enqueue(change.getKey(), change.getValue());
+				queued = true;
+			} else {
+				reindex(change.getKey(), change.getValue());
+			}
+		}
+		
+		if (!changedNames.isEmpty()) {
+			dao.reindexNames(changedNames);
+		}
+		
+		return queued;
+	}
+	
+	/**
+	 * Reindexes the queued changes in the background, in a transaction of its own. Changes queued
+	 * while this runs are left for the next call or the next rebuild.
+	 */
+	public void processQueue() {
+		executor.execute(() -> {
+			try {
+				new TransactionTemplate(transactionManager).execute(status -> {
+					long lastQueueId = dao.getLastQueueId();
+					for (Map.Entry<SearchTokenIndex.Dependency, Set<Integer>> change : dao.getQueued(lastQueueId)
+					        .entrySet()) {
+						reindex(change.getKey(), change.getValue());
+					}
+					
+					dao.dequeue(lastQueueId);
+					return null;
+				});
+			}
+			catch (Exception e) {
+				log.error("Unable to update the search index, searches will not use it until it is rebuilt", e);
+				markOutOfDate();
+			}
+		});
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	private void reindex(SearchTokenIndex.Dependency dependency, Set<Integer> ids) {
+		for (SearchTokenIndex index : SearchTokenIndex.values()) {
+			dao.reindex(index, dependency, ids);
+		}
+	}
+	
+	private static void addChange(Map<SearchTokenIndex.Dependency, Set<Integer>> changes,
+	        SearchTokenIndex.Dependency dependency, Integer id) {
+		if (id != null) {
+			changes.computeIfAbsent(dependency, d -> new HashSet<>()).add(id);
+		}
+	}
+}
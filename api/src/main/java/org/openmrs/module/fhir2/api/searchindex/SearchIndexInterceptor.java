@@ -0,0 +1,128 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Transaction;
+import org.hibernate.type.Type;
+import org.openmrs.module.fhir2.api.util.TransactionChanges;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the search index up to date. Just before a transaction completes, i.e., after it has been
+ * flushed, the index rows of every resource affected by the objects it changed are recreated in the
+ * same transaction, so the index commits or rolls back together with the change. Changes which
+ * affect many resources are only queued and are reindexed in the background once the transaction
+ * has committed, see {@link FhirSearchIndex#update(java.util.Collection)}.
+ * <p/>
+ * Hibernate logs and ignores exceptions thrown here, so a failed update cannot fail the write;
+ * instead the index is marked as out of date and searches do not use it until it has been rebuilt.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SearchIndexInterceptor extends EmptyInterceptor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// the session factory depends on all interceptors, so this must be resolved lazily
+	@Lazy
+	@Autowired
+	private transient FhirSearchIndex searchIndex;
+	
+	// kept per transaction, as a nested transaction cannot see the uncommitted changes of the
+	// transaction it suspended, so it must not reindex them
+	private final transient TransactionChanges changedObjects = new TransactionChanges();
+	
+	private final transient ThreadLocal<Set<Transaction>> transactionsWithQueuedChanges = ThreadLocal
+	        .withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+	
+	@Override
+	public void afterTransactionBegin(Transaction tx) {
+		changedObjects.begin(tx);
+	}
+	
+	@Override
+	public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		if (FhirSearchIndex.isTracked(entity)) {
+			changedObjects.add(entity);
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState,
+	        String[] propertyNames, Type[] types) {
+		if (FhirSearchIndex.isTracked(entity)) {
+			changedObjects.add(entity);
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		if (FhirSearchIndex.isTracked(entity)) {
+			changedObjects.add(entity);
+		}
+	}
+	
+	@Override
+	public void beforeTransactionCompletion(Transaction tx) {
+		Set<Object> changed = changedObjects.remove(tx);
+		if (changed.isEmpty()) {
+			return;
+		}
+		
+		List<Object> toUpdate = new ArrayList<>(changed);
+		
+		if (!searchIndex.isMaintained()) {
+			return;
+		}
+		
+		try {
+			if (searchIndex.update(toUpdate)) {
+				transactionsWithQueuedChanges.get().add(tx);
+			}
+		}
+		catch (Exception e) {
+			log.error("Unable to update the search index, searches will not use it until it is rebuilt", e);
+			searchIndex.markOutOfDate();
+		}
+	}
+	
+	@Override
+	public void afterTransactionCompletion(Transaction tx) {
+		Set<Transaction> queued = transactionsWithQueuedChanges.get();
+		boolean processQueue = queued.remove(tx) && tx != null && tx.wasCommitted();
+		if (queued.isEmpty()) {
+			transactionsWithQueuedChanges.remove();
+		}
+		
+		changedObjects.end(tx);
+		
+		if (processQueue) {
+			searchIndex.processQueue();
+		}
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import java.util.List;
+
+import org.openmrs.api.context.Context;
+import org.openmrs.scheduler.tasks.AbstractTask;
+
+/**
+ * Scheduler task which runs the {@link SearchIndexRebuilder}. It must be run once after the search
+ * index has been switched to maintain mode and before it is enabled for searches.
+ */
+public class SearchIndexRebuildTask extends AbstractTask {
+	
+	@Override
+	public void execute() {
+		List<SearchIndexRebuilder> rebuilders = Context.getRegisteredComponents(SearchIndexRebuilder.class);
+		if (!rebuilders.isEmpty()) {
+			rebuilders.get(0).rebuild();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.module.fhir2.api.dao.FhirSearchIndexDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recreates every row of the search index, one range of resource ids per transaction. This is used
+ * to fill the index after it has been switched to {@link FhirSearchIndex.Mode#MAINTAIN} and to repair
+ * anything the {@link SearchIndexInterceptor} missed, e.g., changes made directly in the database or
+ * updates which failed. Once it completes, changes queued before it started are removed from the
+ * queue, as they are covered by it, and searches may use an index marked as out of date again.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SearchIndexRebuilder {
+	
+	static final int RANGE_SIZE = 10000;
+	
+	@Autowired
+	private FhirSearchIndex searchIndex;
+	
+	@Autowired
+	private FhirSearchIndexDao dao;
+	
+	@Autowired
+	@Qualifier("transactionManager")
+	private PlatformTransactionManager transactionManager;
+	
+	private final AtomicBoolean running = new AtomicBoolean(false);
+	
+	/**
+	 * @return true if the index was rebuilt, false if it is disabled or a rebuild is already running
+	 */
+	public boolean rebuild() {
+		if (!searchIndex.isMaintained()) {
+			log.info("The search index is disabled, nothing to rebuild");
+			return false;
+		}
+		
+		if (!running.compareAndSet(false, true)) {
+			log.info("The search index is already being rebuilt");
+			return false;
+		}
+		
+		try {
+			long failureCount = searchIndex.getFailureCount();
+			long lastQueueId = dao.getLastQueueId();
+			
+			TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+			for (SearchTokenIndex index : SearchTokenIndex.values()) {
+				rebuildInRanges(transactionTemplate, dao.getMaxResourceId(index),
+				    (from, upTo) -> dao.reindex(index, from, upTo));
+				log.info("Rebuilt the {} {} search index", index.getResourceType(), index.getParamName());
+			}
+			
+			rebuildInRanges(transactionTemplate, dao.getMaxPersonNameId(), dao::reindexNames);
+			log.info("Rebuilt the name search index");
+			
+			dao.clearQueue(lastQueueId);
+			searchIndex.rebuilt(failureCount);
+			
+			return true;
+		}
+		finally {
+			running.set(false);
+		}
+	}
+	
+	private void rebuildInRanges(TransactionTemplate transactionTemplate, int maxId,
+	        BiConsumer<Integer, Integer> reindexRange) {
+		int afterId = 0;
+		while (afterId != Integer.MAX_VALUE) {
+			// the last range is left open, so rows created during the rebuild are not missed
+			int from = afterId;
+			int upTo = afterId + RANGE_SIZE >= maxId ? Integer.MAX_VALUE : afterId + RANGE_SIZE;
+			transactionTemplate.execute(status -> {
+				reindexRange.accept(from, upTo);
+				return null;
+			});
+			afterId = upTo;
+		}
+	}
+}
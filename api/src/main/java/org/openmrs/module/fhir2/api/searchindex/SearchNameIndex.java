@@ -0,0 +1,93 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Defines the form in which person names are stored in the fhir_search_name, fhir_search_name_gram
+ * and fhir_search_name_phonetic tables. Search values must be normalized in the same way before they are
+ * compared with the indexed names.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchNameIndex {
+	
+	public static final int GRAM_LENGTH = 3;
+	
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+	
+	private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}]+");
+	
+	// encoding does not change the encoder, so it can be shared between threads
+	private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+	
+	/**
+	 * @param value the name to normalize
+	 * @return the name in lower case and without accents or null if it is blank
+	 */
+	public static String normalize(String value) {
+		if (StringUtils.isBlank(value)) {
+			return null;
+		}
+		
+		String decomposed = Normalizer.normalize(value.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+		return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+	}
+	
+	/**
+	 * @param values normalized names, which may be null
+	 * @return the distinct trigrams occurring in any of the names
+	 */
+	public static Set<String> getGrams(String... values) {
+		Set<String> result = new LinkedHashSet<>();
+		for (String value : values) {
+			if (value != null) {
+				for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+					result.add(value.substring(i, i + GRAM_LENGTH));
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @param values normalized names, which may be null
+	 * @return the distinct Double Metaphone codes, primary and alternate, of every word in the names
+	 */
+	public static Set<String> getPhoneticCodes(String... values) {
+		Set<String> result = new LinkedHashSet<>();
+		for (String value : values) {
+			if (value != null) {
+				for (String word : WORD_SEPARATORS.split(value)) {
+					addCode(result, DOUBLE_METAPHONE.doubleMetaphone(word, false));
+					addCode(result, DOUBLE_METAPHONE.doubleMetaphone(word, true));
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	private static void addCode(Set<String> codes, String code) {
+		if (StringUtils.isNotEmpty(code)) {
+			codes.add(code);
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.openmrs.module.fhir2.FhirConstants;
+
+/**
+ * The token search parameters which are indexed in the fhir_search_token table. Each index is
+ * defined by a SQL select producing its rows, so that rows can be (re)created in bulk for any set of
+ * resources, and by SQL selecting the resources affected by a change to each kind of object the
+ * rows depend on.
+ */
+@Getter
+public enum SearchTokenIndex {
+	
+	OBSERVATION_CODE(FhirConstants.OBSERVATION, "code", "obs", "obs_id", "o.obs_id", conceptCodings("concept_id"),
+	        null, conceptDependencies("concept_id")),
+	
+	OBSERVATION_VALUE_CONCEPT(FhirConstants.OBSERVATION, "value-concept", "obs", "obs_id", "o.obs_id",
+	        conceptCodings("value_coded"), null, conceptDependencies("value_coded")),
+	
+	PATIENT_IDENTIFIER(FhirConstants.PATIENT, "identifier", "patient", "patient_id", "pi.patient_id",
+	        "select pi.patient_id, pit.name, pi.identifier from patient_identifier pi "
+	                + "join patient_identifier_type pit on pit.patient_identifier_type_id = pi.identifier_type",
+	        "pi.voided = false", identifierDependencies());
+	
+	/**
+	 * The kinds of objects index rows depend on
+	 */
+	public enum Dependency {
+		
+		OBS(false),
+		PATIENT(false),
+		CONCEPT(true),
+		CONCEPT_REFERENCE_TERM(true),
+		CONCEPT_SOURCE(true),
+		PATIENT_IDENTIFIER_TYPE(true);
+		
+		/**
+		 * Whether changes to this kind of object are reindexed in the background rather than in the
+		 * transaction which made them, as they may affect the rows of any number of resources
+		 */
+		@Getter
+		private final boolean queued;
+		
+		Dependency(boolean queued) {
+			this.queued = queued;
+		}
+	}
+	
+	private final String resourceType;
+	
+	private final String paramName;
+	
+	/**
+	 * The table of the OpenMRS objects behind the indexed resources
+	 */
+	private final String table;
+	
+	/**
+	 * The primary key of {@link #table}, which is stored as the resource id of each row
+	 */
+	private final String idColumn;
+	
+	/**
+	 * The resource id column of {@link #rowsSql}
+	 */
+	private final String rowIdColumn;
+	
+	/**
+	 * Selects the rows of the index as (resource id, system, value), without a where clause
+	 */
+	private final String rowsSql;
+	
+	/**
+	 * The condition rows selected by {@link #rowsSql} must meet, if any
+	 */
+	private final String rowsCondition;
+	
+	@Getter(AccessLevel.NONE)
+	private final Map<Dependency, String> affectedResources;
+	
+	SearchTokenIndex(String resourceType, String paramName, String table, String idColumn, String rowIdColumn,
+	    String rowsSql, String rowsCondition, Map<Dependency, String> affectedResources) {
+		this.resourceType = resourceType;
+		this.paramName = paramName;
+		this.table = table;
+		this.idColumn = idColumn;
+		this.rowIdColumn = rowIdColumn;
+		this.rowsSql = rowsSql;
+		this.rowsCondition = rowsCondition;
+		this.affectedResources = affectedResources;
+	}
+	
+	/**
+	 * @param dependency the kind of object which changed
+	 * @return SQL selecting the ids of the resources affected by changes to the objects whose ids are
+	 *         bound to the :ids parameter or null if this index does not depend on that kind of object
+	 */
+	public String getAffectedResourcesSql(Dependency dependency) {
+		return affectedResources.get(dependency);
+	}
+	
+	private static String conceptCodings(String conceptColumn) {
+		return String.format("select o.obs_id, fcs.url, crt.code from obs o "
+		        + "join concept_reference_map crm on crm.concept_id = o.%s "
+		        + "join concept_reference_term crt on crt.concept_reference_term_id = crm.concept_reference_term_id "
+		        + "join fhir_concept_source fcs on fcs.concept_source_id = crt.concept_source_id",
+		    conceptColumn);
+	}
+	
+	private static Map<Dependency, String> conceptDependencies(String conceptColumn) {
+		Map<Dependency, String> result = new EnumMap<>(Dependency.class);
+		result.put(Dependency.OBS, ":ids");
+		result.put(Dependency.CONCEPT, String.format("select obs_id from obs where %s in (:ids)", conceptColumn));
+		result.put(Dependency.CONCEPT_REFERENCE_TERM,
+		    String.format("select o.obs_id from obs o join concept_reference_map crm on crm.concept_id = o.%s "
+		            + "where crm.concept_reference_term_id in (:ids)", conceptColumn));
+		result.put(Dependency.CONCEPT_SOURCE,
+		    String.format("select o.obs_id from obs o join concept_reference_map crm on crm.concept_id = o.%s "
+		            + "join concept_reference_term crt on crt.concept_reference_term_id = crm.concept_reference_term_id "
+		            + "where crt.concept_source_id in (:ids)", conceptColumn));
+		return Collections.unmodifiableMap(result);
+	}
+	
+	private static Map<Dependency, String> identifierDependencies() {
+		Map<Dependency, String> result = new EnumMap<>(Dependency.class);
+		result.put(Dependency.PATIENT, ":ids");
+		result.put(Dependency.PATIENT_IDENTIFIER_TYPE,
+		    "select patient_id from patient_identifier where identifier_type in (:ids)");
+		return Collections.unmodifiableMap(result);
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers subscription notifications by POSTing them to the subscription's endpoint
+ */
+@Component
+public class RestHookSubscriptionChannel implements SubscriptionChannel {
+	
+	private static final int TIMEOUT_MILLIS = 10000;
+	
+	@Override
+	public FhirSubscription.ChannelType getChannelType() {
+		return FhirSubscription.ChannelType.REST_HOOK;
+	}
+	
+	@Override
+	public void deliver(SubscriptionNotification notification) throws IOException {
+		// the endpoint was checked when the subscription was saved, but its host may since resolve elsewhere
+		URL url = new URL(notification.getEndpoint());
+		SubscriptionPolicy.checkAddress(url.getHost());
+		
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			connection.setRequestMethod("POST");
+			connection.setConnectTimeout(TIMEOUT_MILLIS);
+			connection.setReadTimeout(TIMEOUT_MILLIS);
+			connection.setInstanceFollowRedirects(false);
+			connection.setDoOutput(true);
+			
+			if (notification.getHeaders() != null) {
+				for (String header : notification.getHeaders()) {
+					connection.setRequestProperty(StringUtils.substringBefore(header, ":").trim(),
+					    StringUtils.substringAfter(header, ":").trim());
+				}
+			}
+			
+			byte[] body = notification.getPayload() == null ? new byte[0]
+			        : notification.getPayload().getBytes(StandardCharsets.UTF_8);
+			if (notification.getContentType() != null) {
+				connection.setRequestProperty("Content-Type", notification.getContentType() + "; charset=UTF-8");
+			}
+			
+			connection.setFixedLengthStreamingMode(body.length);
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body);
+			}
+			
+			int status = connection.getResponseCode();
+			if (status < 200 || status >= 300) {
+				throw new IOException(String.format("Endpoint %s for subscription %s responded with status %d",
+				    notification.getEndpoint(), notification.getSubscriptionId(), status));
+			}
+		}
+		finally {
+			connection.disconnect();
+		}
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.io.IOException;
+
+import org.openmrs.module.fhir2.FhirSubscription;
+
+/**
+ * A means of delivering subscription notifications, e.g. rest-hook or websocket
+ */
+public interface SubscriptionChannel {
+	
+	/**
+	 * @return the type of subscription channel this delivers notifications for
+	 */
+	FhirSubscription.ChannelType getChannelType();
+	
+	/**
+	 * Delivers a single notification
+	 *
+	 * @param notification the notification to deliver
+	 * @throws IOException if the notification could not be delivered and delivery should be retried
+	 */
+	void deliver(SubscriptionNotification notification) throws IOException;
+}
@@ -0,0 +1,202 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Coding;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Enumeration;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.Resource;
+import org.hl7.fhir.r4.model.Task;
+import org.openmrs.module.fhir2.FhirConstants;
+
+/**
+ * The parsed criteria of a subscription, e.g. Observation?code=5089AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA,
+ * which can be evaluated against a resource in memory. Only a limited set of search parameters is
+ * supported for each resource type; criteria using other parameters are rejected when parsed.
+ */
+@Getter
+public class SubscriptionCriteria {
+	
+	private static final Map<String, Map<String, BiPredicate<Resource, String>>> MATCHERS = new HashMap<>();
+	
+	static {
+		Map<String, BiPredicate<Resource, String>> observation = new HashMap<>();
+		observation.put("_id", SubscriptionCriteria::matchesId);
+		observation.put("code", (r, value) -> matchesToken(((Observation) r).getCode(), value));
+		observation.put("category",
+		    (r, value) -> ((Observation) r).getCategory().stream().anyMatch(c -> matchesToken(c, value)));
+		observation.put("status", (r, value) -> matchesCode(((Observation) r).getStatusElement(), value));
+		observation.put("subject", (r, value) -> matchesReference(((Observation) r).getSubject(), value));
+		observation.put("patient", (r, value) -> matchesReference(((Observation) r).getSubject(), value));
+		observation.put("encounter", (r, value) -> matchesReference(((Observation) r).getEncounter(), value));
+		MATCHERS.put(FhirConstants.OBSERVATION, observation);
+		
+		Map<String, BiPredicate<Resource, String>> encounter = new HashMap<>();
+		encounter.put("_id", SubscriptionCriteria::matchesId);
+		encounter.put("subject", (r, value) -> matchesReference(((Encounter) r).getSubject(), value));
+		encounter.put("patient", (r, value) -> matchesReference(((Encounter) r).getSubject(), value));
+		MATCHERS.put(FhirConstants.ENCOUNTER, encounter);
+		
+		Map<String, BiPredicate<Resource, String>> task = new HashMap<>();
+		task.put("_id", SubscriptionCriteria::matchesId);
+		task.put("status", (r, value) -> matchesCode(((Task) r).getStatusElement(), value));
+		task.put("owner", (r, value) -> matchesReference(((Task) r).getOwner(), value));
+		task.put("based-on",
+		    (r, value) -> ((Task) r).getBasedOn().stream().anyMatch(reference -> matchesReference(reference, value)));
+		MATCHERS.put(FhirConstants.TASK, task);
+	}
+	
+	private final String resourceType;
+	
+	@Getter(AccessLevel.NONE)
+	private final Map<String, List<String>> parameters;
+	
+	private SubscriptionCriteria(String resourceType, Map<String, List<String>> parameters) {
+		this.resourceType = resourceType;
+		this.parameters = parameters;
+	}
+	
+	/**
+	 * Parses the criteria of a subscription
+	 *
+	 * @param criteria the criteria to parse, e.g. Task?owner=Practitioner/123&status=requested
+	 * @return the parsed criteria
+	 * @throws InvalidRequestException if the criteria are malformed or use an unsupported resource
+	 *             type or search parameter
+	 */
+	public static SubscriptionCriteria parse(String criteria) {
+		if (StringUtils.isBlank(criteria)) {
+			throw new InvalidRequestException("Subscription criteria cannot be empty");
+		}
+		
+		String resourceType = StringUtils.substringBefore(criteria, "?").trim();
+		Map<String, BiPredicate<Resource, String>> matchers = MATCHERS.get(resourceType);
+		if (matchers == null) {
+			throw new InvalidRequestException(
+			        String.format("Subscriptions are not supported for resources of type %s", resourceType));
+		}
+		
+		Map<String, List<String>> parameters = new LinkedHashMap<>();
+		for (String parameter : StringUtils.split(StringUtils.substringAfter(criteria, "?"), '&')) {
+			String name = decode(StringUtils.substringBefore(parameter, "="));
+			String value = decode(StringUtils.substringAfter(parameter, "="));
+			
+			if (!matchers.containsKey(name)) {
+				throw new InvalidRequestException(
+				        String.format("Search parameter %s is not supported in subscriptions for %s", name, resourceType));
+			}
+			
+			if (StringUtils.isBlank(value)) {
+				throw new InvalidRequestException(String.format("Search parameter %s must have a value", name));
+			}
+			
+			parameters.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+		}
+		
+		return new SubscriptionCriteria(resourceType, Collections.unmodifiableMap(parameters));
+	}
+	
+	/**
+	 * Determines whether a resource matches these criteria. Repeated parameters must all match (AND),
+	 * while comma-separated values of a single parameter only need one match (OR).
+	 *
+	 * @param resource the resource to check
+	 * @return true if the resource matches
+	 */
+	public boolean matches(Resource resource) {
+		if (resource == null || !resourceType.equals(resource.fhirType())) {
+			return false;
+		}
+		
+		Map<String, BiPredicate<Resource, String>> matchers = MATCHERS.get(resourceType);
+		for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+			BiPredicate<Resource, String> matcher = matchers.get(parameter.getKey());
+			for (String value : parameter.getValue()) {
+				if (Arrays.stream(value.split(",")).noneMatch(v -> matcher.test(resource, v))) {
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	private static boolean matchesId(Resource resource, String value) {
+		return value.equals(resource.getIdElement().getIdPart());
+	}
+	
+	private static boolean matchesCode(Enumeration<?> code, String value) {
+		return code != null && code.hasCode() && code.getCode().equalsIgnoreCase(value);
+	}
+	
+	private static boolean matchesToken(CodeableConcept concept, String value) {
+		if (concept == null) {
+			return false;
+		}
+		
+		String system = null;
+		String code = value;
+		if (value.contains("|")) {
+			system = StringUtils.substringBefore(value, "|");
+			code = StringUtils.substringAfter(value, "|");
+		}
+		
+		for (Coding coding : concept.getCoding()) {
+			boolean systemMatches = system == null || (system.isEmpty() ? !coding.hasSystem()
+			        : system.equals(coding.getSystem()));
+			boolean codeMatches = code.isEmpty() || code.equals(coding.getCode());
+			if (systemMatches && codeMatches) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private static boolean matchesReference(Reference reference, String value) {
+		if (reference == null || !reference.hasReference()) {
+			return false;
+		}
+		
+		String type = value.contains("/") ? StringUtils.substringBeforeLast(value, "/") : null;
+		String id = StringUtils.substringAfterLast("/" + value, "/");
+		
+		return id.equals(reference.getReferenceElement().getIdPart())
+		        && (type == null || type.equals(reference.getReferenceElement().getResourceType()));
+	}
+	
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, StandardCharsets.UTF_8.name()).trim();
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import javax.annotation.PreDestroy;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers subscription notifications in the background. Failed deliveries are retried with
+ * exponential backoff until {@link #MAX_ATTEMPTS} attempts have been made.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionDeliveryExecutor {
+	
+	static final int MAX_ATTEMPTS = 5;
+	
+	static final long INITIAL_BACKOFF_MILLIS = 1000L;
+	
+	static final long MAX_BACKOFF_MILLIS = 60000L;
+	
+	@Autowired
+	private List<SubscriptionChannel> channels;
+	
+	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2,
+	    new ThreadFactoryBuilder().setNameFormat("fhir2-subscription-delivery-%d").setDaemon(true).build());
+	
+	/**
+	 * Queues a notification for delivery
+	 *
+	 * @param notification the notification to deliver
+	 */
+	public void submit(SubscriptionNotification notification) {
+		schedule(notification, 1, 0L);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Attempts to deliver a notification once, scheduling a retry if the attempt fails
+	 *
+	 * @param notification the notification to deliver
+	 * @param attempt the number of this attempt, starting at 1
+	 * @return true if the notification was delivered
+	 */
+	boolean deliver(SubscriptionNotification notification, int attempt) {
+		SubscriptionChannel channel = getChannel(notification);
+		if (channel == null) {
+			log.warn("No channel available to deliver notifications for subscription {} of type {}",
+			    notification.getSubscriptionId(), notification.getChannelType());
+			return false;
+		}
+		
+		try {
+			channel.deliver(notification);
+			return true;
+		}
+		catch (Exception e) {
+			if (attempt >= MAX_ATTEMPTS) {
+				log.error("Giving up delivering notification for subscription {} after {} attempts",
+				    notification.getSubscriptionId(), attempt, e);
+			} else {
+				long backoff = getBackoffMillis(attempt);
+				log.warn("Failed to deliver notification for subscription {}, retrying in {} ms: {}",
+				    notification.getSubscriptionId(), backoff, e.getMessage());
+				schedule(notification, attempt + 1, backoff);
+			}
+			
+			return false;
+		}
+	}
+	
+	static long getBackoffMillis(int attempt) {
+		return Math.min(INITIAL_BACKOFF_MILLIS << Math.min(attempt - 1, 30), MAX_BACKOFF_MILLIS);
+	}
+	
+	private void schedule(SubscriptionNotification notification, int attempt, long delayMillis) {
+		if (!executor.isShutdown()) {
+			executor.schedule(() -> deliver(notification, attempt), delayMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	private SubscriptionChannel getChannel(SubscriptionNotification notification) {
+		if (channels != null) {
+			for (SubscriptionChannel channel : channels) {
+				if (channel.getChannelType() == notification.getChannelType()) {
+					return channel;
+				}
+			}
+		}
+		
+		return null;
+	}
+}
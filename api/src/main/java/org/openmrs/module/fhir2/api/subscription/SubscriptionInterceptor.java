@@ -0,0 +1,117 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Transaction;
+import org.hibernate.type.Type;
+import org.openmrs.module.fhir2.api.util.TransactionChanges;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Captures changes to the objects behind subscribable resources. Changed objects are matched against
+ * the active subscriptions just before the transaction completes, while they are still attached to
+ * the session, and the resulting notifications are only handed off for delivery once the
+ * transaction has been committed.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionInterceptor extends EmptyInterceptor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// the session factory depends on all interceptors, so these must be resolved lazily
+	@Lazy
+	@Autowired
+	private transient SubscriptionMatcher matcher;
+	
+	@Lazy
+	@Autowired
+	private transient SubscriptionDeliveryExecutor deliveryExecutor;
+	
+	// kept per transaction, as a nested transaction must neither notify about the changes of the
+	// transaction it suspended nor drop the notifications of that transaction when it completes first
+	private final transient TransactionChanges changedObjects = new TransactionChanges();
+	
+	private final transient ThreadLocal<Map<Transaction, List<SubscriptionNotification>>> pendingNotifications = ThreadLocal
+	        .withInitial(IdentityHashMap::new);
+	
+	@Override
+	public void afterTransactionBegin(Transaction tx) {
+		changedObjects.begin(tx);
+	}
+	
+	@Override
+	public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		recordChange(entity);
+		return false;
+	}
+	
+	@Override
+	public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState,
+	        String[] propertyNames, Type[] types) {
+		recordChange(entity);
+		return false;
+	}
+	
+	@Override
+	public void beforeTransactionCompletion(Transaction tx) {
+		Set<Object> changed = changedObjects.remove(tx);
+		if (changed.isEmpty()) {
+			return;
+		}
+		
+		List<Object> toMatch = new ArrayList<>(changed);
+		
+		try {
+			List<SubscriptionNotification> notifications = matcher.match(toMatch);
+			if (!notifications.isEmpty()) {
+				pendingNotifications.get().computeIfAbsent(tx, t -> new ArrayList<>()).addAll(notifications);
+			}
+		}
+		catch (Exception e) {
+			log.warn("Unable to match changes against subscriptions", e);
+		}
+	}
+	
+	@Override
+	public void afterTransactionCompletion(Transaction tx) {
+		Map<Transaction, List<SubscriptionNotification>> notificationsByTransaction = pendingNotifications.get();
+		List<SubscriptionNotification> notifications = notificationsByTransaction.remove(tx);
+		if (notificationsByTransaction.isEmpty()) {
+			pendingNotifications.remove();
+		}
+		
+		changedObjects.end(tx);
+		
+		if (notifications != null && tx != null && tx.wasCommitted()) {
+			notifications.forEach(deliveryExecutor::submit);
+		}
+	}
+	
+	private void recordChange(Object entity) {
+		if (SubscriptionMatcher.isSupported(entity)) {
+			changedObjects.add(entity);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Resource;
+import org.openmrs.Encounter;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.TaskTranslator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches changed OpenMRS objects against the criteria of the active subscriptions. Objects are only
+ * translated to FHIR if there is at least one active subscription for their resource type. A matching
+ * subscription is only notified while the user who created it may read the resource; otherwise it is
+ * put in the error state.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionMatcher {
+	
+	@Autowired
+	private SubscriptionRegistry registry;
+	
+	@Autowired
+	private SubscriptionPolicy policy;
+	
+	@Autowired
+	private ObservationTranslator observationTranslator;
+	
+	@Autowired
+	private EncounterTranslator encounterTranslator;
+	
+	@Autowired
+	private TaskTranslator taskTranslator;
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	/**
+	 * @param object an object which has changed
+	 * @return true if changes to the object can trigger subscription notifications
+	 */
+	public static boolean isSupported(Object object) {
+		return getResourceType(object) != null;
+	}
+	
+	/**
+	 * Determines the notifications to send for a set of changed objects
+	 *
+	 * @param changedObjects the objects which have changed
+	 * @return the notifications for all subscriptions matched by the changed objects
+	 */
+	public List<SubscriptionNotification> match(Collection<?> changedObjects) {
+		if (changedObjects.isEmpty() || !registry.hasActiveSubscriptions()) {
+			return Collections.emptyList();
+		}
+		
+		List<SubscriptionNotification> result = new ArrayList<>();
+		Map<String, Boolean> allowed = new HashMap<>();
+		for (Object changedObject : changedObjects) {
+			List<SubscriptionRegistry.ActiveSubscription> subscriptions = registry
+			        .getActiveSubscriptions(getResourceType(changedObject));
+			if (subscriptions.isEmpty()) {
+				continue;
+			}
+			
+			Resource resource = translate(changedObject);
+			if (resource == null) {
+				continue;
+			}
+			
+			for (SubscriptionRegistry.ActiveSubscription subscription : subscriptions) {
+				if (!subscription.getCriteria().matches(resource)) {
+					continue;
+				}
+				
+				String resourceType = subscription.getCriteria().getResourceType();
+				if (!allowed.computeIfAbsent(subscription.getUuid(),
+				    uuid -> canRead(subscription.getCreator(), resourceType, uuid))) {
+					continue;
+				}
+				
+				result.add(new SubscriptionNotification(subscription.getUuid(), subscription.getChannelType(),
+				        subscription.getEndpoint(), subscription.getHeaders(), subscription.getPayload(),
+				        encode(resource, subscription.getPayload())));
+			}
+		}
+		
+		return result;
+	}
+	
+	private boolean canRead(String creator, String resourceType, String subscriptionUuid) {
+		if (policy.canRead(creator, resourceType)) {
+			return true;
+		}
+		
+		log.warn("Disabling subscription {} as its creator may no longer read {} resources", subscriptionUuid,
+		    resourceType);
+		registry.markError(subscriptionUuid, "The creator of this subscription may no longer read " + resourceType
+		        + " resources");
+		return false;
+	}
+	
+	private Resource translate(Object object) {
+		if (object instanceof Obs) {
+			return observationTranslator.toFhirResource((Obs) object);
+		} else if (object instanceof Encounter) {
+			return encounterTranslator.toFhirResource((Encounter) object);
+		} else if (object instanceof FhirTask) {
+			return taskTranslator.toFhirResource((FhirTask) object);
+		}
+		
+		return null;
+	}
+	
+	private String encode(Resource resource, String payload) {
+		if (payload == null || payload.isEmpty()) {
+			return null;
+		}
+		
+		IParser parser = payload.contains("xml") ? fhirContext.newXmlParser() : fhirContext.newJsonParser();
+		return parser.encodeResourceToString(resource);
+	}
+	
+	private static String getResourceType(Object object) {
+		if (object instanceof Obs) {
+			return FhirConstants.OBSERVATION;
+		} else if (object instanceof Encounter) {
+			return FhirConstants.ENCOUNTER;
+		} else if (object instanceof FhirTask) {
+			return FhirConstants.TASK;
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.util.List;
+
+import lombok.Data;
+import org.openmrs.module.fhir2.FhirSubscription;
+
+/**
+ * A notification that a resource matching a subscription has changed, ready to be delivered through
+ * the subscription's channel
+ */
+@Data
+public class SubscriptionNotification {
+	
+	private final String subscriptionId;
+	
+	private final FhirSubscription.ChannelType channelType;
+	
+	private final String endpoint;
+	
+	private final List<String> headers;
+	
+	/**
+	 * The mime type of the payload, or null if the notification has no payload
+	 */
+	private final String contentType;
+	
+	/**
+	 * The serialized resource which triggered the notification, or null if the notification has no
+	 * payload
+	 */
+	private final String payload;
+}
@@ -0,0 +1,154 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import ca.uhn.fhir.rest.server.exceptions.ForbiddenOperationException;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirUserDao;
+import org.openmrs.util.PrivilegeConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides who may manage subscriptions, which endpoints notifications may be sent to and whose
+ * subscriptions may be notified of which resources. Notifications carry the resource on behalf of
+ * the user who created the subscription, so they are only sent while that user may read it.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionPolicy {
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Autowired
+	private FhirUserDao userDao;
+	
+	/**
+	 * @throws ForbiddenOperationException if the authenticated user may not manage subscriptions
+	 */
+	public void checkCanManageSubscriptions() {
+		if (!Context.hasPrivilege(FhirConstants.MANAGE_SUBSCRIPTIONS_PRIVILEGE)) {
+			throw new ForbiddenOperationException(
+			        "Managing subscriptions requires the " + FhirConstants.MANAGE_SUBSCRIPTIONS_PRIVILEGE + " privilege");
+		}
+	}
+	
+	/**
+	 * Checks that a rest-hook endpoint is an http or https url starting with one of the allowed
+	 * endpoints and that it does not resolve to a local address
+	 *
+	 * @param endpoint the endpoint of a rest-hook subscription
+	 * @throws InvalidRequestException if notifications may not be sent to the endpoint
+	 */
+	public void validateEndpoint(String endpoint) {
+		URI uri;
+		try {
+			uri = new URI(StringUtils.defaultString(endpoint));
+		}
+		catch (URISyntaxException e) {
+			uri = null;
+		}
+		
+		if (uri == null || uri.getHost() == null || !StringUtils.equalsAnyIgnoreCase(uri.getScheme(), "http", "https")) {
+			throw new InvalidRequestException("Rest-hook subscriptions require an http or https endpoint");
+		}
+		
+		if (!isAllowedEndpoint(endpoint)) {
+			throw new InvalidRequestException(String.format(
+			    "Endpoint %s is not one of the endpoints allowed by the %s global property", endpoint,
+			    FhirConstants.SUBSCRIPTION_ALLOWED_ENDPOINTS_PROPERTY));
+		}
+		
+		try {
+			checkAddress(uri.getHost());
+		}
+		catch (IOException e) {
+			throw new InvalidRequestException(e.getMessage());
+		}
+	}
+	
+	/**
+	 * @param userUuid the uuid of the user who created a subscription
+	 * @param resourceType the type of resource the subscription would be notified of
+	 * @return true if the user may still manage subscriptions and read resources of the given type
+	 */
+	public boolean canRead(String userUuid, String resourceType) {
+		User user = userUuid == null ? null : userDao.getUserByUuid(userUuid);
+		if (user == null || user.getRetired() || !user.hasPrivilege(FhirConstants.MANAGE_SUBSCRIPTIONS_PRIVILEGE)) {
+			return false;
+		}
+		
+		// OpenMRS has no privilege for reading tasks, so these only require the subscription privilege
+		switch (resourceType) {
+			case FhirConstants.OBSERVATION:
+				return user.hasPrivilege(PrivilegeConstants.GET_OBS) && user.hasPrivilege(PrivilegeConstants.GET_PATIENTS);
+			case FhirConstants.ENCOUNTER:
+				return user.hasPrivilege(PrivilegeConstants.GET_ENCOUNTERS)
+				        && user.hasPrivilege(PrivilegeConstants.GET_PATIENTS);
+			case FhirConstants.TASK:
+				return true;
+			default:
+				return false;
+		}
+	}
+	
+	/**
+	 * Checks that a host does not resolve to a loopback, link-local or wildcard address, so that
+	 * notifications cannot be used to reach services which are only exposed to the server itself
+	 *
+	 * @param host the host of an endpoint
+	 * @throws IOException if the host cannot be resolved or resolves to a local address
+	 */
+	public static void checkAddress(String host) throws IOException {
+		for (InetAddress address : InetAddress.getAllByName(host)) {
+			if (address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isAnyLocalAddress()) {
+				throw new IOException(
+				        String.format("Endpoint host %s resolves to local address %s", host, address.getHostAddress()));
+			}
+		}
+	}
+	
+	private boolean isAllowedEndpoint(String endpoint) {
+		String allowedEndpoints = globalPropertyService
+		        .getGlobalProperty(FhirConstants.SUBSCRIPTION_ALLOWED_ENDPOINTS_PROPERTY);
+		if (StringUtils.isBlank(allowedEndpoints)) {
+			return false;
+		}
+		
+		for (String allowed : allowedEndpoints.split(",")) {
+			allowed = allowed.trim();
+			if (allowed.isEmpty() || !endpoint.startsWith(allowed)) {
+				continue;
+			}
+			
+			// the prefix must end at a path boundary, so that e.g. https://example.org does not allow
+			// https://example.org.attacker.com or https://example.org@attacker.com
+			if (endpoint.length() == allowed.length() || allowed.endsWith("/")
+			        || "/?#".indexOf(endpoint.charAt(allowed.length())) >= 0) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+}
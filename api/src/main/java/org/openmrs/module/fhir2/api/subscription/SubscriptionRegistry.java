@@ -0,0 +1,171 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the active subscriptions, with their criteria already parsed, so that changes can be
+ * matched without querying the database. The cache is reloaded after any subscription changes.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionRegistry {
+	
+	@Autowired
+	private FhirSubscriptionDao dao;
+	
+	private volatile Map<String, List<ActiveSubscription>> activeSubscriptions;
+	
+	private final AtomicLong generation = new AtomicLong();
+	
+	/**
+	 * @return true if there is at least one active subscription
+	 */
+	public boolean hasActiveSubscriptions() {
+		return !getActiveSubscriptionsByResourceType().isEmpty();
+	}
+	
+	/**
+	 * @param resourceType the resource type, e.g. Observation
+	 * @return the active subscriptions for the resource type
+	 */
+	public List<ActiveSubscription> getActiveSubscriptions(String resourceType) {
+		List<ActiveSubscription> result = getActiveSubscriptionsByResourceType().get(resourceType);
+		if (result == null) {
+			return Collections.emptyList();
+		}
+		
+		Date now = new Date();
+		return result.stream().filter(s -> s.getEnd() == null || s.getEnd().after(now)).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Puts a subscription in the error state as part of the current transaction, and stops using it
+	 * once that has been committed
+	 *
+	 * @param uuid the uuid of the subscription
+	 * @param error the reason the subscription is in error
+	 */
+	public void markError(String uuid, String error) {
+		dao.markError(uuid, error);
+		invalidateAfterCommit();
+	}
+	
+	/**
+	 * Discards the cached subscriptions so they are reloaded on next use
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+		activeSubscriptions = null;
+	}
+	
+	/**
+	 * Discards the cached subscriptions once the current transaction has committed. Discarding them
+	 * earlier would let another thread reload them before the change is visible to it. Outside of a
+	 * transaction, they are discarded immediately.
+	 */
+	public void invalidateAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidate();
+			return;
+		}
+		
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			
+			@Override
+			public void afterCommit() {
+				invalidate();
+			}
+		});
+	}
+	
+	private Map<String, List<ActiveSubscription>> getActiveSubscriptionsByResourceType() {
+		Map<String, List<ActiveSubscription>> result = activeSubscriptions;
+		if (result == null) {
+			long loadedGeneration = generation.get();
+			result = new HashMap<>();
+			for (FhirSubscription subscription : dao.getActiveSubscriptions()) {
+				try {
+					SubscriptionCriteria criteria = SubscriptionCriteria.parse(subscription.getCriteria());
+					result.computeIfAbsent(criteria.getResourceType(), k -> new ArrayList<>())
+					        .add(new ActiveSubscription(subscription.getUuid(), criteria, subscription.getChannelType(),
+					                subscription.getEndpoint(), subscription.getPayload(), getHeaders(subscription),
+					                subscription.getEnd(),
+					                subscription.getCreator() == null ? null : subscription.getCreator().getUuid()));
+				}
+				catch (InvalidRequestException e) {
+					log.warn("Ignoring subscription {} with invalid criteria: {}", subscription.getUuid(), e.getMessage());
+				}
+			}
+			
+			// a load which overlapped an invalidation may have read the old subscriptions
+			if (generation.get() == loadedGeneration) {
+				activeSubscriptions = result;
+			}
+		}
+		
+		return result;
+	}
+	
+	private static List<String> getHeaders(FhirSubscription subscription) {
+		if (StringUtils.isBlank(subscription.getHeaders())) {
+			return Collections.emptyList();
+		}
+		
+		return Arrays.stream(subscription.getHeaders().split("\n")).filter(StringUtils::isNotBlank)
+		        .collect(Collectors.toList());
+	}
+	
+	@Data
+	public static class ActiveSubscription {
+		
+		private final String uuid;
+		
+		private final SubscriptionCriteria criteria;
+		
+		private final FhirSubscription.ChannelType channelType;
+		
+		private final String endpoint;
+		
+		private final String payload;
+		
+		private final List<String> headers;
+		
+		private final Date end;
+		
+		/**
+		 * The uuid of the user who created the subscription, on whose behalf notifications are sent
+		 */
+		private final String creator;
+	}
+}
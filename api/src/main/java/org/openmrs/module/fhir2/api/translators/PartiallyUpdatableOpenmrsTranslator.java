@@ -0,0 +1,31 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators;
+
+/**
+ * Interface for updatable translators which only touch the fields of the existing OpenMRS object
+ * that are present on the resource being mapped. Patches applied through such translators only need
+ * to supply the elements that have actually changed, while elements a patch removes are cleared with
+ * {@link #removeElement(Object, String)}.
+ * 
+ * @param <T> OpenMRS data type
+ * @param <U> FHIR resource type
+ */
+public interface PartiallyUpdatableOpenmrsTranslator<T, U> extends UpdatableOpenmrsTranslator<T, U> {
+	
+	/**
+	 * Clears the fields of an existing OpenMRS object that an element of the resource is mapped from.
+	 * Elements which cannot be removed, e.g., because they are required, are left unchanged.
+	 * 
+	 * @param existingObject the object to change
+	 * @param elementName the name of the element removed from the resource
+	 */
+	void removeElement(T existingObject, String elementName);
+}
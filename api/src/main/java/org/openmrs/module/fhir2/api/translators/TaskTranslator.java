@@ -12,7 +12,8 @@ package org.openmrs.module.fhir2.api.translators;
 import org.hl7.fhir.r4.model.Task;
 import org.openmrs.module.fhir2.FhirTask;
 
-public interface TaskTranslator extends OpenmrsFhirUpdatableTranslator<FhirTask, Task> {
+public interface TaskTranslator extends OpenmrsFhirUpdatableTranslator<FhirTask, Task>,
+        PartiallyUpdatableOpenmrsTranslator<FhirTask, Task> {
 	
 	/**
 	 * Maps a {@link FhirTask} to a {@link Task}
@@ -36,7 +36,7 @@ public class BaseServiceRequestTranslatorImpl {
 	
 	protected ServiceRequest.ServiceRequestStatus determineServiceRequestStatus(String orderUuid) {
 		IBundleProvider results = taskService.searchForTasks(new ReferenceAndListParam().addAnd(
-		    new ReferenceOrListParam().add(new ReferenceParam("ServiceRequest", null, orderUuid))), null, null, null);
+		    new ReferenceOrListParam().add(new ReferenceParam("ServiceRequest", null, orderUuid))), null, null, null, null);
 		
 		Collection<Task> serviceRequestTasks = results.getResources(START_INDEX, END_INDEX).stream().map(p -> (Task) p)
 		        .collect(Collectors.toList());
@@ -68,7 +68,7 @@ public class BaseServiceRequestTranslatorImpl {
 	
 	protected Reference determineServiceRequestPerformer(String orderUuid) {
 		IBundleProvider results = taskService.searchForTasks(new ReferenceAndListParam().addAnd(
-		    new ReferenceOrListParam().add(new ReferenceParam("ServiceRequest", null, orderUuid))), null, null, null);
+		    new ReferenceOrListParam().add(new ReferenceParam("ServiceRequest", null, orderUuid))), null, null, null, null);
 		
 		Collection<Task> serviceRequestTasks = results.getResources(START_INDEX, END_INDEX).stream().map(p -> (Task) p)
 		        .collect(Collectors.toList());
@@ -0,0 +1,118 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.StringType;
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.translators.SubscriptionTranslator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SubscriptionTranslatorImpl implements SubscriptionTranslator {
+	
+	@Override
+	public Subscription toFhirResource(FhirSubscription openmrsSubscription) {
+		if (openmrsSubscription == null) {
+			return null;
+		}
+		
+		Subscription subscription = new Subscription();
+		subscription.setId(openmrsSubscription.getUuid());
+		subscription.setCriteria(openmrsSubscription.getCriteria());
+		subscription.setReason(openmrsSubscription.getDescription());
+		subscription.setEnd(openmrsSubscription.getEnd());
+		subscription.setError(openmrsSubscription.getError());
+		
+		if (openmrsSubscription.getStatus() != null) {
+			subscription.setStatus(Subscription.SubscriptionStatus.valueOf(openmrsSubscription.getStatus().name()));
+		}
+		
+		Subscription.SubscriptionChannelComponent channel = subscription.getChannel();
+		if (openmrsSubscription.getChannelType() != null) {
+			switch (openmrsSubscription.getChannelType()) {
+				case REST_HOOK:
+					channel.setType(Subscription.SubscriptionChannelType.RESTHOOK);
+					break;
+				case WEBSOCKET:
+					channel.setType(Subscription.SubscriptionChannelType.WEBSOCKET);
+					break;
+			}
+		}
+		
+		channel.setEndpoint(openmrsSubscription.getEndpoint());
+		channel.setPayload(openmrsSubscription.getPayload());
+		
+		if (openmrsSubscription.getHeaders() != null) {
+			for (String header : openmrsSubscription.getHeaders().split("\n")) {
+				if (StringUtils.isNotBlank(header)) {
+					channel.addHeader(header);
+				}
+			}
+		}
+		
+		subscription.getMeta().setLastUpdated(openmrsSubscription.getDateChanged() != null
+		        ? openmrsSubscription.getDateChanged() : openmrsSubscription.getDateCreated());
+		
+		return subscription;
+	}
+	
+	@Override
+	public FhirSubscription toOpenmrsType(Subscription subscription) {
+		return toOpenmrsType(new FhirSubscription(), subscription);
+	}
+	
+	@Override
+	public FhirSubscription toOpenmrsType(FhirSubscription existingSubscription, Subscription subscription) {
+		if (existingSubscription == null || subscription == null) {
+			return existingSubscription;
+		}
+		
+		if (subscription.hasId()) {
+			existingSubscription.setUuid(subscription.getIdElement().getIdPart());
+		}
+		
+		if (subscription.hasStatus()) {
+			existingSubscription.setStatus(FhirSubscription.SubscriptionStatus.valueOf(subscription.getStatus().name()));
+		}
+		
+		existingSubscription.setCriteria(subscription.getCriteria());
+		existingSubscription.setDescription(subscription.getReason());
+		existingSubscription.setEnd(subscription.getEnd());
+		existingSubscription.setError(subscription.getError());
+		
+		Subscription.SubscriptionChannelComponent channel = subscription.getChannel();
+		if (channel.hasType()) {
+			switch (channel.getType()) {
+				case RESTHOOK:
+					existingSubscription.setChannelType(FhirSubscription.ChannelType.REST_HOOK);
+					break;
+				case WEBSOCKET:
+					existingSubscription.setChannelType(FhirSubscription.ChannelType.WEBSOCKET);
+					break;
+				default:
+					existingSubscription.setChannelType(null);
+			}
+		}
+		
+		existingSubscription.setEndpoint(channel.getEndpoint());
+		existingSubscription.setPayload(channel.getPayload());
+		existingSubscription.setHeaders(channel.hasHeader()
+		        ? channel.getHeader().stream().map(StringType::getValue).collect(Collectors.joining("\n")) : null);
+		
+		existingSubscription.setName(FhirConstants.SUBSCRIPTION + "/" + existingSubscription.getUuid());
+		
+		return existingSubscription;
+	}
+}
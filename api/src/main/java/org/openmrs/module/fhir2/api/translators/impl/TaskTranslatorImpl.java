@@ -81,6 +81,31 @@ public class TaskTranslatorImpl implements TaskTranslator {
 		return openmrsTask;
 	}
 	
+	@Override
+	public void removeElement(FhirTask openmrsTask, String elementName) {
+		// status and intent are required, so they cannot be removed
+		switch (elementName) {
+			case "basedOn":
+				openmrsTask.setBasedOnReferences(null);
+				break;
+			case "encounter":
+				openmrsTask.setEncounterReference(null);
+				break;
+			case "for":
+				openmrsTask.setForReference(null);
+				break;
+			case "owner":
+				openmrsTask.setOwnerReference(null);
+				break;
+			case "input":
+				openmrsTask.setInput(null);
+				break;
+			case "output":
+				openmrsTask.setOutput(null);
+				break;
+		}
+	}
+	
 	private void setFhirTaskFields(FhirTask openmrsTask, Task fhirTask) {
 		fhirTask.setId(openmrsTask.getUuid());
 		
@@ -0,0 +1,334 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Base;
+import org.hl7.fhir.r4.model.Property;
+import org.hl7.fhir.r4.model.Resource;
+
+/**
+ * Helpers for applying JSON Patch (RFC 6902) documents to FHIR resources and for working out which
+ * elements of a resource a patch actually changed
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FhirPatchUtils {
+	
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	
+	/**
+	 * Applies a patch document to a resource, making sure that the patch does not change the id of the
+	 * resource. The supplied resource is not modified.
+	 *
+	 * @param fhirContext the context used to serialize and parse the resource
+	 * @param resource the resource to patch
+	 * @param id the id the patched resource must keep
+	 * @param patchType the type of the patch document; only JSON Patch is supported
+	 * @param patchBody the patch document
+	 * @return a new resource with the patch applied
+	 */
+	public static <T extends IBaseResource> T applyPatch(FhirContext fhirContext, T resource, String id,
+	        PatchTypeEnum patchType, String patchBody) {
+		if (patchType != PatchTypeEnum.JSON_PATCH) {
+			throw new InvalidRequestException(String.format("Patch type %s is not supported", patchType));
+		}
+		
+		T result = applyJsonPatch(fhirContext, resource, patchBody);
+		if (result.getIdElement().hasIdPart() && !id.equals(result.getIdElement().getIdPart())) {
+			throw new InvalidRequestException(
+			        String.format("%s id cannot be changed by a patch.", result.getClass().getSimpleName()));
+		}
+		
+		result.setId(id);
+		return result;
+	}
+	
+	/**
+	 * Applies a JSON Patch document to a resource. The supplied resource is not modified.
+	 *
+	 * @param fhirContext the context used to serialize and parse the resource
+	 * @param resource the resource to patch
+	 * @param patchBody the JSON Patch document
+	 * @return a new resource with the patch applied
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends IBaseResource> T applyJsonPatch(FhirContext fhirContext, T resource, String patchBody) {
+		IParser parser = fhirContext.newJsonParser();
+		
+		JsonNode patch;
+		JsonNode target;
+		try {
+			patch = OBJECT_MAPPER.readTree(patchBody);
+			target = OBJECT_MAPPER.readTree(parser.encodeResourceToString(resource));
+		}
+		catch (IOException e) {
+			throw new InvalidRequestException("Could not parse JSON Patch document: " + e.getMessage(), e);
+		}
+		
+		JsonNode patched = applyJsonPatch(target, patch);
+		
+		try {
+			return (T) parser.parseResource(resource.getClass(), OBJECT_MAPPER.writeValueAsString(patched));
+		}
+		catch (IOException | DataFormatException e) {
+			throw new UnprocessableEntityException("Patched resource is not valid: " + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Applies a JSON Patch document to a JSON document. The supplied document is not modified.
+	 *
+	 * @param target the document to patch
+	 * @param patch the JSON Patch document, i.e., an array of operations
+	 * @return the patched document
+	 */
+	public static JsonNode applyJsonPatch(JsonNode target, JsonNode patch) {
+		if (patch == null || !patch.isArray()) {
+			throw new InvalidRequestException("JSON Patch document must be an array of operations");
+		}
+		
+		JsonNode result = target.deepCopy();
+		for (JsonNode operation : patch) {
+			String op = getRequiredText(operation, "op");
+			String path = getRequiredText(operation, "path");
+			
+			switch (op) {
+				case "add":
+					result = add(result, path, getRequiredValue(operation));
+					break;
+				case "remove":
+					result = remove(result, path);
+					break;
+				case "replace":
+					result = add(remove(result, path), path, getRequiredValue(operation));
+					break;
+				case "move": {
+					String from = getRequiredText(operation, "from");
+					if (isProperPrefix(parsePath(from), parsePath(path))) {
+						throw new UnprocessableEntityException(
+						        String.format("JSON Patch cannot move %s into one of its children", from));
+					}
+					
+					JsonNode value = get(result, from);
+					result = add(remove(result, from), path, value);
+					break;
+				}
+				case "copy": {
+					JsonNode value = get(result, getRequiredText(operation, "from"));
+					result = add(result, path, value.deepCopy());
+					break;
+				}
+				case "test":
+					if (!get(result, path).equals(getRequiredValue(operation))) {
+						throw new UnprocessableEntityException(String.format("JSON Patch test failed for path %s", path));
+					}
+					break;
+				default:
+					throw new InvalidRequestException(String.format("Unknown JSON Patch operation %s", op));
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Determines which top-level elements differ between two versions of a resource. The id and meta
+	 * elements are not considered.
+	 *
+	 * @param original the resource before the change
+	 * @param updated the resource after the change
+	 * @return the names of the elements which differ
+	 */
+	public static List<String> getChangedElements(Resource original, Resource updated) {
+		List<String> result = new ArrayList<>();
+		for (Property property : original.children()) {
+			String name = property.getName();
+			if ("id".equals(name) || "meta".equals(name)) {
+				continue;
+			}
+			
+			if (!Base.compareDeep(original.getNamedProperty(name).getValues(), updated.getNamedProperty(name).getValues(),
+			    true)) {
+				result.add(name);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Creates a resource which only contains the named elements of the source resource and its id
+	 *
+	 * @param fhirContext the context used to instantiate the resource
+	 * @param source the resource to copy the elements from
+	 * @param elementNames the elements to copy
+	 * @return a new resource containing only the named elements
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Resource> T copyElements(FhirContext fhirContext, T source, List<String> elementNames) {
+		T result = (T) fhirContext.getResourceDefinition(source).newInstance();
+		result.setId(source.getIdElement());
+		
+		for (String name : elementNames) {
+			for (Base value : source.getNamedProperty(name).getValues()) {
+				result.setProperty(name, value.copy());
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @param resource the resource to check
+	 * @param elementName the element to check
+	 * @return true if the resource has no value for the named element
+	 */
+	public static boolean isEmpty(Resource resource, String elementName) {
+		Property property = resource.getNamedProperty(elementName);
+		return property == null || !property.hasValues();
+	}
+	
+	private static JsonNode get(JsonNode root, String path) {
+		JsonNode result = root;
+		for (String token : parsePath(path)) {
+			if (result.isObject() && result.has(token)) {
+				result = result.get(token);
+			} else if (result.isArray()) {
+				result = result.get(parseIndex(result, token, false));
+			} else {
+				throw new UnprocessableEntityException(String.format("JSON Patch path %s does not exist", path));
+			}
+		}
+		
+		return result;
+	}
+	
+	private static JsonNode add(JsonNode root, String path, JsonNode value) {
+		List<String> tokens = parsePath(path);
+		if (tokens.isEmpty()) {
+			return value;
+		}
+		
+		JsonNode parent = get(root, toPath(tokens.subList(0, tokens.size() - 1)));
+		String last = tokens.get(tokens.size() - 1);
+		if (parent.isObject()) {
+			((ObjectNode) parent).set(last, value);
+		} else if (parent.isArray()) {
+			ArrayNode array = (ArrayNode) parent;
+			if ("-".equals(last)) {
+				array.add(value);
+			} else {
+				array.insert(parseIndex(array, last, true), value);
+			}
+		} else {
+			throw new UnprocessableEntityException(String.format("JSON Patch path %s does not exist", path));
+		}
+		
+		return root;
+	}
+	
+	private static JsonNode remove(JsonNode root, String path) {
+		List<String> tokens = parsePath(path);
+		if (tokens.isEmpty()) {
+			throw new UnprocessableEntityException("JSON Patch cannot remove the whole resource");
+		}
+		
+		JsonNode parent = get(root, toPath(tokens.subList(0, tokens.size() - 1)));
+		String last = tokens.get(tokens.size() - 1);
+		if (parent.isObject() && parent.has(last)) {
+			((ObjectNode) parent).remove(last);
+		} else if (parent.isArray()) {
+			((ArrayNode) parent).remove(parseIndex(parent, last, false));
+		} else {
+			throw new UnprocessableEntityException(String.format("JSON Patch path %s does not exist", path));
+		}
+		
+		return root;
+	}
+	
+	private static int parseIndex(JsonNode array, String token, boolean allowEnd) {
+		int index;
+		try {
+			index = Integer.parseInt(token);
+		}
+		catch (NumberFormatException e) {
+			throw new UnprocessableEntityException(String.format("Invalid JSON Patch array index %s", token));
+		}
+		
+		if (index < 0 || index > array.size() || (!allowEnd && index == array.size())) {
+			throw new UnprocessableEntityException(String.format("JSON Patch array index %s is out of bounds", token));
+		}
+		
+		return index;
+	}
+	
+	private static boolean isProperPrefix(List<String> prefix, List<String> tokens) {
+		return prefix.size() < tokens.size() && prefix.equals(tokens.subList(0, prefix.size()));
+	}
+	
+	private static List<String> parsePath(String path) {
+		List<String> result = new ArrayList<>();
+		if (path.isEmpty()) {
+			return result;
+		}
+		
+		if (!path.startsWith("/")) {
+			throw new InvalidRequestException(String.format("Invalid JSON Patch path %s", path));
+		}
+		
+		for (String token : path.substring(1).split("/", -1)) {
+			result.add(token.replace("~1", "/").replace("~0", "~"));
+		}
+		
+		return result;
+	}
+	
+	private static String toPath(List<String> tokens) {
+		StringBuilder sb = new StringBuilder();
+		for (String token : tokens) {
+			sb.append('/').append(token.replace("~", "~0").replace("/", "~1"));
+		}
+		
+		return sb.toString();
+	}
+	
+	private static String getRequiredText(JsonNode operation, String field) {
+		JsonNode value = operation.get(field);
+		if (value == null || !value.isTextual()) {
+			throw new InvalidRequestException(String.format("JSON Patch operation is missing %s", field));
+		}
+		
+		return value.asText();
+	}
+	
+	private static JsonNode getRequiredValue(JsonNode operation) {
+		if (!operation.has("value")) {
+			throw new InvalidRequestException("JSON Patch operation is missing value");
+		}
+		
+		return operation.get("value");
+	}
+}
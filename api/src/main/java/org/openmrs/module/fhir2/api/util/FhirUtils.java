@@ -10,6 +10,7 @@
 package org.openmrs.module.fhir2.api.util;
 
 import java.security.SecureRandom;
+import java.util.Date;
 
 public class FhirUtils {
 	
@@ -25,4 +26,19 @@ public class FhirUtils {
 		
 		return Long.toHexString(MSB | generator.nextLong()) + Long.toHexString(MSB | generator.nextLong());
 	}
+	
+	/**
+	 * Derives a (weak) version id from the last time an object was modified, see
+	 * {@link org.openmrs.module.fhir2.api.dao.FhirDao#getLastUpdated(String)}
+	 *
+	 * @param lastUpdated the date the object was last modified
+	 * @return the version id or null if lastUpdated is null
+	 */
+	public static String getVersionId(Date lastUpdated) {
+		if (lastUpdated == null) {
+			return null;
+		}
+		
+		return Long.toString(lastUpdated.getTime());
+	}
 }
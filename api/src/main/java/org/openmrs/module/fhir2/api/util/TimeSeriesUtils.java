@@ -0,0 +1,84 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Helpers for reducing time series to the number of points a client can usefully display
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TimeSeriesUtils {
+	
+	/**
+	 * Selects the points of a time series which best preserve its visual shape, using the Largest
+	 * Triangle Three Buckets algorithm. The first and last points are always selected.
+	 *
+	 * @param times the x-coordinates of the points, in ascending order
+	 * @param values the y-coordinates of the points
+	 * @param threshold the maximum number of points to select; must be at least 3
+	 * @return the indices of the selected points, in ascending order
+	 */
+	public static int[] largestTriangleThreeBuckets(long[] times, double[] values, int threshold) {
+		if (threshold < 3) {
+			throw new IllegalArgumentException("threshold must be at least 3");
+		}
+		
+		int length = times.length;
+		if (threshold >= length) {
+			int[] result = new int[length];
+			for (int i = 0; i < length; i++) {
+				result[i] = i;
+			}
+			return result;
+		}
+		
+		int[] result = new int[threshold];
+		// the first and last points are fixed, the others are divided into threshold - 2 buckets
+		double bucketSize = (double) (length - 2) / (threshold - 2);
+		
+		int selected = 0;
+		for (int bucket = 0; bucket < threshold - 2; bucket++) {
+			// the average of the next bucket is the third point of each triangle
+			int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+			int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, length);
+			
+			double averageTime = 0;
+			double averageValue = 0;
+			for (int i = nextStart; i < nextEnd; i++) {
+				averageTime += times[i];
+				averageValue += values[i];
+			}
+			averageTime /= nextEnd - nextStart;
+			averageValue /= nextEnd - nextStart;
+			
+			int start = (int) (bucket * bucketSize) + 1;
+			int end = (int) ((bucket + 1) * bucketSize) + 1;
+			
+			double maxArea = -1;
+			int next = start;
+			for (int i = start; i < end; i++) {
+				double area = Math.abs((double) (times[selected] - times[i]) * (averageValue - values[selected])
+				        - (times[selected] - averageTime) * (values[i] - values[selected]));
+				if (area > maxArea) {
+					maxArea = area;
+					next = i;
+				}
+			}
+			
+			result[bucket + 1] = next;
+			selected = next;
+		}
+		
+		result[threshold - 1] = length - 1;
+		return result;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Transaction;
+
+/**
+ * Collects the objects changed in each Hibernate transaction on the current thread, for interceptors
+ * which act on the changes of a transaction just before it completes. Changes are kept per
+ * transaction rather than per thread, so a transaction started while another is suspended, e.g., by
+ * REQUIRES_NEW, only sees its own changes and leaves those of the suspended transaction to it.
+ * Changes are attributed to the most recently begun transaction which has not completed yet; changes
+ * made while no transaction is active go to the next transaction to complete.
+ */
+public final class TransactionChanges {
+	
+	private final ThreadLocal<Deque<Transaction>> activeTransactions = ThreadLocal.withInitial(ArrayDeque::new);
+	
+	private final ThreadLocal<Map<Transaction, Set<Object>>> changes = ThreadLocal.withInitial(IdentityHashMap::new);
+	
+	/**
+	 * To be called from {@link org.hibernate.Interceptor#afterTransactionBegin(Transaction)}
+	 *
+	 * @param tx the transaction which has begun
+	 */
+	public void begin(Transaction tx) {
+		activeTransactions.get().push(tx);
+	}
+	
+	/**
+	 * @param object an object changed in the current transaction
+	 */
+	public void add(Object object) {
+		changes.get().computeIfAbsent(activeTransactions.get().peek(),
+		    tx -> Collections.newSetFromMap(new IdentityHashMap<>())).add(object);
+	}
+	
+	/**
+	 * Removes and returns the objects changed in a transaction, so that changes made after this, e.g.,
+	 * by the interceptor itself, are not returned again
+	 *
+	 * @param tx the transaction which is about to complete
+	 * @return the objects changed in the transaction
+	 */
+	public Set<Object> remove(Transaction tx) {
+		Map<Transaction, Set<Object>> changesByTransaction = changes.get();
+		Set<Object> result = changesByTransaction.remove(activeTransactions.get().contains(tx) ? tx : null);
+		return result == null ? Collections.emptySet() : result;
+	}
+	
+	/**
+	 * To be called from {@link org.hibernate.Interceptor#afterTransactionCompletion(Transaction)};
+	 * discards any changes left for the transaction
+	 *
+	 * @param tx the transaction which has completed
+	 */
+	public void end(Transaction tx) {
+		Deque<Transaction> transactions = activeTransactions.get();
+		transactions.removeFirstOccurrence(tx);
+		changes.get().remove(tx);
+		
+		if (transactions.isEmpty()) {
+			activeTransactions.remove();
+			changes.remove();
+		}
+	}
+}
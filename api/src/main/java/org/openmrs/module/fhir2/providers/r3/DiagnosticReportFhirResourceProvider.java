@@ -13,8 +13,10 @@ import javax.validation.constraints.NotNull;
 
 import ca.uhn.fhir.rest.annotation.*;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -29,6 +31,7 @@ import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.openmrs.module.fhir2.api.FhirDiagnosticReportService;
+import org.openmrs.module.fhir2.api.util.FhirPatchUtils;
 import org.openmrs.module.fhir2.providers.util.FhirProviderUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -67,13 +70,35 @@ public class DiagnosticReportFhirResourceProvider implements IResourceProvider {
 	@Update
 	public MethodOutcome updateDiagnosticReport(@IdParam IdType id, @ResourceParam DiagnosticReport diagnosticReport) {
 		String idPart = null;
+		String versionId = null;
 		
 		if (id != null) {
 			idPart = id.getIdPart();
+			versionId = id.getVersionIdPart();
 		}
 		
-		return FhirProviderUtils.buildUpdate(
-		    diagnosticReportService.update(idPart, DiagnosticReport30_40.convertDiagnosticReport(diagnosticReport)));
+		return FhirProviderUtils.buildUpdate(diagnosticReportService.update(idPart,
+		    DiagnosticReport30_40.convertDiagnosticReport(diagnosticReport), versionId));
+	}
+	
+	@Patch
+	public MethodOutcome patchDiagnosticReport(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		org.hl7.fhir.r4.model.DiagnosticReport existing = diagnosticReportService.get(id.getIdPart());
+		if (existing == null) {
+			throw new ResourceNotFoundException("Could not find diagnosticReport with Id " + id.getIdPart());
+		}
+		
+		// the patch addresses the STU3 representation, so it is applied to that and the result converted back
+		DiagnosticReport original = DiagnosticReport30_40.convertDiagnosticReport(existing);
+		DiagnosticReport patched = FhirPatchUtils.applyPatch(requestDetails.getFhirContext(), original, id.getIdPart(),
+		    patchType, body);
+		
+		// without If-Match, the update must still fail if the report changed after it was read
+		String versionId = FhirProviderUtils.getExpectedVersionId(id, requestDetails);
+		return FhirProviderUtils.buildUpdate(diagnosticReportService.patchResource(id.getIdPart(),
+		    DiagnosticReport30_40.convertDiagnosticReport(original), DiagnosticReport30_40.convertDiagnosticReport(patched),
+		    versionId == null ? existing.getMeta().getVersionId() : versionId));
 	}
 	
 	@Search
@@ -86,11 +111,12 @@ public class DiagnosticReportFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = DiagnosticReport.SP_SUBJECT, chainWhitelist = { "", Patient.SP_IDENTIFIER, Patient.SP_NAME,
 	                Patient.SP_GIVEN, Patient.SP_FAMILY }) ReferenceAndListParam subjectReference,
 	        @OptionalParam(name = DiagnosticReport.SP_ISSUED) DateRangeParam issueDate,
-	        @OptionalParam(name = DiagnosticReport.SP_CODE) TokenAndListParam code, @Sort SortSpec sort) {
+	        @OptionalParam(name = DiagnosticReport.SP_CODE) TokenAndListParam code,
+	        @OptionalParam(name = DiagnosticReport.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
 		if (patientReference == null) {
 			patientReference = subjectReference;
 		}
 		return diagnosticReportService.searchForDiagnosticReports(encounterReference, patientReference, issueDate, code,
-		    sort);
+		    id, sort);
 	}
 }
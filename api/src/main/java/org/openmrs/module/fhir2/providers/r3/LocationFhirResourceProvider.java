@@ -77,7 +77,7 @@ public class LocationFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Location.SP_PARTOF, chainWhitelist = { "", Location.SP_NAME, Location.SP_ADDRESS_CITY,
 	                Location.SP_ADDRESS_STATE, Location.SP_ADDRESS_COUNTRY,
 	                Location.SP_ADDRESS_POSTALCODE }, targetTypes = Location.class) ReferenceAndListParam parent,
-	        @Sort SortSpec sort) {
-		return locationService.searchForLocations(name, city, country, postalCode, state, tag, parent, sort);
+	        @OptionalParam(name = Location.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
+		return locationService.searchForLocations(name, city, country, postalCode, state, tag, parent, id, sort);
 	}
 }
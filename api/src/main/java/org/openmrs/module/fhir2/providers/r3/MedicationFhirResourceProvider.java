@@ -13,6 +13,8 @@ import javax.validation.constraints.NotNull;
 
 import ca.uhn.fhir.rest.annotation.*;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
@@ -26,6 +28,7 @@ import org.hl7.fhir.dstu3.model.Medication;
 import org.hl7.fhir.dstu3.model.OperationOutcome;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.openmrs.module.fhir2.api.FhirMedicationService;
+import org.openmrs.module.fhir2.api.util.FhirPatchUtils;
 import org.openmrs.module.fhir2.providers.util.FhirProviderUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -59,9 +62,10 @@ public class MedicationFhirResourceProvider implements IResourceProvider {
 	@SuppressWarnings("unused")
 	public Bundle searchForMedication(@OptionalParam(name = Medication.SP_CODE) TokenAndListParam code,
 	        @OptionalParam(name = Medication.SP_FORM) TokenAndListParam dosageForm,
-	        @OptionalParam(name = Medication.SP_STATUS) TokenAndListParam status) {
+	        @OptionalParam(name = Medication.SP_STATUS) TokenAndListParam status,
+	        @OptionalParam(name = Medication.SP_RES_ID) TokenAndListParam id) {
 		return Bundle30_40.convertBundle(FhirProviderUtils
-		        .convertSearchResultsToBundle(medicationService.searchForMedications(code, dosageForm, null, status)));
+		        .convertSearchResultsToBundle(medicationService.searchForMedications(code, dosageForm, null, status, id)));
 	}
 	
 	@Create
@@ -77,8 +81,29 @@ public class MedicationFhirResourceProvider implements IResourceProvider {
 			medication.setId(id.getIdPart());
 		}
 		
-		return FhirProviderUtils
-		        .buildUpdate(medicationService.update(id.getIdPart(), Medication30_40.convertMedication(medication)));
+		return FhirProviderUtils.buildUpdate(medicationService.update(id.getIdPart(),
+		    Medication30_40.convertMedication(medication), id.getVersionIdPart()));
+	}
+	
+	@Patch
+	@SuppressWarnings("unused")
+	public MethodOutcome patchMedication(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		org.hl7.fhir.r4.model.Medication existing = medicationService.get(id.getIdPart());
+		if (existing == null) {
+			throw new ResourceNotFoundException("Could not find medication with Id " + id.getIdPart());
+		}
+		
+		// the patch addresses the STU3 representation, so it is applied to that and the result converted back
+		Medication original = Medication30_40.convertMedication(existing);
+		Medication patched = FhirPatchUtils.applyPatch(requestDetails.getFhirContext(), original, id.getIdPart(),
+		    patchType, body);
+		
+		// without If-Match, the update must still fail if the medication changed after it was read
+		String versionId = FhirProviderUtils.getExpectedVersionId(id, requestDetails);
+		return FhirProviderUtils.buildUpdate(medicationService.patchResource(id.getIdPart(),
+		    Medication30_40.convertMedication(original), Medication30_40.convertMedication(patched),
+		    versionId == null ? existing.getMeta().getVersionId() : versionId));
 	}
 	
 	@Delete
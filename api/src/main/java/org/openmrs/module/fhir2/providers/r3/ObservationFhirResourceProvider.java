@@ -78,12 +78,13 @@ public class ObservationFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Observation.SP_VALUE_STRING) StringAndListParam valueStringParam,
 	        @OptionalParam(name = Observation.SP_DATE) DateRangeParam date,
 	        @OptionalParam(name = Observation.SP_CODE) TokenAndListParam code,
-	        @OptionalParam(name = Observation.SP_CATEGORY) TokenAndListParam category, @Sort SortSpec sort) {
+	        @OptionalParam(name = Observation.SP_CATEGORY) TokenAndListParam category,
+	        @OptionalParam(name = Observation.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
 		if (patientParam != null) {
 			patientReference = patientParam;
 		}
 		return observationService.searchForObservations(encounterReference, patientReference, hasMemberReference,
-		    valueConcept, valueDateParam, valueQuantityParam, valueStringParam, date, code, category, sort);
+		    valueConcept, valueDateParam, valueQuantityParam, valueStringParam, date, code, category, id, sort);
 	}
 	
 }
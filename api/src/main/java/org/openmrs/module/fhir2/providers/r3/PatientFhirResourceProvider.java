@@ -81,9 +81,18 @@ public class PatientFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Patient.SP_ADDRESS_CITY) StringAndListParam city,
 	        @OptionalParam(name = Patient.SP_ADDRESS_STATE) StringAndListParam state,
 	        @OptionalParam(name = Patient.SP_ADDRESS_POSTALCODE) StringAndListParam postalCode,
-	        @OptionalParam(name = Patient.SP_ADDRESS_COUNTRY) StringAndListParam country, @Sort SortSpec sort) {
+	        @OptionalParam(name = Patient.SP_ADDRESS_COUNTRY) StringAndListParam country,
+	        @OptionalParam(name = Patient.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
 		return patientService.searchForPatients(name, given, family, identifier, gender, birthDate, deathDate, deceased,
-		    city, state, postalCode, country, sort);
+		    city, state, postalCode, country, id, sort);
+	}
+	
+	@Search
+	public IBundleProvider searchPatientsByPhonetic(@RequiredParam(name = Patient.SP_PHONETIC) StringAndListParam phonetic,
+	        @OptionalParam(name = Patient.SP_GENDER) TokenAndListParam gender,
+	        @OptionalParam(name = Patient.SP_BIRTHDATE) DateRangeParam birthDate,
+	        @OptionalParam(name = Patient.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
+		return patientService.searchForPatientsByPhonetic(phonetic, gender, birthDate, id, sort);
 	}
 	
 }
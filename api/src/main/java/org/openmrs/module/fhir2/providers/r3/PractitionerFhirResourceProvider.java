@@ -14,6 +14,7 @@ import javax.validation.constraints.NotNull;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.*;
+import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -67,8 +68,9 @@ public class PractitionerFhirResourceProvider implements IResourceProvider {
 	
 	@Search
 	public IBundleProvider searchForPractitioners(@OptionalParam(name = Practitioner.SP_NAME) StringAndListParam name,
-	        @OptionalParam(name = Practitioner.SP_IDENTIFIER) TokenAndListParam identifier) {
-		return practitionerService.searchForPractitioners(name, identifier);
+	        @OptionalParam(name = Practitioner.SP_IDENTIFIER) TokenAndListParam identifier,
+	        @OptionalParam(name = Practitioner.SP_RES_ID) TokenAndListParam id) {
+		return practitionerService.searchForPractitioners(name, identifier, id);
 	}
 	
 }
@@ -17,14 +17,17 @@ import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
+import ca.uhn.fhir.rest.annotation.Patch;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Sort;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
@@ -36,6 +39,7 @@ import org.hl7.fhir.dstu3.model.Resource;
 import org.hl7.fhir.dstu3.model.Task;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.openmrs.module.fhir2.api.FhirTaskService;
+import org.openmrs.module.fhir2.api.util.FhirPatchUtils;
 import org.openmrs.module.fhir2.providers.util.FhirProviderUtils;
 import org.openmrs.module.fhir2.providers.util.TaskVersionConverter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -84,14 +88,37 @@ public class TaskFhirResourceProvider implements IResourceProvider {
 	@Update
 	@SuppressWarnings("unused")
 	public MethodOutcome updateTask(@IdParam IdType id, @ResourceParam Task task) {
-		return FhirProviderUtils.buildUpdate(fhirTaskService.update(id.getIdPart(), TaskVersionConverter.convertTask(task)));
+		return FhirProviderUtils.buildUpdate(
+		    fhirTaskService.update(id.getIdPart(), TaskVersionConverter.convertTask(task), id.getVersionIdPart()));
+	}
+	
+	@Patch
+	@SuppressWarnings("unused")
+	public MethodOutcome patchTask(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		org.hl7.fhir.r4.model.Task existing = fhirTaskService.get(id.getIdPart());
+		if (existing == null) {
+			throw new ResourceNotFoundException("Could not find Task with Id " + id.getIdPart());
+		}
+		
+		// the patch addresses the STU3 representation, so it is applied to that and the result converted back
+		Task original = TaskVersionConverter.convertTask(existing);
+		Task patched = FhirPatchUtils.applyPatch(requestDetails.getFhirContext(), original, id.getIdPart(), patchType,
+		    body);
+		
+		// without If-Match, the update must still fail if the task changed after it was read
+		String versionId = FhirProviderUtils.getExpectedVersionId(id, requestDetails);
+		return FhirProviderUtils.buildUpdate(fhirTaskService.patchResource(id.getIdPart(),
+		    TaskVersionConverter.convertTask(original), TaskVersionConverter.convertTask(patched),
+		    versionId == null ? existing.getMeta().getVersionId() : versionId));
 	}
 	
 	@Search
 	public IBundleProvider searchTasks(
 	        @OptionalParam(name = Task.SP_BASED_ON, chainWhitelist = { "" }) ReferenceAndListParam basedOnReference,
 	        @OptionalParam(name = Task.SP_OWNER, chainWhitelist = { "" }) ReferenceAndListParam ownerReference,
-	        @OptionalParam(name = Task.SP_STATUS) TokenAndListParam status, @Sort SortSpec sort) {
-		return fhirTaskService.searchForTasks(basedOnReference, ownerReference, status, sort);
+	        @OptionalParam(name = Task.SP_STATUS) TokenAndListParam status,
+	        @OptionalParam(name = Task.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
+		return fhirTaskService.searchForTasks(basedOnReference, ownerReference, status, id, sort);
 	}
 }
@@ -14,14 +14,17 @@ import javax.validation.constraints.NotNull;
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
+import ca.uhn.fhir.rest.annotation.Patch;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Sort;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -72,11 +75,20 @@ public class DiagnosticReportFhirResourceProvider implements IResourceProvider {
 	@Update
 	public MethodOutcome updateDiagnosticReport(@IdParam IdType id, @ResourceParam DiagnosticReport diagnosticReport) {
 		String idPart = null;
+		String versionId = null;
 		
 		if (id != null) {
 			idPart = id.getIdPart();
+			versionId = id.getVersionIdPart();
 		}
-		return FhirProviderUtils.buildUpdate(service.update(idPart, diagnosticReport));
+		return FhirProviderUtils.buildUpdate(service.update(idPart, diagnosticReport, versionId));
+	}
+	
+	@Patch
+	public MethodOutcome patchDiagnosticReport(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		return FhirProviderUtils.buildUpdate(service.patch(id.getIdPart(), patchType, body,
+		    FhirProviderUtils.getExpectedVersionId(id, requestDetails)));
 	}
 	
 	@Search
@@ -89,10 +101,11 @@ public class DiagnosticReportFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = DiagnosticReport.SP_SUBJECT, chainWhitelist = { "", Patient.SP_IDENTIFIER, Patient.SP_NAME,
 	                Patient.SP_GIVEN, Patient.SP_FAMILY }) ReferenceAndListParam subjectReference,
 	        @OptionalParam(name = DiagnosticReport.SP_ISSUED) DateRangeParam issueDate,
-	        @OptionalParam(name = DiagnosticReport.SP_CODE) TokenAndListParam code, @Sort SortSpec sort) {
+	        @OptionalParam(name = DiagnosticReport.SP_CODE) TokenAndListParam code,
+	        @OptionalParam(name = DiagnosticReport.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
 		if (patientReference == null) {
 			patientReference = subjectReference;
 		}
-		return service.searchForDiagnosticReports(encounterReference, patientReference, issueDate, code, sort);
+		return service.searchForDiagnosticReports(encounterReference, patientReference, issueDate, code, id, sort);
 	}
 }
@@ -15,11 +15,14 @@ import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
+import ca.uhn.fhir.rest.annotation.Patch;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
@@ -64,9 +67,10 @@ public class MedicationFhirResourceProvider implements IResourceProvider {
 	@SuppressWarnings("unused")
 	public Bundle searchForMedication(@OptionalParam(name = Medication.SP_CODE) TokenAndListParam code,
 	        @OptionalParam(name = Medication.SP_FORM) TokenAndListParam dosageForm,
-	        @OptionalParam(name = Medication.SP_STATUS) TokenAndListParam status) {
-		return FhirProviderUtils
-		        .convertSearchResultsToBundle(fhirMedicationService.searchForMedications(code, dosageForm, null, status));
+	        @OptionalParam(name = Medication.SP_STATUS) TokenAndListParam status,
+	        @OptionalParam(name = Medication.SP_RES_ID) TokenAndListParam id) {
+		return FhirProviderUtils.convertSearchResultsToBundle(
+		    fhirMedicationService.searchForMedications(code, dosageForm, null, status, id));
 	}
 	
 	@Create
@@ -84,7 +88,16 @@ public class MedicationFhirResourceProvider implements IResourceProvider {
 		
 		medication.setId(id.getIdPart());
 		
-		return FhirProviderUtils.buildUpdate(fhirMedicationService.update(id.getIdPart(), medication));
+		return FhirProviderUtils
+		        .buildUpdate(fhirMedicationService.update(id.getIdPart(), medication, id.getVersionIdPart()));
+	}
+	
+	@Patch
+	@SuppressWarnings("unused")
+	public MethodOutcome patchMedication(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		return FhirProviderUtils.buildUpdate(fhirMedicationService.patch(id.getIdPart(), patchType, body,
+		    FhirProviderUtils.getExpectedVersionId(id, requestDetails)));
 	}
 	
 	@Delete
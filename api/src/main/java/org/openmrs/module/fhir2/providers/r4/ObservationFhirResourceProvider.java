@@ -13,8 +13,11 @@ import javax.validation.constraints.NotNull;
 
 import java.util.List;
 
+import ca.uhn.fhir.model.valueset.BundleTypeEnum;
 import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OperationParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
@@ -26,6 +29,7 @@ import ca.uhn.fhir.rest.param.QuantityAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
@@ -34,9 +38,12 @@ import lombok.Setter;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Encounter;
 import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.IntegerType;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Resource;
+import org.hl7.fhir.r4.model.StringType;
 import org.openmrs.module.fhir2.api.FhirObservationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -91,11 +98,50 @@ public class ObservationFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Observation.SP_CODE) TokenAndListParam code,
 	        @OptionalParam(name = Observation.SP_CATEGORY) TokenAndListParam category, @Sort SortSpec sort,
 	        @OptionalParam(name = Observation.SP_PATIENT, chainWhitelist = { "", Patient.SP_IDENTIFIER, Patient.SP_GIVEN,
-	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam) {
+	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam,
+	        @OptionalParam(name = Observation.SP_RES_ID) TokenAndListParam id) {
 		if (patientParam != null) {
 			patientReference = patientParam;
 		}
 		return observationService.searchForObservations(encounterReference, patientReference, hasMemberReference,
-		    valueConcept, valueDateParam, valueQuantityParam, valueStringParam, date, code, category, sort);
+		    valueConcept, valueDateParam, valueQuantityParam, valueStringParam, date, code, category, id, sort);
+	}
+	
+	@Operation(name = "$lastn", idempotent = true, type = Observation.class, bundleType = BundleTypeEnum.SEARCHSET)
+	public IBundleProvider getLastnObservations(@OperationParam(name = "max") IntegerType max,
+	        @OperationParam(name = Observation.SP_SUBJECT) ReferenceAndListParam subject,
+	        @OperationParam(name = Observation.SP_PATIENT) ReferenceAndListParam patient,
+	        @OperationParam(name = Observation.SP_CATEGORY) TokenAndListParam category,
+	        @OperationParam(name = Observation.SP_CODE) TokenAndListParam code) {
+		if (patient != null) {
+			subject = patient;
+		}
+		return observationService.getLastnObservations(max == null ? null : max.getValue(), subject, category, code);
+	}
+	
+	@Operation(name = "$stats", idempotent = true, type = Observation.class)
+	public Parameters getObservationStatistics(@OperationParam(name = Observation.SP_SUBJECT) ReferenceAndListParam subject,
+	        @OperationParam(name = Observation.SP_PATIENT) ReferenceAndListParam patient,
+	        @OperationParam(name = Observation.SP_CODE) TokenAndListParam code,
+	        @OperationParam(name = "period") DateRangeParam period,
+	        @OperationParam(name = "statistic") StringOrListParam statistic,
+	        @OperationParam(name = "interval") StringType interval) {
+		if (patient != null) {
+			subject = patient;
+		}
+		return observationService.getStatistics(subject, code, period, statistic,
+		    interval == null ? null : interval.getValue());
+	}
+	
+	@Operation(name = "$timeseries", idempotent = true, type = Observation.class)
+	public Parameters getObservationTimeSeries(@OperationParam(name = Observation.SP_SUBJECT) ReferenceAndListParam subject,
+	        @OperationParam(name = Observation.SP_PATIENT) ReferenceAndListParam patient,
+	        @OperationParam(name = Observation.SP_CODE) TokenAndListParam code,
+	        @OperationParam(name = Observation.SP_DATE) DateRangeParam date,
+	        @OperationParam(name = "maxPoints") IntegerType maxPoints) {
+		if (patient != null) {
+			subject = patient;
+		}
+		return observationService.getTimeSeries(subject, code, date, maxPoints == null ? null : maxPoints.getValue());
 	}
 }
@@ -13,16 +13,22 @@ import javax.validation.constraints.NotNull;
 
 import java.util.List;
 
+import ca.uhn.fhir.model.valueset.BundleTypeEnum;
 import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OperationParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
+import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Sort;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
@@ -30,6 +36,7 @@ import lombok.AccessLevel;
 import lombok.Setter;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.IntegerType;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Resource;
 import org.openmrs.module.fhir2.api.FhirPatientService;
@@ -83,8 +90,30 @@ public class PatientFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Patient.SP_ADDRESS_CITY) StringAndListParam city,
 	        @OptionalParam(name = Patient.SP_ADDRESS_STATE) StringAndListParam state,
 	        @OptionalParam(name = Patient.SP_ADDRESS_POSTALCODE) StringAndListParam postalCode,
-	        @OptionalParam(name = Patient.SP_ADDRESS_COUNTRY) StringAndListParam country, @Sort SortSpec sort) {
+	        @OptionalParam(name = Patient.SP_ADDRESS_COUNTRY) StringAndListParam country,
+	        @OptionalParam(name = Patient.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
 		return patientService.searchForPatients(name, given, family, identifier, gender, birthDate, deathDate, deceased,
-		    city, state, postalCode, country, sort);
+		    city, state, postalCode, country, id, sort);
+	}
+	
+	@Search
+	public IBundleProvider searchPatientsByPhonetic(@RequiredParam(name = Patient.SP_PHONETIC) StringAndListParam phonetic,
+	        @OptionalParam(name = Patient.SP_GENDER) TokenAndListParam gender,
+	        @OptionalParam(name = Patient.SP_BIRTHDATE) DateRangeParam birthDate,
+	        @OptionalParam(name = Patient.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
+		return patientService.searchForPatientsByPhonetic(phonetic, gender, birthDate, id, sort);
+	}
+	
+	@Operation(name = "$everything", idempotent = true, type = Patient.class, bundleType = BundleTypeEnum.SEARCHSET)
+	@SuppressWarnings("unused")
+	public IBundleProvider getPatientEverything(@IdParam @NotNull IdType id,
+	        @OperationParam(name = "_since") DateParam since, @OperationParam(name = "_type") StringOrListParam type,
+	        @OperationParam(name = "_count") IntegerType count) {
+		IBundleProvider everything = patientService.getPatientEverything(id.getIdPart(), since, type,
+		    count == null ? null : count.getValue());
+		if (everything == null) {
+			throw new ResourceNotFoundException("Could not find patient with Id " + id.getIdPart());
+		}
+		return everything;
 	}
 }
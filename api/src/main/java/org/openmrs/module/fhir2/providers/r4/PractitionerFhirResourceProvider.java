@@ -18,6 +18,8 @@ import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Sort;
+import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -69,7 +71,8 @@ public class PractitionerFhirResourceProvider implements IResourceProvider {
 	
 	@Search
 	public IBundleProvider searchForPractitioners(@OptionalParam(name = Practitioner.SP_NAME) StringAndListParam name,
-	        @OptionalParam(name = Practitioner.SP_IDENTIFIER) TokenAndListParam identifier) {
-		return practitionerService.searchForPractitioners(name, identifier);
+	        @OptionalParam(name = Practitioner.SP_IDENTIFIER) TokenAndListParam identifier,
+	        @OptionalParam(name = Practitioner.SP_RES_ID) TokenAndListParam id) {
+		return practitionerService.searchForPractitioners(name, identifier, id);
 	}
 }
@@ -12,9 +12,13 @@ package org.openmrs.module.fhir2.providers.r4;
 import javax.validation.constraints.NotNull;
 
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Sort;
+import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import lombok.AccessLevel;
@@ -53,7 +57,7 @@ public class ServiceRequestFhirResourceProvider implements IResourceProvider {
 	}
 	
 	@Search
-	public IBundleProvider searchForProcedureRequests() {
-		return serviceRequestService.searchForServiceRequests();
+	public IBundleProvider searchForProcedureRequests(@OptionalParam(name = ServiceRequest.SP_RES_ID) TokenAndListParam id) {
+		return serviceRequestService.searchForServiceRequests(id);
 	}
 }
@@ -0,0 +1,95 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.r4;
+
+import javax.validation.constraints.NotNull;
+
+import ca.uhn.fhir.rest.annotation.Create;
+import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Patch;
+import ca.uhn.fhir.rest.annotation.Read;
+import ca.uhn.fhir.rest.annotation.ResourceParam;
+import ca.uhn.fhir.rest.annotation.Update;
+import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.IResourceProvider;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.api.FhirSubscriptionService;
+import org.openmrs.module.fhir2.providers.util.FhirProviderUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+@Component("subscriptionFhirR4ResourceProvider")
+@Qualifier("fhirResources")
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionFhirResourceProvider implements IResourceProvider {
+	
+	@Autowired
+	private FhirSubscriptionService subscriptionService;
+	
+	@Override
+	public Class<? extends IBaseResource> getResourceType() {
+		return Subscription.class;
+	}
+	
+	@Read
+	@SuppressWarnings("unused")
+	public Subscription getSubscriptionById(@IdParam @NotNull IdType id) {
+		Subscription subscription = subscriptionService.get(id.getIdPart());
+		if (subscription == null) {
+			throw new ResourceNotFoundException("Could not find Subscription with Id " + id.getIdPart());
+		}
+		return subscription;
+	}
+	
+	@Create
+	@SuppressWarnings("unused")
+	public MethodOutcome createSubscription(@ResourceParam Subscription subscription) {
+		return FhirProviderUtils.buildCreate(subscriptionService.create(subscription));
+	}
+	
+	@Update
+	@SuppressWarnings("unused")
+	public MethodOutcome updateSubscription(@IdParam IdType id, @ResourceParam Subscription subscription) {
+		return FhirProviderUtils
+		        .buildUpdate(subscriptionService.update(id.getIdPart(), subscription, id.getVersionIdPart()));
+	}
+	
+	@Patch
+	@SuppressWarnings("unused")
+	public MethodOutcome patchSubscription(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		return FhirProviderUtils.buildUpdate(subscriptionService.patch(id.getIdPart(), patchType, body,
+		    FhirProviderUtils.getExpectedVersionId(id, requestDetails)));
+	}
+	
+	@Delete
+	@SuppressWarnings("unused")
+	public OperationOutcome deleteSubscription(@IdParam @NotNull IdType id) {
+		Subscription subscription = subscriptionService.delete(id.getIdPart());
+		if (subscription == null) {
+			throw new ResourceNotFoundException("Could not find Subscription to delete with id " + id.getIdPart());
+		}
+		
+		OperationOutcome retVal = new OperationOutcome();
+		retVal.setId(id.getIdPart());
+		retVal.getText().setDivAsString("Deleted successfully");
+		return retVal;
+	}
+}
@@ -14,23 +14,33 @@ import java.util.List;
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OperationParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
+import ca.uhn.fhir.rest.annotation.Patch;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Sort;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.IntegerType;
+import org.hl7.fhir.r4.model.Reference;
 import org.hl7.fhir.r4.model.Resource;
 import org.hl7.fhir.r4.model.Task;
 import org.openmrs.module.fhir2.api.FhirTaskService;
@@ -77,14 +87,35 @@ public class TaskFhirResourceProvider implements IResourceProvider {
 	
 	@Update
 	public MethodOutcome updateTask(@IdParam IdType id, @ResourceParam Task task) {
-		return FhirProviderUtils.buildUpdate(service.update(id.getIdPart(), task));
+		return FhirProviderUtils.buildUpdate(service.update(id.getIdPart(), task, id.getVersionIdPart()));
+	}
+	
+	@Patch
+	public MethodOutcome patchTask(@IdParam IdType id, PatchTypeEnum patchType, @ResourceParam String body,
+	        RequestDetails requestDetails) {
+		return FhirProviderUtils.buildUpdate(service.patch(id.getIdPart(), patchType, body,
+		    FhirProviderUtils.getExpectedVersionId(id, requestDetails)));
+	}
+	
+	@Operation(name = "$claim", idempotent = false, type = Task.class)
+	@SuppressWarnings("unused")
+	public Bundle claimTasks(@OperationParam(name = "owner", min = 1, max = 1) Reference owner,
+	        @OperationParam(name = "_count") IntegerType count) {
+		IIdType ownerId = owner == null ? null : owner.getReferenceElement();
+		if (ownerId == null || !ownerId.hasResourceType() || !ownerId.hasIdPart()) {
+			throw new InvalidRequestException("The owner to claim Tasks for must be a reference like Practitioner/{id}");
+		}
+		
+		return FhirProviderUtils.convertSearchResultsToBundle(
+		    service.claimTasks(ownerId.getResourceType(), ownerId.getIdPart(), count == null ? null : count.getValue()));
 	}
 	
 	@Search
 	public IBundleProvider searchTasks(
 	        @OptionalParam(name = Task.SP_BASED_ON, chainWhitelist = { "" }) ReferenceAndListParam basedOnReference,
 	        @OptionalParam(name = Task.SP_OWNER, chainWhitelist = { "" }) ReferenceAndListParam ownerReference,
-	        @OptionalParam(name = Task.SP_STATUS) TokenAndListParam status, @Sort SortSpec sort) {
-		return service.searchForTasks(basedOnReference, ownerReference, status, sort);
+	        @OptionalParam(name = Task.SP_STATUS) TokenAndListParam status,
+	        @OptionalParam(name = Task.SP_RES_ID) TokenAndListParam id, @Sort SortSpec sort) {
+		return service.searchForTasks(basedOnReference, ownerReference, status, id, sort);
 	}
 }
@@ -11,9 +11,13 @@ package org.openmrs.module.fhir2.providers.util;
 
 import java.util.Collection;
 
+import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.param.ParameterUtil;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.hl7.fhir.instance.model.api.IIdType;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.DomainResource;
 import org.hl7.fhir.r4.model.Resource;
@@ -33,6 +37,23 @@ public class FhirProviderUtils {
 		return buildWithResource(methodOutcome, resource);
 	}
 	
+	/**
+	 * Determines the version a client expects to be changing. HAPI only maps the If-Match header onto
+	 * the id for updates, so for other interactions the header has to be read here.
+	 *
+	 * @param id the id of the resource being changed
+	 * @param requestDetails the current request
+	 * @return the expected version or null if the client did not supply one
+	 */
+	public static String getExpectedVersionId(IIdType id, RequestDetails requestDetails) {
+		if (id != null && id.hasVersionIdPart()) {
+			return id.getVersionIdPart();
+		}
+		
+		String ifMatch = requestDetails == null ? null : requestDetails.getHeader(Constants.HEADER_IF_MATCH);
+		return ifMatch == null ? null : ParameterUtil.parseETagValue(ifMatch);
+	}
+	
 	private static MethodOutcome buildWithResource(MethodOutcome methodOutcome, DomainResource resource) {
 		if (resource != null) {
 			if (resource.getId() != null) {
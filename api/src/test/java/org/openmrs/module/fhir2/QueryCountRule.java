@@ -0,0 +1,175 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import static org.junit.Assert.fail;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.rules.ExternalResource;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.api.metrics.QueryStatistics;
+
+/**
+ * JUnit rule which fails a test when a unit of work executes more SQL statements than its budget.
+ * Intended for context-sensitive tests of DAOs, translators and search queries, so that N+1 query
+ * regressions fail the build instead of showing up in production.
+ * <p/>
+ * Statements are counted using Hibernate's statistics. When the budget is exceeded, the failure
+ * message lists each statement that ran more than once, which is usually the offending query.
+ * <p/>
+ * A fixed budget only catches statements run for each result if the page holds more results than
+ * the budget allows statements, so searches are best checked with
+ * {@link #assertStatementsPerResult(int, int, String, IntFunction)}, which measures the baseline of
+ * a page of one result and compares a full page against it.
+ * <p/>
+ * Usage:
+ *
+ * <pre>
+ * &#64;Rule
+ * public QueryCountRule queryCount = new QueryCountRule();
+ *
+ * &#64;Test
+ * public void search_shouldStayWithinStatementBudget() throws Exception {
+ * 	queryCount.assertStatementsPerResult(0, 50, "Encounter search",
+ * 	    pageSize -&gt; () -&gt; provider.getResources(0, pageSize));
+ * }
+ * </pre>
+ */
+public class QueryCountRule extends ExternalResource {
+	
+	/**
+	 * The number of statements a full page may execute beyond its allowance, e.g., because the page
+	 * refers to a few more rows shared between results than a page of one result does
+	 */
+	private static final int MARGIN = 2;
+	
+	private SessionFactory sessionFactory;
+	
+	private boolean statisticsWereEnabled;
+	
+	@Override
+	protected void after() {
+		QueryStatistics.stop();
+		
+		if (sessionFactory != null) {
+			sessionFactory.getStatistics().setStatisticsEnabled(statisticsWereEnabled);
+		}
+	}
+	
+	/**
+	 * Runs the supplied work and fails if it executed more than the given number of statements. Any
+	 * pending changes are flushed and the session is cleared first, so the work cannot be served from
+	 * the first-level cache and the statements issued by the test setup are not counted.
+	 *
+	 * @param budget the maximum number of statements the work may execute
+	 * @param description a description of the work used in the failure message
+	 * @param work the work to run
+	 * @return the result of the work
+	 */
+	public <T> T assertStatementBudget(int budget, String description, Callable<T> work) throws Exception {
+		Measurement<T> measurement = measure(work);
+		checkBudget(measurement, budget, description);
+		return measurement.result;
+	}
+	
+	/**
+	 * Fails if a page of results executes more statements for each result than allowed. The page is
+	 * first fetched with a single result, which measures the baseline, i.e., the statements run once
+	 * per page such as the count and the fetch plan queries. A page of {@code pageSize} results may then
+	 * only execute {@code statementsPerResult} statements more for each additional result, plus a small
+	 * margin. The data must hold at least {@code pageSize} results, as a smaller page cannot show
+	 * statements run for each result.
+	 *
+	 * @param statementsPerResult the number of statements the page may execute for each result
+	 * @param pageSize the size of the full page
+	 * @param description a description of the work used in the failure message
+	 * @param page creates the work fetching and translating a page of the given size
+	 */
+	public void assertStatementsPerResult(int statementsPerResult, int pageSize, String description,
+	        IntFunction<Callable<? extends Collection<?>>> page) throws Exception {
+		// the baseline runs first, so shared rows it caches can only make the full page cheaper
+		long baseline = measure(page.apply(1)).count;
+		
+		Measurement<? extends Collection<?>> measurement = measure(page.apply(pageSize));
+		if (measurement.result.size() < pageSize) {
+			fail(String.format("%s returned %d results, but needs %d to check the statements run for each result",
+			    description, measurement.result.size(), pageSize));
+		}
+		
+		checkBudget(measurement, baseline + (long) statementsPerResult * (pageSize - 1) + MARGIN,
+		    String.format("%s page of %d (baseline of %d for a page of 1)", description, pageSize, baseline));
+	}
+	
+	private <T> Measurement<T> measure(Callable<T> work) throws Exception {
+		Statistics statistics = getStatistics();
+		
+		Session session = sessionFactory.getCurrentSession();
+		session.flush();
+		session.clear();
+		
+		long before = statistics.getPrepareStatementCount();
+		QueryStatistics queryStatistics = QueryStatistics.start();
+		
+		T result;
+		try {
+			result = work.call();
+		}
+		finally {
+			QueryStatistics.stop();
+		}
+		
+		return new Measurement<>(result, statistics.getPrepareStatementCount() - before, queryStatistics);
+	}
+	
+	private void checkBudget(Measurement<?> measurement, long budget, String description) {
+		if (measurement.count > budget) {
+			StringBuilder message = new StringBuilder(
+			        String.format("%s executed %d statements, but its budget is %d", description, measurement.count,
+			            budget));
+			for (Map.Entry<String, Integer> repeated : measurement.queryStatistics.getRepeatedStatements(1).entrySet()) {
+				message.append(String.format("%n  %dx %s", repeated.getValue(), repeated.getKey()));
+			}
+			
+			fail(message.toString());
+		}
+	}
+	
+	private Statistics getStatistics() {
+		if (sessionFactory == null) {
+			sessionFactory = Context.getRegisteredComponent("sessionFactory", SessionFactory.class);
+			statisticsWereEnabled = sessionFactory.getStatistics().isStatisticsEnabled();
+			sessionFactory.getStatistics().setStatisticsEnabled(true);
+		}
+		
+		return sessionFactory.getStatistics();
+	}
+	
+	private static class Measurement<T> {
+		
+		private final T result;
+		
+		private final long count;
+		
+		private final QueryStatistics queryStatistics;
+		
+		private Measurement(T result, long count, QueryStatistics queryStatistics) {
+			this.result = result;
+			this.count = count;
+			this.queryStatistics = queryStatistics;
+		}
+	}
+}
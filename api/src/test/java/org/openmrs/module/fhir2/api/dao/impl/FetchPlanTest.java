@@ -0,0 +1,44 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+
+public class FetchPlanTest {
+	
+	@Test
+	public void none_shouldBeEmpty() {
+		assertThat(FetchPlan.none().isEmpty(), is(true));
+	}
+	
+	@Test
+	public void of_shouldKeepPathsInOrder() {
+		assertThat(FetchPlan.of("names", "addresses").getPaths(), contains("names", "addresses"));
+	}
+	
+	@Test
+	public void toHql_shouldFetchJoinSingleProperty() {
+		assertThat(FetchPlan.toHql(Patient.class, "names"),
+		    equalTo("select e from org.openmrs.Patient e left join fetch e.names f0 where e.id in (:ids)"));
+	}
+	
+	@Test
+	public void toHql_shouldFetchJoinEachPropertyOfPath() {
+		assertThat(FetchPlan.toHql(Obs.class, "concept.names"), equalTo("select e from org.openmrs.Obs e"
+		        + " left join fetch e.concept f0 left join fetch f0.names f1 where e.id in (:ids)"));
+	}
+}
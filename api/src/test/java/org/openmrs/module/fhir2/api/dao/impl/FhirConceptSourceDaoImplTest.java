@@ -10,6 +10,8 @@
 package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
@@ -18,8 +20,12 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.hibernate.SessionFactory;
 import org.junit.Before;
@@ -36,6 +42,8 @@ public class FhirConceptSourceDaoImplTest extends BaseModuleContextSensitiveTest
 	
 	private static final String CONCEPT_SOURCE_FHIR_DATA = "org/openmrs/module/fhir2/api/dao/impl/FhirConceptSourceDaoImplTest_initial_data.xml";
 	
+	private static final String CONCEPT_MAPPING_DATA = "org/openmrs/module/fhir2/api/dao/impl/FhirObservationDaoImplTest_initial_data_suppl.xml";
+	
 	@Autowired
 	private SessionFactory sessionFactory;
 	
@@ -90,4 +98,26 @@ public class FhirConceptSourceDaoImplTest extends BaseModuleContextSensitiveTest
 		
 		assertThat(result.isPresent(), is(false));
 	}
+	
+	@Test
+	public void getMappedConceptIds_shouldReturnIdsOfConceptsMappedToCodes() throws Exception {
+		executeDataSet(CONCEPT_MAPPING_DATA);
+		
+		Map<String, Set<Integer>> result = fhirConceptSourceDao
+		        .getMappedConceptIds(FhirTestConstants.CIEL_SYSTEM_URN, Arrays.asList("5085", "5086", "not-a-code"));
+		
+		assertThat(result.keySet(), containsInAnyOrder("5085", "5086"));
+		assertThat(result.get("5085"), contains(5085));
+		assertThat(result.get("5086"), contains(5086));
+	}
+	
+	@Test
+	public void getMappedConceptIds_shouldReturnEmptyMapForUnknownSystem() throws Exception {
+		executeDataSet(CONCEPT_MAPPING_DATA);
+		
+		Map<String, Set<Integer>> result = fhirConceptSourceDao.getMappedConceptIds("https://www.example.com",
+		    Collections.singletonList("5085"));
+		
+		assertThat(result.isEmpty(), is(true));
+	}
 }
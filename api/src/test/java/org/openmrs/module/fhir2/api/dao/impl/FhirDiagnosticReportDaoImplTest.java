@@ -10,9 +10,13 @@
 package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
+import java.util.Collection;
 import java.util.Date;
 
 import org.hibernate.SessionFactory;
@@ -22,7 +26,9 @@ import org.openmrs.Obs;
 import org.openmrs.api.ConceptService;
 import org.openmrs.api.ObsService;
 import org.openmrs.api.PatientService;
+import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -111,4 +117,16 @@ public class FhirDiagnosticReportDaoImplTest extends BaseModuleContextSensitiveT
 		assertThat(result.getGroupMembers().size(), equalTo(2));
 	}
 	
+	@Test
+	public void search_shouldOnlyReturnObsGroupsOfPatient() {
+		Collection<Obs> results = dao
+		        .search(new SearchParameterMap().addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, 7));
+		
+		assertThat(results, not(empty()));
+		for (Obs obs : results) {
+			assertThat(obs.getPerson().getPersonId(), equalTo(7));
+			assertThat(obs.isObsGrouping(), is(true));
+		}
+	}
+	
 }
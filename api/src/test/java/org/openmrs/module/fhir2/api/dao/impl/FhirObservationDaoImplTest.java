@@ -10,20 +10,34 @@
 package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import org.hibernate.SessionFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.Obs;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.NumericObsSummary;
+import org.openmrs.module.fhir2.api.dao.NumericObsValue;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,9 +56,20 @@ public class FhirObservationDaoImplTest extends BaseModuleContextSensitiveTest {
 	
 	private static final String OBS_CONCEPT_ID = "5089";
 	
+	private static final Integer OBS_PATIENT_ID = 7;
+	
+	private static final String NUMERIC_CONCEPT_ID = "5242";
+	
+	private static final String LATEST_OBS_UUID = "942ec003-a55d-43c4-ac7a-bd6d1ba63381";
+	
+	private static final String SECOND_LATEST_OBS_UUID = "86sgf-1f7d-4394-a316-0a458edf28c3";
+	
 	@Autowired
 	private FhirObservationDao dao;
 	
+	@Autowired
+	private SessionFactory sessionFactory;
+	
 	@Before
 	public void setup() throws Exception {
 		executeDataSet(OBS_DATA_XML);
@@ -79,4 +104,91 @@ public class FhirObservationDaoImplTest extends BaseModuleContextSensitiveTest {
 		assertThat(obs, notNullValue());
 	}
 	
+	@Test
+	public void search_shouldReturnObsForPatientId() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		theParams.addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, OBS_PATIENT_ID);
+		Collection<Obs> obs = dao.search(theParams);
+		
+		assertThat(obs, not(empty()));
+		assertThat(obs, everyItem(hasProperty("personId", equalTo(OBS_PATIENT_ID))));
+	}
+	
+	@Test
+	public void getNumericObsSummaries_shouldSummariseValuesForEachConceptAndDay() {
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, OBS_PATIENT_ID)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER,
+		            new TokenAndListParam().addAnd(new TokenParam(NUMERIC_CONCEPT_ID)));
+		
+		List<NumericObsSummary> summaries = dao.getNumericObsSummaries(theParams);
+		
+		assertThat(summaries, hasSize(1));
+		
+		NumericObsSummary summary = summaries.get(0);
+		assertThat(summary.getConcept().getConceptId(), equalTo(Integer.valueOf(NUMERIC_CONCEPT_ID)));
+		assertThat(summary.getCount(), equalTo(6L));
+		assertThat(summary.getSum(), closeTo(358.008, 0.0001));
+		assertThat(summary.getMin(), closeTo(0.007, 0.0001));
+		assertThat(summary.getMax(), closeTo(134.0, 0.0001));
+	}
+	
+	@Test
+	public void getNumericObsValues_shouldReturnValuesInChronologicalOrder() {
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, OBS_PATIENT_ID)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER,
+		            new TokenAndListParam().addAnd(new TokenParam(NUMERIC_CONCEPT_ID)));
+		
+		List<NumericObsValue> values = dao.getNumericObsValues(theParams);
+		
+		assertThat(values.stream().map(NumericObsValue::getValue).collect(Collectors.toList()),
+		    contains(14.0, 134.0, 100.001, 0.007, 100.0, 10.0));
+	}
+	
+	@Test
+	public void search_shouldReturnLatestObsForEachConceptWithoutWindowFunctions() {
+		FhirObservationDaoImpl fallbackDao = new FhirObservationDaoImpl();
+		fallbackDao.setSessionFactory(sessionFactory);
+		fallbackDao.setWindowFunctionSupported(false);
+		
+		assertThat(getUuids(fallbackDao.search(getLastnParams(1))), contains(LATEST_OBS_UUID));
+		assertThat(getUuids(fallbackDao.search(getLastnParams(2))),
+		    containsInAnyOrder(LATEST_OBS_UUID, SECOND_LATEST_OBS_UUID));
+	}
+	
+	@Test
+	public void search_shouldReturnLatestObsForEachConcept() {
+		assertThat(getUuids(dao.search(getLastnParams(1))), contains(LATEST_OBS_UUID));
+		assertThat(getUuids(dao.search(getLastnParams(2))), containsInAnyOrder(LATEST_OBS_UUID, SECOND_LATEST_OBS_UUID));
+	}
+	
+	@Test
+	public void supportsWindowFunctions_shouldDetectDatabasesWithWindowFunctions() {
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("MySQL", "8.0.21"), is(true));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("MySQL", "5.5.5-10.3.27-MariaDB"), is(true));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("MariaDB", "10.2.6"), is(true));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("PostgreSQL", "12.4"), is(true));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("H2", "1.4.200 (2019-10-14)"), is(true));
+	}
+	
+	@Test
+	public void supportsWindowFunctions_shouldNotDetectDatabasesWithoutWindowFunctions() {
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("MySQL", "5.7.31"), is(false));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("MySQL", "5.5.5-10.1.48-MariaDB"), is(false));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("H2", "1.4.197 (2018-03-18)"), is(false));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions("Unknown", "1.0"), is(false));
+		assertThat(FhirObservationDaoImpl.supportsWindowFunctions(null, null), is(false));
+	}
+	
+	private SearchParameterMap getLastnParams(int max) {
+		return new SearchParameterMap().addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, OBS_PATIENT_ID)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER,
+		            new TokenAndListParam().addAnd(new TokenParam(NUMERIC_CONCEPT_ID)))
+		        .addParameter(FhirConstants.LASTN_OBSERVATION_SEARCH_HANDLER, max);
+	}
+	
+	private List<String> getUuids(Collection<Obs> obs) {
+		return obs.stream().map(Obs::getUuid).collect(Collectors.toList());
+	}
 }
@@ -11,17 +11,33 @@ package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.util.Collection;
+import java.util.Date;
+
+import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringParam;
+import org.hibernate.Hibernate;
 import org.hibernate.SessionFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.Patient;
+import org.openmrs.PersonName;
+import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.searchindex.FhirSearchIndex;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
 public class FhirPatientDaoImplTest extends BaseModuleContextSensitiveTest {
@@ -30,6 +46,8 @@ public class FhirPatientDaoImplTest extends BaseModuleContextSensitiveTest {
 	
 	private static final String BAD_PATIENT_UUID = "282390a6-3608-496d-9025-aecbc1235670";
 	
+	private static final String PATIENT_GIVEN_NAME = "Jeannette";
+	
 	private static final String[] PATIENT_SEARCH_DATA_FILES = {
 	        "org/openmrs/api/include/PatientServiceTest-findPatients.xml",
 	        "org/openmrs/module/fhir2/api/dao/impl/FhirPatientDaoImplTest_address_data.xml" };
@@ -76,4 +94,136 @@ public class FhirPatientDaoImplTest extends BaseModuleContextSensitiveTest {
 		
 		assertThat(result, nullValue());
 	}
+	
+	@Test
+	public void get_shouldLoadPatientReadOnlyInReadOnlyTransaction() {
+		sessionFactory.getCurrentSession().clear();
+		
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try {
+			Patient result = dao.get(PATIENT_UUID);
+			
+			assertThat(result, notNullValue());
+			assertThat(sessionFactory.getCurrentSession().isReadOnly(result), is(true));
+		}
+		finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+	}
+	
+	@Test
+	public void get_shouldLoadPatientModifiableOutsideReadOnlyTransaction() {
+		sessionFactory.getCurrentSession().clear();
+		
+		Patient result = dao.get(PATIENT_UUID);
+		
+		assertThat(result, notNullValue());
+		assertThat(sessionFactory.getCurrentSession().isReadOnly(result), is(false));
+	}
+	
+	@Test
+	public void search_shouldLoadPatientsReadOnlyInReadOnlyTransaction() {
+		sessionFactory.getCurrentSession().clear();
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "name",
+		    new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME)));
+		
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try {
+			Collection<Patient> results = dao.search(theParams);
+			
+			assertThat(results.isEmpty(), is(false));
+			for (Patient patient : results) {
+				assertThat(sessionFactory.getCurrentSession().isReadOnly(patient), is(true));
+			}
+		}
+		finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+	}
+	
+	@Test
+	public void search_shouldInitializeFetchPlanAssociationsForWholePage() {
+		sessionFactory.getCurrentSession().clear();
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "name",
+		    new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME)));
+		
+		Collection<Patient> results = dao.search(theParams);
+		
+		assertThat(results.isEmpty(), is(false));
+		for (Patient patient : results) {
+			assertThat(Hibernate.isInitialized(patient.getNames()), is(true));
+			assertThat(Hibernate.isInitialized(patient.getIdentifiers()), is(true));
+			assertThat(Hibernate.isInitialized(patient.getAddresses()), is(true));
+		}
+	}
+	
+	@Test
+	public void search_shouldMatchNamesAgainstSearchIndex() {
+		useSearchIndex();
+		
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
+		    FhirConstants.GIVEN_PROPERTY, new StringAndListParam().addAnd(new StringParam("ANNET").setContains(true)));
+		
+		Collection<Patient> results = dao.search(theParams);
+		
+		assertThat(results.isEmpty(), is(false));
+		for (Patient patient : results) {
+			assertThat(patient.getGivenName().toLowerCase().contains("annet"), is(true));
+		}
+	}
+	
+	@Test
+	public void search_shouldMatchPhoneticNamesAgainstSearchIndex() {
+		FhirSearchIndexDaoImpl searchIndexDao = new FhirSearchIndexDaoImpl();
+		searchIndexDao.setSessionFactory(sessionFactory);
+		searchIndexDao.reindexNames(0, Integer.MAX_VALUE);
+		
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
+		    FhirConstants.PHONETIC_PROPERTY, new StringAndListParam().addAnd(new StringParam("Jeanet")));
+		
+		Collection<Patient> results = dao.search(theParams);
+		
+		assertThat(results, hasItem(hasProperty("givenName", equalTo(PATIENT_GIVEN_NAME))));
+	}
+	
+	@Test
+	public void getLastUpdated_shouldIncludeChangesToNames() {
+		Date before = dao.getLastUpdated(PATIENT_UUID);
+		assertThat(before, notNullValue());
+		
+		Patient patient = dao.get(PATIENT_UUID);
+		PersonName name = patient.getPersonName();
+		name.setGivenName(name.getGivenName() + "x");
+		name.setDateChanged(new Date(before.getTime() + 60000L));
+		sessionFactory.getCurrentSession().flush();
+		
+		assertThat(dao.getLastUpdated(PATIENT_UUID).after(before), is(true));
+		assertThat(dao.getLastUpdated(patient).after(before), is(true));
+	}
+	
+	@Test
+	public void search_shouldMatchExactNamesAsStored() {
+		useSearchIndex();
+		
+		Collection<Patient> results = dao.search(new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
+		    "name", new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME, true))));
+		
+		assertThat(results.isEmpty(), is(false));
+		
+		// the accent is removed in the search index, but not in person_name
+		results = dao.search(new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "name",
+		    new StringAndListParam().addAnd(new StringParam("Jéannette", true))));
+		
+		assertThat(results.isEmpty(), is(true));
+	}
+	
+	private void useSearchIndex() {
+		FhirSearchIndexDaoImpl searchIndexDao = new FhirSearchIndexDaoImpl();
+		searchIndexDao.setSessionFactory(sessionFactory);
+		searchIndexDao.reindexNames(0, Integer.MAX_VALUE);
+		
+		FhirSearchIndex searchIndex = mock(FhirSearchIndex.class);
+		when(searchIndex.isQueryable()).thenReturn(true);
+		dao.setSearchIndex(searchIndex);
+	}
 }
@@ -170,12 +170,22 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		assertThat(relationship, nullValue());
 	}
 	
+	@Test
+	public void shouldReturnOnlyRelationsWithMatchingId() {
+		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, null, null, null, null,
+		    null, new TokenAndListParam().addAnd(new TokenOrListParam().add(RELATIONSHIP_UUID)), null);
+		
+		assertThat(relationships, notNullValue());
+		assertThat(relationships.size(), equalTo(1));
+		assertThat(relationships, everyItem(hasProperty("uuid", equalTo(RELATIONSHIP_UUID))));
+	}
+	
 	@Test
 	public void shouldReturnCollectionOfRelationsForMatchOnPersonName() {
 		StringAndListParam stringOrListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(PERSON_NAME)));
 		Collection<Relationship> relations = fhirrelatedPersonDao.searchRelationships(stringOrListParam, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(relations, notNullValue());
 		assertThat(relations, not(empty()));
 		assertThat(relations.size(), greaterThanOrEqualTo(1));
@@ -186,7 +196,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		StringAndListParam stringOrListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(PERSON_PARTIAL_NAME)));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(stringOrListParam, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships.size(), greaterThanOrEqualTo(1));
@@ -197,7 +207,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		StringAndListParam stringOrListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NOT_FOUND_NAME)));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(stringOrListParam, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		assertThat(relationships, is(empty()));
 	}
 	
@@ -207,35 +217,40 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		final String RELATED_PERSON_PROPERTY = "gender";
 		
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null,
-		    new TokenAndListParam().addAnd(new TokenOrListParam().add(MALE_GENDER)), null, null, null, null, null, null);
+		    new TokenAndListParam().addAnd(new TokenOrListParam().add(MALE_GENDER)), null, null, null, null, null, null,
+		    null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships, everyItem(hasProperty("personA", hasProperty("gender", equalTo("M")))));
 		
 		relationships = fhirrelatedPersonDao.searchRelationships(null,
-		    new TokenAndListParam().addAnd(new TokenOrListParam().add(FEMALE_GENDER)), null, null, null, null, null, null);
+		    new TokenAndListParam().addAnd(new TokenOrListParam().add(FEMALE_GENDER)), null, null, null, null, null, null,
+		    null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships, everyItem(hasProperty("personA", hasProperty("gender", equalTo("F")))));
 		
 		relationships = fhirrelatedPersonDao.searchRelationships(null,
-		    new TokenAndListParam().addAnd(new TokenOrListParam().add(OTHER_GENDER)), null, null, null, null, null, null);
+		    new TokenAndListParam().addAnd(new TokenOrListParam().add(OTHER_GENDER)), null, null, null, null, null, null,
+		    null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships, everyItem(hasProperty("personA", hasProperty("gender", nullValue()))));
 		
 		relationships = fhirrelatedPersonDao.searchRelationships(null,
-		    new TokenAndListParam().addAnd(new TokenOrListParam().add(NULL_GENDER)), null, null, null, null, null, null);
+		    new TokenAndListParam().addAnd(new TokenOrListParam().add(NULL_GENDER)), null, null, null, null, null, null,
+		    null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships, everyItem(hasProperty("personA", hasProperty("gender", nullValue()))));
 		
 		relationships = fhirrelatedPersonDao.searchRelationships(null,
-		    new TokenAndListParam().addAnd(new TokenOrListParam().add(UNKNOWN_GENDER)), null, null, null, null, null, null);
+		    new TokenAndListParam().addAnd(new TokenOrListParam().add(UNKNOWN_GENDER)), null, null, null, null, null, null,
+		    null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
@@ -246,7 +261,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 	public void shouldReturnEmptyCollectionForNoMatchOnGender() {
 		TokenAndListParam tokenAndListParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(WRONG_GENDER));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, tokenAndListParam, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, is(empty()));
@@ -256,7 +271,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 	public void shouldReturnCollectionOfRelationForMatchOnBirthDateofRelatedPerson() throws ParseException {
 		DateRangeParam dateRangeParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, dateRangeParam, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships.size(), greaterThanOrEqualTo(1));
@@ -270,7 +285,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		DateRangeParam dateRangeParam = new DateRangeParam().setLowerBound(NOT_FOUND_BIRTH_DATE)
 		        .setUpperBound(NOT_FOUND_BIRTH_DATE);
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, dateRangeParam, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, empty());
 	}
@@ -280,7 +295,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, null,
-		    stringAndListParam, null, null, null, null);
+		    stringAndListParam, null, null, null, null, null);
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships.size(), greaterThanOrEqualTo(1));
@@ -293,7 +308,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, null, null,
-		    stringAndListParam, null, null, null);
+		    stringAndListParam, null, null, null, null);
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships.size(), greaterThanOrEqualTo(1));
@@ -306,7 +321,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, null, null, null,
-		    stringAndListParam, null, null);
+		    stringAndListParam, null, null, null);
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships.size(), greaterThanOrEqualTo(1));
@@ -319,7 +334,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, null, null, null, null,
-		    stringAndListParam, null);
+		    stringAndListParam, null, null);
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
 		assertThat(relationships.size(), greaterThanOrEqualTo(1));
@@ -477,7 +492,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(nameParam, genderParam,
-		    birthDateParam, cityParam, stateParam, postalCodeParam, countryParam, null);
+		    birthDateParam, cityParam, stateParam, postalCodeParam, countryParam, null, null);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
@@ -491,7 +506,7 @@ public class FhirRelatedPersonDaoImplTest extends BaseModuleContextSensitiveTest
 	
 	private List<Relationship> getRelationListForSorting(SortSpec sort) {
 		Collection<Relationship> relationships = fhirrelatedPersonDao.searchRelationships(null, null, null, null, null, null,
-		    null, sort);
+		    null, null, sort);
 		
 		assertThat(relationships, notNullValue());
 		assertThat(relationships, not(empty()));
@@ -0,0 +1,144 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirResourceJson;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class FhirResourceJsonDaoImplTest extends BaseModuleContextSensitiveTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String OTHER_PATIENT_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	private static final Date LAST_UPDATED = new Date(1346457600000L);
+	
+	private FhirResourceJsonDaoImpl dao;
+	
+	@Autowired
+	private SessionFactory sessionFactory;
+	
+	@Before
+	public void setup() {
+		dao = new FhirResourceJsonDaoImpl();
+		dao.setSessionFactory(sessionFactory);
+	}
+	
+	@Test
+	public void saveOrUpdate_shouldInsertNewResources() {
+		dao.saveOrUpdate(Arrays.asList(newResource(PATIENT_UUID, LAST_UPDATED, "{}"),
+		    newResource(OTHER_PATIENT_UUID, LAST_UPDATED, "{}")));
+		
+		FhirResourceJson result = dao.get(FhirConstants.PATIENT, PATIENT_UUID);
+		assertThat(result, notNullValue());
+		assertThat(result.getVersionId(), equalTo(String.valueOf(LAST_UPDATED.getTime())));
+		assertThat(dao.get(FhirConstants.PATIENT, Arrays.asList(PATIENT_UUID, OTHER_PATIENT_UUID)), hasSize(2));
+		assertThat(dao.get(FhirConstants.ENCOUNTER, PATIENT_UUID), nullValue());
+	}
+	
+	@Test
+	public void saveOrUpdate_shouldReplaceResourcesWithNewerVersion() {
+		dao.saveOrUpdate(Collections.singletonList(newResource(PATIENT_UUID, LAST_UPDATED, "{}")));
+		
+		Date newer = new Date(LAST_UPDATED.getTime() + 1000L);
+		dao.saveOrUpdate(Collections.singletonList(newResource(PATIENT_UUID, newer, "{\"active\":true}")));
+		
+		FhirResourceJson result = dao.get(FhirConstants.PATIENT, PATIENT_UUID);
+		assertThat(result.getVersionId(), equalTo(String.valueOf(newer.getTime())));
+		assertThat(result.getBody(), equalTo("{\"active\":true}"));
+	}
+	
+	@Test
+	public void saveOrUpdate_shouldNotReplaceResourcesWithOlderVersion() {
+		Date newer = new Date(LAST_UPDATED.getTime() + 1000L);
+		dao.saveOrUpdate(Collections.singletonList(newResource(PATIENT_UUID, newer, "{\"active\":true}")));
+		dao.saveOrUpdate(Collections.singletonList(newResource(PATIENT_UUID, LAST_UPDATED, "{}")));
+		
+		assertThat(dao.get(FhirConstants.PATIENT, PATIENT_UUID).getBody(), equalTo("{\"active\":true}"));
+	}
+	
+	@Test
+	public void delete_shouldRemoveResources() {
+		dao.saveOrUpdate(Collections.singletonList(newResource(PATIENT_UUID, LAST_UPDATED, "{}")));
+		
+		dao.delete(FhirConstants.PATIENT, Collections.singletonList(PATIENT_UUID));
+		
+		assertThat(dao.get(FhirConstants.PATIENT, Collections.singletonList(PATIENT_UUID)), empty());
+	}
+	
+	@Test
+	public void deleteReferencing_shouldRemoveObservationsOfPerson() {
+		Obs obs = (Obs) sessionFactory.getCurrentSession().createCriteria(Obs.class).setMaxResults(1).uniqueResult();
+		FhirResourceJson observation = newResource(obs.getUuid(), LAST_UPDATED, "{}");
+		observation.setResourceType(FhirConstants.OBSERVATION);
+		dao.saveOrUpdate(Arrays.asList(observation, newResource(PATIENT_UUID, LAST_UPDATED, "{}")));
+		
+		dao.deleteReferencing(obs.getPerson());
+		
+		assertThat(dao.get(FhirConstants.OBSERVATION, obs.getUuid()), nullValue());
+		assertThat(dao.get(FhirConstants.PATIENT, PATIENT_UUID), notNullValue());
+	}
+	
+	@Test
+	public void deleteReferencing_shouldRemoveObservationsCodedWithConcept() {
+		Obs obs = (Obs) sessionFactory.getCurrentSession().createCriteria(Obs.class).setMaxResults(1).uniqueResult();
+		FhirResourceJson observation = newResource(obs.getUuid(), LAST_UPDATED, "{}");
+		observation.setResourceType(FhirConstants.OBSERVATION);
+		dao.saveOrUpdate(Collections.singletonList(observation));
+		
+		dao.deleteReferencing(obs.getConcept());
+		
+		assertThat(dao.get(FhirConstants.OBSERVATION, obs.getUuid()), nullValue());
+	}
+	
+	@Test
+	public void getObjects_shouldPageThroughObjectsInIdOrder() {
+		List<Patient> firstPage = dao.getObjects(Patient.class, null, 1);
+		assertThat(firstPage, hasSize(1));
+		
+		List<Patient> secondPage = dao.getObjects(Patient.class, firstPage.get(0).getId(), 1);
+		assertThat(secondPage, hasSize(1));
+		assertThat(secondPage.get(0).getId(), greaterThan(firstPage.get(0).getId()));
+		assertThat(dao.getObjects(Patient.class, Integer.MAX_VALUE, 1), empty());
+	}
+	
+	private static FhirResourceJson newResource(String uuid, Date lastUpdated, String body) {
+		FhirResourceJson result = new FhirResourceJson();
+		result.setResourceType(FhirConstants.PATIENT);
+		result.setUuid(uuid);
+		result.setVersionId(String.valueOf(lastUpdated.getTime()));
+		result.setLastUpdated(lastUpdated);
+		result.setBody(body);
+		return result;
+	}
+}
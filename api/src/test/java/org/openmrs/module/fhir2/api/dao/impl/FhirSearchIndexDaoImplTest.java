@@ -0,0 +1,200 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hibernate.criterion.Restrictions.eq;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Patient;
+import org.openmrs.PersonName;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirSearchName;
+import org.openmrs.module.fhir2.FhirSearchNameGram;
+import org.openmrs.module.fhir2.FhirSearchToken;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.searchindex.SearchNameIndex;
+import org.openmrs.module.fhir2.api.searchindex.SearchTokenIndex;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class FhirSearchIndexDaoImplTest extends BaseModuleContextSensitiveTest {
+	
+	private static final int PATIENT_ID = 2;
+	
+	private FhirSearchIndexDaoImpl dao;
+	
+	@Autowired
+	private SessionFactory sessionFactory;
+	
+	@Before
+	public void setup() {
+		dao = new FhirSearchIndexDaoImpl();
+		dao.setSessionFactory(sessionFactory);
+	}
+	
+	@Test
+	public void reindex_shouldIndexIdentifiersOfChangedPatients() {
+		dao.reindex(SearchTokenIndex.PATIENT_IDENTIFIER, SearchTokenIndex.Dependency.PATIENT,
+		    Collections.singletonList(PATIENT_ID));
+		
+		assertThat(getIndexedIdentifiers(PATIENT_ID), not(empty()));
+		assertThat(getIndexedIdentifiers(PATIENT_ID), containsInAnyOrder(getExpectedIdentifiers(PATIENT_ID)));
+	}
+	
+	@Test
+	public void reindex_shouldReplaceExistingRows() {
+		dao.reindex(SearchTokenIndex.PATIENT_IDENTIFIER, SearchTokenIndex.Dependency.PATIENT,
+		    Collections.singletonList(PATIENT_ID));
+		dao.reindex(SearchTokenIndex.PATIENT_IDENTIFIER, SearchTokenIndex.Dependency.PATIENT,
+		    Collections.singletonList(PATIENT_ID));
+		
+		assertThat(getIndexedIdentifiers(PATIENT_ID), containsInAnyOrder(getExpectedIdentifiers(PATIENT_ID)));
+	}
+	
+	@Test
+	public void reindex_shouldIgnoreChangesTheIndexDoesNotDependOn() {
+		dao.reindex(SearchTokenIndex.OBSERVATION_CODE, SearchTokenIndex.Dependency.PATIENT,
+		    Collections.singletonList(PATIENT_ID));
+		
+		assertThat(sessionFactory.getCurrentSession().createCriteria(FhirSearchToken.class).list(), empty());
+	}
+	
+	@Test
+	public void reindex_shouldIndexRangesOfPatients() {
+		dao.reindex(SearchTokenIndex.PATIENT_IDENTIFIER, 0, Integer.MAX_VALUE);
+		
+		assertThat(getIndexedIdentifiers(PATIENT_ID), containsInAnyOrder(getExpectedIdentifiers(PATIENT_ID)));
+	}
+	
+	@Test
+	public void getMaxResourceId_shouldReturnTheHighestId() {
+		assertThat(dao.getMaxResourceId(SearchTokenIndex.PATIENT_IDENTIFIER), greaterThanOrEqualTo(PATIENT_ID));
+	}
+	
+	@Test
+	public void reindexNames_shouldIndexNormalizedNamesAndTheirGrams() {
+		PersonName name = Context.getPersonService().getPerson(PATIENT_ID).getPersonName();
+		
+		dao.reindexNames(Collections.singletonList(name.getPersonNameId()));
+		
+		FhirSearchName indexed = (FhirSearchName) sessionFactory.getCurrentSession().get(FhirSearchName.class,
+		    name.getPersonNameId());
+		assertThat(indexed.getPersonId(), equalTo(PATIENT_ID));
+		assertThat(indexed.getGivenName(), equalTo(SearchNameIndex.normalize(name.getGivenName())));
+		assertThat(indexed.getFamilyName(), equalTo(SearchNameIndex.normalize(name.getFamilyName())));
+		assertThat(getIndexedGrams(name.getPersonNameId()), containsInAnyOrder(SearchNameIndex
+		        .getGrams(indexed.getGivenName(), indexed.getMiddleName(), indexed.getFamilyName()).toArray()));
+	}
+	
+	@Test
+	public void reindexNames_shouldReplaceExistingRows() {
+		PersonName name = Context.getPersonService().getPerson(PATIENT_ID).getPersonName();
+		
+		dao.reindexNames(0, Integer.MAX_VALUE);
+		dao.reindexNames(Collections.singletonList(name.getPersonNameId()));
+		
+		assertThat(getIndexedGrams(name.getPersonNameId()), containsInAnyOrder(SearchNameIndex
+		        .getGrams(SearchNameIndex.normalize(name.getGivenName()), SearchNameIndex.normalize(name.getMiddleName()),
+		            SearchNameIndex.normalize(name.getFamilyName()))
+		        .toArray()));
+	}
+	
+	@Test
+	public void getQueued_shouldReturnQueuedChangesByDependency() {
+		dao.enqueue(SearchTokenIndex.Dependency.CONCEPT, Arrays.asList(5089, 5090));
+		dao.enqueue(SearchTokenIndex.Dependency.CONCEPT_SOURCE, Collections.singletonList(1));
+		
+		Map<SearchTokenIndex.Dependency, Set<Integer>> queued = dao.getQueued(dao.getLastQueueId());
+		
+		assertThat(queued.size(), equalTo(2));
+		assertThat(queued.get(SearchTokenIndex.Dependency.CONCEPT), containsInAnyOrder(5089, 5090));
+		assertThat(queued.get(SearchTokenIndex.Dependency.CONCEPT_SOURCE), contains(1));
+	}
+	
+	@Test
+	public void dequeue_shouldOnlyRemoveChangesUpToTheGivenId() {
+		dao.enqueue(SearchTokenIndex.Dependency.CONCEPT, Collections.singletonList(5089));
+		long lastQueueId = dao.getLastQueueId();
+		dao.enqueue(SearchTokenIndex.Dependency.CONCEPT, Collections.singletonList(5090));
+		
+		dao.dequeue(lastQueueId);
+		
+		Map<SearchTokenIndex.Dependency, Set<Integer>> queued = dao.getQueued(dao.getLastQueueId());
+		assertThat(queued.size(), equalTo(1));
+		assertThat(queued.get(SearchTokenIndex.Dependency.CONCEPT), contains(5090));
+	}
+	
+	@Test
+	public void dequeue_shouldKeepRebuildMarkers() {
+		dao.requireRebuild();
+		dao.enqueue(SearchTokenIndex.Dependency.CONCEPT, Collections.singletonList(5089));
+		
+		dao.dequeue(dao.getLastQueueId());
+		
+		assertThat(dao.getQueued(dao.getLastQueueId()).isEmpty(), is(true));
+		assertThat(dao.isRebuildRequired(), is(true));
+	}
+	
+	@Test
+	public void clearQueue_shouldOnlyRemoveRebuildMarkersUpToTheGivenId() {
+		assertThat(dao.isRebuildRequired(), is(false));
+		dao.requireRebuild();
+		long lastQueueId = dao.getLastQueueId();
+		
+		dao.clearQueue(lastQueueId);
+		assertThat(dao.isRebuildRequired(), is(false));
+		
+		dao.requireRebuild();
+		dao.clearQueue(lastQueueId);
+		assertThat(dao.isRebuildRequired(), is(true));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<String> getIndexedGrams(int personNameId) {
+		List<FhirSearchNameGram> grams = sessionFactory.getCurrentSession().createCriteria(FhirSearchNameGram.class)
+		        .add(eq("personNameId", personNameId)).list();
+		return grams.stream().map(FhirSearchNameGram::getGram).collect(Collectors.toList());
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<String> getIndexedIdentifiers(int patientId) {
+		List<FhirSearchToken> tokens = sessionFactory.getCurrentSession().createCriteria(FhirSearchToken.class)
+		        .add(eq("resourceType", FhirConstants.PATIENT)).add(eq("paramName", "identifier"))
+		        .add(eq("resourceId", patientId)).list();
+		return tokens.stream().map(token -> token.getSystem() + "|" + token.getValue()).collect(Collectors.toList());
+	}
+	
+	private String[] getExpectedIdentifiers(int patientId) {
+		Patient patient = Context.getPatientService().getPatient(patientId);
+		return patient.getIdentifiers().stream().filter(identifier -> !identifier.getVoided())
+		        .map(identifier -> identifier.getIdentifierType().getName() + "|" + identifier.getIdentifier())
+		        .toArray(String[]::new);
+	}
+}
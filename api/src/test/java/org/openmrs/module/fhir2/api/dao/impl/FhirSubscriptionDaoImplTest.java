@@ -0,0 +1,94 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class FhirSubscriptionDaoImplTest extends BaseModuleContextSensitiveTest {
+	
+	private static final String SUBSCRIPTION_DATA_XML = "org/openmrs/module/fhir2/api/dao/impl/FhirSubscriptionDaoImplTest_initial_data.xml";
+	
+	private static final String ACTIVE_SUBSCRIPTION_UUID = "1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10";
+	
+	private static final String NEW_SUBSCRIPTION_UUID = "0c5e8f6a-1b2d-4c3e-9f8a-7b6c5d4e3f21";
+	
+	private FhirSubscriptionDaoImpl dao;
+	
+	@Autowired
+	private SessionFactory sessionFactory;
+	
+	@Before
+	public void setup() throws Exception {
+		dao = new FhirSubscriptionDaoImpl();
+		dao.setSessionFactory(sessionFactory);
+		executeDataSet(SUBSCRIPTION_DATA_XML);
+	}
+	
+	@Test
+	public void get_shouldRetrieveSubscriptionByUuid() {
+		FhirSubscription result = dao.get(ACTIVE_SUBSCRIPTION_UUID);
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getChannelType(), equalTo(FhirSubscription.ChannelType.REST_HOOK));
+		assertThat(result.getEndpoint(), equalTo("https://example.org/fhir-hook"));
+	}
+	
+	@Test
+	public void getActiveSubscriptions_shouldOnlyReturnActiveUnexpiredSubscriptions() {
+		List<FhirSubscription> result = dao.getActiveSubscriptions();
+		
+		assertThat(result, contains(hasProperty("uuid", equalTo(ACTIVE_SUBSCRIPTION_UUID))));
+	}
+	
+	@Test
+	public void createOrUpdate_shouldSaveNewSubscription() {
+		FhirSubscription subscription = new FhirSubscription();
+		subscription.setUuid(NEW_SUBSCRIPTION_UUID);
+		subscription.setName("Subscription/" + NEW_SUBSCRIPTION_UUID);
+		subscription.setStatus(FhirSubscription.SubscriptionStatus.ACTIVE);
+		subscription.setCriteria("Observation?status=final");
+		subscription.setChannelType(FhirSubscription.ChannelType.WEBSOCKET);
+		
+		dao.createOrUpdate(subscription);
+		
+		FhirSubscription result = dao.get(NEW_SUBSCRIPTION_UUID);
+		assertThat(result, notNullValue());
+		assertThat(result.getCriteria(), equalTo("Observation?status=final"));
+		assertThat(dao.getActiveSubscriptions().size(), equalTo(2));
+	}
+	
+	@Test
+	public void markError_shouldPutSubscriptionInErrorState() {
+		dao.markError(ACTIVE_SUBSCRIPTION_UUID, "No longer allowed");
+		sessionFactory.getCurrentSession().clear();
+		
+		FhirSubscription result = dao.get(ACTIVE_SUBSCRIPTION_UUID);
+		assertThat(result.getStatus(), equalTo(FhirSubscription.SubscriptionStatus.ERROR));
+		assertThat(result.getError(), equalTo("No longer allowed"));
+		assertThat(dao.getActiveSubscriptions(), empty());
+	}
+}
@@ -11,19 +11,25 @@ package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import org.hibernate.SessionFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.Concept;
+import org.openmrs.api.context.Context;
 import org.openmrs.api.db.hibernate.HibernateConceptDAO;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.FhirReference;
@@ -40,10 +46,18 @@ public class FhirTaskDaoImplTest extends BaseModuleContextSensitiveTest {
 	
 	private static final String TASK_DATA_XML = "org/openmrs/module/fhir2/api/dao/impl/FhirTaskDaoImplTest_initial_data.xml";
 	
+	private static final String TASK_OWNER_DATA_XML = "org/openmrs/module/fhir2/api/dao/impl/FhirTaskDaoImplTest_owner_data.xml";
+	
 	private static final String CONCEPT_DATA_XML = "org/openmrs/api/include/ConceptServiceTest-initialConcepts.xml";
 	
 	private static final String TASK_UUID = "d899333c-5bd4-45cc-b1e7-2f9542dbcbf6";
 	
+	private static final String REQUESTED_OWNER_TASK_UUID = "c1a3af38-c0a9-4c2e-9cc0-8e0440e357e5";
+	
+	private static final String OWNER_TYPE = "Practitioner";
+	
+	private static final String OWNER_UUID = "7f8aec9d-8269-4bb4-8bc5-1820bb31092c";
+	
 	private static final String BASED_ON_ORDER_UUID = "7d96f25c-4949-4f72-9931-d808fbc226de";
 	
 	private static final FhirTask.TaskStatus NEW_STATUS = FhirTask.TaskStatus.ACCEPTED;
@@ -80,6 +94,80 @@ public class FhirTaskDaoImplTest extends BaseModuleContextSensitiveTest {
 		assertThat(result.getUuid(), equalTo(TASK_UUID));
 	}
 	
+	@Test
+	public void getLastUpdated_shouldReturnDateChangedOfTask() {
+		Date result = dao.getLastUpdated(TASK_UUID);
+		
+		assertThat(result, notNullValue());
+		assertThat(result, equalTo(dao.get(TASK_UUID).getDateChanged()));
+	}
+	
+	@Test
+	public void getLastUpdated_shouldReturnNullForUnknownTask() {
+		assertThat(dao.getLastUpdated(USER_UUID), nullValue());
+	}
+	
+	@Test
+	public void getForUpdate_shouldReturnCurrentStateOfTask() {
+		FhirTask result = dao.getForUpdate(TASK_UUID);
+		
+		assertThat(result, notNullValue());
+		assertThat(dao.getLastUpdated(result), equalTo(dao.getLastUpdated(TASK_UUID)));
+	}
+	
+	@Test
+	public void claimTasks_shouldMoveRequestedTasksForOwnerToAccepted() throws Exception {
+		executeDataSet(TASK_OWNER_DATA_XML);
+		
+		List<FhirTask> result = dao.claimTasks(OWNER_TYPE, OWNER_UUID, 10);
+		
+		assertThat(result, contains(hasProperty("uuid", equalTo(REQUESTED_OWNER_TASK_UUID))));
+		assertThat(result.get(0).getStatus(), equalTo(FhirTask.TaskStatus.ACCEPTED));
+	}
+	
+	@Test
+	public void claimTasks_shouldRecordWhoClaimedTheTask() throws Exception {
+		executeDataSet(TASK_OWNER_DATA_XML);
+		
+		dao.claimTasks(OWNER_TYPE, OWNER_UUID, 10);
+		sessionFactory.getCurrentSession().flush();
+		sessionFactory.getCurrentSession().clear();
+		
+		FhirTask result = dao.get(REQUESTED_OWNER_TASK_UUID);
+		assertThat(result.getStatus(), equalTo(FhirTask.TaskStatus.ACCEPTED));
+		assertThat(result.getChangedBy(), equalTo(Context.getAuthenticatedUser()));
+		assertThat(result.getDateChanged(), notNullValue());
+	}
+	
+	@Test
+	public void claimTasks_shouldNotClaimTheSameTaskTwice() throws Exception {
+		executeDataSet(TASK_OWNER_DATA_XML);
+		
+		dao.claimTasks(OWNER_TYPE, OWNER_UUID, 10);
+		
+		assertThat(dao.claimTasks(OWNER_TYPE, OWNER_UUID, 10), empty());
+	}
+	
+	@Test
+	public void claimTasks_shouldReturnEmptyListForUnknownOwner() {
+		assertThat(dao.claimTasks(OWNER_TYPE, USER_UUID, 10), empty());
+	}
+	
+	@Test
+	public void supportsSkipLocked_shouldDetectDatabasesWithSkipLocked() {
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("MySQL", "8.0.21"), is(true));
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("MySQL", "5.5.5-10.6.4-MariaDB"), is(true));
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("PostgreSQL", "9.5"), is(true));
+	}
+	
+	@Test
+	public void supportsSkipLocked_shouldNotDetectDatabasesWithoutSkipLocked() {
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("MySQL", "8.0.0"), is(false));
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("MySQL", "5.5.5-10.3.27-MariaDB"), is(false));
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("PostgreSQL", "9.4.26"), is(false));
+		assertThat(FhirTaskDaoImpl.supportsSkipLocked("H2", "1.4.200 (2019-10-14)"), is(false));
+	}
+	
 	@Test
 	public void saveTask_shouldCreateNewTask() {
 		FhirTask newTask = new FhirTask();
@@ -0,0 +1,61 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Person;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class FhirUuidDaoImplTest extends BaseModuleContextSensitiveTest {
+	
+	private static final String PERSON_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	private static final String WRONG_PERSON_UUID = "1bad4a6e-cd06-4d9e-9b56-f5a4b3a0b1c5";
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	private FhirUuidDaoImpl dao;
+	
+	@Before
+	public void setup() {
+		dao = new FhirUuidDaoImpl();
+		dao.setSessionFactory(sessionFactory);
+	}
+	
+	@Test
+	public void getIds_shouldReturnIdsOfExistingObjects() {
+		Map<String, Integer> result = dao.getIds(Person.class, Arrays.asList(PERSON_UUID, WRONG_PERSON_UUID));
+		
+		assertThat(result.size(), equalTo(1));
+		assertThat(result, hasEntry(PERSON_UUID, 7));
+	}
+	
+	@Test
+	public void getIds_shouldReturnEmptyMapForUnknownUuids() {
+		assertThat(dao.getIds(Person.class, Collections.singleton(WRONG_PERSON_UUID)).isEmpty(), equalTo(true));
+	}
+}
@@ -134,7 +134,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null);
+		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -163,7 +163,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null);
+		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -192,7 +192,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null);
+		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -221,7 +221,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null);
+		IBundleProvider results = service.searchForAllergies(patientParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -246,7 +246,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(null, category, null, null, null, null);
+		IBundleProvider results = service.searchForAllergies(null, category, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -271,7 +271,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(null, null, allergen, null, null, null);
+		IBundleProvider results = service.searchForAllergies(null, null, allergen, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -296,7 +296,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(null, null, null, severity, null, null);
+		IBundleProvider results = service.searchForAllergies(null, null, null, severity, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -321,7 +321,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(null, null, null, null, manifestation, null);
+		IBundleProvider results = service.searchForAllergies(null, null, null, null, manifestation, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -345,7 +345,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
 		
-		IBundleProvider results = service.searchForAllergies(null, null, null, null, null, status);
+		IBundleProvider results = service.searchForAllergies(null, null, null, null, null, status, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
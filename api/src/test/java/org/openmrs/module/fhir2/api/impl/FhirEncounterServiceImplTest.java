@@ -123,7 +123,7 @@ public class FhirEncounterServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(dateRangeParam, null, null, null);
+		IBundleProvider results = encounterService.searchForEncounters(dateRangeParam, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -151,7 +151,7 @@ public class FhirEncounterServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(null, location, null, null);
+		IBundleProvider results = encounterService.searchForEncounters(null, location, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -180,7 +180,7 @@ public class FhirEncounterServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(null, null, participant, null);
+		IBundleProvider results = encounterService.searchForEncounters(null, null, participant, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -209,7 +209,7 @@ public class FhirEncounterServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(null, null, null, subject);
+		IBundleProvider results = encounterService.searchForEncounters(null, null, null, subject, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -136,7 +136,8 @@ public class FhirLocationServiceImplTest {
 		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
 		when(locationDao.search(any(), anyInt(), anyInt())).thenReturn(locations);
 		
-		IBundleProvider results = fhirLocationService.searchForLocations(null, null, null, null, null, null, null, null);
+		IBundleProvider results = fhirLocationService.searchForLocations(null, null, null, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
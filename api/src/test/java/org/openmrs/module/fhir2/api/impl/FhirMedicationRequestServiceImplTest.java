@@ -130,7 +130,8 @@ public class FhirMedicationRequestServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, participant, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, participant, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -159,7 +160,8 @@ public class FhirMedicationRequestServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(subject, null, null, null, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(subject, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -189,7 +191,8 @@ public class FhirMedicationRequestServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, null, medication);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, null, medication,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -215,7 +218,7 @@ public class FhirMedicationRequestServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, code, null, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, code, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -246,7 +249,8 @@ public class FhirMedicationRequestServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, encounter, null, null, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, encounter, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -95,9 +95,9 @@ public class FhirMedicationServiceImplTest {
 		TokenAndListParam code = new TokenAndListParam();
 		code.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(medicationDao.searchForMedications(argThat(equalTo(code)), isNull(), isNull(), isNull()))
+		when(medicationDao.searchForMedications(argThat(equalTo(code)), isNull(), isNull(), isNull(), isNull()))
 		        .thenReturn(medications);
-		Collection<Medication> result = fhirMedicationService.searchForMedications(code, null, null, null);
+		Collection<Medication> result = fhirMedicationService.searchForMedications(code, null, null, null, null);
 		assertThat(result.isEmpty(), equalTo(false));
 		assertThat(result.size(), greaterThanOrEqualTo(1));
 	}
@@ -110,9 +110,9 @@ public class FhirMedicationServiceImplTest {
 		TokenAndListParam dosageForm = new TokenAndListParam();
 		dosageForm.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(medicationDao.searchForMedications(isNull(), argThat(equalTo(dosageForm)), isNull(), isNull()))
+		when(medicationDao.searchForMedications(isNull(), argThat(equalTo(dosageForm)), isNull(), isNull(), isNull()))
 		        .thenReturn(medications);
-		Collection<Medication> result = fhirMedicationService.searchForMedications(null, dosageForm, null, null);
+		Collection<Medication> result = fhirMedicationService.searchForMedications(null, dosageForm, null, null, null);
 		assertThat(result.isEmpty(), equalTo(false));
 		assertThat(result.size(), greaterThanOrEqualTo(1));
 	}
@@ -125,9 +125,9 @@ public class FhirMedicationServiceImplTest {
 		TokenAndListParam ingredientCode = new TokenAndListParam();
 		ingredientCode.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(medicationDao.searchForMedications(isNull(), isNull(), argThat(equalTo(ingredientCode)), isNull()))
+		when(medicationDao.searchForMedications(isNull(), isNull(), argThat(equalTo(ingredientCode)), isNull(), isNull()))
 		        .thenReturn(medications);
-		Collection<Medication> result = fhirMedicationService.searchForMedications(null, null, ingredientCode, null);
+		Collection<Medication> result = fhirMedicationService.searchForMedications(null, null, ingredientCode, null, null);
 		assertThat(result.isEmpty(), equalTo(false));
 		assertThat(result.size(), greaterThanOrEqualTo(1));
 	}
@@ -140,9 +140,9 @@ public class FhirMedicationServiceImplTest {
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("inactive")));
 		
-		when(medicationDao.searchForMedications(isNull(), isNull(), isNull(), argThat(equalTo(status))))
+		when(medicationDao.searchForMedications(isNull(), isNull(), isNull(), argThat(equalTo(status)), isNull()))
 		        .thenReturn(medications);
-		Collection<Medication> result = fhirMedicationService.searchForMedications(null, null, null, status);
+		Collection<Medication> result = fhirMedicationService.searchForMedications(null, null, null, status, null);
 		assertThat(result.isEmpty(), equalTo(false));
 		assertThat(result.size(), greaterThanOrEqualTo(1));
 	}
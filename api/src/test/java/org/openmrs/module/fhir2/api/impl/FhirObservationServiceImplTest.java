@@ -10,6 +10,7 @@
 package org.openmrs.module.fhir2.api.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -17,27 +18,46 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceOrListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.IntegerType;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Quantity;
+import org.hl7.fhir.r4.model.Type;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Concept;
+import org.openmrs.ConceptNumeric;
 import org.openmrs.Obs;
+import org.openmrs.api.ConceptService;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.NumericObsSummary;
+import org.openmrs.module.fhir2.api.dao.NumericObsValue;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -47,6 +67,10 @@ public class FhirObservationServiceImplTest {
 	
 	private static final String PATIENT_GIVEN_NAME = "Clement";
 	
+	private static final String PATIENT_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	private static final String OTHER_PATIENT_UUID = "da7f524f-27ce-4bb2-86d6-6d1d05312bd5";
+	
 	@Mock
 	private FhirObservationDao dao;
 	
@@ -56,6 +80,12 @@ public class FhirObservationServiceImplTest {
 	@Mock
 	private ObservationTranslator translator;
 	
+	@Mock
+	private ConceptTranslator conceptTranslator;
+	
+	@Mock
+	private ConceptService conceptService;
+	
 	private FhirObservationServiceImpl fhirObservationService;
 	
 	@Before
@@ -64,6 +94,8 @@ public class FhirObservationServiceImplTest {
 		fhirObservationService.setDao(dao);
 		fhirObservationService.setSearchQuery(searchQuery);
 		fhirObservationService.setTranslator(translator);
+		fhirObservationService.setConceptTranslator(conceptTranslator);
+		fhirObservationService.setConceptService(conceptService);
 	}
 	
 	@Test
@@ -81,6 +113,122 @@ public class FhirObservationServiceImplTest {
 		assertThat(result.getId(), equalTo(OBS_UUID));
 	}
 	
+	@Test
+	public void getLastnObservations_shouldDefaultToTheLatestObservation() {
+		ArgumentCaptor<SearchParameterMap> params = ArgumentCaptor.forClass(SearchParameterMap.class);
+		
+		fhirObservationService.getLastnObservations(null, getPatientReference(), null, null);
+		
+		verify(searchQuery).getQueryResults(params.capture(), eq(dao), eq(translator));
+		assertThat(params.getValue().getParameters(FhirConstants.LASTN_OBSERVATION_SEARCH_HANDLER).get(0).getParam(),
+		    equalTo(1));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getLastnObservations_shouldRejectMaxLessThanOne() {
+		fhirObservationService.getLastnObservations(0, getPatientReference(), null, null);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getLastnObservations_shouldRequireASubject() {
+		fhirObservationService.getLastnObservations(null, null, null, null);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getStatistics_shouldRequireASubject() {
+		fhirObservationService.getStatistics(null, new TokenAndListParam().addAnd(new TokenParam("5242")), null, null,
+		    null);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getStatistics_shouldRejectSeveralPatients() {
+		ReferenceAndListParam patientReference = new ReferenceAndListParam().addAnd(new ReferenceOrListParam()
+		        .add(new ReferenceParam(PATIENT_UUID)).add(new ReferenceParam(OTHER_PATIENT_UUID)));
+		
+		fhirObservationService.getStatistics(patientReference, new TokenAndListParam().addAnd(new TokenParam("5242")),
+		    null, null, null);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getStatistics_shouldRejectChainedSubjects() {
+		ReferenceAndListParam patientReference = new ReferenceAndListParam()
+		        .addAnd(new ReferenceOrListParam().add(new ReferenceParam(Patient.SP_NAME, PATIENT_GIVEN_NAME)));
+		
+		fhirObservationService.getStatistics(patientReference, new TokenAndListParam().addAnd(new TokenParam("5242")),
+		    null, null, null);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getStatistics_shouldRejectUnknownIntervals() {
+		fhirObservationService.getStatistics(getPatientReference(), new TokenAndListParam().addAnd(new TokenParam("5242")),
+		    null, null, "year");
+	}
+	
+	@Test
+	public void getStatistics_shouldCombineDailySummariesIntoTheRequestedInterval() {
+		Concept concept = new Concept(5242);
+		// 2008-07-01 and 2008-07-03 fall in the same week
+		when(dao.getNumericObsSummaries(any())).thenReturn(
+		    Arrays.asList(new NumericObsSummary(concept, java.sql.Date.valueOf("2008-07-01"), 2, 30.0, 10.0, 20.0),
+		        new NumericObsSummary(concept, java.sql.Date.valueOf("2008-07-03"), 1, 60.0, 60.0, 60.0)));
+		when(conceptTranslator.toFhirResource(concept)).thenReturn(new CodeableConcept());
+		
+		Parameters result = fhirObservationService.getStatistics(getPatientReference(),
+		    new TokenAndListParam().addAnd(new TokenParam("5242")), null, null, "week");
+		
+		assertThat(result.getParameter(), hasSize(1));
+		
+		Observation statistics = (Observation) result.getParameterFirstRep().getResource();
+		assertThat(statistics.getSubject().getReference(), equalTo("Patient/" + PATIENT_UUID));
+		assertThat(statistics.getEffectivePeriod().getStartElement().getValueAsString(), equalTo("2008-06-30"));
+		assertThat(statistics.getEffectivePeriod().getEndElement().getValueAsString(), equalTo("2008-07-06"));
+		assertThat(((IntegerType) getStatistic(statistics, "count")).getValue(), equalTo(3));
+		assertThat(((Quantity) getStatistic(statistics, "average")).getValue().doubleValue(), closeTo(30.0, 0.0001));
+		assertThat(((Quantity) getStatistic(statistics, "minimum")).getValue().doubleValue(), closeTo(10.0, 0.0001));
+		assertThat(((Quantity) getStatistic(statistics, "maximum")).getValue().doubleValue(), closeTo(60.0, 0.0001));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getTimeSeries_shouldRejectMaxPointsBelowThree() {
+		fhirObservationService.getTimeSeries(getPatientReference(), new TokenAndListParam().addAnd(new TokenParam("5242")),
+		    null, 2);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void getTimeSeries_shouldRejectSeveralPatients() {
+		ReferenceAndListParam patientReference = getPatientReference()
+		        .addAnd(new ReferenceOrListParam().add(new ReferenceParam(OTHER_PATIENT_UUID)));
+		
+		fhirObservationService.getTimeSeries(patientReference, new TokenAndListParam().addAnd(new TokenParam("5242")),
+		    null, null);
+	}
+	
+	@Test
+	public void getTimeSeries_shouldReturnDownsampledSeriesForEachCode() {
+		ConceptNumeric concept = new ConceptNumeric(5242);
+		concept.setUnits("mmHg");
+		concept.setHiNormal(5.0);
+		
+		when(dao.getNumericObsValues(any())).thenReturn(Arrays.asList(new NumericObsValue(concept, new Date(1000L), 1.0),
+		    new NumericObsValue(concept, new Date(2000L), 1.0), new NumericObsValue(concept, new Date(3000L), 10.0),
+		    new NumericObsValue(concept, new Date(4000L), 1.0), new NumericObsValue(concept, new Date(5000L), 1.5)));
+		when(conceptService.getConceptNumeric(5242)).thenReturn(concept);
+		when(conceptTranslator.toFhirResource(concept)).thenReturn(new CodeableConcept());
+		
+		Parameters result = fhirObservationService.getTimeSeries(getPatientReference(),
+		    new TokenAndListParam().addAnd(new TokenParam("5242")), null, 3);
+		
+		assertThat(result.getParameter(), hasSize(1));
+		
+		Parameters.ParametersParameterComponent series = result.getParameterFirstRep();
+		assertThat(series.getName(), equalTo("series"));
+		assertThat(getPart(series, "unit"), equalTo("mmHg"));
+		assertThat(getPart(series, "total"), equalTo("5"));
+		assertThat(getPart(series, "time"), equalTo("1000 3000 5000"));
+		assertThat(getPart(series, "value"), equalTo("1 10 1.5"));
+		assertThat(getPart(series, "interpretation"), equalTo("N H N"));
+	}
+	
 	@Test
 	public void searchForObservations_shouldReturnObservationsByParameters() {
 		Obs obs = new Obs();
@@ -103,7 +251,7 @@ public class FhirObservationServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, translator));
 		
 		IBundleProvider results = fhirObservationService.searchForObservations(null, patientReference, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(results.size(), equalTo(1));
@@ -112,4 +260,18 @@ public class FhirObservationServiceImplTest {
 		assertThat(results.getResources(1, 10), not(empty()));
 		assertThat(results.getResources(1, 10), hasSize(equalTo(1)));
 	}
+	
+	private static ReferenceAndListParam getPatientReference() {
+		return new ReferenceAndListParam().addAnd(new ReferenceOrListParam().add(new ReferenceParam(PATIENT_UUID)));
+	}
+	
+	private static String getPart(Parameters.ParametersParameterComponent parameter, String name) {
+		return parameter.getPart().stream().filter(part -> name.equals(part.getName()))
+		        .map(part -> part.getValue().primitiveValue()).findFirst().orElse(null);
+	}
+	
+	private static Type getStatistic(Observation observation, String name) {
+		return observation.getComponent().stream().filter(c -> name.equals(c.getCode().getCodingFirstRep().getCode()))
+		        .map(Observation.ObservationComponentComponent::getValue).findFirst().orElse(null);
+	}
 }
@@ -12,6 +12,7 @@ package org.openmrs.module.fhir2.api.impl;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
@@ -19,6 +20,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -30,11 +33,14 @@ import java.util.Date;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
 import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.HumanName;
 import org.junit.Before;
@@ -46,10 +52,17 @@ import org.openmrs.Patient;
 import org.openmrs.PersonAddress;
 import org.openmrs.PersonName;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.dao.FhirDiagnosticReportDao;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
 import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.searchindex.FhirSearchIndex;
+import org.openmrs.module.fhir2.api.translators.DiagnosticReportTranslator;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientTranslator;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -98,6 +111,27 @@ public class FhirPatientServiceImplTest {
 	@Mock
 	private SearchQuery<Patient, org.hl7.fhir.r4.model.Patient, FhirPatientDao, PatientTranslator> searchQuery;
 	
+	@Mock
+	private FhirObservationDao observationDao;
+	
+	@Mock
+	private ObservationTranslator observationTranslator;
+	
+	@Mock
+	private FhirEncounterDao encounterDao;
+	
+	@Mock
+	private EncounterTranslator encounterTranslator;
+	
+	@Mock
+	private FhirDiagnosticReportDao diagnosticReportDao;
+	
+	@Mock
+	private DiagnosticReportTranslator diagnosticReportTranslator;
+	
+	@Mock
+	private FhirSearchIndex searchIndex;
+	
 	private FhirPatientServiceImpl patientService;
 	
 	private org.hl7.fhir.r4.model.Patient fhirPatient;
@@ -110,6 +144,12 @@ public class FhirPatientServiceImplTest {
 		patientService.setDao(dao);
 		patientService.setTranslator(patientTranslator);
 		patientService.setSearchQuery(searchQuery);
+		patientService.setObservationDao(observationDao);
+		patientService.setObservationTranslator(observationTranslator);
+		patientService.setEncounterDao(encounterDao);
+		patientService.setEncounterTranslator(encounterTranslator);
+		patientService.setDiagnosticReportDao(diagnosticReportDao);
+		patientService.setDiagnosticReportTranslator(diagnosticReportTranslator);
 		
 		PersonName name = new PersonName();
 		name.setFamilyName(PATIENT_FAMILY_NAME);
@@ -161,7 +201,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(stringAndListParam, null, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(results.size(), equalTo(1));
@@ -183,7 +223,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, stringAndListParam, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(results.size(), equalTo(1));
@@ -207,7 +247,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, stringAndListParam, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results.getUuid(), notNullValue());
 		assertThat(results.size(), equalTo(1));
@@ -229,7 +269,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, stringAndListParam, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -251,7 +291,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, stringAndListParam, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -269,7 +309,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(stringAndListParam, null, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), is(empty()));
@@ -287,7 +327,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, stringAndListParam, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), is(empty()));
@@ -304,7 +344,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, stringAndListParam, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), is(empty()));
@@ -323,7 +363,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, tokenAndListParam, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -340,7 +380,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, tokenAndListParam, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), is(empty()));
@@ -364,7 +404,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, dateRangeParam, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -382,7 +422,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, dateRangeParam, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), empty());
@@ -406,7 +446,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, dateRangeParam, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -424,7 +464,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, dateRangeParam, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), empty());
@@ -444,7 +484,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null,
-		    stringAndListParam, null, null, null, null);
+		    stringAndListParam, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -462,7 +502,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null,
-		    stringAndListParam, null, null, null, null);
+		    stringAndListParam, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), empty());
@@ -482,7 +522,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null, null,
-		    stringAndListParam, null, null, null);
+		    stringAndListParam, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -500,7 +540,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null, null,
-		    stringAndListParam, null, null, null);
+		    stringAndListParam, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), empty());
@@ -520,7 +560,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null, null,
-		    null, stringAndListParam, null, null);
+		    null, stringAndListParam, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -538,7 +578,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null, null,
-		    null, stringAndListParam, null, null);
+		    null, stringAndListParam, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(get(results), empty());
 	}
@@ -557,7 +597,7 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null, null,
-		    null, null, stringAndListParam, null);
+		    null, null, stringAndListParam, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), not(empty()));
@@ -575,12 +615,98 @@ public class FhirPatientServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
 		IBundleProvider results = patientService.searchForPatients(null, null, null, null, null, null, null, null, null,
-		    null, null, stringAndListParam, null);
+		    null, null, stringAndListParam, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(get(results), empty());
 	}
 	
+	@Test(expected = InvalidRequestException.class)
+	public void searchForPatientsByPhonetic_shouldRequireTheSearchIndex() {
+		patientService.searchForPatientsByPhonetic(new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME)),
+		    null, null, null, null);
+	}
+	
+	@Test
+	public void searchForPatientsByPhonetic_shouldSearchForPatientsByPhoneticName() {
+		patientService.setSearchIndex(searchIndex);
+		when(searchIndex.isQueryable()).thenReturn(true);
+		
+		StringAndListParam phonetic = new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME));
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
+		    FhirConstants.PHONETIC_PROPERTY, phonetic);
+		
+		when(dao.getResultCounts(any())).thenReturn(1L);
+		when(dao.search(any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(patient));
+		when(searchQuery.getQueryResults(any(), any(), any()))
+		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
+		
+		IBundleProvider results = patientService.searchForPatientsByPhonetic(phonetic, null, null, null, null);
+		
+		assertThat(results, notNullValue());
+		assertThat(get(results), hasSize(equalTo(1)));
+	}
+	
+	@Test
+	public void getPatientEverything_shouldReturnNullWhenPatientNotFound() {
+		assertThat(patientService.getPatientEverything(PATIENT_UUID, null, null, null), nullValue());
+	}
+	
+	@Test
+	public void getPatientEverything_shouldOnlyReturnRequestedTypes() {
+		when(dao.get(PATIENT_UUID)).thenReturn(patient);
+		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
+		
+		IBundleProvider results = patientService.getPatientEverything(PATIENT_UUID, null,
+		    new StringOrListParam().add(new StringParam("Patient")), 20);
+		
+		assertThat(results, notNullValue());
+		assertThat(results.size(), equalTo(1));
+		assertThat(results.preferredPageSize(), equalTo(20));
+		assertThat(get(results), hasSize(1));
+		verify(observationDao, never()).getResultCounts(any());
+		verify(encounterDao, never()).getResultCounts(any());
+	}
+	
+	@Test
+	public void getPatientEverything_shouldSearchCompartmentByPatientId() {
+		patient.setPatientId(1);
+		when(dao.get(PATIENT_UUID)).thenReturn(patient);
+		when(observationDao.getResultCounts(any())).thenReturn(3L);
+		
+		IBundleProvider results = patientService.getPatientEverything(PATIENT_UUID, null,
+		    new StringOrListParam().add(new StringParam("Observation")), null);
+		
+		assertThat(results.size(), equalTo(3));
+		verify(observationDao).getResultCounts(
+		    new SearchParameterMap().addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, patient.getPatientId()));
+	}
+	
+	@Test
+	public void getPatientEverything_shouldIncludeDiagnosticReports() {
+		patient.setPatientId(1);
+		when(dao.get(PATIENT_UUID)).thenReturn(patient);
+		when(diagnosticReportDao.getResultCounts(any())).thenReturn(2L);
+		
+		IBundleProvider results = patientService.getPatientEverything(PATIENT_UUID, null,
+		    new StringOrListParam().add(new StringParam("DiagnosticReport")), null);
+		
+		assertThat(results.size(), equalTo(2));
+		verify(diagnosticReportDao).getResultCounts(
+		    new SearchParameterMap().addParameter(FhirConstants.PATIENT_ID_SEARCH_HANDLER, patient.getPatientId()));
+	}
+	
+	@Test
+	public void getPatientEverything_shouldExcludePatientNotUpdatedSince() throws ParseException {
+		patient.setDateCreated(dateFormatter.parse(UNKNOWN_DATE));
+		when(dao.get(PATIENT_UUID)).thenReturn(patient);
+		
+		IBundleProvider results = patientService.getPatientEverything(PATIENT_UUID, new DateParam(DATE),
+		    new StringOrListParam().add(new StringParam("Patient")), null);
+		
+		assertThat(results.size(), equalTo(0));
+	}
+	
 	private List<IBaseResource> get(IBundleProvider results) {
 		return results.getResources(0, 10);
 	}
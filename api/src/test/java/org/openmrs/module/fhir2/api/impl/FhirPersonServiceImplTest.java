@@ -154,7 +154,7 @@ public class FhirPersonServiceImplTest {
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
 		IBundleProvider results = personService.searchForPeople(stringAndListParam, null, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -177,7 +177,7 @@ public class FhirPersonServiceImplTest {
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
 		IBundleProvider results = personService.searchForPeople(stringAndListParam, null, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -199,7 +199,7 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
 		IBundleProvider results = personService.searchForPeople(stringAndListParam, null, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -219,7 +219,8 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
-		IBundleProvider results = personService.searchForPeople(null, tokenAndListParam, null, null, null, null, null, null);
+		IBundleProvider results = personService.searchForPeople(null, tokenAndListParam, null, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -239,7 +240,8 @@ public class FhirPersonServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
-		IBundleProvider results = personService.searchForPeople(null, tokenAndListParam, null, null, null, null, null, null);
+		IBundleProvider results = personService.searchForPeople(null, tokenAndListParam, null, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -263,7 +265,8 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
-		IBundleProvider results = personService.searchForPeople(null, null, dateRangeParam, null, null, null, null, null);
+		IBundleProvider results = personService.searchForPeople(null, null, dateRangeParam, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -284,7 +287,8 @@ public class FhirPersonServiceImplTest {
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
-		IBundleProvider results = personService.searchForPeople(null, null, dateRangeParam, null, null, null, null, null);
+		IBundleProvider results = personService.searchForPeople(null, null, dateRangeParam, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -306,7 +310,7 @@ public class FhirPersonServiceImplTest {
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, stringAndListParam, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -328,7 +332,7 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, stringAndListParam, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -350,7 +354,7 @@ public class FhirPersonServiceImplTest {
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, null, stringAndListParam, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -372,7 +376,7 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, null, stringAndListParam, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -394,7 +398,7 @@ public class FhirPersonServiceImplTest {
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, null, null, stringAndListParam, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -416,7 +420,7 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, null, null, stringAndListParam, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -438,7 +442,7 @@ public class FhirPersonServiceImplTest {
 		when(personTranslator.toFhirResource(person)).thenReturn(fhirPerson);
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, null, null, null, stringAndListParam,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -460,7 +464,7 @@ public class FhirPersonServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, personTranslator));
 		
 		IBundleProvider results = personService.searchForPeople(null, null, null, null, null, null, stringAndListParam,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
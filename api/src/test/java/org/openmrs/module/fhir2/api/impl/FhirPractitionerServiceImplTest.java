@@ -116,7 +116,7 @@ public class FhirPractitionerServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
 		
-		IBundleProvider results = practitionerService.searchForPractitioners(name, null);
+		IBundleProvider results = practitionerService.searchForPractitioners(name, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -136,7 +136,7 @@ public class FhirPractitionerServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
 		
-		IBundleProvider results = practitionerService.searchForPractitioners(null, identifier);
+		IBundleProvider results = practitionerService.searchForPractitioners(null, identifier, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
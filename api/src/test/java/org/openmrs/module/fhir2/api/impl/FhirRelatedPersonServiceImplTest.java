@@ -153,10 +153,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(GIVEN_NAME)));
 		when(dao.searchRelationships(argThat(is(stringAndListParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(stringAndListParam, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), equalTo(1));
@@ -167,10 +167,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(PERSON_PARTIAL_NAME)));
 		when(dao.searchRelationships(argThat(is(stringAndListParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(stringAndListParam, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), equalTo(1));
@@ -181,10 +181,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NOT_FOUND_NAME)));
 		when(dao.searchRelationships(argThat(is(stringAndListParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(stringAndListParam, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), equalTo(1));
@@ -194,10 +194,10 @@ public class FhirRelatedPersonServiceImplTest {
 	public void searchForRelatedPeople_shouldReturnCollectionOfRelatedPersonWhenPersonGenderMatched() {
 		TokenAndListParam tokenAndListParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(dao.searchRelationships(isNull(), argThat(is(tokenAndListParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, tokenAndListParam, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), greaterThanOrEqualTo(1));
@@ -207,10 +207,10 @@ public class FhirRelatedPersonServiceImplTest {
 	public void searchForRelatedPeople_shouldReturnEmptyCollectionWhenRelatedPersonGenderNotMatched() {
 		TokenAndListParam tokenAndListParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(WRONG_GENDER));
 		when(dao.searchRelationships(isNull(), argThat(is(tokenAndListParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.emptyList());
+		    isNull(), isNull(), isNull())).thenReturn(Collections.emptyList());
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, tokenAndListParam, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, empty());
 	}
@@ -224,10 +224,10 @@ public class FhirRelatedPersonServiceImplTest {
 		DateRangeParam dateRangeParam = new DateRangeParam().setLowerBound(PERSON_BIRTH_DATE)
 		        .setUpperBound(PERSON_BIRTH_DATE);
 		when(dao.searchRelationships(isNull(), isNull(), argThat(is(dateRangeParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, dateRangeParam, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), greaterThanOrEqualTo(1));
@@ -238,10 +238,10 @@ public class FhirRelatedPersonServiceImplTest {
 		DateRangeParam dateRangeParam = new DateRangeParam().setLowerBound(NOT_FOUND_PERSON_BIRTH_DATE)
 		        .setUpperBound(NOT_FOUND_PERSON_BIRTH_DATE);
 		when(dao.searchRelationships(isNull(), isNull(), argThat(is(dateRangeParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull())).thenReturn(Collections.emptyList());
+		    isNull(), isNull())).thenReturn(Collections.emptyList());
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, dateRangeParam, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, empty());
 	}
@@ -251,10 +251,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), argThat(is(stringAndListParam)), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, stringAndListParam,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), greaterThanOrEqualTo(1));
@@ -265,10 +265,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NOT_ADDRESS_FIELD)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), argThat(is(stringAndListParam)), isNull(), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.emptyList());
+		    isNull(), isNull(), isNull())).thenReturn(Collections.emptyList());
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, stringAndListParam,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, empty());
 	}
@@ -278,10 +278,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), isNull(), argThat(is(stringAndListParam)), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, null,
-		    stringAndListParam, null, null, null);
+		    stringAndListParam, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), greaterThanOrEqualTo(1));
@@ -292,10 +292,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NOT_ADDRESS_FIELD)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), isNull(), argThat(is(stringAndListParam)), isNull(),
-		    isNull(), isNull())).thenReturn(Collections.emptyList());
+		    isNull(), isNull(), isNull())).thenReturn(Collections.emptyList());
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, null,
-		    stringAndListParam, null, null, null);
+		    stringAndListParam, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, empty());
 	}
@@ -305,10 +305,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(stringAndListParam)),
-		    isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
+		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, null, null,
-		    stringAndListParam, null, null);
+		    stringAndListParam, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), greaterThanOrEqualTo(1));
@@ -319,10 +319,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NOT_ADDRESS_FIELD)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(stringAndListParam)),
-		    isNull(), isNull())).thenReturn(Collections.emptyList());
+		    isNull(), isNull(), isNull())).thenReturn(Collections.emptyList());
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, null, null,
-		    stringAndListParam, null, null);
+		    stringAndListParam, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, empty());
 	}
@@ -332,10 +332,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(stringAndListParam)), isNull())).thenReturn(Collections.singletonList(relationship));
+		    argThat(is(stringAndListParam)), isNull(), isNull())).thenReturn(Collections.singletonList(relationship));
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, null, null, null,
-		    stringAndListParam, null);
+		    stringAndListParam, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, not(empty()));
 		assertThat(results.size(), greaterThanOrEqualTo(1));
@@ -346,10 +346,10 @@ public class FhirRelatedPersonServiceImplTest {
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NOT_ADDRESS_FIELD)));
 		when(dao.searchRelationships(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(stringAndListParam)), isNull())).thenReturn(Collections.emptyList());
+		    argThat(is(stringAndListParam)), isNull(), isNull())).thenReturn(Collections.emptyList());
 		
 		Collection<RelatedPerson> results = relatedPersonService.searchForRelatedPeople(null, null, null, null, null, null,
-		    stringAndListParam, null);
+		    stringAndListParam, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results, empty());
 	}
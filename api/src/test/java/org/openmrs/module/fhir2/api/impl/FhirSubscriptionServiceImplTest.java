@@ -0,0 +1,189 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ca.uhn.fhir.rest.server.exceptions.ForbiddenOperationException;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hl7.fhir.r4.model.Subscription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionPolicy;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionRegistry;
+import org.openmrs.module.fhir2.api.translators.SubscriptionTranslator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirSubscriptionServiceImplTest {
+	
+	private static final String SUBSCRIPTION_UUID = "1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10";
+	
+	private static final String CRITERIA = "Task?status=requested";
+	
+	private static final String ENDPOINT = "https://example.org/fhir-hook";
+	
+	@Mock
+	private FhirSubscriptionDao dao;
+	
+	@Mock
+	private SubscriptionTranslator translator;
+	
+	@Mock
+	private SubscriptionRegistry registry;
+	
+	@Mock
+	private SubscriptionPolicy policy;
+	
+	private FhirSubscriptionServiceImpl subscriptionService;
+	
+	private Subscription subscription;
+	
+	private FhirSubscription openmrsSubscription;
+	
+	@Before
+	public void setup() {
+		subscriptionService = new FhirSubscriptionServiceImpl();
+		subscriptionService.setDao(dao);
+		subscriptionService.setTranslator(translator);
+		subscriptionService.setRegistry(registry);
+		subscriptionService.setPolicy(policy);
+		
+		subscription = new Subscription();
+		subscription.setId(SUBSCRIPTION_UUID);
+		subscription.setCriteria(CRITERIA);
+		subscription.getChannel().setType(Subscription.SubscriptionChannelType.RESTHOOK).setEndpoint(ENDPOINT);
+		
+		openmrsSubscription = new FhirSubscription();
+		openmrsSubscription.setUuid(SUBSCRIPTION_UUID);
+	}
+	
+	@Test
+	public void create_shouldActivateSubscriptionAndInvalidateRegistry() {
+		subscription.setStatus(Subscription.SubscriptionStatus.REQUESTED);
+		when(translator.toOpenmrsType(subscription)).thenReturn(openmrsSubscription);
+		when(dao.createOrUpdate(openmrsSubscription)).thenReturn(openmrsSubscription);
+		when(translator.toFhirResource(openmrsSubscription)).thenReturn(subscription);
+		
+		Subscription result = subscriptionService.create(subscription);
+		
+		assertThat(result.getStatus(), equalTo(Subscription.SubscriptionStatus.ACTIVE));
+		verify(registry).invalidateAfterCommit();
+	}
+	
+	@Test
+	public void create_shouldNotActivateSubscriptionCreatedAsOff() {
+		subscription.setStatus(Subscription.SubscriptionStatus.OFF);
+		when(translator.toOpenmrsType(subscription)).thenReturn(openmrsSubscription);
+		when(dao.createOrUpdate(openmrsSubscription)).thenReturn(openmrsSubscription);
+		when(translator.toFhirResource(openmrsSubscription)).thenReturn(subscription);
+		
+		Subscription result = subscriptionService.create(subscription);
+		
+		assertThat(result.getStatus(), equalTo(Subscription.SubscriptionStatus.OFF));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void create_shouldRejectUnsupportedCriteria() {
+		subscription.setCriteria("Patient?name=John");
+		
+		try {
+			subscriptionService.create(subscription);
+		}
+		finally {
+			verify(dao, never()).createOrUpdate(any());
+		}
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void create_shouldRejectUnsupportedChannelType() {
+		subscription.getChannel().setType(Subscription.SubscriptionChannelType.EMAIL);
+		
+		subscriptionService.create(subscription);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void create_shouldRejectRestHookWithDisallowedEndpoint() {
+		subscription.getChannel().setEndpoint("ftp://example.org");
+		doThrow(new InvalidRequestException("Rest-hook subscriptions require an http or https endpoint")).when(policy)
+		        .validateEndpoint("ftp://example.org");
+		
+		try {
+			subscriptionService.create(subscription);
+		}
+		finally {
+			verify(dao, never()).createOrUpdate(any());
+		}
+	}
+	
+	@Test(expected = ForbiddenOperationException.class)
+	public void create_shouldRequirePrivilegeToManageSubscriptions() {
+		doThrow(new ForbiddenOperationException("Forbidden")).when(policy).checkCanManageSubscriptions();
+		
+		try {
+			subscriptionService.create(subscription);
+		}
+		finally {
+			verify(dao, never()).createOrUpdate(any());
+		}
+	}
+	
+	@Test(expected = ForbiddenOperationException.class)
+	public void delete_shouldRequirePrivilegeToManageSubscriptions() {
+		doThrow(new ForbiddenOperationException("Forbidden")).when(policy).checkCanManageSubscriptions();
+		
+		try {
+			subscriptionService.delete(SUBSCRIPTION_UUID);
+		}
+		finally {
+			verify(dao, never()).delete(any());
+		}
+	}
+	
+	@Test
+	public void create_shouldAllowWebSocketWithoutEndpoint() {
+		subscription.getChannel().setType(Subscription.SubscriptionChannelType.WEBSOCKET).setEndpoint(null);
+		when(translator.toOpenmrsType(subscription)).thenReturn(openmrsSubscription);
+		when(dao.createOrUpdate(openmrsSubscription)).thenReturn(openmrsSubscription);
+		when(translator.toFhirResource(openmrsSubscription)).thenReturn(subscription);
+		
+		assertThat(subscriptionService.create(subscription), equalTo(subscription));
+	}
+	
+	@Test
+	public void update_shouldInvalidateRegistry() {
+		when(dao.get(SUBSCRIPTION_UUID)).thenReturn(openmrsSubscription);
+		when(translator.toOpenmrsType(openmrsSubscription, subscription)).thenReturn(openmrsSubscription);
+		when(dao.createOrUpdate(openmrsSubscription)).thenReturn(openmrsSubscription);
+		when(translator.toFhirResource(openmrsSubscription)).thenReturn(subscription);
+		
+		assertThat(subscriptionService.update(SUBSCRIPTION_UUID, subscription), equalTo(subscription));
+		verify(registry).invalidateAfterCommit();
+	}
+	
+	@Test
+	public void delete_shouldInvalidateRegistry() {
+		when(dao.delete(SUBSCRIPTION_UUID)).thenReturn(openmrsSubscription);
+		when(translator.toFhirResource(openmrsSubscription)).thenReturn(subscription);
+		
+		assertThat(subscriptionService.delete(SUBSCRIPTION_UUID), equalTo(subscription));
+		verify(registry).invalidateAfterCommit();
+	}
+}
@@ -10,6 +10,7 @@
 package org.openmrs.module.fhir2.api.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
@@ -18,20 +19,30 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
+import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Reference;
 import org.hl7.fhir.r4.model.Task;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.module.fhir2.FhirTask;
@@ -64,6 +75,8 @@ public class FhirTaskServiceImplTest {
 	
 	private static final int END_INDEX = 10;
 	
+	private static final FhirContext FHIR_CONTEXT = FhirContext.forR4();
+	
 	@Mock
 	FhirTaskDao dao;
 	
@@ -81,6 +94,7 @@ public class FhirTaskServiceImplTest {
 		fhirTaskService.setDao(dao);
 		fhirTaskService.setTranslator(translator);
 		fhirTaskService.setSearchQuery(searchQuery);
+		fhirTaskService.setFhirContext(FHIR_CONTEXT);
 	}
 	
 	private List<IBaseResource> get(IBundleProvider results) {
@@ -155,6 +169,41 @@ public class FhirTaskServiceImplTest {
 		assertThat(result, equalTo(fhirTask));
 	}
 	
+	@Test(expected = PreconditionFailedException.class)
+	public void updateTask_shouldThrowPreconditionFailedIfVersionDoesNotMatch() {
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		when(dao.getForUpdate(TASK_UUID)).thenReturn(openmrsTask);
+		when(dao.getLastUpdated(openmrsTask)).thenReturn(new Date(2000L));
+		
+		fhirTaskService.update(TASK_UUID, fhirTask, "1000");
+	}
+	
+	@Test
+	public void getTask_shouldSetVersionIdFromLastUpdate() {
+		FhirTask task = new FhirTask();
+		task.setUuid(TASK_UUID);
+		
+		when(dao.get(TASK_UUID)).thenReturn(task);
+		when(dao.getLastUpdated(TASK_UUID)).thenReturn(new Date(1000L));
+		when(translator.toFhirResource(task)).thenReturn(new org.hl7.fhir.r4.model.Task());
+		
+		org.hl7.fhir.r4.model.Task result = fhirTaskService.get(TASK_UUID);
+		
+		assertThat(result.getMeta().getVersionId(), equalTo("1000"));
+	}
+	
+	@Test
+	public void getVersionId_shouldReturnVersionIdFromLastUpdated() {
+		when(dao.getLastUpdated(TASK_UUID)).thenReturn(new Date(2000L));
+		
+		assertThat(fhirTaskService.getVersionId(TASK_UUID), equalTo("2000"));
+	}
+	
 	@Test(expected = InvalidRequestException.class)
 	public void updateTask_shouldThrowInvalidRequestForUuidMismatch() {
 		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
@@ -180,6 +229,174 @@ public class FhirTaskServiceImplTest {
 		fhirTaskService.update(WRONG_TASK_UUID, fhirTask);
 	}
 	
+	@Test
+	public void patchTask_shouldOnlyMapChangedElements() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		openmrsTask.setStatus(OPENMRS_TASK_STATUS);
+		openmrsTask.setIntent(OPENMRS_TASK_INTENT);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		fhirTask.setStatus(FHIR_TASK_STATUS);
+		fhirTask.setIntent(FHIR_TASK_INTENT);
+		
+		org.hl7.fhir.r4.model.Task patchedTask = new org.hl7.fhir.r4.model.Task();
+		patchedTask.setId(TASK_UUID);
+		patchedTask.setStatus(FHIR_NEW_TASK_STATUS);
+		patchedTask.setIntent(FHIR_TASK_INTENT);
+		
+		ArgumentCaptor<org.hl7.fhir.r4.model.Task> changesCaptor = ArgumentCaptor
+		        .forClass(org.hl7.fhir.r4.model.Task.class);
+		
+		when(dao.get(TASK_UUID)).thenReturn(openmrsTask);
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask, patchedTask);
+		when(translator.toOpenmrsType(any(FhirTask.class), changesCaptor.capture())).thenReturn(openmrsTask);
+		when(dao.createOrUpdate(openmrsTask)).thenReturn(openmrsTask);
+		
+		org.hl7.fhir.r4.model.Task result = fhirTaskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH,
+		    "[{ \"op\": \"replace\", \"path\": \"/status\", \"value\": \"accepted\" }]");
+		
+		assertThat(result, equalTo(patchedTask));
+		assertThat(changesCaptor.getValue().getIdElement().getIdPart(), equalTo(TASK_UUID));
+		assertThat(changesCaptor.getValue().getStatus(), equalTo(FHIR_NEW_TASK_STATUS));
+		assertThat(changesCaptor.getValue().hasIntent(), equalTo(false));
+	}
+	
+	@Test
+	public void patchTask_shouldRemoveElementsRemovedByPatch() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		fhirTask.setStatus(FHIR_TASK_STATUS);
+		fhirTask.setOwner(new Reference("Practitioner/" + TASK_UUID));
+		
+		org.hl7.fhir.r4.model.Task patchedTask = new org.hl7.fhir.r4.model.Task();
+		patchedTask.setId(TASK_UUID);
+		patchedTask.setStatus(FHIR_TASK_STATUS);
+		
+		when(dao.get(TASK_UUID)).thenReturn(openmrsTask);
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask, patchedTask);
+		when(translator.toOpenmrsType(any(FhirTask.class), any(org.hl7.fhir.r4.model.Task.class))).thenReturn(openmrsTask);
+		when(dao.createOrUpdate(openmrsTask)).thenReturn(openmrsTask);
+		
+		org.hl7.fhir.r4.model.Task result = fhirTaskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH,
+		    "[{ \"op\": \"remove\", \"path\": \"/owner\" }]");
+		
+		assertThat(result, equalTo(patchedTask));
+		verify(translator).removeElement(openmrsTask, "owner");
+	}
+	
+	@Test(expected = UnprocessableEntityException.class)
+	public void patchTask_shouldRejectRemovingElementTranslatorCannotClear() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		fhirTask.setStatus(FHIR_TASK_STATUS);
+		
+		when(dao.get(TASK_UUID)).thenReturn(openmrsTask);
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask);
+		when(translator.toOpenmrsType(any(FhirTask.class), any(org.hl7.fhir.r4.model.Task.class))).thenReturn(openmrsTask);
+		when(dao.createOrUpdate(openmrsTask)).thenReturn(openmrsTask);
+		
+		fhirTaskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH, "[{ \"op\": \"remove\", \"path\": \"/status\" }]");
+	}
+	
+	@Test
+	public void patchTask_shouldNotWriteUnchangedTask() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		fhirTask.setStatus(FHIR_TASK_STATUS);
+		
+		when(dao.get(TASK_UUID)).thenReturn(openmrsTask);
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask);
+		
+		org.hl7.fhir.r4.model.Task result = fhirTaskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH,
+		    "[{ \"op\": \"test\", \"path\": \"/status\", \"value\": \"requested\" }]");
+		
+		assertThat(result, equalTo(fhirTask));
+		verify(dao, never()).createOrUpdate(any());
+	}
+	
+	@Test
+	public void patchTask_shouldPatchTaskIfVersionMatches() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		fhirTask.setStatus(FHIR_TASK_STATUS);
+		
+		when(dao.getForUpdate(TASK_UUID)).thenReturn(openmrsTask);
+		when(dao.getLastUpdated(openmrsTask)).thenReturn(new Date(1000L));
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask);
+		
+		org.hl7.fhir.r4.model.Task result = fhirTaskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH,
+		    "[{ \"op\": \"test\", \"path\": \"/status\", \"value\": \"requested\" }]", "1000");
+		
+		assertThat(result, equalTo(fhirTask));
+	}
+	
+	@Test(expected = PreconditionFailedException.class)
+	public void patchTask_shouldThrowPreconditionFailedIfVersionDoesNotMatch() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		
+		when(dao.getForUpdate(TASK_UUID)).thenReturn(openmrsTask);
+		when(dao.getLastUpdated(openmrsTask)).thenReturn(new Date(2000L));
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask);
+		
+		fhirTaskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH, "[]", "1000");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void patchTask_shouldThrowInvalidRequestForUnsupportedPatchType() {
+		fhirTaskService.patch(TASK_UUID, PatchTypeEnum.XML_PATCH, "{}");
+	}
+	
+	@Test(expected = MethodNotAllowedException.class)
+	public void patchTask_shouldThrowMethodNotAllowedIfTaskDoesNotExist() {
+		when(dao.get(WRONG_TASK_UUID)).thenReturn(null);
+		
+		fhirTaskService.patch(WRONG_TASK_UUID, PatchTypeEnum.JSON_PATCH, "[]");
+	}
+	
+	@Test
+	public void claimTasks_shouldReturnClaimedTasks() {
+		FhirTask openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		org.hl7.fhir.r4.model.Task fhirTask = new org.hl7.fhir.r4.model.Task();
+		fhirTask.setId(TASK_UUID);
+		
+		when(dao.claimTasks("Practitioner", WRONG_TASK_UUID, 5)).thenReturn(Collections.singletonList(openmrsTask));
+		when(translator.toFhirResource(openmrsTask)).thenReturn(fhirTask);
+		
+		assertThat(fhirTaskService.claimTasks("Practitioner", WRONG_TASK_UUID, 5), contains(fhirTask));
+	}
+	
+	@Test
+	public void claimTasks_shouldClaimOneTaskByDefault() {
+		when(dao.claimTasks("Practitioner", WRONG_TASK_UUID, 1)).thenReturn(Collections.emptyList());
+		
+		assertThat(fhirTaskService.claimTasks("Practitioner", WRONG_TASK_UUID, null), empty());
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void claimTasks_shouldThrowInvalidRequestForNonPositiveCount() {
+		fhirTaskService.claimTasks("Practitioner", WRONG_TASK_UUID, 0);
+	}
+	
 	@Test
 	public void searchForTasks_shouldReturnTasksByParameters() {
 		Collection<FhirTask> openmrsTasks = new ArrayList<>();
@@ -198,7 +415,7 @@ public class FhirTaskServiceImplTest {
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, translator));
 		when(translator.toFhirResource(openmrsTask)).thenReturn(task);
 		
-		IBundleProvider results = fhirTaskService.searchForTasks(null, null, null, null);
+		IBundleProvider results = fhirTaskService.searchForTasks(null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -0,0 +1,281 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.materialization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+
+import ca.uhn.fhir.context.FhirContext;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Concept;
+import org.openmrs.ConceptName;
+import org.openmrs.Location;
+import org.openmrs.Obs;
+import org.openmrs.Person;
+import org.openmrs.PersonName;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirResourceJson;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.dao.FhirResourceJsonDao;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MaterializedResourceStoreTest {
+	
+	private static final FhirContext FHIR_CONTEXT = FhirContext.forR4();
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String PERSON_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	private static final String OBS_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	private static final String PATIENT_GIVEN_NAME = "Jeannette";
+	
+	private static final Date DATE_CREATED = new Date(1346457600000L);
+	
+	private static final String VERSION_ID = "1346457600000";
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Mock
+	private FhirResourceJsonDao dao;
+	
+	@Mock
+	private FhirPatientDao patientDao;
+	
+	@Mock
+	private PatientTranslator patientTranslator;
+	
+	@Mock
+	private EncounterTranslator encounterTranslator;
+	
+	@Mock
+	private ObservationTranslator observationTranslator;
+	
+	@Captor
+	private ArgumentCaptor<Collection<String>> uuidsCaptor;
+	
+	private MaterializedResourceStore store;
+	
+	private org.openmrs.Patient openmrsPatient;
+	
+	private Patient patient;
+	
+	@Before
+	public void setup() {
+		store = new MaterializedResourceStore();
+		store.setGlobalPropertyService(globalPropertyService);
+		store.setDao(dao);
+		store.setPatientDao(patientDao);
+		store.setPatientTranslator(patientTranslator);
+		store.setEncounterTranslator(encounterTranslator);
+		store.setObservationTranslator(observationTranslator);
+		store.setFhirContext(FHIR_CONTEXT);
+		
+		openmrsPatient = new org.openmrs.Patient();
+		openmrsPatient.setUuid(PATIENT_UUID);
+		openmrsPatient.addName(new PersonName(PATIENT_GIVEN_NAME, null, "Ricky"));
+		
+		patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		patient.addName().addGiven(PATIENT_GIVEN_NAME);
+	}
+	
+	@Test
+	public void getResourceType_shouldOnlyReturnTypeForMaterializingTranslators() {
+		enableStore();
+		
+		assertThat(store.getResourceType(patientTranslator), equalTo(FhirConstants.PATIENT));
+		assertThat(store.getResourceType(observationTranslator), equalTo(FhirConstants.OBSERVATION));
+		assertThat(store.getResourceType(new Object()), nullValue());
+	}
+	
+	@Test
+	public void getResourceType_shouldReturnNullWhenDisabled() {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.MATERIALIZED_RESOURCES_ENABLED_PROPERTY, "false"))
+		        .thenReturn("false");
+		
+		assertThat(store.getResourceType(patientTranslator), nullValue());
+	}
+	
+	@Test
+	public void render_shouldEncodeTranslatedResourceWithVersion() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		
+		FhirResourceJson result = store.render(openmrsPatient);
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getResourceType(), equalTo(FhirConstants.PATIENT));
+		assertThat(result.getUuid(), equalTo(PATIENT_UUID));
+		assertThat(result.getVersionId(), equalTo(VERSION_ID));
+		assertThat(result.getLastUpdated(), equalTo(DATE_CREATED));
+	}
+	
+	@Test
+	public void read_shouldParseStoredJsonOfCurrentVersion() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		when(dao.get(FhirConstants.PATIENT, PATIENT_UUID)).thenReturn(store.render(openmrsPatient));
+		
+		IBaseResource result = store.read(FhirConstants.PATIENT, PATIENT_UUID, VERSION_ID);
+		
+		assertThat(result, instanceOf(Patient.class));
+		assertThat(((Patient) result).getNameFirstRep().getGivenAsSingleString(), equalTo(PATIENT_GIVEN_NAME));
+		assertThat(result.getMeta().getVersionId(), equalTo(VERSION_ID));
+	}
+	
+	@Test
+	public void read_shouldIgnoreStoredJsonOfOtherVersion() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		when(dao.get(FhirConstants.PATIENT, PATIENT_UUID)).thenReturn(store.render(openmrsPatient));
+		
+		assertThat(store.read(FhirConstants.PATIENT, PATIENT_UUID, "1346457600001"), nullValue());
+	}
+	
+	@Test
+	public void read_shouldOnlyReturnResourcesWithCurrentVersion() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		FhirResourceJson stored = store.render(openmrsPatient);
+		when(dao.get(FhirConstants.PATIENT, Collections.singleton(PATIENT_UUID)))
+		        .thenReturn(Collections.singletonList(stored));
+		
+		Map<String, IBaseResource> result = store.read(FhirConstants.PATIENT,
+		    Collections.singletonMap(PATIENT_UUID, VERSION_ID));
+		assertThat(result.keySet(), contains(PATIENT_UUID));
+		
+		result = store.read(FhirConstants.PATIENT, Collections.singletonMap(PATIENT_UUID, "1346457600001"));
+		assertThat(result.keySet(), empty());
+	}
+	
+	@Test
+	public void prepare_shouldRemoveAndRenderPatientWhenNameChanges() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		
+		assertThat(store.prepare(openmrsPatient.getNames(), Collections.emptyList()), hasSize(1));
+		
+		verify(dao).delete(eq(FhirConstants.PATIENT), uuidsCaptor.capture());
+		assertThat(uuidsCaptor.getValue(), contains(PATIENT_UUID));
+		verify(dao).deleteReferencing(openmrsPatient);
+	}
+	
+	@Test
+	public void prepare_shouldRemoveResourcesEmbeddingConceptWhenConceptNameChanges() {
+		Concept concept = new Concept();
+		ConceptName name = new ConceptName("Weight", Locale.ENGLISH);
+		concept.addName(name);
+		
+		assertThat(store.prepare(Collections.singletonList(name), Collections.emptyList()), empty());
+		
+		verify(dao).deleteReferencing(concept);
+		verify(dao, never()).delete(any(), any());
+	}
+	
+	@Test
+	public void prepare_shouldRemoveResourcesEmbeddingChangedLocation() {
+		Location location = new Location();
+		
+		assertThat(store.prepare(Collections.singletonList(location), Collections.emptyList()), empty());
+		
+		verify(dao).deleteReferencing(location);
+	}
+	
+	@Test
+	public void prepare_shouldOnlyRemovePersonWhichIsNotLoadedAsPatient() {
+		Person person = new Person();
+		person.setUuid(PERSON_UUID);
+		
+		assertThat(store.prepare(Collections.singletonList(person), Collections.emptyList()), empty());
+		
+		verify(dao).delete(eq(FhirConstants.PATIENT), uuidsCaptor.capture());
+		assertThat(uuidsCaptor.getValue(), contains(PERSON_UUID));
+		verify(patientTranslator, never()).toFhirResource(any());
+	}
+	
+	@Test
+	public void prepare_shouldNotRenderDeletedObjects() {
+		Obs obs = new Obs();
+		obs.setUuid(OBS_UUID);
+		
+		assertThat(store.prepare(Collections.singletonList(obs), Collections.singletonList(obs)), empty());
+		
+		verify(dao).delete(eq(FhirConstants.OBSERVATION), uuidsCaptor.capture());
+		assertThat(uuidsCaptor.getValue(), contains(OBS_UUID));
+		verify(observationTranslator, never()).toFhirResource(any());
+	}
+	
+	@Test
+	public void retainCurrent_shouldKeepJsonOfCurrentVersion() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		FhirResourceJson rendered = store.render(openmrsPatient);
+		when(patientDao.getLastUpdated(PATIENT_UUID)).thenReturn(DATE_CREATED);
+		
+		assertThat(store.retainCurrent(Collections.singletonList(rendered)), contains(rendered));
+	}
+	
+	@Test
+	public void retainCurrent_shouldDropJsonOfObjectChangedSinceItWasRendered() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		FhirResourceJson rendered = store.render(openmrsPatient);
+		when(patientDao.getLastUpdated(PATIENT_UUID)).thenReturn(new Date(DATE_CREATED.getTime() + 1000L));
+		
+		assertThat(store.retainCurrent(Collections.singletonList(rendered)), empty());
+	}
+	
+	@Test
+	public void retainCurrent_shouldDropJsonOfDeletedObject() {
+		when(patientDao.getLastUpdated(openmrsPatient)).thenReturn(DATE_CREATED);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		FhirResourceJson rendered = store.render(openmrsPatient);
+		when(patientDao.getLastUpdated(PATIENT_UUID)).thenReturn(null);
+		
+		assertThat(store.retainCurrent(Collections.singletonList(rendered)), empty());
+	}
+	
+	private void enableStore() {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.MATERIALIZED_RESOURCES_ENABLED_PROPERTY, "false"))
+		        .thenReturn("true");
+	}
+}
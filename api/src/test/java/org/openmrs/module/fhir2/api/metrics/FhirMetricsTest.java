@@ -0,0 +1,95 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.io.StringWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FhirMetricsTest {
+	
+	@Before
+	public void setup() {
+		FhirMetrics.reset();
+	}
+	
+	@After
+	public void tearDown() {
+		FhirMetrics.reset();
+	}
+	
+	@Test
+	public void shouldAttributePhasesToCurrentRequest() {
+		FhirMetrics.startRequest("Patient", "search-type");
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_DAO_SEARCH, System.nanoTime());
+		FhirMetrics.endRequest(FhirMetrics.OUTCOME_SUCCESS, 1_000_000L);
+		
+		LatencyHistogram phase = FhirMetrics.getPhaseHistogram("Patient", "search-type", FhirMetrics.PHASE_DAO_SEARCH);
+		assertThat(phase, notNullValue());
+		assertThat(phase.getCount(), equalTo(1L));
+		
+		LatencyHistogram request = FhirMetrics.getRequestHistogram("Patient", "search-type",
+		    FhirMetrics.OUTCOME_SUCCESS);
+		assertThat(request, notNullValue());
+		assertThat(request.getSumNanos(), equalTo(1_000_000L));
+	}
+	
+	@Test
+	public void shouldAttributePhasesOutsideRequestsToUnknown() {
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, System.nanoTime());
+		
+		assertThat(FhirMetrics.getPhaseHistogram("unknown", "unknown", FhirMetrics.PHASE_TRANSLATE), notNullValue());
+	}
+	
+	@Test
+	public void shouldRecordRepeatedPhasesOfRequestInOneHistogram() {
+		FhirMetrics.startRequest("Observation", "search-type");
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, System.nanoTime());
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, System.nanoTime());
+		FhirMetrics.endRequest(FhirMetrics.OUTCOME_SUCCESS, 1_000_000L);
+		
+		assertThat(FhirMetrics.getPhaseHistogram("Observation", "search-type", FhirMetrics.PHASE_TRANSLATE).getCount(),
+		    equalTo(2L));
+	}
+	
+	@Test
+	public void shouldRecordPhasesOutsideRequestsAfterReset() {
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, System.nanoTime());
+		FhirMetrics.reset();
+		FhirMetrics.recordPhase(FhirMetrics.PHASE_TRANSLATE, System.nanoTime());
+		
+		assertThat(FhirMetrics.getPhaseHistogram("unknown", "unknown", FhirMetrics.PHASE_TRANSLATE).getCount(),
+		    equalTo(1L));
+	}
+	
+	@Test
+	public void shouldWriteMetricsInPrometheusFormat() throws Exception {
+		FhirMetrics.startRequest(null, "$metrics");
+		FhirMetrics.endRequest(FhirMetrics.OUTCOME_SUCCESS, 2_000_000L);
+		
+		StringWriter writer = new StringWriter();
+		FhirMetrics.writePrometheus(writer);
+		String result = writer.toString();
+		
+		assertThat(result, containsString("# TYPE fhir2_request_duration_seconds histogram\n"));
+		String labels = "resource=\"system\",operation=\"$metrics\",outcome=\"success\"";
+		assertThat(result, containsString("fhir2_request_duration_seconds_bucket{" + labels + ",le=\"0.001\"} 0\n"));
+		assertThat(result, containsString("fhir2_request_duration_seconds_bucket{" + labels + ",le=\"0.0025\"} 1\n"));
+		assertThat(result, containsString("fhir2_request_duration_seconds_count{" + labels + "} 1\n"));
+		assertThat(result, containsString("# TYPE fhir2_phase_duration_seconds histogram\n"));
+	}
+}
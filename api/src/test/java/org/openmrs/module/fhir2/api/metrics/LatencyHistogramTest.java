@@ -0,0 +1,65 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+	
+	private static final long MILLIS = 1_000_000L;
+	
+	private LatencyHistogram histogram;
+	
+	@Before
+	public void setup() {
+		histogram = new LatencyHistogram();
+	}
+	
+	@Test
+	public void shouldCountValuesIntoCumulativeBuckets() {
+		histogram.record(MILLIS);
+		histogram.record(3 * MILLIS);
+		histogram.record(60_000 * MILLIS);
+		
+		long[] cumulativeCounts = histogram.getCumulativeCounts();
+		
+		assertThat(cumulativeCounts[0], equalTo(0L));
+		assertThat(cumulativeCounts[1], equalTo(1L));
+		assertThat(cumulativeCounts[2], equalTo(1L));
+		assertThat(cumulativeCounts[3], equalTo(2L));
+		assertThat(cumulativeCounts[LatencyHistogram.BUCKET_BOUNDS_NANOS.length - 1], equalTo(2L));
+		assertThat(cumulativeCounts[LatencyHistogram.BUCKET_BOUNDS_NANOS.length], equalTo(3L));
+		assertThat(histogram.getCount(), equalTo(3L));
+		assertThat(histogram.getSumNanos(), equalTo(60_004 * MILLIS));
+	}
+	
+	@Test
+	public void shouldEstimatePercentilesFromBuckets() {
+		for (int i = 0; i < 95; i++) {
+			histogram.record(MILLIS / 2);
+		}
+		for (int i = 0; i < 5; i++) {
+			histogram.record(200 * MILLIS);
+		}
+		
+		assertThat(histogram.getValueAtPercentile(50), equalTo(MILLIS / 2));
+		assertThat(histogram.getValueAtPercentile(95), equalTo(MILLIS / 2));
+		assertThat(histogram.getValueAtPercentile(99), equalTo(250 * MILLIS));
+	}
+	
+	@Test
+	public void shouldReturnZeroPercentileWhenEmpty() {
+		assertThat(histogram.getValueAtPercentile(99), equalTo(0L));
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryCountingInterceptorTest {
+	
+	private static final String SQL = "select * from obs where obs_id=?";
+	
+	private QueryCountingInterceptor interceptor;
+	
+	@Before
+	public void setup() {
+		interceptor = new QueryCountingInterceptor();
+	}
+	
+	@After
+	public void tearDown() {
+		QueryStatistics.stop();
+	}
+	
+	@Test
+	public void shouldCountStatementsAndLoadsForCurrentRequest() {
+		QueryStatistics statistics = QueryStatistics.start();
+		
+		assertThat(interceptor.onPrepareStatement(SQL), equalTo(SQL));
+		interceptor.onLoad(new Object(), 1, null, null, null);
+		
+		assertThat(statistics.getStatementCount(), equalTo(1));
+		assertThat(statistics.getEntityLoadCount(), equalTo(1));
+	}
+	
+	@Test
+	public void shouldPassStatementsThroughOutsideRequests() {
+		assertThat(interceptor.onPrepareStatement(SQL), equalTo(SQL));
+	}
+}
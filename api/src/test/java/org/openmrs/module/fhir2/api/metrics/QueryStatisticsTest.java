@@ -0,0 +1,65 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class QueryStatisticsTest {
+	
+	private static final String NAME_QUERY = "select * from person_name where person_id=?";
+	
+	@After
+	public void tearDown() {
+		QueryStatistics.stop();
+	}
+	
+	@Test
+	public void shouldOnlyCollectStatisticsWhileStarted() {
+		assertThat(QueryStatistics.current(), nullValue());
+		
+		QueryStatistics statistics = QueryStatistics.start();
+		
+		assertThat(QueryStatistics.current(), sameInstance(statistics));
+		assertThat(QueryStatistics.stop(), sameInstance(statistics));
+		assertThat(QueryStatistics.current(), nullValue());
+	}
+	
+	@Test
+	public void getShape_shouldCollapseInListsAndWhitespace() {
+		assertThat(QueryStatistics.getShape("select * from obs  where obs_id in (?, ?,?)\n and voided=?"),
+		    equalTo("select * from obs where obs_id in (?) and voided=?"));
+	}
+	
+	@Test
+	public void getRepeatedStatements_shouldReturnStatementsRunMoreThanThreshold() {
+		QueryStatistics statistics = QueryStatistics.start();
+		for (int i = 0; i < 5; i++) {
+			statistics.recordStatement(NAME_QUERY);
+		}
+		statistics.recordStatement("select * from patient where patient_id in (?, ?)");
+		statistics.recordStatement("select * from patient where patient_id in (?, ?, ?)");
+		statistics.recordStatement("select * from concept where concept_id=?");
+		
+		Map<String, Integer> result = statistics.getRepeatedStatements(1);
+		
+		assertThat(statistics.getStatementCount(), equalTo(8));
+		assertThat(result.keySet(), contains(NAME_QUERY, "select * from patient where patient_id in (?)"));
+		assertThat(result.get(NAME_QUERY), equalTo(5));
+	}
+}
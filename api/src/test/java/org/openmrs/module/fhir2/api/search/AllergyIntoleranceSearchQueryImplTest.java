@@ -35,9 +35,11 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.AllergyIntolerance;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.Allergy;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirAllergyIntoleranceDao;
@@ -115,6 +117,9 @@ public class AllergyIntoleranceSearchQueryImplTest extends BaseModuleContextSens
 	@Autowired
 	private SearchQuery<Allergy, AllergyIntolerance, FhirAllergyIntoleranceDao, AllergyIntoleranceTranslator> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Autowired
 	private FhirGlobalPropertyService globalPropertyService;
 	
@@ -760,4 +765,17 @@ public class AllergyIntoleranceSearchQueryImplTest extends BaseModuleContextSens
 		    equalTo(PATIENT_UUID));
 	}
 	
+	@Test
+	public void searchForAllergies_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.ALLERGY);
+		
+		queryCount.assertStatementsPerResult(0, StatementBudgetData.PAGE_SIZE, "AllergyIntolerance search",
+		    pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import org.exparity.hamcrest.date.DateMatchers;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CompositeBundleProviderTest {
+	
+	@Mock
+	private IBundleProvider patientProvider;
+	
+	@Mock
+	private IBundleProvider encounterProvider;
+	
+	@Mock
+	private IBundleProvider observationProvider;
+	
+	private CompositeBundleProvider compositeBundleProvider;
+	
+	private Patient patient;
+	
+	private Encounter encounter;
+	
+	private Observation observation;
+	
+	@Before
+	public void setup() {
+		patient = new Patient();
+		encounter = new Encounter();
+		observation = new Observation();
+		
+		compositeBundleProvider = new CompositeBundleProvider(
+		        Arrays.asList(patientProvider, encounterProvider, observationProvider), 10);
+	}
+	
+	@Test
+	public void shouldReturnSumOfSizes() {
+		setupSizes();
+		assertThat(compositeBundleProvider.size(), equalTo(6));
+	}
+	
+	@Test
+	public void shouldCountOnTheCallingThread() {
+		Thread caller = Thread.currentThread();
+		when(patientProvider.size()).thenAnswer(invocation -> Thread.currentThread() == caller ? 1 : 0);
+		when(encounterProvider.size()).thenAnswer(invocation -> Thread.currentThread() == caller ? 2 : 0);
+		when(observationProvider.size()).thenAnswer(invocation -> Thread.currentThread() == caller ? 3 : 0);
+		
+		assertThat(compositeBundleProvider.size(), equalTo(6));
+	}
+	
+	@Test
+	public void shouldReturnPreferredPageSize() {
+		assertThat(compositeBundleProvider.preferredPageSize(), equalTo(10));
+	}
+	
+	@Test
+	public void shouldGetDatePublished() {
+		assertThat(compositeBundleProvider.getPublished(), notNullValue());
+		assertThat(compositeBundleProvider.getPublished().getValue(), DateMatchers.sameDay(new Date()));
+	}
+	
+	@Test
+	public void shouldReturnRandomUuid() {
+		assertThat(compositeBundleProvider.getUuid(), notNullValue());
+	}
+	
+	@Test
+	public void getResources_shouldOnlyLoadProvidersOverlappingTheRequestedPage() {
+		setupSizes();
+		
+		when(encounterProvider.getResources(1, 2)).thenReturn(Collections.singletonList(encounter));
+		when(observationProvider.getResources(0, 1)).thenReturn(Collections.singletonList(observation));
+		
+		List<IBaseResource> resources = compositeBundleProvider.getResources(2, 4);
+		
+		assertThat(resources, contains(encounter, observation));
+		verify(patientProvider, never()).getResources(anyInt(), anyInt());
+	}
+	
+	@Test
+	public void getResources_shouldReturnResourcesFromAllProvidersInOrder() {
+		setupSizes();
+		
+		when(patientProvider.getResources(0, 1)).thenReturn(Collections.singletonList(patient));
+		when(encounterProvider.getResources(0, 2)).thenReturn(Arrays.asList(encounter, encounter));
+		when(observationProvider.getResources(0, 3)).thenReturn(Arrays.asList(observation, observation, observation));
+		
+		List<IBaseResource> resources = compositeBundleProvider.getResources(0, 10);
+		
+		assertThat(resources, contains(patient, encounter, encounter, observation, observation, observation));
+	}
+	
+	@Test
+	public void getResources_shouldReturnEmptyListWhenPageIsPastTheEnd() {
+		setupSizes();
+		assertThat(compositeBundleProvider.getResources(10, 20), empty());
+	}
+	
+	private void setupSizes() {
+		when(patientProvider.size()).thenReturn(1);
+		when(encounterProvider.size()).thenReturn(2);
+		when(observationProvider.size()).thenReturn(3);
+	}
+}
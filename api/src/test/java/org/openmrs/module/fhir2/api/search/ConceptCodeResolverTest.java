@@ -0,0 +1,158 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirTestConstants;
+import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConceptCodeResolverTest {
+	
+	private static final String SYSTOLIC_BP = "8480-6";
+	
+	private static final String DIASTOLIC_BP = "8462-4";
+	
+	@Mock
+	private FhirConceptSourceDao conceptSourceDao;
+	
+	private final AtomicLong nanos = new AtomicLong();
+	
+	private ConceptCodeResolver resolver;
+	
+	@Before
+	public void setup() {
+		resolver = new ConceptCodeResolver(new Ticker() {
+			
+			@Override
+			public long read() {
+				return nanos.get();
+			}
+		});
+		resolver.setConceptSourceDao(conceptSourceDao);
+	}
+	
+	@Test
+	public void getConceptIds_shouldResolveCodesToConceptIds() {
+		Map<String, Set<Integer>> mappings = new HashMap<>();
+		mappings.put(SYSTOLIC_BP, Collections.singleton(5085));
+		mappings.put(DIASTOLIC_BP, new HashSet<>(Arrays.asList(5086, 5087)));
+		when(conceptSourceDao.getMappedConceptIds(FhirTestConstants.LOINC_SYSTEM_URL,
+		    Arrays.asList(SYSTOLIC_BP, DIASTOLIC_BP))).thenReturn(mappings);
+		
+		Set<Integer> result = resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL,
+		    Arrays.asList(SYSTOLIC_BP, DIASTOLIC_BP));
+		
+		assertThat(result, containsInAnyOrder(5085, 5086, 5087));
+	}
+	
+	@Test
+	public void getConceptIds_shouldOnlyLookUpCodesOnce() {
+		when(conceptSourceDao.getMappedConceptIds(FhirTestConstants.LOINC_SYSTEM_URL,
+		    Collections.singletonList(SYSTOLIC_BP)))
+		            .thenReturn(Collections.singletonMap(SYSTOLIC_BP, Collections.singleton(5085)));
+		
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		Set<Integer> result = resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL,
+		    Collections.singletonList(SYSTOLIC_BP));
+		
+		assertThat(result, containsInAnyOrder(5085));
+		verify(conceptSourceDao, times(1)).getMappedConceptIds(anyString(), any());
+	}
+	
+	@Test
+	public void getConceptIds_shouldRememberCodesWithoutMappings() {
+		when(conceptSourceDao.getMappedConceptIds(anyString(), any())).thenReturn(Collections.emptyMap());
+		
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		Set<Integer> result = resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL,
+		    Collections.singletonList(SYSTOLIC_BP));
+		
+		assertThat(result, empty());
+		verify(conceptSourceDao, times(1)).getMappedConceptIds(anyString(), any());
+	}
+	
+	@Test
+	public void getConceptIds_shouldLookUpCodesWithoutMappingsAgainSoon() {
+		when(conceptSourceDao.getMappedConceptIds(anyString(), any())).thenReturn(Collections.emptyMap());
+		
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(ConceptCodeResolver.UNMAPPED_EXPIRY_SECONDS));
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		
+		verify(conceptSourceDao, times(2)).getMappedConceptIds(anyString(), any());
+	}
+	
+	@Test
+	public void getConceptIds_shouldLookUpResolvedCodesAgainOnceExpired() {
+		when(conceptSourceDao.getMappedConceptIds(anyString(), any()))
+		        .thenReturn(Collections.singletonMap(SYSTOLIC_BP, Collections.singleton(5085)));
+		
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(ConceptCodeResolver.UNMAPPED_EXPIRY_SECONDS));
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		verify(conceptSourceDao, times(1)).getMappedConceptIds(anyString(), any());
+		
+		nanos.addAndGet(TimeUnit.MINUTES.toNanos(ConceptCodeResolver.EXPIRY_MINUTES));
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		verify(conceptSourceDao, times(2)).getMappedConceptIds(anyString(), any());
+	}
+	
+	@Test
+	public void getConceptIds_shouldResolveCodesWhichOnlyDifferInCaseSeparately() {
+		when(conceptSourceDao.getMappedConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList("la6576-8")))
+		        .thenReturn(Collections.emptyMap());
+		when(conceptSourceDao.getMappedConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList("LA6576-8")))
+		        .thenReturn(Collections.singletonMap("LA6576-8", Collections.singleton(5085)));
+		
+		Set<Integer> result = resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL,
+		    Arrays.asList("la6576-8", "LA6576-8"));
+		
+		assertThat(result, containsInAnyOrder(5085));
+		assertThat(resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList("la6576-8")),
+		    empty());
+		verify(conceptSourceDao, times(2)).getMappedConceptIds(anyString(), any());
+	}
+	
+	@Test
+	public void invalidateAll_shouldForgetResolvedCodes() {
+		when(conceptSourceDao.getMappedConceptIds(anyString(), any())).thenReturn(Collections.emptyMap());
+		
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		resolver.invalidateAll();
+		resolver.getConceptIds(FhirTestConstants.LOINC_SYSTEM_URL, Collections.singletonList(SYSTOLIC_BP));
+		
+		verify(conceptSourceDao, times(2)).getMappedConceptIds(anyString(), any());
+	}
+}
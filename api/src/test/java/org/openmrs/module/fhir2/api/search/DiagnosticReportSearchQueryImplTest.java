@@ -35,9 +35,11 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.DiagnosticReport;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.Obs;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirDiagnosticReportDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -98,6 +100,9 @@ public class DiagnosticReportSearchQueryImplTest extends BaseModuleContextSensit
 	@Autowired
 	SearchQuery<Obs, DiagnosticReport, FhirDiagnosticReportDao, DiagnosticReportTranslator> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Before
 	public void setup() throws Exception {
 		executeDataSet(DATA_XML);
@@ -701,4 +706,17 @@ public class DiagnosticReportSearchQueryImplTest extends BaseModuleContextSensit
 		return results;
 	}
 	
+	@Test
+	public void searchForDiagnosticReports_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.DIAGNOSTIC_REPORT);
+		
+		// the identifiers of the subject of each report are still loaded one subject at a time
+		queryCount.assertStatementsPerResult(1, StatementBudgetData.PAGE_SIZE, "DiagnosticReport search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
@@ -30,8 +30,10 @@ import org.hl7.fhir.r4.model.Encounter;
 import org.hl7.fhir.r4.model.Location;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Practitioner;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -104,6 +106,9 @@ public class EncounterSearchQueryImplTest extends BaseModuleContextSensitiveTest
 	@Autowired
 	SearchQuery<org.openmrs.Encounter, Encounter, FhirEncounterDao, EncounterTranslator> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	private List<IBaseResource> get(IBundleProvider results) {
 		return results.getResources(START_INDEX, END_INDEX);
 	}
@@ -1080,4 +1085,17 @@ public class EncounterSearchQueryImplTest extends BaseModuleContextSensitiveTest
 		assertThat(resultList, not(empty()));
 		assertThat(resultList.size(), greaterThanOrEqualTo(1));
 	}
+	
+	@Test
+	public void searchForEncounters_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.ENCOUNTER);
+		
+		queryCount.assertStatementsPerResult(0, StatementBudgetData.PAGE_SIZE, "Encounter search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
@@ -36,8 +36,10 @@ import ca.uhn.fhir.rest.param.TokenOrListParam;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Location;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirLocationDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -98,6 +100,9 @@ public class LocationSearchQueryImplTest extends BaseModuleContextSensitiveTest
 	@Autowired
 	SearchQuery<org.openmrs.Location, Location, FhirLocationDao, LocationTranslator> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	private static final int START_INDEX = 0;
 	
 	private static final int END_INDEX = 10;
@@ -511,4 +516,18 @@ public class LocationSearchQueryImplTest extends BaseModuleContextSensitiveTest
 		
 		return locationList;
 	}
+	
+	@Test
+	public void searchForLocations_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.LOCATION);
+		
+		// the attributes of each location are still loaded one location at a time
+		queryCount.assertStatementsPerResult(1, StatementBudgetData.PAGE_SIZE, "Location search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
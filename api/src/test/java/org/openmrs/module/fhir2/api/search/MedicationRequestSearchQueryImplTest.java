@@ -34,10 +34,12 @@ import org.hl7.fhir.r4.model.MedicationRequest;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Practitioner;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.DrugOrder;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.FhirTestConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirMedicationRequestDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -106,9 +108,17 @@ public class MedicationRequestSearchQueryImplTest extends BaseModuleContextSensi
 	@Autowired
 	private SearchQuery<DrugOrder, MedicationRequest, FhirMedicationRequestDao, MedicationRequestTranslator> searchQuery;
 	
+	@Autowired
+	private ConceptCodeResolver conceptCodeResolver;
+	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Before
 	public void setup() throws Exception {
 		executeDataSet(MEDICATION_REQUEST_DATA_XML);
+		// the data set is loaded behind Hibernate's back, so mappings resolved by other tests may be stale
+		conceptCodeResolver.invalidateAll();
 	}
 	
 	@Test
@@ -979,4 +989,17 @@ public class MedicationRequestSearchQueryImplTest extends BaseModuleContextSensi
 		return results.getResources(0, 10);
 	}
 	
+	@Test
+	public void searchForMedicationRequests_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.DRUG_ORDER);
+		
+		queryCount.assertStatementsPerResult(0, StatementBudgetData.PAGE_SIZE, "MedicationRequest search",
+		    pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
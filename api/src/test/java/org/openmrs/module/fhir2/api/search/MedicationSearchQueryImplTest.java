@@ -0,0 +1,57 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import org.hl7.fhir.r4.model.Medication;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openmrs.Drug;
+import org.openmrs.module.fhir2.QueryCountRule;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.dao.FhirMedicationDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.MedicationTranslator;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class MedicationSearchQueryImplTest extends BaseModuleContextSensitiveTest {
+	
+	@Autowired
+	private FhirMedicationDao dao;
+	
+	@Autowired
+	private MedicationTranslator translator;
+	
+	@Autowired
+	private SearchQuery<Drug, Medication, FhirMedicationDao, MedicationTranslator> searchQuery;
+	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
+	private IBundleProvider search(SearchParameterMap theParams) {
+		return searchQuery.getQueryResults(theParams, dao, translator);
+	}
+	
+	@Test
+	public void searchForMedications_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.DRUG);
+		
+		queryCount.assertStatementsPerResult(0, StatementBudgetData.PAGE_SIZE, "Medication search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
+}
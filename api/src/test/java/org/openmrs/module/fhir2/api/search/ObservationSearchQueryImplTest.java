@@ -10,6 +10,7 @@
 package org.openmrs.module.fhir2.api.search;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
@@ -23,6 +24,7 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.startsWith;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import ca.uhn.fhir.rest.api.SortOrderEnum;
@@ -45,13 +47,20 @@ import ca.uhn.fhir.rest.param.TokenParam;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.Obs;
+import org.openmrs.Person;
+import org.openmrs.PersonName;
+import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.FhirTestConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.FhirObservationService;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
@@ -64,10 +73,18 @@ public class ObservationSearchQueryImplTest extends BaseModuleContextSensitiveTe
 	
 	private static final String OBS_DATA_XML = "org/openmrs/module/fhir2/api/dao/impl/FhirObservationDaoImplTest_initial_data_suppl.xml";
 	
+	private static final String CONCEPT_NUMERIC_XML = "org/openmrs/module/fhir2/api/search/ObservationSearchQueryImplTest_concept_numeric.xml";
+	
 	private static final String OBS_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
 	
 	private static final String OBS_GROUP_UUID = "4efa62d2-6b8b-4803-a8fa-3f32ee54db4f";
 	
+	private static final String LATEST_OBS_UUID = "942ec003-a55d-43c4-ac7a-bd6d1ba63381";
+	
+	private static final String SECOND_LATEST_OBS_UUID = "86sgf-1f7d-4394-a316-0a458edf28c3";
+	
+	private static final String LASTN_CONCEPT_ID = "5242";
+	
 	private static final String OBS_CONCEPT_ID = "5089";
 	
 	private static final String OBS_CONCEPT_UUID = "c607c80f-1ea9-4da3-bb88-6276ce8868dd";
@@ -136,9 +153,20 @@ public class ObservationSearchQueryImplTest extends BaseModuleContextSensitiveTe
 	@Autowired
 	private SearchQuery<Obs, Observation, FhirObservationDao, ObservationTranslator> searchQuery;
 	
+	@Autowired
+	private ConceptCodeResolver conceptCodeResolver;
+	
+	@Autowired
+	private FhirObservationService observationService;
+	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Before
 	public void setup() throws Exception {
 		executeDataSet(OBS_DATA_XML);
+		// the data set is loaded behind Hibernate's back, so mappings resolved by other tests may be stale
+		conceptCodeResolver.invalidateAll();
 	}
 	
 	@Test
@@ -405,6 +433,28 @@ public class ObservationSearchQueryImplTest extends BaseModuleContextSensitiveTe
 		assertThat(resultList, empty());
 	}
 	
+	@Test
+	public void searchForObs_shouldNotReturnDuplicatesForPatientsWithSeveralMatchingNames() {
+		Person person = Context.getPersonService().getPersonByUuid(PATIENT_UUID);
+		person.addName(new PersonName(PATIENT_GIVEN_NAME, null, PATIENT_FAMILY_NAME));
+		Context.getPersonService().savePerson(person);
+		Context.flushSession();
+		
+		ReferenceAndListParam patientReference = new ReferenceAndListParam().addAnd(
+		    new ReferenceOrListParam().add(new ReferenceParam().setValue(PATIENT_FAMILY_NAME).setChain(Patient.SP_FAMILY)));
+		
+		SearchParameterMap theParams = new SearchParameterMap();
+		theParams.addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference);
+		
+		IBundleProvider results = search(theParams);
+		List<IBaseResource> resources = results.getResources(0, results.size());
+		
+		assertThat(resources, not(empty()));
+		assertThat(resources, hasSize(results.size()));
+		assertThat(resources.stream().map(resource -> resource.getIdElement().getIdPart()).distinct().count(),
+		    equalTo((long) resources.size()));
+	}
+	
 	@Test
 	public void searchForObs_shouldReturnObsByPatientFamilyName() {
 		ReferenceAndListParam patientReference = new ReferenceAndListParam().addAnd(
@@ -1164,6 +1214,90 @@ public class ObservationSearchQueryImplTest extends BaseModuleContextSensitiveTe
 		assertThat(resources, hasItem(hasProperty("id", equalTo(OBS_VALUE_CONCEPT_UUID))));
 	}
 	
+	@Test
+	public void searchForObs_shouldSearchForObsById() {
+		TokenAndListParam id = new TokenAndListParam()
+		        .addAnd(new TokenOrListParam().add(new TokenParam(OBS_UUID)).add(new TokenParam(OBS_GROUP_UUID)));
+		
+		SearchParameterMap theParams = new SearchParameterMap();
+		theParams.addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY, id);
+		
+		IBundleProvider results = search(theParams);
+		
+		assertThat(results, notNullValue());
+		assertThat(results.size(), equalTo(2));
+		assertThat(get(results).stream().map(r -> r.getIdElement().getIdPart()).collect(Collectors.toList()),
+		    containsInAnyOrder(OBS_UUID, OBS_GROUP_UUID));
+	}
+	
+	@Test
+	public void searchForObs_shouldSearchForObsByLongListOfIds() {
+		TokenOrListParam ids = new TokenOrListParam();
+		for (int i = 0; i < 2500; i++) {
+			ids.add(new TokenParam(UUID.randomUUID().toString()));
+		}
+		ids.add(new TokenParam(OBS_UUID));
+		
+		SearchParameterMap theParams = new SearchParameterMap();
+		theParams.addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY,
+		    new TokenAndListParam().addAnd(ids));
+		
+		IBundleProvider results = search(theParams);
+		
+		assertThat(results.size(), equalTo(1));
+		assertThat(get(results), hasItem(hasProperty("id", equalTo(OBS_UUID))));
+	}
+	
+	@Test
+	public void searchForObs_shouldReturnLatestObsForEachConcept() {
+		IBundleProvider results = search(getLastnParams(1));
+		
+		assertThat(results.size(), equalTo(1));
+		assertThat(get(results), hasItem(hasProperty("id", equalTo(LATEST_OBS_UUID))));
+	}
+	
+	@Test
+	public void searchForObs_shouldReturnLatestMaxObsForEachConcept() {
+		IBundleProvider results = search(getLastnParams(2));
+		
+		assertThat(results.size(), equalTo(2));
+		assertThat(get(results).stream().map(r -> r.getIdElement().getIdPart()).collect(Collectors.toList()),
+		    containsInAnyOrder(LATEST_OBS_UUID, SECOND_LATEST_OBS_UUID));
+	}
+	
+	@Test
+	public void getTimeSeries_shouldReturnUnitsAndInterpretationsOfNumericConcepts() throws Exception {
+		executeDataSet(CONCEPT_NUMERIC_XML);
+		
+		ReferenceAndListParam patientReference = new ReferenceAndListParam()
+		        .addAnd(new ReferenceOrListParam().add(new ReferenceParam().setValue(PATIENT_UUID)));
+		TokenAndListParam code = new TokenAndListParam().addAnd(new TokenParam(LASTN_CONCEPT_ID));
+		
+		Parameters result = observationService.getTimeSeries(patientReference, code, null, null);
+		
+		assertThat(result.getParameter(), hasSize(1));
+		
+		Parameters.ParametersParameterComponent series = result.getParameterFirstRep();
+		assertThat(getPart(series, "unit"), equalTo("breaths/min"));
+		assertThat(getPart(series, "value"), equalTo("14 134 100.001 0.007 100 10"));
+		assertThat(getPart(series, "interpretation"), equalTo("N HH HH LL HH L"));
+	}
+	
+	private SearchParameterMap getLastnParams(int max) {
+		ReferenceAndListParam patientReference = new ReferenceAndListParam()
+		        .addAnd(new ReferenceOrListParam().add(new ReferenceParam().setValue(PATIENT_UUID)));
+		TokenAndListParam code = new TokenAndListParam().addAnd(new TokenParam(LASTN_CONCEPT_ID));
+		
+		return new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER, code)
+		        .addParameter(FhirConstants.LASTN_OBSERVATION_SEARCH_HANDLER, max);
+	}
+	
+	private static String getPart(Parameters.ParametersParameterComponent parameter, String name) {
+		return parameter.getPart().stream().filter(part -> name.equals(part.getName()))
+		        .map(part -> part.getValue().primitiveValue()).findFirst().orElse(null);
+	}
+	
 	private IBundleProvider search(SearchParameterMap theParams) {
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
@@ -1171,4 +1305,18 @@ public class ObservationSearchQueryImplTest extends BaseModuleContextSensitiveTe
 	private List<IBaseResource> get(IBundleProvider results) {
 		return results.getResources(START_INDEX, END_INDEX);
 	}
+	
+	@Test
+	public void searchForObservations_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.OBSERVATION);
+		
+		// the identifiers of the subject of each observation are still loaded one subject at a time
+		queryCount.assertStatementsPerResult(1, StatementBudgetData.PAGE_SIZE, "Observation search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
@@ -40,8 +40,10 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -106,6 +108,9 @@ public class PatientSearchQueryImplTest extends BaseModuleContextSensitiveTest {
 	@Autowired
 	private SearchQuery<org.openmrs.Patient, org.hl7.fhir.r4.model.Patient, FhirPatientDao, PatientTranslator> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	private static final int START_INDEX = 0;
 	
 	private static final int END_INDEX = 10;
@@ -600,4 +605,17 @@ public class PatientSearchQueryImplTest extends BaseModuleContextSensitiveTest {
 		}
 	}
 	
+	@Test
+	public void searchForPatients_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.PATIENT);
+		
+		// the attributes of each patient are still loaded one patient at a time
+		queryCount.assertStatementsPerResult(1, StatementBudgetData.PAGE_SIZE, "Patient search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
@@ -47,9 +47,11 @@ import org.hamcrest.comparator.ComparatorMatcherBuilder;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.HumanName;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.Person;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirPersonDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -130,6 +132,9 @@ public class PersonSearchQueryImplTest extends BaseModuleContextSensitiveTest {
 	@Autowired
 	private SearchQuery<Person, org.hl7.fhir.r4.model.Person, FhirPersonDao, PersonTranslator> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	private List<IBaseResource> get(IBundleProvider results) {
 		return results.getResources(START_INDEX, END_INDEX);
 	}
@@ -538,4 +543,18 @@ public class PersonSearchQueryImplTest extends BaseModuleContextSensitiveTest {
 		return peopleList;
 	}
 	
+	@Test
+	public void searchForPeople_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.PATIENT);
+		
+		// the attributes of each person and the identifiers of the patient they are, if any, are still loaded
+		// one person at a time
+		queryCount.assertStatementsPerResult(2, StatementBudgetData.PAGE_SIZE, "Person search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
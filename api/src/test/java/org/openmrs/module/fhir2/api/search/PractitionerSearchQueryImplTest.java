@@ -29,9 +29,11 @@ import ca.uhn.fhir.rest.param.TokenOrListParam;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Practitioner;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.Provider;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirPractitionerDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -68,6 +70,9 @@ public class PractitionerSearchQueryImplTest extends BaseModuleContextSensitiveT
 	@Autowired
 	private SearchQuery<Provider, Practitioner, FhirPractitionerDao, PractitionerTranslator<Provider>> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Before
 	public void setUp() throws Exception {
 		executeDataSet(PRACTITIONER_INITIAL_DATA_XML);
@@ -164,4 +169,17 @@ public class PractitionerSearchQueryImplTest extends BaseModuleContextSensitiveT
 		assertThat(resultList.iterator().next().getIdElement().getIdPart(), equalTo(PRACTITIONER_UUID));
 	}
 	
+	@Test
+	public void searchForPractitioners_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.PROVIDER);
+		
+		// the attributes of each provider are still loaded one provider at a time
+		queryCount.assertStatementsPerResult(1, StatementBudgetData.PAGE_SIZE, "Practitioner search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
@@ -0,0 +1,80 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Person;
+import org.openmrs.Provider;
+import org.openmrs.module.fhir2.api.dao.FhirUuidDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceIdResolverTest {
+	
+	private static final String PERSON_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	@Mock
+	private FhirUuidDao uuidDao;
+	
+	private ReferenceIdResolver resolver;
+	
+	@Before
+	public void setup() {
+		resolver = new ReferenceIdResolver();
+		resolver.setUuidDao(uuidDao);
+	}
+	
+	@Test
+	public void getId_shouldOnlyLookUpResolvedUuidsOnce() {
+		when(uuidDao.getIds(Person.class, Collections.singleton(PERSON_UUID)))
+		        .thenReturn(Collections.singletonMap(PERSON_UUID, 7));
+		
+		resolver.getId(Person.class, PERSON_UUID);
+		Integer result = resolver.getId(Person.class, PERSON_UUID);
+		
+		assertThat(result, equalTo(7));
+		verify(uuidDao, times(1)).getIds(eq(Person.class), any());
+	}
+	
+	@Test
+	public void getId_shouldNotRememberUnknownUuids() {
+		when(uuidDao.getIds(eq(Person.class), any())).thenReturn(Collections.emptyMap());
+		
+		resolver.getId(Person.class, PERSON_UUID);
+		Integer result = resolver.getId(Person.class, PERSON_UUID);
+		
+		assertThat(result, nullValue());
+		verify(uuidDao, times(2)).getIds(eq(Person.class), any());
+	}
+	
+	@Test
+	public void getId_shouldKeepIdsOfDifferentTypesApart() {
+		when(uuidDao.getIds(Person.class, Collections.singleton(PERSON_UUID)))
+		        .thenReturn(Collections.singletonMap(PERSON_UUID, 7));
+		when(uuidDao.getIds(Provider.class, Collections.singleton(PERSON_UUID))).thenReturn(Collections.emptyMap());
+		
+		assertThat(resolver.getId(Person.class, PERSON_UUID), equalTo(7));
+		assertThat(resolver.getId(Provider.class, PERSON_UUID), nullValue());
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import org.hl7.fhir.r4.model.RelatedPerson;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openmrs.Relationship;
+import org.openmrs.module.fhir2.QueryCountRule;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.dao.FhirRelatedPersonDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.RelatedPersonTranslator;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class RelatedPersonSearchQueryImplTest extends BaseModuleContextSensitiveTest {
+	
+	@Autowired
+	private FhirRelatedPersonDao dao;
+	
+	@Autowired
+	private RelatedPersonTranslator translator;
+	
+	@Autowired
+	private SearchQuery<Relationship, RelatedPerson, FhirRelatedPersonDao, RelatedPersonTranslator> searchQuery;
+	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
+	private IBundleProvider search(SearchParameterMap theParams) {
+		return searchQuery.getQueryResults(theParams, dao, translator);
+	}
+	
+	@Test
+	public void searchForRelatedPeople_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.RELATIONSHIP);
+		
+		// the identifiers of the patient each relationship points to are still loaded one patient at a time
+		queryCount.assertStatementsPerResult(1, StatementBudgetData.PAGE_SIZE, "RelatedPerson search", pageSize -> () -> {
+			IBundleProvider results = search(theParams);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
+}
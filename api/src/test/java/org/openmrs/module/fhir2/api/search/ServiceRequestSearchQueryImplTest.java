@@ -9,12 +9,16 @@
  */
 package org.openmrs.module.fhir2.api.search;
 
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import org.hl7.fhir.r4.model.ServiceRequest;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openmrs.TestOrder;
+import org.openmrs.module.fhir2.QueryCountRule;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirServiceRequestDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ServiceRequestTranslator;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +38,9 @@ public class ServiceRequestSearchQueryImplTest extends BaseModuleContextSensitiv
 	@Autowired
 	private SearchQuery<TestOrder, ServiceRequest, FhirServiceRequestDao<TestOrder>, ServiceRequestTranslator<TestOrder>> searchQuery;
 	
+	@Rule
+	public QueryCountRule queryCount = new QueryCountRule();
+	
 	@Before
 	public void setup() throws Exception {
 		executeDataSet(TEST_ORDER_INITIAL_DATA);
@@ -44,4 +51,17 @@ public class ServiceRequestSearchQueryImplTest extends BaseModuleContextSensitiv
 		
 	}
 	
+	@Test
+	public void searchForServiceRequests_shouldStayWithinStatementBudget() throws Exception {
+		executeDataSet(StatementBudgetData.DATA_XML);
+		
+		SearchParameterMap theParams = StatementBudgetData.searchFor(StatementBudgetData.TEST_ORDER);
+		
+		// the tasks based on each order are still searched once for its status and once for its performer
+		queryCount.assertStatementsPerResult(2, StatementBudgetData.PAGE_SIZE, "ServiceRequest search", pageSize -> () -> {
+			IBundleProvider results = searchQuery.getQueryResults(theParams, dao, translator);
+			results.size();
+			return results.getResources(0, pageSize);
+		});
+	}
 }
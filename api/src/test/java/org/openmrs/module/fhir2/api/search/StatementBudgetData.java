@@ -0,0 +1,85 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.QueryCountRule;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+
+/**
+ * Describes {@link #DATA_XML}, the rows used by the statement budget tests of the search queries.
+ * The data set holds more results of each resource type than fit on a page of {@link #PAGE_SIZE},
+ * so that {@link QueryCountRule#assertStatementsPerResult} sees a statement run for each result as
+ * one statement per result. A page of five already runs such a statement four times more than a
+ * page of one, which is more than the margin the rule allows. The uuids of each type are generated
+ * from the prefix of that type.
+ */
+public final class StatementBudgetData {
+	
+	public static final String DATA_XML = "org/openmrs/module/fhir2/api/search/StatementBudgetData.xml";
+	
+	public static final int PAGE_SIZE = 5;
+	
+	public static final String PATIENT = "5b000001";
+	
+	public static final String PROVIDER = "5b000003";
+	
+	public static final String LOCATION = "5b000004";
+	
+	public static final String ENCOUNTER = "5b000005";
+	
+	public static final String OBSERVATION = "5b000006";
+	
+	public static final String DIAGNOSTIC_REPORT = "5b000007";
+	
+	public static final String DRUG = "5b000008";
+	
+	public static final String RELATIONSHIP = "5b000009";
+	
+	public static final String ALLERGY = "5b00000a";
+	
+	public static final String DRUG_ORDER = "5b00000b";
+	
+	public static final String TEST_ORDER = "5b00000c";
+	
+	public static final String TASK = "5b00000d";
+	
+	public static final String CONDITION = "5b00000e";
+	
+	private static final int SIZE = 6;
+	
+	private StatementBudgetData() {
+	}
+	
+	/**
+	 * @param type the uuid prefix of a resource type, e.g., {@link #PATIENT}
+	 * @return the ids of all resources of that type in the data set
+	 */
+	public static TokenAndListParam ids(String type) {
+		TokenOrListParam ids = new TokenOrListParam();
+		for (int i = 1; i <= SIZE; i++) {
+			ids.add(new TokenParam(String.format("%s-0000-4000-8000-%012d", type, i)));
+		}
+		
+		return new TokenAndListParam().addAnd(ids);
+	}
+	
+	/**
+	 * @param type the uuid prefix of a resource type, e.g., {@link #PATIENT}
+	 * @return a search for all resources of that type in the data set
+	 */
+	public static SearchParameterMap searchFor(String type) {
+		return new SearchParameterMap().addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY,
+		    ids(type));
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.searchindex;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+public class SearchNameIndexTest {
+	
+	@Test
+	public void normalize_shouldRemoveAccentsAndCase() {
+		assertThat(SearchNameIndex.normalize(" Zo\u00eb Hern\u00e1ndez "), equalTo("zoe hernandez"));
+	}
+	
+	@Test
+	public void normalize_shouldReturnNullForBlankNames() {
+		assertThat(SearchNameIndex.normalize(" "), nullValue());
+	}
+	
+	@Test
+	public void getGrams_shouldReturnDistinctGramsOfAllNames() {
+		assertThat(SearchNameIndex.getGrams("anna", null, "nan"), contains("ann", "nna", "nan"));
+	}
+	
+	@Test
+	public void getPhoneticCodes_shouldReturnTheSameCodesForNamesThatSoundAlike() {
+		assertThat(SearchNameIndex.getPhoneticCodes("jeannette", "smith"), contains("JNT", "ANT", "SM0", "XMT"));
+		assertThat(SearchNameIndex.getPhoneticCodes("jeanet smyth"), contains("JNT", "ANT", "SM0", "XMT"));
+	}
+}
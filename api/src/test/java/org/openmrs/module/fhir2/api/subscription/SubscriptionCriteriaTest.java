@@ -0,0 +1,130 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Coding;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SubscriptionCriteriaTest {
+	
+	private static final String OBSERVATION_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	private static final String CONCEPT_UUID = "5089AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+	
+	private static final String LOINC_SYSTEM = "http://loinc.org";
+	
+	private static final String PATIENT_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	private static final String PRACTITIONER_UUID = "7f8aec9d-8269-4bb4-8bc5-1820bb31092c";
+	
+	private Observation observation;
+	
+	@Before
+	public void setup() {
+		observation = new Observation();
+		observation.setId(OBSERVATION_UUID);
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		observation.setCode(new CodeableConcept().addCoding(new Coding().setCode(CONCEPT_UUID))
+		        .addCoding(new Coding(LOINC_SYSTEM, "5089-8", null)));
+		observation.setSubject(new Reference("Patient/" + PATIENT_UUID));
+	}
+	
+	@Test
+	public void parse_shouldParseResourceType() {
+		assertThat(SubscriptionCriteria.parse("Observation?code=" + CONCEPT_UUID).getResourceType(),
+		    equalTo("Observation"));
+	}
+	
+	@Test
+	public void matches_shouldMatchResourceWithoutParameters() {
+		assertThat(SubscriptionCriteria.parse("Observation").matches(observation), equalTo(true));
+	}
+	
+	@Test
+	public void matches_shouldNotMatchResourceOfOtherType() {
+		assertThat(SubscriptionCriteria.parse("Encounter").matches(observation), equalTo(false));
+	}
+	
+	@Test
+	public void matches_shouldMatchTokenWithAndWithoutSystem() {
+		assertThat(SubscriptionCriteria.parse("Observation?code=" + CONCEPT_UUID).matches(observation), equalTo(true));
+		assertThat(SubscriptionCriteria.parse("Observation?code=http%3A%2F%2Floinc.org%7C5089-8").matches(observation),
+		    equalTo(true));
+		assertThat(SubscriptionCriteria.parse("Observation?code=http://loinc.org|1234-5").matches(observation),
+		    equalTo(false));
+	}
+	
+	@Test
+	public void matches_shouldMatchReferencesWithAndWithoutType() {
+		assertThat(SubscriptionCriteria.parse("Observation?subject=Patient/" + PATIENT_UUID).matches(observation),
+		    equalTo(true));
+		assertThat(SubscriptionCriteria.parse("Observation?patient=" + PATIENT_UUID).matches(observation), equalTo(true));
+		assertThat(SubscriptionCriteria.parse("Observation?subject=Group/" + PATIENT_UUID).matches(observation),
+		    equalTo(false));
+	}
+	
+	@Test
+	public void matches_shouldTreatCommaSeparatedValuesAsOr() {
+		assertThat(SubscriptionCriteria.parse("Observation?status=preliminary,final").matches(observation),
+		    equalTo(true));
+	}
+	
+	@Test
+	public void matches_shouldRequireAllParametersToMatch() {
+		assertThat(
+		    SubscriptionCriteria.parse("Observation?status=final&subject=Patient/" + PRACTITIONER_UUID).matches(observation),
+		    equalTo(false));
+	}
+	
+	@Test
+	public void matches_shouldMatchTaskStatusAndOwner() {
+		Task task = new Task();
+		task.setStatus(Task.TaskStatus.REQUESTED);
+		task.setOwner(new Reference("Practitioner/" + PRACTITIONER_UUID));
+		
+		assertThat(SubscriptionCriteria.parse("Task?status=requested&owner=Practitioner/" + PRACTITIONER_UUID)
+		        .matches(task),
+		    equalTo(true));
+		assertThat(SubscriptionCriteria.parse("Task?status=accepted").matches(task), equalTo(false));
+	}
+	
+	@Test
+	public void matches_shouldMatchEncounterSubject() {
+		Encounter encounter = new Encounter();
+		encounter.setSubject(new Reference("Patient/" + PATIENT_UUID));
+		
+		assertThat(SubscriptionCriteria.parse("Encounter?patient=" + PATIENT_UUID).matches(encounter), equalTo(true));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void parse_shouldRejectUnsupportedResourceType() {
+		SubscriptionCriteria.parse("Patient?name=John");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void parse_shouldRejectUnsupportedParameter() {
+		SubscriptionCriteria.parse("Observation?value-quantity=5");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void parse_shouldRejectEmptyCriteria() {
+		SubscriptionCriteria.parse(" ");
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirSubscription;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionDeliveryExecutorTest {
+	
+	private static final String SUBSCRIPTION_UUID = "1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10";
+	
+	@Mock
+	private SubscriptionChannel restHookChannel;
+	
+	private SubscriptionDeliveryExecutor deliveryExecutor;
+	
+	private SubscriptionNotification notification;
+	
+	@Before
+	public void setup() {
+		deliveryExecutor = new SubscriptionDeliveryExecutor();
+		deliveryExecutor.setChannels(Collections.singletonList(restHookChannel));
+		
+		notification = new SubscriptionNotification(SUBSCRIPTION_UUID, FhirSubscription.ChannelType.REST_HOOK,
+		        "https://example.org/fhir-hook", Collections.emptyList(), null, null);
+	}
+	
+	@After
+	public void tearDown() {
+		deliveryExecutor.shutdown();
+	}
+	
+	@Test
+	public void deliver_shouldDeliverNotificationThroughMatchingChannel() throws Exception {
+		when(restHookChannel.getChannelType()).thenReturn(FhirSubscription.ChannelType.REST_HOOK);
+		
+		assertThat(deliveryExecutor.deliver(notification, 1), equalTo(true));
+		verify(restHookChannel).deliver(notification);
+	}
+	
+	@Test
+	public void deliver_shouldReturnFalseWhenNoChannelMatches() {
+		when(restHookChannel.getChannelType()).thenReturn(FhirSubscription.ChannelType.WEBSOCKET);
+		
+		assertThat(deliveryExecutor.deliver(notification, 1), equalTo(false));
+	}
+	
+	@Test
+	public void deliver_shouldReturnFalseWhenDeliveryFails() throws Exception {
+		when(restHookChannel.getChannelType()).thenReturn(FhirSubscription.ChannelType.REST_HOOK);
+		doThrow(new IOException("Connection refused")).when(restHookChannel).deliver(notification);
+		
+		assertThat(deliveryExecutor.deliver(notification, SubscriptionDeliveryExecutor.MAX_ATTEMPTS), equalTo(false));
+	}
+	
+	@Test
+	public void getBackoffMillis_shouldDoubleBackoffUpToMaximum() {
+		assertThat(SubscriptionDeliveryExecutor.getBackoffMillis(1), equalTo(1000L));
+		assertThat(SubscriptionDeliveryExecutor.getBackoffMillis(2), equalTo(2000L));
+		assertThat(SubscriptionDeliveryExecutor.getBackoffMillis(4), equalTo(8000L));
+		assertThat(SubscriptionDeliveryExecutor.getBackoffMillis(10),
+		    equalTo(SubscriptionDeliveryExecutor.MAX_BACKOFF_MILLIS));
+	}
+}
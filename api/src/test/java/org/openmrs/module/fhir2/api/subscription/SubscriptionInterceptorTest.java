@@ -0,0 +1,115 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.hibernate.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.FhirTask;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionInterceptorTest {
+	
+	@Mock
+	private SubscriptionMatcher matcher;
+	
+	@Mock
+	private SubscriptionDeliveryExecutor deliveryExecutor;
+	
+	@Mock
+	private Transaction transaction;
+	
+	@Mock
+	private Transaction nestedTransaction;
+	
+	private SubscriptionInterceptor interceptor;
+	
+	private FhirTask task;
+	
+	private SubscriptionNotification notification;
+	
+	@Before
+	public void setup() {
+		interceptor = new SubscriptionInterceptor();
+		interceptor.setMatcher(matcher);
+		interceptor.setDeliveryExecutor(deliveryExecutor);
+		
+		task = new FhirTask();
+		notification = new SubscriptionNotification("1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10",
+		        FhirSubscription.ChannelType.WEBSOCKET, null, Collections.emptyList(), null, null);
+	}
+	
+	@Test
+	public void shouldSubmitNotificationsOnceTransactionIsCommitted() {
+		when(matcher.match(Collections.singletonList(task))).thenReturn(Collections.singletonList(notification));
+		when(transaction.wasCommitted()).thenReturn(true);
+		
+		interceptor.onSave(task, 1, null, null, null);
+		interceptor.beforeTransactionCompletion(transaction);
+		interceptor.afterTransactionCompletion(transaction);
+		
+		verify(deliveryExecutor).submit(notification);
+	}
+	
+	@Test
+	public void shouldNotSubmitNotificationsWhenTransactionIsRolledBack() {
+		when(matcher.match(Collections.singletonList(task))).thenReturn(Collections.singletonList(notification));
+		when(transaction.wasCommitted()).thenReturn(false);
+		
+		interceptor.onFlushDirty(task, 1, null, null, null, null);
+		interceptor.beforeTransactionCompletion(transaction);
+		interceptor.afterTransactionCompletion(transaction);
+		
+		verify(deliveryExecutor, never()).submit(any());
+	}
+	
+	@Test
+	public void shouldKeepChangesOfSuspendedTransactionForThatTransaction() {
+		FhirTask nestedTask = new FhirTask();
+		when(matcher.match(Collections.singletonList(task))).thenReturn(Collections.singletonList(notification));
+		when(matcher.match(Collections.singletonList(nestedTask))).thenReturn(Collections.emptyList());
+		when(transaction.wasCommitted()).thenReturn(true);
+		
+		interceptor.afterTransactionBegin(transaction);
+		interceptor.onSave(task, 1, null, null, null);
+		interceptor.afterTransactionBegin(nestedTransaction);
+		interceptor.onSave(nestedTask, 2, null, null, null);
+		interceptor.beforeTransactionCompletion(nestedTransaction);
+		interceptor.afterTransactionCompletion(nestedTransaction);
+		
+		verify(deliveryExecutor, never()).submit(any());
+		
+		interceptor.beforeTransactionCompletion(transaction);
+		interceptor.afterTransactionCompletion(transaction);
+		
+		verify(deliveryExecutor).submit(notification);
+	}
+	
+	@Test
+	public void shouldIgnoreUnsupportedObjects() {
+		interceptor.onSave(new Patient(), 1, null, null, null);
+		interceptor.beforeTransactionCompletion(transaction);
+		interceptor.afterTransactionCompletion(transaction);
+		
+		verify(matcher, never()).match(any());
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import ca.uhn.fhir.context.FhirContext;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.api.translators.TaskTranslator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionMatcherTest {
+	
+	private static final FhirContext FHIR_CONTEXT = FhirContext.forR4();
+	
+	private static final String SUBSCRIPTION_UUID = "1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10";
+	
+	private static final String TASK_UUID = "d899333c-5bd4-45cc-b1e7-2f9542dbcbf6";
+	
+	private static final String ENDPOINT = "https://example.org/fhir-hook";
+	
+	private static final String CREATOR_UUID = "5a3e7c26-7a0b-4c0e-a1d4-7e0b3d2f9c41";
+	
+	@Mock
+	private SubscriptionRegistry registry;
+	
+	@Mock
+	private SubscriptionPolicy policy;
+	
+	@Mock
+	private TaskTranslator taskTranslator;
+	
+	private SubscriptionMatcher matcher;
+	
+	private FhirTask openmrsTask;
+	
+	private Task task;
+	
+	@Before
+	public void setup() {
+		matcher = new SubscriptionMatcher();
+		matcher.setRegistry(registry);
+		matcher.setPolicy(policy);
+		matcher.setTaskTranslator(taskTranslator);
+		matcher.setFhirContext(FHIR_CONTEXT);
+		
+		openmrsTask = new FhirTask();
+		openmrsTask.setUuid(TASK_UUID);
+		
+		task = new Task();
+		task.setId(TASK_UUID);
+		task.setStatus(Task.TaskStatus.REQUESTED);
+	}
+	
+	@Test
+	public void isSupported_shouldOnlySupportSubscribableObjects() {
+		assertThat(SubscriptionMatcher.isSupported(new Obs()), equalTo(true));
+		assertThat(SubscriptionMatcher.isSupported(openmrsTask), equalTo(true));
+		assertThat(SubscriptionMatcher.isSupported(new Patient()), equalTo(false));
+	}
+	
+	@Test
+	public void match_shouldNotTranslateWithoutActiveSubscriptions() {
+		when(registry.hasActiveSubscriptions()).thenReturn(false);
+		
+		assertThat(matcher.match(Collections.singletonList(openmrsTask)), empty());
+		verify(taskTranslator, never()).toFhirResource(any());
+	}
+	
+	@Test
+	public void match_shouldCreateNotificationWithPayloadForMatchingSubscription() {
+		setupSubscription("Task?status=requested", "application/fhir+json");
+		when(taskTranslator.toFhirResource(openmrsTask)).thenReturn(task);
+		when(policy.canRead(CREATOR_UUID, FhirConstants.TASK)).thenReturn(true);
+		
+		List<SubscriptionNotification> result = matcher.match(Collections.singletonList(openmrsTask));
+		
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).getSubscriptionId(), equalTo(SUBSCRIPTION_UUID));
+		assertThat(result.get(0).getEndpoint(), equalTo(ENDPOINT));
+		assertThat(result.get(0).getPayload(), containsString(TASK_UUID));
+	}
+	
+	@Test
+	public void match_shouldCreateNotificationWithoutPayloadWhenNoPayloadRequested() {
+		setupSubscription("Task?status=requested", null);
+		when(taskTranslator.toFhirResource(openmrsTask)).thenReturn(task);
+		when(policy.canRead(CREATOR_UUID, FhirConstants.TASK)).thenReturn(true);
+		
+		List<SubscriptionNotification> result = matcher.match(Collections.singletonList(openmrsTask));
+		
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).getPayload(), nullValue());
+	}
+	
+	@Test
+	public void match_shouldNotCreateNotificationForNonMatchingSubscription() {
+		setupSubscription("Task?status=accepted", "application/fhir+json");
+		when(taskTranslator.toFhirResource(openmrsTask)).thenReturn(task);
+		
+		assertThat(matcher.match(Collections.singletonList(openmrsTask)), empty());
+		verify(policy, never()).canRead(any(), any());
+	}
+	
+	@Test
+	public void match_shouldPutSubscriptionInErrorWhenCreatorMayNotReadResource() {
+		setupSubscription("Task?status=requested", "application/fhir+json");
+		when(taskTranslator.toFhirResource(openmrsTask)).thenReturn(task);
+		when(policy.canRead(CREATOR_UUID, FhirConstants.TASK)).thenReturn(false);
+		
+		assertThat(matcher.match(Collections.singletonList(openmrsTask)), empty());
+		verify(registry).markError(eq(SUBSCRIPTION_UUID), anyString());
+	}
+	
+	private void setupSubscription(String criteria, String payload) {
+		when(registry.hasActiveSubscriptions()).thenReturn(true);
+		when(registry.getActiveSubscriptions(FhirConstants.TASK))
+		        .thenReturn(Collections.singletonList(new SubscriptionRegistry.ActiveSubscription(SUBSCRIPTION_UUID,
+		                SubscriptionCriteria.parse(criteria), FhirSubscription.ChannelType.REST_HOOK, ENDPOINT, payload,
+		                Collections.emptyList(), null, CREATOR_UUID)));
+	}
+}
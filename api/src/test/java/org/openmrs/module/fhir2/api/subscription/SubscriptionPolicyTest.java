@@ -0,0 +1,104 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirUserDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionPolicyTest {
+	
+	private static final String USER_UUID = "5a3e7c26-7a0b-4c0e-a1d4-7e0b3d2f9c41";
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Mock
+	private FhirUserDao userDao;
+	
+	private SubscriptionPolicy policy;
+	
+	@Before
+	public void setup() {
+		policy = new SubscriptionPolicy();
+		policy.setGlobalPropertyService(globalPropertyService);
+		policy.setUserDao(userDao);
+	}
+	
+	@Test
+	public void validateEndpoint_shouldAllowEndpointStartingWithAllowedEndpoint() {
+		setAllowedEndpoints("https://198.51.100.7/hooks/, https://203.0.113.5/fhir-hook");
+		
+		policy.validateEndpoint("https://203.0.113.5/fhir-hook");
+		policy.validateEndpoint("https://203.0.113.5/fhir-hook?source=openmrs");
+		policy.validateEndpoint("https://198.51.100.7/hooks/openmrs");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validateEndpoint_shouldRejectAllEndpointsWhenNoneAreAllowed() {
+		setAllowedEndpoints(null);
+		
+		policy.validateEndpoint("https://203.0.113.5/fhir-hook");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validateEndpoint_shouldRejectEndpointExtendingTheAllowedHost() {
+		setAllowedEndpoints("https://203.0.113.5");
+		
+		policy.validateEndpoint("https://203.0.113.5@198.51.100.7/fhir-hook");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validateEndpoint_shouldRejectNonHttpEndpoint() {
+		policy.validateEndpoint("ftp://203.0.113.5/fhir-hook");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validateEndpoint_shouldRejectLoopbackEndpointEvenWhenAllowed() {
+		setAllowedEndpoints("http://127.0.0.1:8080/");
+		
+		policy.validateEndpoint("http://127.0.0.1:8080/openmrs/ws/rest/v1/user");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validateEndpoint_shouldRejectLinkLocalEndpointEvenWhenAllowed() {
+		setAllowedEndpoints("http://169.254.169.254/");
+		
+		policy.validateEndpoint("http://169.254.169.254/latest/meta-data/");
+	}
+	
+	@Test(expected = IOException.class)
+	public void checkAddress_shouldRejectIpv6Loopback() throws Exception {
+		SubscriptionPolicy.checkAddress("[::1]");
+	}
+	
+	@Test
+	public void canRead_shouldNotAllowUnknownUser() {
+		assertThat(policy.canRead(USER_UUID, FhirConstants.OBSERVATION), equalTo(false));
+	}
+	
+	private void setAllowedEndpoints(String allowedEndpoints) {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.SUBSCRIPTION_ALLOWED_ENDPOINTS_PROPERTY))
+		        .thenReturn(allowedEndpoints);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscription;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionRegistryTest {
+	
+	@Mock
+	private FhirSubscriptionDao dao;
+	
+	private SubscriptionRegistry registry;
+	
+	@Before
+	public void setup() {
+		registry = new SubscriptionRegistry();
+		registry.setDao(dao);
+		
+		when(dao.getActiveSubscriptions()).thenReturn(Collections.emptyList());
+	}
+	
+	@After
+	public void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+	
+	@Test
+	public void invalidate_shouldReloadSubscriptionsOnNextUse() {
+		registry.hasActiveSubscriptions();
+		registry.invalidate();
+		registry.hasActiveSubscriptions();
+		
+		verify(dao, times(2)).getActiveSubscriptions();
+	}
+	
+	@Test
+	public void invalidateAfterCommit_shouldKeepSubscriptionsUntilTransactionCommits() {
+		registry.hasActiveSubscriptions();
+		
+		TransactionSynchronizationManager.initSynchronization();
+		registry.invalidateAfterCommit();
+		registry.hasActiveSubscriptions();
+		verify(dao, times(1)).getActiveSubscriptions();
+		
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		registry.hasActiveSubscriptions();
+		verify(dao, times(2)).getActiveSubscriptions();
+	}
+	
+	@Test
+	public void invalidateAfterCommit_shouldInvalidateImmediatelyOutsideOfTransaction() {
+		registry.hasActiveSubscriptions();
+		registry.invalidateAfterCommit();
+		registry.hasActiveSubscriptions();
+		
+		verify(dao, times(2)).getActiveSubscriptions();
+	}
+}
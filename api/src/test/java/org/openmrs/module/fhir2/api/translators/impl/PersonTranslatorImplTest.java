@@ -61,6 +61,8 @@ public class PersonTranslatorImplTest {
 	
 	private static final String PERSON_UUID = "1223et-098342-2723bsd";
 	
+	private static final Integer PERSON_ID = 1;
+	
 	private static final String PERSON_GIVEN_NAME = "cornelious";
 	
 	private static final String ADDRESS_UUID = "135791-xxxxxx-135791";
@@ -385,7 +387,8 @@ public class PersonTranslatorImplTest {
 		patientReference.setReference(FhirConstants.PATIENT + "/" + PERSON_UUID);
 		
 		when(personMock.getIsPatient()).thenReturn(true);
-		when(patientDao.get(personMock.getUuid())).thenReturn(patient);
+		when(personMock.getId()).thenReturn(PERSON_ID);
+		when(patientDao.getPatientById(PERSON_ID)).thenReturn(patient);
 		when(patientReferenceTranslator.toFhirResource(patient)).thenReturn(patientReference);
 		
 		org.hl7.fhir.r4.model.Person result = personTranslator.toFhirResource(personMock);
@@ -61,6 +61,8 @@ public class RelatedPersonTranslatorImplTest {
 	
 	private static final String PERSON_B_UUID = "54411b08-dcfe-4d59-9e3c-d4de6b5f6132";
 	
+	private static final Integer PERSON_B_ID = 3;
+	
 	private static final String PERSON_GIVEN_NAME = "Joe";
 	
 	private static final String ADDRESS_UUID = "135791-xxxxxx-135791";
@@ -273,8 +275,8 @@ public class RelatedPersonTranslatorImplTest {
 		patientReference.setReference(FhirConstants.PATIENT + "/" + PATIENT_UUID);
 		
 		when(personMock.getIsPatient()).thenReturn(true);
-		when(personMock.getUuid()).thenReturn(PERSON_B_UUID);
-		when(patientDao.get(PERSON_B_UUID)).thenReturn(patient);
+		when(personMock.getId()).thenReturn(PERSON_B_ID);
+		when(patientDao.getPatientById(PERSON_B_ID)).thenReturn(patient);
 		when(patientReferenceTranslator.toFhirResource(patient)).thenReturn(patientReference);
 		
 		RelatedPerson result = relatedPersonTranslator.toFhirResource(relationship);
@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -94,7 +95,7 @@ public class ServiceRequestTranslatorImplTest {
 	public void toFhirResource_shouldTranslateOpenmrsTestOrderToFhirServiceRequest() {
 		TestOrder order = new TestOrder();
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(order);
@@ -110,7 +111,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.REQUESTED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -126,7 +127,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.REJECTED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -142,7 +143,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.ACCEPTED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -158,7 +159,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.COMPLETED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -174,7 +175,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.DRAFT);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -188,7 +189,7 @@ public class ServiceRequestTranslatorImplTest {
 		TestOrder newOrder = new TestOrder();
 		newOrder.setUuid(SERVICE_REQUEST_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -214,7 +215,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = Arrays.asList(firstTask, secondTask);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
@@ -230,7 +231,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		testOrder.setConcept(openmrsConcept);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		CodeableConcept codeableConcept = new CodeableConcept();
@@ -257,7 +258,7 @@ public class ServiceRequestTranslatorImplTest {
 		testOrder.setDateActivated(fromDate);
 		testOrder.setAutoExpireDate(toDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
@@ -274,7 +275,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		testOrder.setAutoExpireDate(toDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
@@ -291,7 +292,7 @@ public class ServiceRequestTranslatorImplTest {
 		
 		testOrder.setDateActivated(fromDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
@@ -311,7 +312,7 @@ public class ServiceRequestTranslatorImplTest {
 		testOrder.setScheduledDate(fromDate);
 		testOrder.setAutoExpireDate(toDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
@@ -332,7 +333,7 @@ public class ServiceRequestTranslatorImplTest {
 		order.setPatient(subject);
 		subjectReference.setType(FhirConstants.PATIENT).setReference(FhirConstants.PATIENT + "/" + PATIENT_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		when(patientReferenceTranslator.toFhirResource(subject)).thenReturn(subjectReference);
 		
@@ -347,7 +348,7 @@ public class ServiceRequestTranslatorImplTest {
 		TestOrder order = new TestOrder();
 		order.setUuid(SERVICE_REQUEST_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any())).thenReturn(
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any())).thenReturn(
 		    new MockIBundleProvider<>(setUpPerformerScenario(ORGANIZATION_UUID), PREFERRED_PAGE_SIZE, COUNT));
 		
 		Collection<Reference> result = translator.toFhirResource(order).getPerformer();
@@ -370,7 +371,7 @@ public class ServiceRequestTranslatorImplTest {
 		requesterReference.setType(FhirConstants.PRACTITIONER)
 		        .setReference(FhirConstants.PRACTITIONER + "/" + PRACTITIONER_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		when(practitionerReferenceTranslator.toFhirResource(requester)).thenReturn(requesterReference);
 		
@@ -408,7 +409,7 @@ public class ServiceRequestTranslatorImplTest {
 		TestOrder order = new TestOrder();
 		order.setDateChanged(new Date());
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		ServiceRequest result = translator.toFhirResource(order);
@@ -0,0 +1,96 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.r4.model.StringType;
+import org.hl7.fhir.r4.model.Subscription;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir2.FhirSubscription;
+
+public class SubscriptionTranslatorImplTest {
+	
+	private static final String SUBSCRIPTION_UUID = "1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10";
+	
+	private static final String CRITERIA = "Task?status=requested";
+	
+	private static final String ENDPOINT = "https://example.org/fhir-hook";
+	
+	private static final String PAYLOAD = "application/fhir+json";
+	
+	private SubscriptionTranslatorImpl translator;
+	
+	@Before
+	public void setup() {
+		translator = new SubscriptionTranslatorImpl();
+	}
+	
+	@Test
+	public void toFhirResource_shouldTranslateSubscription() {
+		FhirSubscription openmrsSubscription = new FhirSubscription();
+		openmrsSubscription.setUuid(SUBSCRIPTION_UUID);
+		openmrsSubscription.setStatus(FhirSubscription.SubscriptionStatus.ACTIVE);
+		openmrsSubscription.setCriteria(CRITERIA);
+		openmrsSubscription.setChannelType(FhirSubscription.ChannelType.REST_HOOK);
+		openmrsSubscription.setEndpoint(ENDPOINT);
+		openmrsSubscription.setPayload(PAYLOAD);
+		openmrsSubscription.setHeaders("Authorization: Bearer abc\nX-Test: 1");
+		
+		Subscription result = translator.toFhirResource(openmrsSubscription);
+		
+		assertThat(result.getIdElement().getIdPart(), equalTo(SUBSCRIPTION_UUID));
+		assertThat(result.getStatus(), equalTo(Subscription.SubscriptionStatus.ACTIVE));
+		assertThat(result.getCriteria(), equalTo(CRITERIA));
+		assertThat(result.getChannel().getType(), equalTo(Subscription.SubscriptionChannelType.RESTHOOK));
+		assertThat(result.getChannel().getEndpoint(), equalTo(ENDPOINT));
+		assertThat(result.getChannel().getPayload(), equalTo(PAYLOAD));
+		assertThat(result.getChannel().getHeader().stream().map(StringType::getValue).collect(Collectors.toList()),
+		    contains("Authorization: Bearer abc", "X-Test: 1"));
+	}
+	
+	@Test
+	public void toFhirResource_shouldReturnNullForNullSubscription() {
+		assertThat(translator.toFhirResource(null), nullValue());
+	}
+	
+	@Test
+	public void toOpenmrsType_shouldTranslateSubscription() {
+		Subscription subscription = new Subscription();
+		subscription.setId(SUBSCRIPTION_UUID);
+		subscription.setStatus(Subscription.SubscriptionStatus.REQUESTED);
+		subscription.setCriteria(CRITERIA);
+		subscription.getChannel().setType(Subscription.SubscriptionChannelType.WEBSOCKET);
+		subscription.getChannel().addHeader("X-Test: 1");
+		
+		FhirSubscription result = translator.toOpenmrsType(subscription);
+		
+		assertThat(result.getUuid(), equalTo(SUBSCRIPTION_UUID));
+		assertThat(result.getStatus(), equalTo(FhirSubscription.SubscriptionStatus.REQUESTED));
+		assertThat(result.getCriteria(), equalTo(CRITERIA));
+		assertThat(result.getChannelType(), equalTo(FhirSubscription.ChannelType.WEBSOCKET));
+		assertThat(result.getHeaders(), equalTo("X-Test: 1"));
+		assertThat(result.getName(), equalTo("Subscription/" + SUBSCRIPTION_UUID));
+	}
+	
+	@Test
+	public void toOpenmrsType_shouldNotTranslateUnsupportedChannelTypes() {
+		Subscription subscription = new Subscription();
+		subscription.getChannel().setType(Subscription.SubscriptionChannelType.EMAIL);
+		
+		assertThat(translator.toOpenmrsType(subscription).getChannelType(), nullValue());
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Test;
+
+public class FhirPatchUtilsTest {
+	
+	private static final String TASK_UUID = "bdd7e368-3d1a-42a9-9538-395391b64adf";
+	
+	private static final FhirContext FHIR_CONTEXT = FhirContext.forR4();
+	
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	
+	@Test
+	public void applyJsonPatch_shouldApplyAllOperations() throws IOException {
+		JsonNode target = json("{ \"a\": 1, \"b\": [1, 2], \"c\": { \"d\": \"e\" } }");
+		JsonNode patch = json("[{ \"op\": \"add\", \"path\": \"/b/-\", \"value\": 3 },"
+		        + "{ \"op\": \"remove\", \"path\": \"/a\" },"
+		        + "{ \"op\": \"replace\", \"path\": \"/c/d\", \"value\": \"f\" },"
+		        + "{ \"op\": \"copy\", \"from\": \"/c\", \"path\": \"/g\" },"
+		        + "{ \"op\": \"move\", \"from\": \"/b/0\", \"path\": \"/h\" },"
+		        + "{ \"op\": \"test\", \"path\": \"/g/d\", \"value\": \"f\" }]");
+		
+		JsonNode result = FhirPatchUtils.applyJsonPatch(target, patch);
+		
+		assertThat(result, equalTo(json("{ \"b\": [2, 3], \"c\": { \"d\": \"f\" }, \"g\": { \"d\": \"f\" }, \"h\": 1 }")));
+	}
+	
+	@Test
+	public void applyJsonPatch_shouldNotModifyTarget() throws IOException {
+		JsonNode target = json("{ \"a\": 1 }");
+		
+		FhirPatchUtils.applyJsonPatch(target, json("[{ \"op\": \"remove\", \"path\": \"/a\" }]"));
+		
+		assertThat(target, equalTo(json("{ \"a\": 1 }")));
+	}
+	
+	@Test
+	public void applyJsonPatch_shouldUnescapePaths() throws IOException {
+		JsonNode result = FhirPatchUtils.applyJsonPatch(json("{ \"a/b\": 1, \"c~d\": 2 }"),
+		    json("[{ \"op\": \"remove\", \"path\": \"/a~1b\" }, { \"op\": \"remove\", \"path\": \"/c~0d\" }]"));
+		
+		assertThat(result, equalTo(json("{}")));
+	}
+	
+	@Test(expected = UnprocessableEntityException.class)
+	public void applyJsonPatch_shouldThrowUnprocessableEntityWhenTestFails() throws IOException {
+		FhirPatchUtils.applyJsonPatch(json("{ \"a\": 1 }"), json("[{ \"op\": \"test\", \"path\": \"/a\", \"value\": 2 }]"));
+	}
+	
+	@Test(expected = UnprocessableEntityException.class)
+	public void applyJsonPatch_shouldThrowUnprocessableEntityForMissingPath() throws IOException {
+		FhirPatchUtils.applyJsonPatch(json("{ \"a\": 1 }"), json("[{ \"op\": \"remove\", \"path\": \"/b\" }]"));
+	}
+	
+	@Test(expected = UnprocessableEntityException.class)
+	public void applyJsonPatch_shouldThrowUnprocessableEntityWhenMovingIntoChild() throws IOException {
+		FhirPatchUtils.applyJsonPatch(json("{ \"a\": { \"b\": 1 } }"),
+		    json("[{ \"op\": \"move\", \"from\": \"/a\", \"path\": \"/a/c\" }]"));
+	}
+	
+	@Test
+	public void applyJsonPatch_shouldMoveToSiblingWithSamePrefix() throws IOException {
+		JsonNode result = FhirPatchUtils.applyJsonPatch(json("{ \"a\": 1 }"),
+		    json("[{ \"op\": \"move\", \"from\": \"/a\", \"path\": \"/ab\" }]"));
+		
+		assertThat(result, equalTo(json("{ \"ab\": 1 }")));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void applyJsonPatch_shouldThrowInvalidRequestForUnknownOperation() throws IOException {
+		FhirPatchUtils.applyJsonPatch(json("{ \"a\": 1 }"), json("[{ \"op\": \"frobnicate\", \"path\": \"/a\" }]"));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void applyJsonPatch_shouldThrowInvalidRequestIfPatchIsNotAnArray() throws IOException {
+		FhirPatchUtils.applyJsonPatch(json("{ \"a\": 1 }"), json("{ \"op\": \"remove\", \"path\": \"/a\" }"));
+	}
+	
+	@Test
+	public void applyJsonPatch_shouldPatchResource() {
+		Task task = new Task();
+		task.setId(TASK_UUID);
+		task.setStatus(Task.TaskStatus.REQUESTED);
+		
+		Task result = FhirPatchUtils.applyJsonPatch(FHIR_CONTEXT, task,
+		    "[{ \"op\": \"replace\", \"path\": \"/status\", \"value\": \"accepted\" }]");
+		
+		assertThat(result.getStatus(), equalTo(Task.TaskStatus.ACCEPTED));
+		assertThat(task.getStatus(), equalTo(Task.TaskStatus.REQUESTED));
+	}
+	
+	@Test
+	public void applyPatch_shouldPatchStu3Resource() {
+		org.hl7.fhir.dstu3.model.Task task = new org.hl7.fhir.dstu3.model.Task();
+		task.setId(TASK_UUID);
+		task.setStatus(org.hl7.fhir.dstu3.model.Task.TaskStatus.REQUESTED);
+		
+		org.hl7.fhir.dstu3.model.Task result = FhirPatchUtils.applyPatch(FhirContext.forDstu3(), task, TASK_UUID,
+		    PatchTypeEnum.JSON_PATCH, "[{ \"op\": \"replace\", \"path\": \"/status\", \"value\": \"accepted\" }]");
+		
+		assertThat(result.getStatus(), equalTo(org.hl7.fhir.dstu3.model.Task.TaskStatus.ACCEPTED));
+		assertThat(result.getIdElement().getIdPart(), equalTo(TASK_UUID));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void applyPatch_shouldThrowInvalidRequestIfPatchChangesId() {
+		Task task = new Task();
+		task.setId(TASK_UUID);
+		
+		FhirPatchUtils.applyPatch(FHIR_CONTEXT, task, TASK_UUID, PatchTypeEnum.JSON_PATCH,
+		    "[{ \"op\": \"replace\", \"path\": \"/id\", \"value\": \"other\" }]");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void applyPatch_shouldThrowInvalidRequestForUnsupportedPatchType() {
+		FhirPatchUtils.applyPatch(FHIR_CONTEXT, new Task(), TASK_UUID, PatchTypeEnum.XML_PATCH, "{}");
+	}
+	
+	@Test
+	public void getChangedElements_shouldReturnOnlyChangedElements() {
+		Task original = new Task();
+		original.setId(TASK_UUID);
+		original.setStatus(Task.TaskStatus.REQUESTED);
+		original.setIntent(Task.TaskIntent.ORDER);
+		
+		Task updated = original.copy();
+		updated.setStatus(Task.TaskStatus.ACCEPTED);
+		updated.getMeta().setVersionId("2");
+		
+		assertThat(FhirPatchUtils.getChangedElements(original, updated), contains("status"));
+	}
+	
+	@Test
+	public void getChangedElements_shouldReturnEmptyListForIdenticalResources() {
+		Task original = new Task();
+		original.setId(TASK_UUID);
+		original.setStatus(Task.TaskStatus.REQUESTED);
+		
+		assertThat(FhirPatchUtils.getChangedElements(original, original.copy()), empty());
+	}
+	
+	@Test
+	public void copyElements_shouldOnlyCopyNamedElements() {
+		Task source = new Task();
+		source.setId(TASK_UUID);
+		source.setStatus(Task.TaskStatus.ACCEPTED);
+		source.setIntent(Task.TaskIntent.ORDER);
+		
+		Task result = FhirPatchUtils.copyElements(FHIR_CONTEXT, source, Collections.singletonList("status"));
+		
+		assertThat(result.getIdElement().getIdPart(), equalTo(TASK_UUID));
+		assertThat(result.getStatus(), equalTo(Task.TaskStatus.ACCEPTED));
+		assertThat(result.hasIntent(), equalTo(false));
+	}
+	
+	private static JsonNode json(String json) throws IOException {
+		return OBJECT_MAPPER.readTree(json);
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Test;
+
+public class TimeSeriesUtilsTest {
+	
+	private static final long[] TIMES = { 1000L, 2000L, 3000L, 4000L, 5000L, 6000L, 7000L, 8000L };
+	
+	private static final double[] VALUES = { 1.0, 1.0, 9.0, 1.0, 1.0, 1.0, -7.0, 1.0 };
+	
+	@Test
+	public void largestTriangleThreeBuckets_shouldKeepAllPointsWhenBelowThreshold() {
+		assertThat(TimeSeriesUtils.largestTriangleThreeBuckets(TIMES, VALUES, 10),
+		    equalTo(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }));
+	}
+	
+	@Test
+	public void largestTriangleThreeBuckets_shouldKeepEndpointsAndPeaks() {
+		assertThat(TimeSeriesUtils.largestTriangleThreeBuckets(TIMES, VALUES, 4), equalTo(new int[] { 0, 2, 6, 7 }));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void largestTriangleThreeBuckets_shouldRejectThresholdsBelowThree() {
+		TimeSeriesUtils.largestTriangleThreeBuckets(TIMES, VALUES, 2);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+
+import org.hibernate.Transaction;
+import org.junit.Test;
+
+public class TransactionChangesTest {
+	
+	private final TransactionChanges changes = new TransactionChanges();
+	
+	private final Transaction outer = mock(Transaction.class);
+	
+	private final Transaction inner = mock(Transaction.class);
+	
+	@Test
+	public void remove_shouldOnlyReturnChangesOfNestedTransaction() {
+		changes.begin(outer);
+		changes.add("outer change");
+		changes.begin(inner);
+		changes.add("inner change");
+		
+		assertThat(changes.remove(inner), contains("inner change"));
+		changes.end(inner);
+		
+		assertThat(changes.remove(outer), contains("outer change"));
+		changes.end(outer);
+	}
+	
+	@Test
+	public void remove_shouldNotReturnChangesTwice() {
+		changes.begin(outer);
+		changes.add("change");
+		
+		assertThat(changes.remove(outer), contains("change"));
+		assertThat(changes.remove(outer), empty());
+	}
+	
+	@Test
+	public void end_shouldDiscardChangesOfRolledBackTransaction() {
+		changes.begin(outer);
+		changes.add("change");
+		changes.end(outer);
+		
+		changes.begin(inner);
+		assertThat(changes.remove(inner), empty());
+	}
+	
+	@Test
+	public void remove_shouldReturnChangesMadeOutsideTransactionsForUntrackedTransaction() {
+		changes.add("change");
+		
+		assertThat(changes.remove(outer), contains("change"));
+	}
+}
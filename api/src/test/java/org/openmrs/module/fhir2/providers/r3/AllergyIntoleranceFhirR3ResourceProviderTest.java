@@ -146,10 +146,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		patient.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("M4001-1").setChain(Patient.SP_IDENTIFIER)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -164,10 +165,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		ReferenceAndListParam patient = new ReferenceAndListParam();
 		patient.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_GIVEN)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -182,10 +184,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		ReferenceAndListParam subject = new ReferenceAndListParam();
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_GIVEN)));
 		
-		when(service.searchForAllergies(argThat(is(subject)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(subject)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, subject, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, subject, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -200,10 +203,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		ReferenceAndListParam patient = new ReferenceAndListParam();
 		patient.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_FAMILY)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -219,10 +223,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		patient.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("John Doe").setChain(Patient.SP_NAME)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -237,10 +242,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		TokenAndListParam category = new TokenAndListParam();
 		category.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("food")));
 		
-		when(service.searchForAllergies(isNull(), argThat(is(category)), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), argThat(is(category)), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, category, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, category, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -255,10 +261,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		TokenAndListParam allergen = new TokenAndListParam();
 		allergen.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODED_ALLERGEN_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), argThat(is(allergen)), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), argThat(is(allergen)), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, allergen, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, allergen, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -273,10 +280,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		TokenAndListParam severity = new TokenAndListParam();
 		severity.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(SEVERITY_CONCEPT_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), argThat(is(severity)), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), argThat(is(severity)), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, severity, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, severity, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -291,11 +299,12 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		TokenAndListParam manifestation = new TokenAndListParam();
 		manifestation.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODED_REACTION_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), argThat(is(manifestation)), isNull()))
-		        .thenReturn(
-		            new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), argThat(is(manifestation)), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, manifestation, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, manifestation, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -310,10 +319,11 @@ public class AllergyIntoleranceFhirR3ResourceProviderTest extends BaseFhirR3Prov
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("active")));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(status)))).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(status)),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, null, status);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, null, status, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
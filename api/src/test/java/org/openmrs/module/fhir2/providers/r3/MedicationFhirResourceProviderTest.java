@@ -93,10 +93,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam code = new TokenAndListParam();
 		code.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(argThat(is(code)), isNull(), isNull(), isNull()))
+		when(fhirMedicationService.searchForMedications(argThat(is(code)), isNull(), isNull(), isNull(), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
-		Bundle results = resourceProvider.searchForMedication(code, null, null);
+		Bundle results = resourceProvider.searchForMedication(code, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.isResource(), is(true));
 		assertThat(results.getEntry().size(), greaterThanOrEqualTo(1));
@@ -107,10 +107,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam dosageFormCode = new TokenAndListParam();
 		dosageFormCode.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), argThat(is(dosageFormCode)), isNull(), isNull()))
+		when(fhirMedicationService.searchForMedications(isNull(), argThat(is(dosageFormCode)), isNull(), isNull(), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
-		Bundle results = resourceProvider.searchForMedication(null, dosageFormCode, null);
+		Bundle results = resourceProvider.searchForMedication(null, dosageFormCode, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.isResource(), is(true));
 		assertThat(results.getEntry().size(), greaterThanOrEqualTo(1));
@@ -121,10 +121,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("active")));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), isNull(), isNull(), argThat(is(status))))
+		when(fhirMedicationService.searchForMedications(isNull(), isNull(), isNull(), argThat(is(status)), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
-		Bundle results = resourceProvider.searchForMedication(null, null, status);
+		Bundle results = resourceProvider.searchForMedication(null, null, status, null);
 		assertThat(results, notNullValue());
 		assertThat(results.isResource(), is(true));
 		assertThat(results.getEntry().size(), greaterThanOrEqualTo(1));
@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -115,7 +116,8 @@ public class ObservationFhirResourceProviderTest extends BaseFhirR3ProvenanceRes
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(observation), 10, 1));
+		    isNull(), any())).thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(observation),
+		    10, 1));
 		
 		TokenAndListParam code = new TokenAndListParam();
 		TokenParam codingToken = new TokenParam();
@@ -123,7 +125,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirR3ProvenanceRes
 		code.addAnd(codingToken);
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, null,
-		    code, null, null);
+		    code, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -138,13 +140,14 @@ public class ObservationFhirResourceProviderTest extends BaseFhirR3ProvenanceRes
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(observation), 10, 1));
+		    isNull(), any())).thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(observation),
+		    10, 1));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, patientParam, null, null, null, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -128,11 +128,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchPatients_shouldReturnMatchingBundleOfPatientsByName() {
 		StringAndListParam nameParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		when(patientService.searchForPatients(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(nameParam, null, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -146,11 +146,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam givenNameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		when(patientService.searchForPatients(isNull(), argThat(is(givenNameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, givenNameParam, null, null, null, null,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -164,11 +164,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam familyNameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(FAMILY_NAME)));
 		when(patientService.searchForPatients(isNull(), isNull(), argThat(is(familyNameParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, familyNameParam, null, null, null,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -181,11 +181,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchPatients_shouldReturnMatchingBundleOfPatientsByIdentifier() {
 		TokenAndListParam identifierParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(IDENTIFIER));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), argThat(is(identifierParam)), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, identifierParam, null, null,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -198,11 +198,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByGender() {
 		TokenAndListParam genderParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), argThat(is(genderParam)), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, genderParam, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -215,11 +215,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByBirthDate() {
 		DateRangeParam birthDateParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(birthDateParam)),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, birthDateParam,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -232,11 +232,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByDeathDate() {
 		DateRangeParam deathDateParam = new DateRangeParam().setLowerBound(DEATH_DATE).setUpperBound(DEATH_DATE);
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(deathDateParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(deathDateParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null,
-		    deathDateParam, null, null, null, null, null, null);
+		    deathDateParam, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -249,11 +249,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByDeceased() {
 		TokenAndListParam deceasedParam = new TokenAndListParam().addAnd(new TokenOrListParam().add("true"));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(deceasedParam)), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(deceasedParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null,
-		    deceasedParam, null, null, null, null, null);
+		    deceasedParam, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -266,11 +266,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByCity() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(cityParam)), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(cityParam)), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    cityParam, null, null, null, null);
+		    cityParam, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -283,11 +283,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByState() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), argThat(is(stateParam)), isNull(), isNull(), isNull()))
+		    isNull(), argThat(is(stateParam)), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    null, stateParam, null, null, null);
+		    null, stateParam, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -301,11 +301,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), argThat(is(postalCodeParam)), isNull(), isNull()))
+		    isNull(), isNull(), argThat(is(postalCodeParam)), isNull(), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    null, null, postalCodeParam, null, null);
+		    null, null, postalCodeParam, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -319,11 +319,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), argThat(is(countryParam)), isNull()))
+		    isNull(), isNull(), isNull(), argThat(is(countryParam)), isNull(), isNull()))
 		            .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    null, null, null, countryParam, null);
+		    null, null, null, countryParam, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
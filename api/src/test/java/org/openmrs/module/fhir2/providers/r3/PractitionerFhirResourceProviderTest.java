@@ -137,10 +137,10 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByName_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(GIVEN_NAME)));
-		when(practitionerService.searchForPractitioners(argThat(is(nameParam)), isNull()))
+		when(practitionerService.searchForPractitioners(argThat(is(nameParam)), isNull(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForPractitioners(nameParam, null);
+		IBundleProvider results = resourceProvider.searchForPractitioners(nameParam, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -153,10 +153,10 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongName_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(WRONG_NAME)));
-		when(practitionerService.searchForPractitioners(argThat(is(nameParam)), isNull()))
+		when(practitionerService.searchForPractitioners(argThat(is(nameParam)), isNull(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForPractitioners(nameParam, null);
+		IBundleProvider results = resourceProvider.searchForPractitioners(nameParam, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -167,10 +167,10 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	@Test
 	public void findPractitionersByIdentifier_shouldReturnMatchingBundleOfPractitioners() {
 		TokenAndListParam identifier = new TokenAndListParam().addAnd(new TokenOrListParam().add(PRACTITIONER_IDENTIFIER));
-		when(practitionerService.searchForPractitioners(isNull(), argThat(is(identifier))))
+		when(practitionerService.searchForPractitioners(isNull(), argThat(is(identifier)), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForPractitioners(null, identifier);
+		IBundleProvider results = resourceProvider.searchForPractitioners(null, identifier, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -183,10 +183,10 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongIdentifier_shouldReturnBundleWithEmptyEntries() {
 		TokenAndListParam identifier = new TokenAndListParam()
 		        .addAnd(new TokenOrListParam().add(WRONG_PRACTITIONER_IDENTIFIER));
-		when(practitionerService.searchForPractitioners(isNull(), argThat(is(identifier))))
+		when(practitionerService.searchForPractitioners(isNull(), argThat(is(identifier)), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForPractitioners(null, identifier);
+		IBundleProvider results = resourceProvider.searchForPractitioners(null, identifier, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
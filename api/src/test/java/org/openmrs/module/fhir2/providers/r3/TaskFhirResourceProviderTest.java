@@ -18,12 +18,18 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
@@ -39,6 +45,7 @@ import org.hl7.fhir.r4.model.Provenance;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.module.fhir2.FhirConstants;
@@ -59,6 +66,9 @@ public class TaskFhirResourceProviderTest extends BaseFhirR3ProvenanceResourceTe
 	@Mock
 	private FhirTaskService taskService;
 	
+	@Mock
+	private RequestDetails requestDetails;
+	
 	@Getter(AccessLevel.PUBLIC)
 	private TaskFhirResourceProvider resourceProvider;
 	
@@ -188,19 +198,42 @@ public class TaskFhirResourceProviderTest extends BaseFhirR3ProvenanceResourceTe
 	//		resourceProvider.updateTask(new IdType().setValue(WRONG_TASK_UUID), wrongTask);
 	//	}
 	
+	@Test
+	public void patchTask_shouldPatchStu3TaskAndUpdateReadVersion() {
+		task.setStatus(org.hl7.fhir.r4.model.Task.TaskStatus.REQUESTED);
+		task.getMeta().setVersionId("1000");
+		ArgumentCaptor<org.hl7.fhir.r4.model.Task> taskCaptor = ArgumentCaptor.forClass(org.hl7.fhir.r4.model.Task.class);
+		
+		when(taskService.get(TASK_UUID)).thenReturn(task);
+		when(requestDetails.getFhirContext()).thenReturn(FhirContext.forDstu3());
+		when(taskService.patchResource(eq(TASK_UUID), any(), taskCaptor.capture(), eq("1000"))).thenReturn(task);
+		
+		MethodOutcome result = resourceProvider.patchTask(new IdType().setValue(TASK_UUID), PatchTypeEnum.JSON_PATCH,
+		    "[{ \"op\": \"replace\", \"path\": \"/status\", \"value\": \"accepted\" }]", requestDetails);
+		
+		assertThat(result.getResource(), equalTo(task));
+		assertThat(taskCaptor.getValue().getStatus(), equalTo(org.hl7.fhir.r4.model.Task.TaskStatus.ACCEPTED));
+	}
+	
+	@Test(expected = ResourceNotFoundException.class)
+	public void patchTask_shouldThrowResourceNotFoundIfTaskDoesNotExist() {
+		resourceProvider.patchTask(new IdType().setValue(WRONG_TASK_UUID), PatchTypeEnum.JSON_PATCH, "[]", requestDetails);
+	}
+	
 	@Test
 	public void searchTasks_shouldReturnMatchingTasks() {
 		List<org.hl7.fhir.r4.model.Task> tasks = new ArrayList<>();
 		tasks.add(task);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any())).thenReturn(new MockIBundleProvider<>(tasks, 10, 1));
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any())).thenReturn(new MockIBundleProvider<>(tasks,
+		    10, 1));
 		
 		TokenAndListParam status = new TokenAndListParam();
 		TokenParam statusToken = new TokenParam();
 		statusToken.setValue("ACCEPTED");
 		status.addAnd(new TokenOrListParam().add(statusToken));
 		
-		IBundleProvider results = resourceProvider.searchTasks(null, null, status, null);
+		IBundleProvider results = resourceProvider.searchTasks(null, null, status, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
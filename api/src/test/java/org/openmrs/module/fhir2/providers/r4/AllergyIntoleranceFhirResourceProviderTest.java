@@ -149,10 +149,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		patient.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("M4001-1").setChain(Patient.SP_IDENTIFIER)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -167,10 +168,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		ReferenceAndListParam patient = new ReferenceAndListParam();
 		patient.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_GIVEN)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -185,10 +187,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		ReferenceAndListParam patient = new ReferenceAndListParam();
 		patient.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_FAMILY)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -204,10 +207,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		patient.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("John Doe").setChain(Patient.SP_NAME)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -222,10 +226,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		ReferenceAndListParam subject = new ReferenceAndListParam();
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_GIVEN)));
 		
-		when(service.searchForAllergies(argThat(is(subject)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(argThat(is(subject)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, subject, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, subject, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -240,10 +245,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam category = new TokenAndListParam();
 		category.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("food")));
 		
-		when(service.searchForAllergies(isNull(), argThat(is(category)), isNull(), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), argThat(is(category)), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, category, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, category, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -258,10 +264,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam allergen = new TokenAndListParam();
 		allergen.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODED_ALLERGEN_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), argThat(is(allergen)), isNull(), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), argThat(is(allergen)), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, allergen, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, allergen, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -276,10 +283,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam severity = new TokenAndListParam();
 		severity.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(SEVERITY_CONCEPT_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), argThat(is(severity)), isNull(), isNull())).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), argThat(is(severity)), isNull(), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, severity, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, severity, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -294,11 +302,12 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam manifestation = new TokenAndListParam();
 		manifestation.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODED_REACTION_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), argThat(is(manifestation)), isNull()))
-		        .thenReturn(
-		            new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), argThat(is(manifestation)), isNull(),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, manifestation, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, manifestation, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -313,10 +322,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("active")));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(status)))).thenReturn(
-		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(status)),
+		    isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance),
+		    PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, null, status);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, null, status, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
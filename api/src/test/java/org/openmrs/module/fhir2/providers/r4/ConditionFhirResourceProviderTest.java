@@ -169,10 +169,10 @@ public class ConditionFhirResourceProviderTest extends BaseFhirProvenanceResourc
 		SortSpec sort = new SortSpec("sort param");
 		
 		when(conditionService.searchConditions(patientReference, codeList, clinicalList, onsetDate, onsetAge, recordDate,
-		    sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
+		    null, sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		IBundleProvider result = resourceProvider.searchConditions(patientReference, subjectReference, codeList,
-		    clinicalList, onsetDate, onsetAge, recordDate, sort);
+		    clinicalList, onsetDate, onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
@@ -203,10 +203,10 @@ public class ConditionFhirResourceProviderTest extends BaseFhirProvenanceResourc
 		SortSpec sort = new SortSpec("sort param");
 		
 		when(conditionService.searchConditions(subjectReference, codeList, clinicalList, onsetDate, onsetAge, recordDate,
-		    sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
+		    null, sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		IBundleProvider result = resourceProvider.searchConditions(null, subjectReference, codeList, clinicalList, onsetDate,
-		    onsetAge, recordDate, sort);
+		    onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
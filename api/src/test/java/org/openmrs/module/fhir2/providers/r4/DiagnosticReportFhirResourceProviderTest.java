@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -125,7 +126,7 @@ public class DiagnosticReportFhirResourceProviderTest {
 	
 	@Test
 	public void updateDiagnosticReport_shouldUpdateExistingDiagnosticReport() {
-		when(service.update(UUID, diagnosticReport)).thenReturn(diagnosticReport);
+		when(service.update(UUID, diagnosticReport, null)).thenReturn(diagnosticReport);
 		
 		MethodOutcome result = resourceProvider.updateDiagnosticReport(new IdType().setValue(UUID), diagnosticReport);
 		
@@ -135,7 +136,7 @@ public class DiagnosticReportFhirResourceProviderTest {
 	
 	@Test(expected = InvalidRequestException.class)
 	public void updateDiagnosticReport_shouldThrowInvalidRequestForUuidMismatch() {
-		when(service.update(WRONG_UUID, diagnosticReport)).thenThrow(InvalidRequestException.class);
+		when(service.update(WRONG_UUID, diagnosticReport, null)).thenThrow(InvalidRequestException.class);
 		
 		resourceProvider.updateDiagnosticReport(new IdType().setValue(WRONG_UUID), diagnosticReport);
 	}
@@ -144,7 +145,7 @@ public class DiagnosticReportFhirResourceProviderTest {
 	public void updateDiagnosticReport_shouldThrowInvalidRequestForMissingId() {
 		DiagnosticReport noIdDiagnostiReport = new DiagnosticReport();
 		
-		when(service.update(UUID, noIdDiagnostiReport)).thenThrow(InvalidRequestException.class);
+		when(service.update(UUID, noIdDiagnostiReport, null)).thenThrow(InvalidRequestException.class);
 		
 		resourceProvider.updateDiagnosticReport(new IdType().setValue(UUID), noIdDiagnostiReport);
 	}
@@ -155,17 +156,17 @@ public class DiagnosticReportFhirResourceProviderTest {
 		
 		wrongDiagnosticReport.setId(WRONG_UUID);
 		
-		when(service.update(WRONG_UUID, wrongDiagnosticReport)).thenThrow(MethodNotAllowedException.class);
+		when(service.update(WRONG_UUID, wrongDiagnosticReport, null)).thenThrow(MethodNotAllowedException.class);
 		
 		resourceProvider.updateDiagnosticReport(new IdType().setValue(WRONG_UUID), wrongDiagnosticReport);
 	}
 	
 	@Test
 	public void findDiagnosticReports_shouldReturnMatchingBundleOfDiagnosticReports() {
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any())).thenReturn(
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), isNull(), any())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -181,10 +182,10 @@ public class DiagnosticReportFhirResourceProviderTest {
 		ReferenceAndListParam subject = new ReferenceAndListParam();
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any())).thenReturn(
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), isNull(), any())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, subject, null, null, null);
+		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, subject, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -96,10 +96,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam code = new TokenAndListParam();
 		code.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(argThat(is(code)), isNull(), isNull(), isNull()))
+		when(fhirMedicationService.searchForMedications(argThat(is(code)), isNull(), isNull(), isNull(), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
-		Bundle results = resourceProvider.searchForMedication(code, null, null);
+		Bundle results = resourceProvider.searchForMedication(code, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.isResource(), is(true));
 		assertThat(results.getEntry().size(), greaterThanOrEqualTo(1));
@@ -110,10 +110,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam dosageFormCode = new TokenAndListParam();
 		dosageFormCode.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), argThat(is(dosageFormCode)), isNull(), isNull()))
+		when(fhirMedicationService.searchForMedications(isNull(), argThat(is(dosageFormCode)), isNull(), isNull(), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
-		Bundle results = resourceProvider.searchForMedication(null, dosageFormCode, null);
+		Bundle results = resourceProvider.searchForMedication(null, dosageFormCode, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.isResource(), is(true));
 		assertThat(results.getEntry().size(), greaterThanOrEqualTo(1));
@@ -124,10 +124,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("active")));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), isNull(), isNull(), argThat(is(status))))
+		when(fhirMedicationService.searchForMedications(isNull(), isNull(), isNull(), argThat(is(status)), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
-		Bundle results = resourceProvider.searchForMedication(null, null, status);
+		Bundle results = resourceProvider.searchForMedication(null, null, status, null);
 		assertThat(results, notNullValue());
 		assertThat(results.isResource(), is(true));
 		assertThat(results.getEntry().size(), greaterThanOrEqualTo(1));
@@ -148,7 +148,7 @@ public class MedicationFhirResourceProviderTest {
 		Medication med = medication;
 		med.setStatus(Medication.MedicationStatus.INACTIVE);
 		
-		when(fhirMedicationService.update(MEDICATION_UUID, medication)).thenReturn(med);
+		when(fhirMedicationService.update(MEDICATION_UUID, medication, null)).thenReturn(med);
 		
 		MethodOutcome result = resourceProvider.updateMedication(new IdType().setValue(MEDICATION_UUID), medication);
 		assertThat(result, CoreMatchers.notNullValue());
@@ -157,7 +157,7 @@ public class MedicationFhirResourceProviderTest {
 	
 	@Test(expected = InvalidRequestException.class)
 	public void updateMedicationShouldThrowInvalidRequestForUuidMismatch() {
-		when(fhirMedicationService.update(WRONG_MEDICATION_UUID, medication)).thenThrow(InvalidRequestException.class);
+		when(fhirMedicationService.update(WRONG_MEDICATION_UUID, medication, null)).thenThrow(InvalidRequestException.class);
 		
 		resourceProvider.updateMedication(new IdType().setValue(WRONG_MEDICATION_UUID), medication);
 	}
@@ -168,7 +168,7 @@ public class MedicationFhirResourceProviderTest {
 		
 		wrongMedication.setId(WRONG_MEDICATION_UUID);
 		
-		when(fhirMedicationService.update(WRONG_MEDICATION_UUID, wrongMedication))
+		when(fhirMedicationService.update(WRONG_MEDICATION_UUID, wrongMedication, null))
 		        .thenThrow(MethodNotAllowedException.class);
 		
 		resourceProvider.updateMedication(new IdType().setValue(WRONG_MEDICATION_UUID), wrongMedication);
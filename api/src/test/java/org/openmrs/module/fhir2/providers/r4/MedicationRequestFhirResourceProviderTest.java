@@ -15,6 +15,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -98,7 +99,7 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestUsingCode() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		TokenAndListParam code = new TokenAndListParam();
@@ -106,7 +107,7 @@ public class MedicationRequestFhirResourceProviderTest {
 		codingToken.setValue("1000");
 		code.addAnd(codingToken);
 		
-		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, code, null, null);
+		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, code, null, null, null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -120,13 +121,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenPatientParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		IBundleProvider results = resourceProvider.searchForMedicationRequests(patientParam, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForMedicationRequests(patientParam, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -140,14 +142,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenMedicationParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam medicationParam = new ReferenceAndListParam();
 		medicationParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Medication.SP_IDENTIFIER)));
 		
 		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, null, null,
-		    medicationParam);
+		    medicationParam, null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -161,14 +163,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenParticipantParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam participantParam = new ReferenceAndListParam();
 		participantParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Practitioner.SP_NAME)));
 		
 		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, null, participantParam,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -182,13 +184,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenEncounterParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new BaseFhirIBundleResourceProviderTest<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam encounterParam = new ReferenceAndListParam();
 		encounterParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Encounter.SP_IDENTIFIER)));
 		
-		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, encounterParam, null, null, null);
+		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, encounterParam, null, null, null,
+		    null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
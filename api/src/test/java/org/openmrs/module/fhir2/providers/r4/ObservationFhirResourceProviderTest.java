@@ -17,6 +17,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -27,6 +28,7 @@ import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceOrListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import lombok.AccessLevel;
@@ -34,6 +36,7 @@ import lombok.Getter;
 import org.hamcrest.Matchers;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.IntegerType;
 import org.hl7.fhir.r4.model.Observation;
 import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
@@ -53,6 +56,8 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 	
 	private static final String WRONG_OBSERVATION_UUID = "hj243h34-cb4vsd-34xxx34-ope4jj";
 	
+	private static final String PATIENT_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
 	@Mock
 	private FhirObservationService observationService;
 	
@@ -108,7 +113,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    isNull(), any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		TokenAndListParam code = new TokenAndListParam();
 		TokenParam codingToken = new TokenParam();
@@ -116,7 +121,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		code.addAnd(codingToken);
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, code,
-		    null, null, null);
+		    null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -131,13 +136,13 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    isNull(), any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, null,
-		    null, null, patientParam);
+		    null, null, patientParam, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -145,6 +150,39 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		assertThat(results.getResources(1, 5).get(0).getIdElement().getIdPart(), equalTo(OBSERVATION_UUID));
 	}
 	
+	@Test
+	public void searchObservations_shouldReturnMatchingObservationsWhenIdIsSpecified() {
+		observation = new Observation();
+		observation.setId(OBSERVATION_UUID);
+		
+		TokenAndListParam id = new TokenAndListParam().addAnd(new TokenOrListParam().add(new TokenParam(OBSERVATION_UUID)));
+		
+		when(observationService.searchForObservations(null, null, null, null, null, null, null, null, null, null, id, null))
+		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		
+		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, null,
+		    null, null, null, id);
+		assertThat(results, notNullValue());
+		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
+		assertThat(results.getResources(1, 5).get(0).getIdElement().getIdPart(), equalTo(OBSERVATION_UUID));
+	}
+	
+	@Test
+	public void getLastnObservations_shouldPassPatientParamToService() {
+		observation = new Observation();
+		observation.setId(OBSERVATION_UUID);
+		
+		ReferenceAndListParam patientParam = new ReferenceAndListParam()
+		        .addAnd(new ReferenceOrListParam().add(new ReferenceParam().setValue(PATIENT_UUID)));
+		
+		when(observationService.getLastnObservations(3, patientParam, null, null))
+		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		
+		IBundleProvider results = resourceProvider.getLastnObservations(new IntegerType(3), null, patientParam, null, null);
+		assertThat(results, notNullValue());
+		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
+	}
+	
 	@Test
 	public void getPatientResourceHistory_shouldReturnListOfResource() {
 		IdType id = new IdType();
@@ -125,9 +125,9 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(GIVEN_NAME)));
 		when(relatedPersonService.searchForRelatedPeople(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(nameParam, null, null, null, null, null, null, null);
+		Bundle results = resourceProvider.searchRelatedPerson(nameParam, null, null, null, null, null, null, null, null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
@@ -138,9 +138,9 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByGender() {
 		TokenAndListParam genderParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(relatedPersonService.searchForRelatedPeople(isNull(), argThat(is(genderParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(null, genderParam, null, null, null, null, null, null);
+		Bundle results = resourceProvider.searchRelatedPerson(null, genderParam, null, null, null, null, null, null, null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
@@ -151,9 +151,10 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 	public void searchForRelatedPeople_shouldReturnMatchingBundleOfRelatedPeopleByBirthDate() {
 		DateRangeParam birthDateParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		when(relatedPersonService.searchForRelatedPeople(isNull(), isNull(), argThat(is(birthDateParam)), isNull(), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(null, null, birthDateParam, null, null, null, null, null);
+		Bundle results = resourceProvider.searchRelatedPerson(null, null, birthDateParam, null, null, null, null, null,
+		    null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
@@ -164,9 +165,9 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 	public void searchForRelatedPeople_shouldReturnMatchingBundleOfRelatedPeopleByCity() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(relatedPersonService.searchForRelatedPeople(isNull(), isNull(), isNull(), argThat(is(cityParam)), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, cityParam, null, null, null, null);
+		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, cityParam, null, null, null, null, null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
@@ -177,9 +178,9 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 	public void searchForRelatedPeople_shouldReturnMatchingBundleOfRelatedPeopleByState() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(relatedPersonService.searchForRelatedPeople(isNull(), isNull(), isNull(), isNull(), argThat(is(stateParam)),
-		    isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, null, stateParam, null, null, null);
+		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, null, stateParam, null, null, null, null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
@@ -191,9 +192,11 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(relatedPersonService.searchForRelatedPeople(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(postalCodeParam)), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    argThat(is(postalCodeParam)), isNull(), isNull(),
+		    isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, null, null, postalCodeParam, null, null);
+		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, null, null, postalCodeParam, null, null,
+		    null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
@@ -205,9 +208,9 @@ public class RelatedPersonFhirResourceProviderTest extends BaseFhirProvenanceRes
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(relatedPersonService.searchForRelatedPeople(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(countryParam)), isNull())).thenReturn(Collections.singletonList(relatedPerson));
+		    argThat(is(countryParam)), isNull(), isNull())).thenReturn(Collections.singletonList(relatedPerson));
 		
-		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, null, null, null, countryParam, null);
+		Bundle results = resourceProvider.searchRelatedPerson(null, null, null, null, null, null, countryParam, null, null);
 		
 		assertThat(results, Matchers.notNullValue());
 		assertThat(results.isResource(), is(true));
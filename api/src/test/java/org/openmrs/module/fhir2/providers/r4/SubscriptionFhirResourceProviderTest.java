@@ -0,0 +1,106 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.r4;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.when;
+
+import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Subscription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.api.FhirSubscriptionService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionFhirResourceProviderTest {
+	
+	private static final String SUBSCRIPTION_UUID = "1d5d1b3a-5c1f-4d5e-9a44-8d3b9b3f6f10";
+	
+	private static final String WRONG_SUBSCRIPTION_UUID = "6c0b4a4e-35d6-4c2c-a8c6-1f0f5e5b8a21";
+	
+	@Mock
+	private FhirSubscriptionService subscriptionService;
+	
+	private SubscriptionFhirResourceProvider resourceProvider;
+	
+	private Subscription subscription;
+	
+	@Before
+	public void setup() {
+		resourceProvider = new SubscriptionFhirResourceProvider();
+		resourceProvider.setSubscriptionService(subscriptionService);
+		
+		subscription = new Subscription();
+		subscription.setId(SUBSCRIPTION_UUID);
+	}
+	
+	@Test
+	public void getResourceType_shouldReturnResourceType() {
+		assertThat(resourceProvider.getResourceType(), equalTo(Subscription.class));
+	}
+	
+	@Test
+	public void getSubscriptionById_shouldReturnMatchingSubscription() {
+		when(subscriptionService.get(SUBSCRIPTION_UUID)).thenReturn(subscription);
+		
+		Subscription result = resourceProvider.getSubscriptionById(new IdType(SUBSCRIPTION_UUID));
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getId(), equalTo(SUBSCRIPTION_UUID));
+	}
+	
+	@Test(expected = ResourceNotFoundException.class)
+	public void getSubscriptionById_shouldThrowResourceNotFoundException() {
+		resourceProvider.getSubscriptionById(new IdType(WRONG_SUBSCRIPTION_UUID));
+	}
+	
+	@Test
+	public void createSubscription_shouldCreateNewSubscription() {
+		when(subscriptionService.create(subscription)).thenReturn(subscription);
+		
+		MethodOutcome result = resourceProvider.createSubscription(subscription);
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getResource(), equalTo(subscription));
+	}
+	
+	@Test
+	public void updateSubscription_shouldUpdateSubscription() {
+		when(subscriptionService.update(SUBSCRIPTION_UUID, subscription, null)).thenReturn(subscription);
+		
+		MethodOutcome result = resourceProvider.updateSubscription(new IdType(SUBSCRIPTION_UUID), subscription);
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getResource(), equalTo(subscription));
+	}
+	
+	@Test
+	public void deleteSubscription_shouldDeleteSubscription() {
+		when(subscriptionService.delete(SUBSCRIPTION_UUID)).thenReturn(subscription);
+		
+		OperationOutcome result = resourceProvider.deleteSubscription(new IdType(SUBSCRIPTION_UUID));
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getId(), equalTo(SUBSCRIPTION_UUID));
+	}
+	
+	@Test(expected = ResourceNotFoundException.class)
+	public void deleteSubscription_shouldThrowResourceNotFoundException() {
+		resourceProvider.deleteSubscription(new IdType(WRONG_SUBSCRIPTION_UUID));
+	}
+}
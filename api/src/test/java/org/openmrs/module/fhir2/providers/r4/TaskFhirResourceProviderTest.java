@@ -18,13 +18,18 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.api.PatchTypeEnum;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
@@ -35,8 +40,11 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import org.hamcrest.Matchers;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.IntegerType;
 import org.hl7.fhir.r4.model.Provenance;
+import org.hl7.fhir.r4.model.Reference;
 import org.hl7.fhir.r4.model.Resource;
 import org.hl7.fhir.r4.model.Task;
 import org.junit.Before;
@@ -63,6 +71,9 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 	@Mock
 	private FhirTaskService taskService;
 	
+	@Mock
+	private RequestDetails requestDetails;
+	
 	@Getter(AccessLevel.PUBLIC)
 	private TaskFhirResourceProvider resourceProvider;
 	
@@ -157,7 +168,7 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 	
 	@Test
 	public void updateTask_shouldUpdateTask() {
-		when(taskService.update(TASK_UUID, task)).thenReturn(task);
+		when(taskService.update(TASK_UUID, task, null)).thenReturn(task);
 		
 		IdType uuid = new IdType();
 		uuid.setValue(TASK_UUID);
@@ -168,7 +179,7 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 	
 	@Test(expected = InvalidRequestException.class)
 	public void updateTask_shouldThrowInvalidRequestForTaskUuidMismatch() {
-		when(taskService.update(WRONG_TASK_UUID, task)).thenThrow(InvalidRequestException.class);
+		when(taskService.update(WRONG_TASK_UUID, task, null)).thenThrow(InvalidRequestException.class);
 		
 		resourceProvider.updateTask(new IdType().setValue(WRONG_TASK_UUID), task);
 	}
@@ -177,7 +188,7 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 	public void updateTask_shouldThrowInvalidRequestIfTaskHasNoUuid() {
 		Task noIdTask = new Task();
 		
-		when(taskService.update(TASK_UUID, noIdTask)).thenThrow(InvalidRequestException.class);
+		when(taskService.update(TASK_UUID, noIdTask, null)).thenThrow(InvalidRequestException.class);
 		
 		resourceProvider.updateTask(new IdType().setValue(TASK_UUID), noIdTask);
 	}
@@ -187,24 +198,75 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 		Task wrongTask = new Task();
 		wrongTask.setId(WRONG_TASK_UUID);
 		
-		when(taskService.update(WRONG_TASK_UUID, wrongTask)).thenThrow(MethodNotAllowedException.class);
+		when(taskService.update(WRONG_TASK_UUID, wrongTask, null)).thenThrow(MethodNotAllowedException.class);
 		
 		resourceProvider.updateTask(new IdType().setValue(WRONG_TASK_UUID), wrongTask);
 	}
 	
+	@Test
+	public void patchTask_shouldPatchTask() {
+		String patch = "[{ \"op\": \"replace\", \"path\": \"/status\", \"value\": \"accepted\" }]";
+		when(taskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH, patch, null)).thenReturn(task);
+		
+		MethodOutcome result = resourceProvider.patchTask(new IdType().setValue(TASK_UUID), PatchTypeEnum.JSON_PATCH,
+		    patch, requestDetails);
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getResource(), equalTo(task));
+	}
+	
+	@Test
+	public void patchTask_shouldPassIfMatchVersionToService() {
+		String patch = "[{ \"op\": \"replace\", \"path\": \"/status\", \"value\": \"accepted\" }]";
+		when(requestDetails.getHeader(Constants.HEADER_IF_MATCH)).thenReturn("W/\"1234\"");
+		when(taskService.patch(TASK_UUID, PatchTypeEnum.JSON_PATCH, patch, "1234")).thenReturn(task);
+		
+		MethodOutcome result = resourceProvider.patchTask(new IdType().setValue(TASK_UUID), PatchTypeEnum.JSON_PATCH,
+		    patch, requestDetails);
+		
+		assertThat(result.getResource(), equalTo(task));
+	}
+	
+	@Test(expected = MethodNotAllowedException.class)
+	public void patchTask_shouldThrowMethodNotAllowedIfTaskDoesNotExist() {
+		String patch = "[]";
+		when(taskService.patch(WRONG_TASK_UUID, PatchTypeEnum.JSON_PATCH, patch, null))
+		        .thenThrow(MethodNotAllowedException.class);
+		
+		resourceProvider.patchTask(new IdType().setValue(WRONG_TASK_UUID), PatchTypeEnum.JSON_PATCH, patch,
+		    requestDetails);
+	}
+	
+	@Test
+	public void claimTasks_shouldReturnClaimedTasks() {
+		when(taskService.claimTasks("Practitioner", WRONG_TASK_UUID, 2)).thenReturn(Collections.singletonList(task));
+		
+		Bundle result = resourceProvider.claimTasks(new Reference("Practitioner/" + WRONG_TASK_UUID), new IntegerType(2));
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getEntry().size(), equalTo(1));
+		assertThat(result.getEntryFirstRep().getResource(), equalTo(task));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void claimTasks_shouldThrowInvalidRequestForOwnerWithoutType() {
+		resourceProvider.claimTasks(new Reference(WRONG_TASK_UUID), null);
+	}
+	
 	@Test
 	public void searchTasks_shouldReturnMatchingTasks() {
 		List<Task> tasks = new ArrayList<>();
 		tasks.add(task);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any())).thenReturn(new MockIBundleProvider<>(tasks, 10, 1));
+		when(taskService.searchForTasks(any(), any(), any(), isNull(), any())).thenReturn(new MockIBundleProvider<>(tasks,
+		    10, 1));
 		
 		TokenAndListParam status = new TokenAndListParam();
 		TokenParam statusToken = new TokenParam();
 		statusToken.setValue("ACCEPTED");
 		status.addAnd(new TokenOrListParam().add(statusToken));
 		
-		IBundleProvider results = resourceProvider.searchTasks(null, null, status, null);
+		IBundleProvider results = resourceProvider.searchTasks(null, null, status, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
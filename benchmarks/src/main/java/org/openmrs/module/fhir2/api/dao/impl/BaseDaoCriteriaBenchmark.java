@@ -0,0 +1,122 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
+import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
+import org.hibernate.Criteria;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.CriteriaImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.benchmark.SyntheticData;
+
+/**
+ * Building of the criteria for typical search parameters by the helpers in {@link BaseDao}. The
+ * criteria are created against a stubbed session, so no query is run; what is measured is the cost
+ * of turning the HAPI parameters into Hibernate criteria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseDaoCriteriaBenchmark {
+	
+	private static final String LOINC = SyntheticData.CONCEPT_SOURCES.get("LOINC");
+	
+	private static final String CIEL = SyntheticData.CONCEPT_SOURCES.get("CIEL");
+	
+	private final BaseDao dao = new BaseDao() {};
+	
+	private SessionImplementor session;
+	
+	private TokenAndListParam uuids;
+	
+	private TokenAndListParam concepts;
+	
+	private StringAndListParam name;
+	
+	private StringAndListParam given;
+	
+	private StringAndListParam family;
+	
+	private DateParam date;
+	
+	@Setup
+	public void setup() {
+		session = mock(SessionImplementor.class, withSettings().stubOnly());
+		
+		uuids = new TokenAndListParam()
+		        .addAnd(new TokenOrListParam().add(null, SyntheticData.uuid()).add(null, SyntheticData.uuid())
+		                .add(null, SyntheticData.uuid()))
+		        .addAnd(new TokenOrListParam().add(null, SyntheticData.uuid()).add(null, SyntheticData.uuid()));
+		
+		// a mix of plain concept ids, uuids and codes from two concept sources
+		concepts = new TokenAndListParam()
+		        .addAnd(new TokenOrListParam().add(null, "5089").add(null, SyntheticData.uuid()).add(LOINC, "8480-6")
+		                .add(LOINC, "8462-4").add(CIEL, "5085"))
+		        .addAnd(new TokenOrListParam().add(CIEL, "5086"));
+		
+		name = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam("John Otieno")));
+		given = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam("Amina"))
+		        .add(new StringParam("Wanjiru", true)));
+		family = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam("Mwangi")));
+		
+		date = new DateParam("ge2020-03-15T10:00:00");
+	}
+	
+	@Benchmark
+	public Optional<Criterion> handleAndListParam() {
+		return dao.handleAndListParam(uuids, token -> Optional.of(eq("uuid", token.getValue())));
+	}
+	
+	@Benchmark
+	public Optional<Criterion> handleCodeableConcept() {
+		Criteria criteria = new CriteriaImpl(Obs.class.getName(), session);
+		criteria.createAlias("concept", "c");
+		return dao.handleCodeableConcept(criteria, concepts, "c", "cm", "crt");
+	}
+	
+	@Benchmark
+	public Criteria handleNames() {
+		Criteria criteria = new CriteriaImpl(Patient.class.getName(), session);
+		dao.handleNames(criteria, name, given, family);
+		return criteria;
+	}
+	
+	@Benchmark
+	public Optional<Criterion> handleDate() {
+		return dao.handleDate("obsDatetime", date);
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openmrs.Auditable;
+import org.openmrs.Concept;
+import org.openmrs.Encounter;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.api.FhirConceptService;
+import org.openmrs.module.fhir2.api.FhirConceptSourceService;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.FhirUserDefaultProperties;
+import org.openmrs.module.fhir2.api.dao.FhirPersonDao;
+import org.openmrs.module.fhir2.api.mappings.ObservationCategoryMap;
+import org.openmrs.module.fhir2.benchmark.SyntheticData;
+
+/**
+ * Wires the translators under benchmark the way Spring would, using the real implementation of
+ * every translator they depend on. Only the services and DAOs at the edges of the graph, which
+ * would otherwise need a database, are replaced by stubs. The stubs are created as stub-only
+ * mocks, so they do not record their invocations and add as little overhead as possible.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkTranslators {
+	
+	/**
+	 * @param resolvedConcept the concept that codings are resolved to when translating to OpenMRS
+	 * @return a concept translator that knows the concept sources in {@link SyntheticData}
+	 */
+	public static ConceptTranslatorImpl conceptTranslator(Concept resolvedConcept) {
+		FhirConceptSourceService conceptSourceService = stub(FhirConceptSourceService.class);
+		for (String sourceName : SyntheticData.CONCEPT_SOURCES.keySet()) {
+			FhirConceptSource conceptSource = SyntheticData.fhirConceptSource(sourceName);
+			when(conceptSourceService.getFhirConceptSourceByConceptSourceName(sourceName))
+			        .thenReturn(Optional.of(conceptSource));
+			when(conceptSourceService.getFhirConceptSourceByUrl(conceptSource.getUrl()))
+			        .thenReturn(Optional.of(conceptSource));
+		}
+		
+		FhirConceptService conceptService = stub(FhirConceptService.class);
+		when(conceptService.get(anyString())).thenReturn(resolvedConcept);
+		when(conceptService.getConceptBySourceNameAndCode(anyString(), anyString()))
+		        .thenReturn(Optional.ofNullable(resolvedConcept));
+		
+		FhirUserDefaultProperties userDefaultProperties = stub(FhirUserDefaultProperties.class);
+		when(userDefaultProperties.getDefaultLocale()).thenReturn(Locale.ENGLISH);
+		
+		ConceptTranslatorImpl conceptTranslator = new ConceptTranslatorImpl();
+		conceptTranslator.setConceptService(conceptService);
+		conceptTranslator.setConceptSourceService(conceptSourceService);
+		conceptTranslator.setUserDefaultProperties(userDefaultProperties);
+		return conceptTranslator;
+	}
+	
+	public static ObservationTranslatorImpl observationTranslator() {
+		ConceptTranslatorImpl conceptTranslator = conceptTranslator(null);
+		
+		ObservationValueTranslatorImpl valueTranslator = new ObservationValueTranslatorImpl();
+		valueTranslator.setConceptTranslator(conceptTranslator);
+		
+		ObservationCategoryMap categoryMap = stub(ObservationCategoryMap.class);
+		when(categoryMap.getCategory(SyntheticData.CONCEPT_CLASS_UUID)).thenReturn("laboratory");
+		
+		ObservationCategoryTranslatorImpl categoryTranslator = new ObservationCategoryTranslatorImpl();
+		categoryTranslator.setCategoryMap(categoryMap);
+		
+		EncounterReferenceTranslatorImpl encounterReferenceTranslator = new EncounterReferenceTranslatorImpl();
+		encounterReferenceTranslator.setPatientIdentifierTranslator(new PatientIdentifierTranslatorImpl());
+		
+		ObservationTranslatorImpl observationTranslator = new ObservationTranslatorImpl();
+		observationTranslator.setObservationStatusTranslator(new ObservationStatusTranslatorImpl());
+		observationTranslator.setObservationReferenceTranslator(new ObservationReferenceTranslatorImpl());
+		observationTranslator.setObservationValueTranslator(valueTranslator);
+		observationTranslator.setConceptTranslator(conceptTranslator);
+		observationTranslator.setCategoryTranslator(categoryTranslator);
+		observationTranslator.setEncounterReferenceTranslator(encounterReferenceTranslator);
+		observationTranslator.setPatientReferenceTranslator(patientReferenceTranslator());
+		observationTranslator.setInterpretationTranslator(new ObservationInterpretationTranslatorImpl());
+		observationTranslator.setReferenceRangeTranslator(new ObservationReferenceRangeTranslatorImpl());
+		observationTranslator.setProvenanceTranslator(provenanceTranslator());
+		observationTranslator.setBasedOnReferenceTranslator(new ObservationBasedOnReferenceTranslatorImpl());
+		observationTranslator.setDatetimeTranslator(new ObservationEffectiveDatetimeTranslatorImpl());
+		return observationTranslator;
+	}
+	
+	public static PatientTranslatorImpl patientTranslator() {
+		FhirGlobalPropertyService globalPropertyService = stub(FhirGlobalPropertyService.class);
+		when(globalPropertyService.getGlobalProperty(FhirConstants.PERSON_ATTRIBUTE_TYPE_PROPERTY))
+		        .thenReturn(SyntheticData.PERSON_ATTRIBUTE_TYPE_UUID);
+		
+		FhirPersonDao personDao = stub(FhirPersonDao.class);
+		when(personDao.getActiveAttributesByPersonAndAttributeTypeUuid(any(Patient.class),
+		    anyString())).thenAnswer(invocation -> SyntheticData.contactAttributes(invocation.getArgument(0)));
+		
+		TelecomTranslatorImpl telecomTranslator = new TelecomTranslatorImpl();
+		telecomTranslator.setGlobalPropertyService(globalPropertyService);
+		
+		PatientTranslatorImpl patientTranslator = new PatientTranslatorImpl();
+		patientTranslator.setIdentifierTranslator(new PatientIdentifierTranslatorImpl());
+		patientTranslator.setNameTranslator(new PersonNameTranslatorImpl());
+		patientTranslator.setGenderTranslator(new GenderTranslatorImpl());
+		patientTranslator.setAddressTranslator(new PersonAddressTranslatorImpl());
+		patientTranslator.setGlobalPropertyService(globalPropertyService);
+		patientTranslator.setFhirPersonDao(personDao);
+		patientTranslator.setTelecomTranslator(telecomTranslator);
+		patientTranslator.setProvenanceTranslator(provenanceTranslator());
+		return patientTranslator;
+	}
+	
+	public static EncounterTranslatorImpl encounterTranslator() {
+		EncounterParticipantTranslatorImpl participantTranslator = new EncounterParticipantTranslatorImpl();
+		participantTranslator.setPatientIdentifierTranslator(new PatientIdentifierTranslatorImpl());
+		
+		EncounterLocationTranslatorImpl locationTranslator = new EncounterLocationTranslatorImpl();
+		locationTranslator.setPatientIdentifierTranslator(new PatientIdentifierTranslatorImpl());
+		
+		EncounterTranslatorImpl encounterTranslator = new EncounterTranslatorImpl();
+		encounterTranslator.setParticipantTranslator(participantTranslator);
+		encounterTranslator.setEncounterLocationTranslator(locationTranslator);
+		encounterTranslator.setPatientReferenceTranslator(patientReferenceTranslator());
+		encounterTranslator.setProvenanceTranslator(BenchmarkTranslators.<Encounter> provenanceTranslator());
+		return encounterTranslator;
+	}
+	
+	/**
+	 * @param typeConcept the concept that the types of task inputs and outputs are resolved to
+	 * @return a task translator
+	 */
+	public static TaskTranslatorImpl taskTranslator(Concept typeConcept) {
+		TaskTranslatorImpl taskTranslator = new TaskTranslatorImpl();
+		taskTranslator.setProvenanceTranslator(BenchmarkTranslators.<FhirTask> provenanceTranslator());
+		taskTranslator.setReferenceTranslator(new ReferenceTranslatorImpl());
+		taskTranslator.setConceptTranslator(conceptTranslator(typeConcept));
+		return taskTranslator;
+	}
+	
+	private static PatientReferenceTranslatorImpl patientReferenceTranslator() {
+		PatientReferenceTranslatorImpl patientReferenceTranslator = new PatientReferenceTranslatorImpl();
+		patientReferenceTranslator.setPatientIdentifierTranslator(new PatientIdentifierTranslatorImpl());
+		return patientReferenceTranslator;
+	}
+	
+	private static <T extends OpenmrsObject & Auditable> ProvenanceTranslatorImpl<T> provenanceTranslator() {
+		PractitionerReferenceTranslatorUserImpl userReferenceTranslator = new PractitionerReferenceTranslatorUserImpl();
+		userReferenceTranslator.setPatientIdentifierTranslator(new PatientIdentifierTranslatorImpl());
+		
+		ProvenanceTranslatorImpl<T> provenanceTranslator = new ProvenanceTranslatorImpl<>();
+		provenanceTranslator.setPractitionerReferenceTranslator(userReferenceTranslator);
+		return provenanceTranslator;
+	}
+	
+	private static <T> T stub(Class<T> type) {
+		return mock(type, withSettings().stubOnly());
+	}
+}
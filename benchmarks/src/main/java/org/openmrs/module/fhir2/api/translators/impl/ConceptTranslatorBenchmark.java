@@ -0,0 +1,62 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.Concept;
+import org.openmrs.module.fhir2.benchmark.SyntheticData;
+
+/**
+ * Translation of a concept with names in four locales and mappings to three concept sources, in
+ * both directions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConceptTranslatorBenchmark {
+	
+	private ConceptTranslatorImpl conceptTranslator;
+	
+	private Concept concept;
+	
+	private CodeableConcept codeableConcept;
+	
+	@Setup
+	public void setup() {
+		concept = SyntheticData.concept("Systolic blood pressure");
+		conceptTranslator = BenchmarkTranslators.conceptTranslator(concept);
+		codeableConcept = conceptTranslator.toFhirResource(concept);
+	}
+	
+	@Benchmark
+	public CodeableConcept toFhirResource() {
+		return conceptTranslator.toFhirResource(concept);
+	}
+	
+	@Benchmark
+	public Concept toOpenmrsType() {
+		return conceptTranslator.toOpenmrsType(codeableConcept);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.r4.model.Observation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.Concept;
+import org.openmrs.ConceptNumeric;
+import org.openmrs.Encounter;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.benchmark.SyntheticData;
+
+/**
+ * Translation of numeric, coded and grouped observations, recorded in an encounter, to FHIR
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObservationTranslatorBenchmark {
+	
+	@Param({ "numeric", "coded", "group" })
+	public String kind;
+	
+	private ObservationTranslatorImpl observationTranslator;
+	
+	private Obs obs;
+	
+	@Setup
+	public void setup() {
+		observationTranslator = BenchmarkTranslators.observationTranslator();
+		
+		Encounter encounter = SyntheticData.encounter(SyntheticData.patient(), 2);
+		ConceptNumeric systolic = SyntheticData.conceptNumeric("Systolic blood pressure");
+		
+		switch (kind) {
+			case "numeric":
+				obs = SyntheticData.numericObs(encounter, systolic);
+				break;
+			case "coded":
+				obs = SyntheticData.codedObs(encounter, SyntheticData.concept("HIV test result"),
+				    SyntheticData.concept("Negative"));
+				break;
+			case "group":
+				Concept vitals = SyntheticData.concept("Vital signs");
+				obs = SyntheticData.obsGroup(encounter, vitals, SyntheticData.numericObs(encounter, systolic),
+				    SyntheticData.numericObs(encounter, SyntheticData.conceptNumeric("Diastolic blood pressure")),
+				    SyntheticData.numericObs(encounter, SyntheticData.conceptNumeric("Pulse")));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown kind of observation " + kind);
+		}
+	}
+	
+	@Benchmark
+	public Observation toFhirResource() {
+		return observationTranslator.toFhirResource(obs);
+	}
+}
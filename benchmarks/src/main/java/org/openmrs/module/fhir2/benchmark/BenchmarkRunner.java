@@ -0,0 +1,58 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmark;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the same arguments as the standard JMH runner, but
+ * always adds the GC profiler, so that the allocation rate per operation is reported alongside the
+ * throughput of each benchmark.
+ * <p/>
+ * Usage:
+ *
+ * <pre>
+ * mvn -Pbenchmarks package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkRunner {
+	
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		if (commandLineOptions.shouldHelp()) {
+			commandLineOptions.showHelp();
+			return;
+		}
+		
+		// "-prof gc" on the command line is recorded by its short name
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+		if (commandLineOptions.getProfilers().stream().map(ProfilerConfig::getKlass)
+		        .noneMatch(profiler -> "gc".equals(profiler) || GCProfiler.class.getName().equals(profiler))) {
+			options.addProfiler(GCProfiler.class);
+		}
+		
+		Runner runner = new Runner(options.build());
+		if (commandLineOptions.shouldList()) {
+			runner.list();
+			return;
+		}
+		
+		runner.run();
+	}
+}
@@ -0,0 +1,475 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Identifier;
+import org.hl7.fhir.r4.model.Period;
+import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.StringType;
+import org.hl7.fhir.r4.model.Task;
+import org.openmrs.Concept;
+import org.openmrs.ConceptClass;
+import org.openmrs.ConceptDatatype;
+import org.openmrs.ConceptMap;
+import org.openmrs.ConceptName;
+import org.openmrs.ConceptNumeric;
+import org.openmrs.ConceptReferenceTerm;
+import org.openmrs.ConceptSource;
+import org.openmrs.Encounter;
+import org.openmrs.EncounterProvider;
+import org.openmrs.EncounterRole;
+import org.openmrs.EncounterType;
+import org.openmrs.Location;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.Person;
+import org.openmrs.PersonAddress;
+import org.openmrs.PersonAttribute;
+import org.openmrs.PersonAttributeType;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.User;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirReference;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.FhirTaskInput;
+import org.openmrs.module.fhir2.FhirTaskOutput;
+
+/**
+ * Builds OpenMRS object graphs which resemble what the translators see in a real deployment, e.g.,
+ * concepts with names in several locales and mappings to several sources, patients with multiple
+ * identifiers and names, and encounters with several providers. The data is generated from a fixed
+ * seed, so every run of a benchmark sees the same graphs.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SyntheticData {
+	
+	/**
+	 * The concept sources that concepts are mapped to, keyed by name, with the URLs they are exposed as
+	 */
+	public static final Map<String, String> CONCEPT_SOURCES;
+	
+	public static final List<Locale> LOCALES = Collections
+	        .unmodifiableList(Arrays.asList(Locale.ENGLISH, Locale.FRENCH, new Locale("es"), new Locale("sw")));
+	
+	public static final String PERSON_ATTRIBUTE_TYPE_UUID = "14d4f066-15f5-102d-96e4-000c29c2a5d7";
+	
+	public static final String CONCEPT_CLASS_UUID = "8d4907b2-c2cc-11de-8d13-0010c6dffd0f";
+	
+	private static final String[] GIVEN_NAMES = { "Amina", "John", "Wanjiru", "Pedro", "Grace", "Mohamed", "Achieng" };
+	
+	private static final String[] FAMILY_NAMES = { "Otieno", "Smith", "Mwangi", "Garcia", "Okafor", "Hassan", "Kamau" };
+	
+	private static final String[] CITIES = { "Eldoret", "Kampala", "Lima", "Kigali", "Maputo" };
+	
+	private static final Random RANDOM = new Random(42L);
+	
+	private static final Date DATE_CREATED = new Date(1577836800000L);
+	
+	private static final Date DATE_CHANGED = new Date(1583020800000L);
+	
+	private static final User USER = user();
+	
+	private static final Location LOCATION = location();
+	
+	static {
+		Map<String, String> sources = new LinkedHashMap<>();
+		sources.put("CIEL", "https://openconceptlab.org/orgs/CIEL/sources/CIEL");
+		sources.put("LOINC", "http://loinc.org");
+		sources.put("SNOMED CT", "http://snomed.info/sct");
+		CONCEPT_SOURCES = Collections.unmodifiableMap(sources);
+	}
+	
+	public static String uuid() {
+		byte[] bytes = new byte[16];
+		RANDOM.nextBytes(bytes);
+		return UUID.nameUUIDFromBytes(bytes).toString();
+	}
+	
+	public static FhirConceptSource fhirConceptSource(String name) {
+		ConceptSource conceptSource = new ConceptSource();
+		conceptSource.setUuid(uuid());
+		conceptSource.setName(name);
+		
+		FhirConceptSource fhirConceptSource = new FhirConceptSource();
+		fhirConceptSource.setConceptSource(conceptSource);
+		fhirConceptSource.setUrl(CONCEPT_SOURCES.get(name));
+		return fhirConceptSource;
+	}
+	
+	/**
+	 * @param name the English name of the concept
+	 * @return a concept with a name in each of {@link #LOCALES} and a mapping to each of
+	 *         {@link #CONCEPT_SOURCES}
+	 */
+	public static Concept concept(String name) {
+		return populateConcept(new Concept(), name, "Text");
+	}
+	
+	/**
+	 * @param name the English name of the concept
+	 * @return a numeric concept with normal, critical and absolute ranges
+	 */
+	public static ConceptNumeric conceptNumeric(String name) {
+		ConceptNumeric concept = new ConceptNumeric();
+		populateConcept(concept, name, "Numeric");
+		concept.setUnits("mmHg");
+		concept.setLowNormal(60.0);
+		concept.setHiNormal(120.0);
+		concept.setLowCritical(40.0);
+		concept.setHiCritical(180.0);
+		concept.setLowAbsolute(0.0);
+		concept.setHiAbsolute(300.0);
+		return concept;
+	}
+	
+	public static Patient patient() {
+		Patient patient = new Patient();
+		populatePerson(patient);
+		
+		PatientIdentifierType openmrsId = new PatientIdentifierType();
+		openmrsId.setUuid(uuid());
+		openmrsId.setName("OpenMRS ID");
+		
+		PatientIdentifierType nationalId = new PatientIdentifierType();
+		nationalId.setUuid(uuid());
+		nationalId.setName("National ID");
+		
+		PatientIdentifier preferred = new PatientIdentifier(String.valueOf(100000 + RANDOM.nextInt(900000)), openmrsId,
+		        LOCATION);
+		preferred.setUuid(uuid());
+		preferred.setPreferred(true);
+		patient.addIdentifier(preferred);
+		
+		PatientIdentifier other = new PatientIdentifier(String.valueOf(10000000 + RANDOM.nextInt(90000000)), nationalId,
+		        LOCATION);
+		other.setUuid(uuid());
+		other.setPreferred(false);
+		patient.addIdentifier(other);
+		
+		return patient;
+	}
+	
+	/**
+	 * @param patient the patient the attributes belong to
+	 * @return the contact attributes of the patient, as returned by the person DAO
+	 */
+	public static List<PersonAttribute> contactAttributes(Person patient) {
+		PersonAttributeType type = new PersonAttributeType();
+		type.setUuid(PERSON_ATTRIBUTE_TYPE_UUID);
+		type.setName("Telephone Number");
+		
+		PersonAttribute mobile = new PersonAttribute(type, "+254 700 " + (100000 + RANDOM.nextInt(900000)));
+		mobile.setUuid(uuid());
+		mobile.setPerson(patient);
+		
+		PersonAttribute home = new PersonAttribute(type, "+254 20 " + (1000000 + RANDOM.nextInt(9000000)));
+		home.setUuid(uuid());
+		home.setPerson(patient);
+		
+		return Arrays.asList(mobile, home);
+	}
+	
+	/**
+	 * @param patient the patient the encounter is for
+	 * @param providers the number of providers participating in the encounter
+	 * @return an encounter at a location with the given number of providers
+	 */
+	public static Encounter encounter(Patient patient, int providers) {
+		Encounter encounter = new Encounter();
+		populateAuditable(encounter);
+		encounter.setPatient(patient);
+		encounter.setLocation(LOCATION);
+		encounter.setEncounterDatetime(DATE_CREATED);
+		
+		EncounterType encounterType = new EncounterType("Adult Visit", "Adult return visit");
+		encounterType.setUuid(uuid());
+		encounter.setEncounterType(encounterType);
+		
+		EncounterRole role = new EncounterRole();
+		role.setUuid(uuid());
+		role.setName("Clinician");
+		
+		Set<EncounterProvider> encounterProviders = new HashSet<>();
+		for (int i = 0; i < providers; i++) {
+			Person person = new Person();
+			populatePerson(person);
+			
+			Provider provider = new Provider();
+			provider.setUuid(uuid());
+			provider.setPerson(person);
+			provider.setIdentifier("PRV-" + (1000 + RANDOM.nextInt(9000)));
+			
+			EncounterProvider encounterProvider = new EncounterProvider();
+			encounterProvider.setUuid(uuid());
+			encounterProvider.setEncounter(encounter);
+			encounterProvider.setProvider(provider);
+			encounterProvider.setEncounterRole(role);
+			encounterProviders.add(encounterProvider);
+		}
+		encounter.setEncounterProviders(encounterProviders);
+		
+		return encounter;
+	}
+	
+	/**
+	 * @param encounter the encounter the observation was recorded in
+	 * @param concept the numeric question concept
+	 * @return a numeric observation
+	 */
+	public static Obs numericObs(Encounter encounter, ConceptNumeric concept) {
+		Obs obs = newObs(encounter, concept);
+		obs.setValueNumeric(60.0 + RANDOM.nextInt(120));
+		return obs;
+	}
+	
+	/**
+	 * @param encounter the encounter the observation was recorded in
+	 * @param concept the coded question concept
+	 * @param answer the coded answer
+	 * @return a coded observation
+	 */
+	public static Obs codedObs(Encounter encounter, Concept concept, Concept answer) {
+		Obs obs = newObs(encounter, concept);
+		obs.setValueCoded(answer);
+		return obs;
+	}
+	
+	/**
+	 * @param encounter the encounter the observations were recorded in
+	 * @param concept the concept for the group
+	 * @param members the members of the group
+	 * @return an observation group containing the given members
+	 */
+	public static Obs obsGroup(Encounter encounter, Concept concept, Obs... members) {
+		Obs group = newObs(encounter, concept);
+		for (Obs member : members) {
+			group.addGroupMember(member);
+		}
+		return group;
+	}
+	
+	/**
+	 * @param typeConcept the concept used as the type of the task's inputs and outputs
+	 * @param parameters the number of inputs and outputs
+	 * @return a task with based-on references and the given number of inputs and outputs
+	 */
+	public static FhirTask task(Concept typeConcept, int parameters) {
+		FhirTask task = new FhirTask();
+		populateAuditable(task);
+		task.setName("Task/" + task.getUuid());
+		task.setStatus(FhirTask.TaskStatus.ACCEPTED);
+		task.setIntent(FhirTask.TaskIntent.ORDER);
+		task.setBasedOnReferences(new HashSet<>(
+		        Arrays.asList(reference(FhirConstants.SERVICE_REQUEST), reference(FhirConstants.SERVICE_REQUEST))));
+		task.setForReference(reference(FhirConstants.PATIENT));
+		task.setEncounterReference(reference(FhirConstants.ENCOUNTER));
+		task.setOwnerReference(reference(FhirConstants.PRACTITIONER));
+		
+		Set<FhirTaskInput> input = new HashSet<>();
+		Set<FhirTaskOutput> output = new HashSet<>();
+		for (int i = 0; i < parameters; i++) {
+			FhirTaskInput taskInput = new FhirTaskInput();
+			taskInput.setUuid(uuid());
+			taskInput.setType(typeConcept);
+			taskInput.setValueText("Specimen collected at " + CITIES[i % CITIES.length]);
+			input.add(taskInput);
+			
+			FhirTaskOutput taskOutput = new FhirTaskOutput();
+			taskOutput.setUuid(uuid());
+			taskOutput.setType(typeConcept);
+			taskOutput.setValueReference(reference(FhirConstants.DIAGNOSTIC_REPORT));
+			output.add(taskOutput);
+		}
+		task.setInput(input);
+		task.setOutput(output);
+		
+		return task;
+	}
+	
+	/**
+	 * @param parameters the number of inputs and outputs
+	 * @return an R4 task, as received from a client, with the given number of inputs and outputs
+	 */
+	public static Task fhirTask(int parameters) {
+		Task task = new Task();
+		task.setId(uuid());
+		task.addIdentifier(new Identifier().setSystem("urn:openmrs:task").setValue(uuid()));
+		task.setStatus(Task.TaskStatus.ACCEPTED);
+		task.setIntent(Task.TaskIntent.ORDER);
+		task.setPriority(Task.TaskPriority.ROUTINE);
+		task.setDescription("Collect a blood sample and run a complete blood count");
+		task.addBasedOn(fhirReference(FhirConstants.SERVICE_REQUEST));
+		task.setFor(fhirReference(FhirConstants.PATIENT));
+		task.setEncounter(fhirReference(FhirConstants.ENCOUNTER));
+		task.setOwner(fhirReference(FhirConstants.PRACTITIONER));
+		task.setAuthoredOn(DATE_CREATED);
+		task.setLastModified(DATE_CHANGED);
+		task.setExecutionPeriod(new Period().setStart(DATE_CREATED).setEnd(DATE_CHANGED));
+		
+		for (int i = 0; i < parameters; i++) {
+			CodeableConcept type = new CodeableConcept();
+			type.addCoding().setSystem(CONCEPT_SOURCES.get("LOINC")).setCode("58410-" + i)
+			        .setDisplay("Complete blood count");
+			task.addInput().setType(type).setValue(new StringType("Specimen collected at " + CITIES[i % CITIES.length]));
+			task.addOutput().setType(type).setValue(fhirReference(FhirConstants.DIAGNOSTIC_REPORT));
+		}
+		
+		return task;
+	}
+	
+	private static Obs newObs(Encounter encounter, Concept concept) {
+		Obs obs = new Obs();
+		populateAuditable(obs);
+		obs.setPerson(encounter.getPatient());
+		obs.setEncounter(encounter);
+		obs.setLocation(encounter.getLocation());
+		obs.setConcept(concept);
+		obs.setObsDatetime(encounter.getEncounterDatetime());
+		encounter.addObs(obs);
+		return obs;
+	}
+	
+	private static <T extends Concept> T populateConcept(T concept, String name, String datatype) {
+		concept.setUuid(uuid());
+		concept.setDateCreated(DATE_CREATED);
+		concept.setCreator(USER);
+		
+		ConceptDatatype conceptDatatype = new ConceptDatatype();
+		conceptDatatype.setUuid(uuid());
+		conceptDatatype.setName(datatype);
+		concept.setDatatype(conceptDatatype);
+		
+		ConceptClass conceptClass = new ConceptClass();
+		conceptClass.setUuid(CONCEPT_CLASS_UUID);
+		conceptClass.setName("Test");
+		concept.setConceptClass(conceptClass);
+		
+		for (Locale locale : LOCALES) {
+			ConceptName conceptName = new ConceptName(name + " (" + locale.getLanguage() + ")", locale);
+			conceptName.setUuid(uuid());
+			conceptName.setLocalePreferred(true);
+			concept.addName(conceptName);
+		}
+		
+		for (String sourceName : CONCEPT_SOURCES.keySet()) {
+			ConceptSource conceptSource = new ConceptSource();
+			conceptSource.setName(sourceName);
+			
+			ConceptReferenceTerm term = new ConceptReferenceTerm(conceptSource,
+			        String.valueOf(1000 + RANDOM.nextInt(9000)) + "-" + RANDOM.nextInt(10), name);
+			term.setUuid(uuid());
+			
+			ConceptMap conceptMap = new ConceptMap();
+			conceptMap.setUuid(uuid());
+			conceptMap.setConceptReferenceTerm(term);
+			concept.addConceptMapping(conceptMap);
+		}
+		
+		return concept;
+	}
+	
+	private static void populatePerson(Person person) {
+		populateAuditable(person);
+		person.setGender(RANDOM.nextBoolean() ? "F" : "M");
+		person.setBirthdate(new Date(DATE_CREATED.getTime() - (long) (RANDOM.nextInt(80 * 365) + 365) * 86400000L));
+		person.setDead(false);
+		
+		PersonName preferredName = new PersonName(GIVEN_NAMES[RANDOM.nextInt(GIVEN_NAMES.length)],
+		        GIVEN_NAMES[RANDOM.nextInt(GIVEN_NAMES.length)], FAMILY_NAMES[RANDOM.nextInt(FAMILY_NAMES.length)]);
+		preferredName.setUuid(uuid());
+		preferredName.setPreferred(true);
+		person.addName(preferredName);
+		
+		PersonName otherName = new PersonName(preferredName.getGivenName(), null,
+		        FAMILY_NAMES[RANDOM.nextInt(FAMILY_NAMES.length)]);
+		otherName.setUuid(uuid());
+		otherName.setPreferred(false);
+		person.addName(otherName);
+		
+		PersonAddress address = new PersonAddress();
+		address.setUuid(uuid());
+		address.setPreferred(true);
+		address.setAddress1(RANDOM.nextInt(200) + " Hospital Road");
+		address.setCityVillage(CITIES[RANDOM.nextInt(CITIES.length)]);
+		address.setStateProvince("Central");
+		address.setCountry("Kenya");
+		address.setPostalCode(String.valueOf(10000 + RANDOM.nextInt(90000)));
+		person.addAddress(address);
+	}
+	
+	private static void populateAuditable(org.openmrs.BaseOpenmrsData data) {
+		data.setUuid(uuid());
+		data.setCreator(USER);
+		data.setDateCreated(DATE_CREATED);
+		data.setChangedBy(USER);
+		data.setDateChanged(DATE_CHANGED);
+	}
+	
+	private static void populateAuditable(org.openmrs.BaseOpenmrsMetadata metadata) {
+		metadata.setUuid(uuid());
+		metadata.setCreator(USER);
+		metadata.setDateCreated(DATE_CREATED);
+		metadata.setChangedBy(USER);
+		metadata.setDateChanged(DATE_CHANGED);
+	}
+	
+	private static FhirReference reference(String type) {
+		FhirReference reference = new FhirReference();
+		reference.setUuid(uuid());
+		reference.setType(type);
+		reference.setReference(uuid());
+		return reference;
+	}
+	
+	private static Reference fhirReference(String type) {
+		return new Reference().setReference(type + "/" + uuid()).setType(type);
+	}
+	
+	private static User user() {
+		Person person = new Person();
+		person.setUuid(uuid());
+		person.setGender("F");
+		
+		PersonName name = new PersonName("Super", null, "User");
+		name.setUuid(uuid());
+		person.addName(name);
+		
+		User user = new User(person);
+		user.setUuid(uuid());
+		user.setUsername("admin");
+		return user;
+	}
+	
+	private static Location location() {
+		Location location = new Location();
+		location.setUuid(uuid());
+		location.setName("Outpatient Clinic");
+		return location;
+	}
+}
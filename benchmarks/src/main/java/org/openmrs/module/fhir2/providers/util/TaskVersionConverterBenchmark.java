@@ -0,0 +1,60 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.module.fhir2.benchmark.SyntheticData;
+
+/**
+ * Conversion of tasks between R4 and STU3, as done for every Task served by the R3 endpoint
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskVersionConverterBenchmark {
+	
+	@Param({ "1", "10" })
+	public int parameters;
+	
+	private org.hl7.fhir.r4.model.Task r4Task;
+	
+	private org.hl7.fhir.dstu3.model.Task dstu3Task;
+	
+	@Setup
+	public void setup() {
+		r4Task = SyntheticData.fhirTask(parameters);
+		dstu3Task = TaskVersionConverter.convertTask(r4Task);
+	}
+	
+	@Benchmark
+	public org.hl7.fhir.dstu3.model.Task convertToDstu3() {
+		return TaskVersionConverter.convertTask(r4Task);
+	}
+	
+	@Benchmark
+	public org.hl7.fhir.r4.model.Task convertToR4() {
+		return TaskVersionConverter.convertTask(dstu3Task);
+	}
+}
@@ -0,0 +1,406 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.openmrs.Allergen;
+import org.openmrs.AllergenType;
+import org.openmrs.Allergy;
+import org.openmrs.CareSetting;
+import org.openmrs.Concept;
+import org.openmrs.ConceptAnswer;
+import org.openmrs.ConceptClass;
+import org.openmrs.ConceptDatatype;
+import org.openmrs.ConceptName;
+import org.openmrs.ConceptNumeric;
+import org.openmrs.Encounter;
+import org.openmrs.EncounterRole;
+import org.openmrs.EncounterType;
+import org.openmrs.Location;
+import org.openmrs.Obs;
+import org.openmrs.Order;
+import org.openmrs.OrderType;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.PersonAddress;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.TestOrder;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.FhirReference;
+import org.openmrs.module.fhir2.FhirTask;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates a synthetic clinical dataset of a configurable size: patients with names, identifiers
+ * and addresses, their encounters with numeric, coded and text observations, allergies, test orders
+ * and tasks. The concepts used are created by the generator, all other metadata, e.g., the location
+ * and encounter type, is taken from what is already in the database.
+ * <p/>
+ * The data is written straight through the Hibernate session, bypassing the service layer
+ * validation, and committed in batches so it is visible to the threads driving the workload.
+ */
+@Slf4j
+public class ClinicalDataGenerator {
+	
+	private static final String[] GIVEN_NAMES = { "Amina", "John", "Wanjiru", "Pedro", "Grace", "Mohamed", "Achieng",
+	        "Maria", "Samuel", "Fatuma", "David", "Esther" };
+	
+	private static final String[] FAMILY_NAMES = { "Otieno", "Smith", "Mwangi", "Garcia", "Okafor", "Hassan", "Kamau",
+	        "Nakato", "Silva", "Mutua", "Banda", "Kariuki" };
+	
+	private static final String[] CITIES = { "Eldoret", "Kampala", "Lima", "Kigali", "Maputo", "Lilongwe" };
+	
+	private static final String[] COUNTRIES = { "Kenya", "Uganda", "Peru", "Rwanda", "Mozambique", "Malawi" };
+	
+	private static final String[] NOTES = { "Patient reports feeling well", "Follow up in two weeks",
+	        "Adherence counselling given", "Referred to nutrition clinic", "No complaints today" };
+	
+	private static final long TWO_YEARS_MILLIS = TimeUnit.DAYS.toMillis(730);
+	
+	private final SessionFactory sessionFactory;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final LoadTestSettings settings;
+	
+	private final Random random;
+	
+	private final SyntheticDataset dataset;
+	
+	private final long now = System.currentTimeMillis();
+	
+	private final String runId;
+	
+	private int sequence;
+	
+	private PatientIdentifierType identifierType;
+	
+	private Location location;
+	
+	private EncounterType encounterType;
+	
+	private EncounterRole encounterRole;
+	
+	private Provider provider;
+	
+	private CareSetting careSetting;
+	
+	private OrderType testOrderType;
+	
+	private final List<ConceptNumeric> numericConcepts = new ArrayList<>();
+	
+	private final List<Concept> codedConcepts = new ArrayList<>();
+	
+	private final List<Concept> textConcepts = new ArrayList<>();
+	
+	private final List<Concept> allergenConcepts = new ArrayList<>();
+	
+	private final List<Concept> testConcepts = new ArrayList<>();
+	
+	public ClinicalDataGenerator(SessionFactory sessionFactory, PlatformTransactionManager transactionManager,
+	    LoadTestSettings settings) {
+		this.sessionFactory = sessionFactory;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.settings = settings;
+		this.random = new Random(settings.getSeed());
+		this.dataset = new SyntheticDataset(random);
+		// identifiers and order numbers must not clash with those of an earlier run against the same database
+		this.runId = Long.toString(now, Character.MAX_RADIX).toUpperCase();
+	}
+	
+	/**
+	 * Creates the dataset described by the settings
+	 *
+	 * @return a sample of the identifiers of the created resources
+	 */
+	public SyntheticDataset generate() {
+		long start = System.nanoTime();
+		transactionTemplate.execute(status -> {
+			setupMetadata();
+			return null;
+		});
+		
+		for (int first = 0; first < settings.getPatients(); first += settings.getBatchSize()) {
+			int count = Math.min(settings.getBatchSize(), settings.getPatients() - first);
+			transactionTemplate.execute(status -> {
+				Session session = sessionFactory.getCurrentSession();
+				for (int i = 0; i < count; i++) {
+					generatePatientRecord(session);
+				}
+				
+				session.flush();
+				session.clear();
+				return null;
+			});
+			
+			log.info("Generated {} of {} patients", first + count, settings.getPatients());
+		}
+		
+		log.info("Generated {} patients, {} encounters, {} observations, {} allergies, {} orders and {} tasks in {} s",
+		    dataset.getPatientUuids().getOffered(), dataset.getEncounterUuids().getOffered(),
+		    dataset.getObservationUuids().getOffered(), dataset.getAllergyUuids().getOffered(),
+		    dataset.getServiceRequestUuids().getOffered(), dataset.getTaskUuids().getOffered(),
+		    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+		
+		return dataset;
+	}
+	
+	private void setupMetadata() {
+		identifierType = first(Context.getPatientService().getAllPatientIdentifierTypes(false));
+		location = first(Context.getLocationService().getAllLocations(false));
+		encounterType = first(Context.getEncounterService().getAllEncounterTypes(false));
+		encounterRole = first(Context.getEncounterService().getAllEncounterRoles(false));
+		provider = first(Context.getProviderService().getAllProviders(false));
+		careSetting = first(Context.getOrderService().getCareSettings(false));
+		testOrderType = Context.getOrderService().getOrderTypes(false).stream()
+		        .filter(orderType -> TestOrder.class.getName().equals(orderType.getJavaClassName())).findFirst()
+		        .orElse(null);
+		
+		if (identifierType == null || location == null || encounterType == null) {
+			throw new IllegalStateException(
+			        "The database must contain at least one identifier type, location and encounter type");
+		}
+		
+		if (provider == null || careSetting == null || testOrderType == null) {
+			log.warn("No provider, care setting or test order type found, so no orders will be generated");
+		}
+		
+		Session session = sessionFactory.getCurrentSession();
+		ConceptClass conceptClass = Context.getConceptService().getConceptClassByName("Misc");
+		if (conceptClass == null) {
+			conceptClass = first(Context.getConceptService().getAllConceptClasses(false));
+		}
+		
+		ConceptDatatype numeric = Context.getConceptService().getConceptDatatypeByName("Numeric");
+		ConceptDatatype coded = Context.getConceptService().getConceptDatatypeByName("Coded");
+		ConceptDatatype text = Context.getConceptService().getConceptDatatypeByName("Text");
+		ConceptDatatype notApplicable = Context.getConceptService().getConceptDatatypeByName("N/A");
+		
+		for (int i = 0; i < 5; i++) {
+			ConceptNumeric concept = new ConceptNumeric();
+			concept.setUnits("mmHg");
+			concept.setLowNormal(60.0);
+			concept.setHiNormal(120.0);
+			concept.setAllowDecimal(true);
+			numericConcepts.add(saveConcept(session, concept, "LOAD TEST NUMERIC " + i, numeric, conceptClass));
+		}
+		
+		for (int i = 0; i < 3; i++) {
+			Concept question = new Concept();
+			for (int j = 0; j < 4; j++) {
+				Concept answer = saveConcept(session, new Concept(), "LOAD TEST ANSWER " + i + "." + j, notApplicable,
+				    conceptClass);
+				question.addAnswer(new ConceptAnswer(answer));
+			}
+			
+			codedConcepts.add(saveConcept(session, question, "LOAD TEST CODED " + i, coded, conceptClass));
+		}
+		
+		for (int i = 0; i < 2; i++) {
+			textConcepts.add(saveConcept(session, new Concept(), "LOAD TEST TEXT " + i, text, conceptClass));
+		}
+		
+		for (int i = 0; i < 5; i++) {
+			allergenConcepts
+			        .add(saveConcept(session, new Concept(), "LOAD TEST ALLERGEN " + i, notApplicable, conceptClass));
+			testConcepts.add(saveConcept(session, new Concept(), "LOAD TEST ORDERABLE " + i, notApplicable, conceptClass));
+		}
+		
+		numericConcepts.forEach(concept -> dataset.getObservationCodes().offer(concept.getUuid()));
+		codedConcepts.forEach(concept -> dataset.getObservationCodes().offer(concept.getUuid()));
+		textConcepts.forEach(concept -> dataset.getObservationCodes().offer(concept.getUuid()));
+	}
+	
+	private <T extends Concept> T saveConcept(Session session, T concept, String name, ConceptDatatype datatype,
+	        ConceptClass conceptClass) {
+		ConceptName conceptName = new ConceptName(name + " " + runId, Locale.ENGLISH);
+		conceptName.setLocalePreferred(true);
+		concept.setFullySpecifiedName(conceptName);
+		concept.setDatatype(datatype);
+		concept.setConceptClass(conceptClass);
+		session.save(concept);
+		return concept;
+	}
+	
+	private void generatePatientRecord(Session session) {
+		// the person audit fields are usually set by the service layer, not the Hibernate interceptors
+		Patient patient = new Patient();
+		patient.setPersonCreator(Context.getAuthenticatedUser());
+		patient.setPersonDateCreated(new Date());
+		patient.setGender(random.nextBoolean() ? "M" : "F");
+		patient.setBirthdate(new Date(now - TimeUnit.DAYS.toMillis(365L + random.nextInt(365 * 90))));
+		
+		String familyName = pick(FAMILY_NAMES);
+		PersonName name = new PersonName(pick(GIVEN_NAMES), null, familyName);
+		name.setPreferred(true);
+		patient.addName(name);
+		
+		int city = random.nextInt(CITIES.length);
+		PersonAddress address = new PersonAddress();
+		address.setAddress1((1 + random.nextInt(999)) + " Main Road");
+		address.setCityVillage(CITIES[city]);
+		address.setCountry(COUNTRIES[city]);
+		address.setPostalCode(String.valueOf(10000 + random.nextInt(90000)));
+		address.setPreferred(true);
+		patient.addAddress(address);
+		
+		String identifier = runId + "-" + nextSequence();
+		PatientIdentifier patientIdentifier = new PatientIdentifier(identifier, identifierType, location);
+		patientIdentifier.setPreferred(true);
+		patient.addIdentifier(patientIdentifier);
+		
+		session.save(patient);
+		dataset.getPatientUuids().offer(patient.getUuid());
+		dataset.getPatientIdentifiers().offer(identifier);
+		dataset.getFamilyNames().offer(familyName);
+		
+		String lastOrderUuid = null;
+		for (int i = 0; i < settings.getEncountersPerPatient(); i++) {
+			Encounter encounter = new Encounter();
+			encounter.setPatient(patient);
+			encounter.setEncounterType(encounterType);
+			encounter.setLocation(location);
+			encounter.setEncounterDatetime(new Date(now - (long) (random.nextDouble() * TWO_YEARS_MILLIS)));
+			if (encounterRole != null && provider != null) {
+				encounter.addProvider(encounterRole, provider);
+			}
+			
+			session.save(encounter);
+			dataset.getEncounterUuids().offer(encounter.getUuid());
+			
+			for (int j = 0; j < settings.getObsPerEncounter(); j++) {
+				Obs obs = createObs(patient, encounter, j);
+				session.save(obs);
+				dataset.getObservationUuids().offer(obs.getUuid());
+			}
+			
+			if (provider != null && careSetting != null && testOrderType != null) {
+				for (int j = 0; j < settings.getOrdersPerEncounter(); j++) {
+					Order order = createOrder(patient, encounter);
+					session.save(order);
+					dataset.getServiceRequestUuids().offer(order.getUuid());
+					lastOrderUuid = order.getUuid();
+				}
+			}
+		}
+		
+		List<Concept> allergens = new ArrayList<>(allergenConcepts);
+		Collections.shuffle(allergens, random);
+		for (int i = 0; i < Math.min(settings.getAllergiesPerPatient(), allergens.size()); i++) {
+			Allergy allergy = new Allergy(patient, new Allergen(AllergenType.DRUG, allergens.get(i), null), null, null,
+			        new ArrayList<>());
+			session.save(allergy);
+			dataset.getAllergyUuids().offer(allergy.getUuid());
+		}
+		
+		for (int i = 0; i < settings.getTasksPerPatient(); i++) {
+			FhirTask task = new FhirTask();
+			task.setName("Load test task");
+			task.setStatus(FhirTask.TaskStatus.REQUESTED);
+			task.setIntent(FhirTask.TaskIntent.ORDER);
+			task.setForReference(reference("Patient", patient.getUuid()));
+			if (lastOrderUuid != null) {
+				// based on references are not cascaded
+				FhirReference basedOn = reference("ServiceRequest", lastOrderUuid);
+				session.save(basedOn);
+				task.setBasedOnReferences(new HashSet<>(Collections.singletonList(basedOn)));
+			}
+			
+			session.save(task);
+			dataset.getTaskUuids().offer(task.getUuid());
+		}
+	}
+	
+	private Obs createObs(Patient patient, Encounter encounter, int index) {
+		Obs obs;
+		switch (index % 3) {
+			case 0: {
+				obs = new Obs(patient, pick(numericConcepts), encounter.getEncounterDatetime(), location);
+				obs.setValueNumeric(Math.round((40.0 + random.nextDouble() * 160.0) * 10.0) / 10.0);
+				break;
+			}
+			case 1: {
+				Concept question = pick(codedConcepts);
+				obs = new Obs(patient, question, encounter.getEncounterDatetime(), location);
+				obs.setValueCoded(pick(new ArrayList<>(question.getAnswers())).getAnswerConcept());
+				break;
+			}
+			default: {
+				obs = new Obs(patient, pick(textConcepts), encounter.getEncounterDatetime(), location);
+				obs.setValueText(pick(NOTES));
+				break;
+			}
+		}
+		
+		obs.setEncounter(encounter);
+		return obs;
+	}
+	
+	private Order createOrder(Patient patient, Encounter encounter) {
+		TestOrder order = new TestOrder();
+		order.setPatient(patient);
+		order.setEncounter(encounter);
+		order.setConcept(pick(testConcepts));
+		order.setOrderer(provider);
+		order.setCareSetting(careSetting);
+		order.setOrderType(testOrderType);
+		order.setAction(Order.Action.NEW);
+		order.setDateActivated(encounter.getEncounterDatetime());
+		
+		// like the OrderService, which is bypassed here, as the order number has no setter
+		try {
+			FieldUtils.writeField(order, "orderNumber", "LT-" + runId + "-" + nextSequence(), true);
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalStateException("Could not set the order number", e);
+		}
+		
+		return order;
+	}
+	
+	private FhirReference reference(String type, String uuid) {
+		FhirReference reference = new FhirReference();
+		reference.setName(type + "/" + uuid);
+		reference.setType(type);
+		reference.setReference(uuid);
+		return reference;
+	}
+	
+	private int nextSequence() {
+		return ++sequence;
+	}
+	
+	private String pick(String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+	
+	private <T> T pick(List<T> values) {
+		return values.get(random.nextInt(values.size()));
+	}
+	
+	private static <T> T first(List<T> values) {
+		return values == null || values.isEmpty() ? null : values.get(0);
+	}
+}
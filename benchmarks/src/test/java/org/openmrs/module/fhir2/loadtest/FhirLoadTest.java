@@ -0,0 +1,166 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.loadtest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.web.servlet.FhirRestServlet;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * End-to-end load test: generates a synthetic dataset, starts the R4 FHIR servlet in-process and
+ * drives a mixed read and search workload against it, reporting the latency percentiles of each
+ * endpoint. It only runs when requested with {@code -Dfhir2.loadTest=true}, see
+ * {@link LoadTestSettings} for the other settings.
+ * <p/>
+ * By default the dataset is loaded into the in-memory H2 database used by all context sensitive
+ * tests and removed afterwards. With {@code -DuseInMemoryDatabase=false} the database configured in
+ * the OpenMRS runtime properties, e.g., a MySQL database, is used instead and the dataset is kept.
+ */
+@Slf4j
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class FhirLoadTest extends BaseModuleContextSensitiveTest {
+	
+	private static final String SERVLET_NAME = "fhir2Servlet";
+	
+	private final LoadTestSettings settings = new LoadTestSettings();
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Autowired
+	@Qualifier("transactionManager")
+	private PlatformTransactionManager transactionManager;
+	
+	@Autowired
+	private FhirRestServlet servlet;
+	
+	@BeforeClass
+	public static void checkEnabled() {
+		assumeTrue("Run with -Dfhir2.loadTest=true to run the load test", LoadTestSettings.isEnabled());
+	}
+	
+	@Override
+	public void authenticate() {
+		if (useInMemoryDatabase()) {
+			super.authenticate();
+		} else {
+			Context.authenticate(settings.getUsername(), settings.getPassword());
+		}
+	}
+	
+	@After
+	public void tearDown() {
+		servlet.destroy();
+		
+		// the generated data has been committed, so has to be removed explicitly
+		if (useInMemoryDatabase()) {
+			deleteAllData();
+		}
+	}
+	
+	/**
+	 * The data must be committed to be visible to the worker threads, so this test does not run in a
+	 * transaction
+	 */
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void shouldReportLatenciesForMixedWorkload() throws Exception {
+		SyntheticDataset dataset = new ClinicalDataGenerator(sessionFactory, transactionManager, settings).generate();
+		
+		servlet.init(new MockServletConfig(new MockServletContext(), SERVLET_NAME));
+		Map<Workload.Endpoint, LoadDriver.EndpointStatistics> statistics = new LoadDriver(servlet, SERVLET_NAME,
+		        new Workload(dataset), settings).run();
+		
+		report(statistics);
+		assertThat(statistics.isEmpty(), is(false));
+	}
+	
+	private void report(Map<Workload.Endpoint, LoadDriver.EndpointStatistics> statistics) throws IOException {
+		File reportFile = new File(settings.getReportFile());
+		if (reportFile.getParentFile() != null) {
+			reportFile.getParentFile().mkdirs();
+		}
+		
+		log.info(String.format("%-32s %8s %7s %10s %10s %10s %10s", "endpoint", "requests", "errors", "mean (ms)",
+		    "p50 (ms)", "p95 (ms)", "p99 (ms)"));
+		
+		try (PrintWriter csv = new PrintWriter(reportFile, StandardCharsets.UTF_8.name())) {
+			csv.println("endpoint,requests,errors,mean_ms,p50_ms,p95_ms,p99_ms");
+			
+			for (Workload.Endpoint endpoint : Workload.Endpoint.values()) {
+				LoadDriver.EndpointStatistics endpointStatistics = statistics.get(endpoint);
+				if (endpointStatistics == null) {
+					continue;
+				}
+				
+				long[] latencies = endpointStatistics.getSortedLatencies();
+				String mean = toMillis(Arrays.stream(latencies).average().orElse(0));
+				String p50 = toMillis(percentile(latencies, 50));
+				String p95 = toMillis(percentile(latencies, 95));
+				String p99 = toMillis(percentile(latencies, 99));
+				long errors = endpointStatistics.getErrors().sum();
+				
+				log.info(String.format("%-32s %8d %7d %10s %10s %10s %10s", endpoint.getLabel(), latencies.length, errors,
+				    mean, p50, p95, p99));
+				csv.println(String.join(",", endpoint.getLabel(), String.valueOf(latencies.length), String.valueOf(errors),
+				    mean, p50, p95, p99));
+			}
+		}
+		
+		log.info("Report written to {}", reportFile.getAbsolutePath());
+	}
+	
+	/**
+	 * Nearest-rank percentile of the recorded latencies, i.e., the smallest latency which at least the
+	 * given percentage of the requests did not exceed
+	 *
+	 * @param sortedLatencies the latencies in nanoseconds, in ascending order
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the latency at that percentile
+	 */
+	private static long percentile(long[] sortedLatencies, double percentile) {
+		if (sortedLatencies.length == 0) {
+			return 0;
+		}
+		
+		int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+		return sortedLatencies[Math.max(rank, 1) - 1];
+	}
+	
+	private static String toMillis(double nanos) {
+		return String.format("%.1f", nanos / 1e6);
+	}
+}
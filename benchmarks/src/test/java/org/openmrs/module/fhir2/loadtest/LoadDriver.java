@@ -0,0 +1,197 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.loadtest;
+
+import javax.servlet.http.HttpServlet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Drives a {@link Workload} against the FHIR servlet at a fixed rate. Requests are scheduled at
+ * fixed intervals independently of how long earlier requests took and each latency is measured from
+ * the time the request was scheduled, so time spent queued behind slow requests is part of the
+ * result rather than hidden by the load generator slowing down.
+ * <p/>
+ * Each worker thread handles requests the way the web application does: the OpenMRS session is
+ * opened for a single request and closed after it, with the user context carried between them.
+ */
+@Slf4j
+public class LoadDriver {
+	
+	private final HttpServlet servlet;
+	
+	private final String servletName;
+	
+	private final Workload workload;
+	
+	private final LoadTestSettings settings;
+	
+	private final Map<Workload.Endpoint, EndpointStatistics> statistics = new ConcurrentHashMap<>();
+	
+	public LoadDriver(HttpServlet servlet, String servletName, Workload workload, LoadTestSettings settings) {
+		this.servlet = servlet;
+		this.servletName = servletName;
+		this.workload = workload;
+		this.settings = settings;
+	}
+	
+	/**
+	 * Runs the warm up and then the measured part of the workload
+	 *
+	 * @return the statistics for each endpoint, excluding the warm up
+	 */
+	public Map<Workload.Endpoint, EndpointStatistics> run() throws Exception {
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, settings.getRequestsPerSecond());
+		long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+		long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+		long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+		AtomicLong sequence = new AtomicLong();
+		
+		log.info("Running {} requests per second on {} threads for {} s after a {} s warm up",
+		    settings.getRequestsPerSecond(), settings.getThreads(), settings.getDurationSeconds(),
+		    settings.getWarmupSeconds());
+		
+		ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int i = 0; i < settings.getThreads(); i++) {
+				Random random = new Random(settings.getSeed() + i);
+				workers.add(executor.submit(() -> {
+					runWorker(random, sequence, startNanos, intervalNanos, measureFromNanos, endNanos);
+					return null;
+				}));
+			}
+			
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		
+		return statistics;
+	}
+	
+	private void runWorker(Random random, AtomicLong sequence, long startNanos, long intervalNanos, long measureFromNanos,
+	        long endNanos) throws Exception {
+		UserContext userContext;
+		Context.openSession();
+		try {
+			Context.authenticate(settings.getUsername(), settings.getPassword());
+			userContext = Context.getUserContext();
+		}
+		finally {
+			Context.closeSession();
+		}
+		
+		while (true) {
+			long scheduledNanos = startNanos + sequence.getAndIncrement() * intervalNanos;
+			if (scheduledNanos >= endNanos) {
+				return;
+			}
+			
+			long delay = scheduledNanos - System.nanoTime();
+			if (delay > 0) {
+				LockSupport.parkNanos(delay);
+			}
+			
+			Workload.Request request = workload.next(random);
+			boolean successful = execute(request.getUri(), userContext);
+			long latency = System.nanoTime() - scheduledNanos;
+			
+			if (scheduledNanos >= measureFromNanos) {
+				statistics.computeIfAbsent(request.getEndpoint(), endpoint -> new EndpointStatistics()).record(latency,
+				    successful);
+			}
+		}
+	}
+	
+	private boolean execute(String uri, UserContext userContext) {
+		int separator = uri.indexOf('?');
+		MockHttpServletRequest request = new MockHttpServletRequest("GET",
+		        "/" + servletName + (separator < 0 ? uri : uri.substring(0, separator)));
+		if (separator >= 0) {
+			request.setQueryString(uri.substring(separator + 1));
+		}
+		
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		Context.openSession();
+		try {
+			Context.setUserContext(userContext);
+			servlet.service(request, response);
+			return response.getStatus() < 400;
+		}
+		catch (Exception e) {
+			log.debug("Request {} failed", uri, e);
+			return false;
+		}
+		finally {
+			Context.closeSession();
+		}
+	}
+	
+	/**
+	 * The latencies and error count of a single endpoint. Every latency is kept, rather than counted in
+	 * buckets, so that the reported percentiles are exact.
+	 */
+	public static class EndpointStatistics {
+		
+		private long[] latencies = new long[1024];
+		
+		private int count;
+		
+		@Getter
+		private final LongAdder errors = new LongAdder();
+		
+		void record(long latencyNanos, boolean successful) {
+			synchronized (this) {
+				if (count == latencies.length) {
+					latencies = Arrays.copyOf(latencies, count * 2);
+				}
+				
+				latencies[count++] = latencyNanos;
+			}
+			
+			if (!successful) {
+				errors.increment();
+			}
+		}
+		
+		/**
+		 * @return the recorded latencies in nanoseconds, in ascending order
+		 */
+		public synchronized long[] getSortedLatencies() {
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.loadtest;
+
+import lombok.Getter;
+
+/**
+ * The size of the synthetic dataset and the shape of the workload for {@link FhirLoadTest}. Every
+ * setting is read from a system property prefixed with {@code fhir2.loadTest.}, e.g.,
+ * {@code -Dfhir2.loadTest.patients=5000}.
+ */
+@Getter
+public class LoadTestSettings {
+	
+	private static final String PREFIX = "fhir2.loadTest.";
+	
+	private final int patients = getInt("patients", 200);
+	
+	private final int encountersPerPatient = getInt("encountersPerPatient", 5);
+	
+	private final int obsPerEncounter = getInt("obsPerEncounter", 10);
+	
+	private final int allergiesPerPatient = getInt("allergiesPerPatient", 1);
+	
+	private final int ordersPerEncounter = getInt("ordersPerEncounter", 1);
+	
+	private final int tasksPerPatient = getInt("tasksPerPatient", 1);
+	
+	private final int batchSize = getInt("batchSize", 50);
+	
+	private final int requestsPerSecond = getInt("requestsPerSecond", 50);
+	
+	private final int threads = getInt("threads", 8);
+	
+	private final int warmupSeconds = getInt("warmupSeconds", 10);
+	
+	private final int durationSeconds = getInt("durationSeconds", 60);
+	
+	private final long seed = Long.getLong(PREFIX + "seed", 42L);
+	
+	private final String reportFile = System.getProperty(PREFIX + "reportFile", "target/load-test-report.csv");
+	
+	private final String username = System.getProperty(PREFIX + "username", "admin");
+	
+	private final String password = System.getProperty(PREFIX + "password", "test");
+	
+	/**
+	 * @return true if the load test has been requested with {@code -Dfhir2.loadTest=true}
+	 */
+	public static boolean isEnabled() {
+		return Boolean.getBoolean("fhir2.loadTest");
+	}
+	
+	private static int getInt(String name, int defaultValue) {
+		return Integer.getInteger(PREFIX + name, defaultValue);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import lombok.Getter;
+
+/**
+ * The identifiers of the resources created by {@link ClinicalDataGenerator} which the workload
+ * refers to. Large datasets are not kept in full. Instead, each kind of identifier is a uniform
+ * sample of at most {@link #SAMPLE_SIZE} values.
+ */
+@Getter
+public class SyntheticDataset {
+	
+	public static final int SAMPLE_SIZE = 10_000;
+	
+	private final Sample patientUuids;
+	
+	private final Sample patientIdentifiers;
+	
+	private final Sample familyNames;
+	
+	private final Sample encounterUuids;
+	
+	private final Sample observationUuids;
+	
+	private final Sample observationCodes;
+	
+	private final Sample allergyUuids;
+	
+	private final Sample serviceRequestUuids;
+	
+	private final Sample taskUuids;
+	
+	SyntheticDataset(Random random) {
+		patientUuids = new Sample(random);
+		patientIdentifiers = new Sample(random);
+		familyNames = new Sample(random);
+		encounterUuids = new Sample(random);
+		observationUuids = new Sample(random);
+		observationCodes = new Sample(random);
+		allergyUuids = new Sample(random);
+		serviceRequestUuids = new Sample(random);
+		taskUuids = new Sample(random);
+	}
+	
+	/**
+	 * A reservoir sample of identifiers, i.e., every identifier offered has the same chance of being
+	 * kept
+	 */
+	public static class Sample {
+		
+		private final Random random;
+		
+		private final List<String> values = new ArrayList<>();
+		
+		@Getter
+		private long offered;
+		
+		private Sample(Random random) {
+			this.random = random;
+		}
+		
+		void offer(String value) {
+			offered++;
+			if (values.size() < SAMPLE_SIZE) {
+				values.add(value);
+			} else {
+				long index = (long) (random.nextDouble() * offered);
+				if (index < SAMPLE_SIZE) {
+					values.set((int) index, value);
+				}
+			}
+		}
+		
+		public boolean isEmpty() {
+			return values.isEmpty();
+		}
+		
+		public String pick(Random random) {
+			return values.get(random.nextInt(values.size()));
+		}
+		
+		public List<String> getValues() {
+			return Collections.unmodifiableList(values);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A weighted mix of reads and searches over a {@link SyntheticDataset}. The weights roughly follow
+ * what a patient-centred client does: look up a patient, then read or search their clinical data.
+ */
+public class Workload {
+	
+	@Getter
+	@AllArgsConstructor
+	public enum Endpoint {
+		
+		PATIENT_READ("GET Patient/{id}", 15) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Patient/" + dataset.getPatientUuids().pick(random);
+			}
+		},
+		PATIENT_SEARCH_BY_NAME("GET Patient?name", 8) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Patient?name=" + dataset.getFamilyNames().pick(random);
+			}
+		},
+		PATIENT_SEARCH_BY_IDENTIFIER("GET Patient?identifier", 10) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Patient?identifier=" + dataset.getPatientIdentifiers().pick(random);
+			}
+		},
+		ENCOUNTER_READ("GET Encounter/{id}", 5) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Encounter/" + dataset.getEncounterUuids().pick(random);
+			}
+		},
+		ENCOUNTER_SEARCH_BY_SUBJECT("GET Encounter?subject", 10) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Encounter?subject=" + dataset.getPatientUuids().pick(random);
+			}
+		},
+		OBSERVATION_READ("GET Observation/{id}", 10) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Observation/" + dataset.getObservationUuids().pick(random);
+			}
+		},
+		OBSERVATION_SEARCH_BY_SUBJECT("GET Observation?subject", 15) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Observation?subject=" + dataset.getPatientUuids().pick(random);
+			}
+		},
+		OBSERVATION_SEARCH_BY_SUBJECT_AND_CODE("GET Observation?subject&code", 10) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Observation?subject=" + dataset.getPatientUuids().pick(random) + "&code="
+				        + dataset.getObservationCodes().pick(random);
+			}
+		},
+		ALLERGY_SEARCH_BY_PATIENT("GET AllergyIntolerance?patient", 5) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/AllergyIntolerance?patient=" + dataset.getPatientUuids().pick(random);
+			}
+			
+			@Override
+			boolean isAvailable(SyntheticDataset dataset) {
+				return super.isAvailable(dataset) && !dataset.getAllergyUuids().isEmpty();
+			}
+		},
+		SERVICE_REQUEST_READ("GET ServiceRequest/{id}", 5) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/ServiceRequest/" + dataset.getServiceRequestUuids().pick(random);
+			}
+			
+			@Override
+			boolean isAvailable(SyntheticDataset dataset) {
+				return !dataset.getServiceRequestUuids().isEmpty();
+			}
+		},
+		TASK_READ("GET Task/{id}", 3) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Task/" + dataset.getTaskUuids().pick(random);
+			}
+			
+			@Override
+			boolean isAvailable(SyntheticDataset dataset) {
+				return !dataset.getTaskUuids().isEmpty();
+			}
+		},
+		TASK_SEARCH_BY_BASED_ON("GET Task?based-on", 2) {
+			
+			@Override
+			String uri(SyntheticDataset dataset, Random random) {
+				return "/Task?based-on=ServiceRequest/" + dataset.getServiceRequestUuids().pick(random);
+			}
+			
+			@Override
+			boolean isAvailable(SyntheticDataset dataset) {
+				return !dataset.getTaskUuids().isEmpty() && !dataset.getServiceRequestUuids().isEmpty();
+			}
+		};
+		
+		private final String label;
+		
+		private final int weight;
+		
+		/**
+		 * @return the request URI, relative to the FHIR servlet
+		 */
+		abstract String uri(SyntheticDataset dataset, Random random);
+		
+		boolean isAvailable(SyntheticDataset dataset) {
+			return !dataset.getPatientUuids().isEmpty();
+		}
+	}
+	
+	private final SyntheticDataset dataset;
+	
+	private final List<Endpoint> endpoints = new ArrayList<>();
+	
+	private final int[] cumulativeWeights;
+	
+	public Workload(SyntheticDataset dataset) {
+		this.dataset = dataset;
+		
+		for (Endpoint endpoint : Endpoint.values()) {
+			if (endpoint.isAvailable(dataset)) {
+				endpoints.add(endpoint);
+			}
+		}
+		
+		if (endpoints.isEmpty()) {
+			throw new IllegalStateException("The dataset is empty, so there is nothing to request");
+		}
+		
+		cumulativeWeights = new int[endpoints.size()];
+		int total = 0;
+		for (int i = 0; i < endpoints.size(); i++) {
+			total += endpoints.get(i).getWeight();
+			cumulativeWeights[i] = total;
+		}
+	}
+	
+	public List<Endpoint> getEndpoints() {
+		return Collections.unmodifiableList(endpoints);
+	}
+	
+	/**
+	 * @param random the source of randomness for the calling thread
+	 * @return the next request to make
+	 */
+	public Request next(Random random) {
+		int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (value < cumulativeWeights[i]) {
+				Endpoint endpoint = endpoints.get(i);
+				return new Request(endpoint, endpoint.uri(dataset, random));
+			}
+		}
+		
+		throw new IllegalStateException("Unreachable");
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	public static class Request {
+		
+		private final Endpoint endpoint;
+		
+		private final String uri;
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.openmrs.User;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and verifies signed bearer tokens. A token carries the user it was issued to and when it
+ * expires, and is signed with a key generated when this service is created, so tokens can be
+ * verified without a database lookup. As the key is not persisted, tokens do not survive a restart
+ * and are only valid on the instance that issued them.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class BearerTokenService {
+	
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	
+	private static final char SEPARATOR = '\n';
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private final byte[] key = new byte[32];
+	
+	// tokens issued to a user before this time are no longer accepted
+	private final Map<Integer, Long> revokedBefore = new ConcurrentHashMap<>();
+	
+	// the settings are read once so that verifying a token never needs the database
+	private volatile Boolean enabled;
+	
+	private volatile Integer tokenTtlSeconds;
+	
+	public BearerTokenService() {
+		new SecureRandom().nextBytes(key);
+	}
+	
+	/**
+	 * @return true if bearer tokens may be issued and used
+	 */
+	public boolean isEnabled() {
+		if (enabled == null) {
+			enabled = Boolean.parseBoolean(
+			    globalPropertyService.getGlobalProperty(FhirConstants.BEARER_TOKENS_ENABLED_PROPERTY, "false"));
+		}
+		
+		return enabled;
+	}
+	
+	/**
+	 * @return the number of seconds a newly issued token is valid for
+	 */
+	public int getTokenTtlSeconds() {
+		if (tokenTtlSeconds == null) {
+			tokenTtlSeconds = globalPropertyService.getGlobalProperty(FhirConstants.BEARER_TOKEN_TTL_PROPERTY, 3600);
+		}
+		
+		return tokenTtlSeconds;
+	}
+	
+	/**
+	 * Issues a token for the given user
+	 *
+	 * @param user the user to issue the token to
+	 * @return the signed token
+	 */
+	public String issueToken(User user) {
+		long now = System.currentTimeMillis();
+		String payload = Base64.encodeBase64URLSafeString(
+		    (user.getUserId() + SEPARATOR + user.getSystemId() + SEPARATOR + now + SEPARATOR
+		            + (now + getTokenTtlSeconds() * 1000L)).getBytes(StandardCharsets.UTF_8));
+		return payload + "." + sign(payload);
+	}
+	
+	/**
+	 * Verifies a token
+	 *
+	 * @param token the token to verify
+	 * @return the system id of the user the token was issued to or null if the token is not valid
+	 */
+	public String verifyToken(String token) {
+		if (StringUtils.isBlank(token)) {
+			return null;
+		}
+		
+		String payload = StringUtils.substringBefore(token, ".");
+		String signature = StringUtils.substringAfter(token, ".");
+		if (payload.isEmpty() || !MessageDigest.isEqual(sign(payload).getBytes(StandardCharsets.US_ASCII),
+		    signature.getBytes(StandardCharsets.US_ASCII))) {
+			return null;
+		}
+		
+		String[] claims = StringUtils.split(new String(Base64.decodeBase64(payload), StandardCharsets.UTF_8), SEPARATOR);
+		if (claims.length != 4) {
+			return null;
+		}
+		
+		int userId = NumberUtils.toInt(claims[0], -1);
+		long issuedAt = NumberUtils.toLong(claims[2], -1L);
+		long expiresAt = NumberUtils.toLong(claims[3], -1L);
+		if (expiresAt <= System.currentTimeMillis() || issuedAt < revokedBefore.getOrDefault(userId, -1L)) {
+			return null;
+		}
+		
+		return claims[1];
+	}
+	
+	/**
+	 * Revokes all tokens issued to the given user so far, e.g. because their password has changed
+	 *
+	 * @param userId the id of the user
+	 */
+	public void revokeTokens(Integer userId) {
+		if (userId != null) {
+			revokedBefore.put(userId, System.currentTimeMillis() + 1);
+		}
+	}
+	
+	private String sign(String payload) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+			return Base64.encodeBase64URLSafeString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to sign bearer token", e);
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionBindingListener;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Setter;
+import org.apache.commons.codec.binary.Base64;
+import org.openmrs.User;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A short-lived cache of Basic credentials which have already been verified, so that clients which
+ * send the same Authorization header with every request do not need to have their password checked
+ * each time. Only a keyed hash of the header is stored; the key is generated when the cache is
+ * created and never leaves this process.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class CredentialCache {
+	
+	static final int MAXIMUM_SIZE = 1000;
+	
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	
+	private static final String SESSION_ATTRIBUTE = CredentialCache.class.getName() + ".credential";
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private final byte[] key = new byte[32];
+	
+	private volatile Cache<String, CachedCredential> cache;
+	
+	private volatile boolean initialized = false;
+	
+	public CredentialCache() {
+		new SecureRandom().nextBytes(key);
+	}
+	
+	/**
+	 * @param authorization the value of the Authorization header
+	 * @return the system id of the user the header was previously verified for or null if the header
+	 *         has not been verified recently
+	 */
+	public String getSystemId(String authorization) {
+		Cache<String, CachedCredential> cache = getCache();
+		if (cache == null) {
+			return null;
+		}
+		
+		CachedCredential credential = cache.getIfPresent(digest(authorization));
+		return credential == null ? null : credential.getSystemId();
+	}
+	
+	/**
+	 * Records that the Authorization header has been verified as belonging to the given user
+	 *
+	 * @param authorization the value of the Authorization header
+	 * @param user the user the header was verified for
+	 */
+	public void put(String authorization, User user) {
+		Cache<String, CachedCredential> cache = getCache();
+		if (cache != null && user != null && user.getUserId() != null && user.getSystemId() != null) {
+			cache.put(digest(authorization), new CachedCredential(user.getUserId(), user.getSystemId()));
+		}
+	}
+	
+	/**
+	 * @param authorization the value of the Authorization header to forget
+	 */
+	public void invalidate(String authorization) {
+		invalidateDigest(digest(authorization));
+	}
+	
+	/**
+	 * Ties a verified Authorization header to the HTTP session it was used in, so that it is forgotten
+	 * once the user logs out or the session is invalidated or times out
+	 *
+	 * @param session the session the header was used in
+	 * @param authorization the value of the Authorization header
+	 */
+	public void bindToSession(HttpSession session, String authorization) {
+		if (session == null || getCache() == null) {
+			return;
+		}
+		
+		// replacing the binding unbinds the previous one, which would forget the credential again
+		SessionBinding binding = new SessionBinding(this, digest(authorization));
+		if (!binding.equals(session.getAttribute(SESSION_ATTRIBUTE))) {
+			session.setAttribute(SESSION_ATTRIBUTE, binding);
+		}
+	}
+	
+	/**
+	 * Forgets all credentials verified for the given user, e.g. because their password has changed
+	 *
+	 * @param userId the id of the user
+	 */
+	public void invalidateUser(Integer userId) {
+		Cache<String, CachedCredential> cache = getCache();
+		if (cache != null && userId != null) {
+			cache.asMap().values().removeIf(credential -> userId.equals(credential.getUserId()));
+		}
+	}
+	
+	/**
+	 * Forgets all verified credentials
+	 */
+	public void invalidateAll() {
+		Cache<String, CachedCredential> cache = getCache();
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+	
+	private Cache<String, CachedCredential> getCache() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					int ttl = globalPropertyService.getGlobalProperty(FhirConstants.CREDENTIAL_CACHE_TTL_PROPERTY, 60);
+					if (ttl > 0) {
+						cache = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(ttl, TimeUnit.SECONDS)
+						        .build();
+					}
+					
+					initialized = true;
+				}
+			}
+		}
+		
+		return cache;
+	}
+	
+	private String digest(String authorization) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+			return Base64.encodeBase64String(mac.doFinal(authorization.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to compute credential digest", e);
+		}
+	}
+	
+	private void invalidateDigest(String digest) {
+		Cache<String, CachedCredential> cache = getCache();
+		if (cache != null) {
+			cache.invalidate(digest);
+		}
+	}
+	
+	@Data
+	private static class SessionBinding implements HttpSessionBindingListener, Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		
+		// a session restored from disk no longer refers to the cache, which does not survive a restart
+		private final transient CredentialCache credentialCache;
+		
+		private final String digest;
+		
+		@Override
+		public void valueBound(HttpSessionBindingEvent event) {
+		}
+		
+		@Override
+		public void valueUnbound(HttpSessionBindingEvent event) {
+			if (credentialCache != null) {
+				credentialCache.invalidateDigest(digest);
+			}
+		}
+	}
+	
+	@Data
+	private static class CachedCredential {
+		
+		private final Integer userId;
+		
+		private final String systemId;
+	}
+}
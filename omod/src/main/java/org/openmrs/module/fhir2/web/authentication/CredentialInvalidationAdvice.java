@@ -0,0 +1,90 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.springframework.aop.AfterReturningAdvice;
+
+/**
+ * Advice on the UserService which forgets cached credentials and revokes bearer tokens once a user's
+ * password has been changed or the user is retired or purged
+ */
+@Setter(AccessLevel.PACKAGE)
+public class CredentialInvalidationAdvice implements AfterReturningAdvice {
+	
+	private CredentialCache credentialCache;
+	
+	private BearerTokenService bearerTokenService;
+	
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object target) {
+		String name = method.getName();
+		if (!name.startsWith("changePassword") && !name.equals("changeHashedPassword") && !name.equals("retireUser")
+		        && !name.equals("purgeUser")) {
+			return;
+		}
+		
+		User user = null;
+		if (args != null) {
+			for (Object arg : args) {
+				if (arg instanceof User) {
+					user = (User) arg;
+					break;
+				}
+			}
+		}
+		
+		// changePassword(String, String) changes the password of the authenticated user
+		if (user == null) {
+			user = Context.getAuthenticatedUser();
+		}
+		
+		if (user == null) {
+			return;
+		}
+		
+		CredentialCache credentialCache = getCredentialCache();
+		if (credentialCache != null) {
+			credentialCache.invalidateUser(user.getUserId());
+		}
+		
+		BearerTokenService bearerTokenService = getBearerTokenService();
+		if (bearerTokenService != null) {
+			bearerTokenService.revokeTokens(user.getUserId());
+		}
+	}
+	
+	private CredentialCache getCredentialCache() {
+		if (credentialCache == null) {
+			credentialCache = getComponent(CredentialCache.class);
+		}
+		
+		return credentialCache;
+	}
+	
+	private BearerTokenService getBearerTokenService() {
+		if (bearerTokenService == null) {
+			bearerTokenService = getComponent(BearerTokenService.class);
+		}
+		
+		return bearerTokenService;
+	}
+	
+	private static <T> T getComponent(Class<T> type) {
+		List<T> components = Context.getRegisteredComponents(type);
+		return components.isEmpty() ? null : components.get(0);
+	}
+}
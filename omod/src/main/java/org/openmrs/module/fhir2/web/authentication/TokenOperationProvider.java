@@ -0,0 +1,54 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.server.exceptions.AuthenticationException;
+import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.r4.model.IntegerType;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.StringType;
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the server-level $token operation, which exchanges the credentials the request was
+ * authenticated with for a bearer token that can be used in their place
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class TokenOperationProvider {
+	
+	@Autowired
+	private BearerTokenService bearerTokenService;
+	
+	@Operation(name = "$token", idempotent = false)
+	@SuppressWarnings("unused")
+	public Parameters issueToken() {
+		if (!bearerTokenService.isEnabled()) {
+			throw new MethodNotAllowedException("Bearer tokens are not enabled on this server");
+		}
+		
+		User user = Context.getAuthenticatedUser();
+		if (user == null) {
+			throw new AuthenticationException("Not authenticated");
+		}
+		
+		Parameters result = new Parameters();
+		result.addParameter().setName("access_token").setValue(new StringType(bearerTokenService.issueToken(user)));
+		result.addParameter().setName("token_type").setValue(new StringType("Bearer"));
+		result.addParameter().setName("expires_in").setValue(new IntegerType(bearerTokenService.getTokenTtlSeconds()));
+		return result;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.ContextAuthenticationException;
+import org.openmrs.api.context.Daemon;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.DaemonToken;
+import org.openmrs.module.fhir2.FhirActivator;
+import org.openmrs.web.WebConstants;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserContextUtils {
+	
+	private static final Object LOCK = new Object();
+	
+	private static volatile Authenticator authenticator;
+	
+	/**
+	 * Authenticates the current request as the given user without checking their password. This must
+	 * only be used once the caller has established the identity of the user some other way, e.g. from a
+	 * verified credential or a signed token.
+	 * <p/>
+	 * OpenMRS only allows a super user to assume another user's identity. The request's own user
+	 * context is switched to the user while the thread briefly acts as the daemon user, whose context
+	 * is prepared once on a daemon thread and then reused.
+	 *
+	 * @param request the current request
+	 * @param systemId the system id of the user to authenticate as
+	 * @throws ContextAuthenticationException if the user could not be loaded, e.g. because they have
+	 *             been retired
+	 */
+	public static void becomeUser(HttpServletRequest request, String systemId) throws ContextAuthenticationException {
+		UserContext daemonUserContext = getDaemonUserContext();
+		UserContext userContext = Context.getUserContext();
+		
+		try {
+			Context.setUserContext(daemonUserContext);
+			userContext.becomeUser(systemId);
+		}
+		catch (RuntimeException e) {
+			throw new ContextAuthenticationException("Unable to authenticate as " + systemId, e);
+		}
+		finally {
+			Context.setUserContext(userContext);
+		}
+		
+		if (userContext.getAuthenticatedUser() == null) {
+			throw new ContextAuthenticationException("Unable to authenticate as " + systemId);
+		}
+		
+		HttpSession session = request.getSession(false);
+		if (session != null) {
+			session.setAttribute(WebConstants.OPENMRS_USER_CONTEXT_HTTPSESSION_ATTR, userContext);
+		}
+	}
+	
+	private static UserContext getDaemonUserContext() {
+		DaemonToken daemonToken = FhirActivator.getDaemonToken();
+		if (daemonToken == null) {
+			throw new ContextAuthenticationException("The FHIR module has not been started");
+		}
+		
+		Authenticator result = authenticator;
+		if (result == null || result.getDaemonToken() != daemonToken) {
+			synchronized (LOCK) {
+				result = authenticator;
+				if (result == null || result.getDaemonToken() != daemonToken) {
+					result = new Authenticator(daemonToken, createDaemonUserContext(daemonToken));
+					authenticator = result;
+				}
+			}
+		}
+		
+		return result.getUserContext();
+	}
+	
+	private static UserContext createDaemonUserContext(DaemonToken daemonToken) {
+		UserContext userContext = new UserContext();
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		Thread thread = Daemon.runInDaemonThread(() -> {
+			try {
+				userContext.becomeUser(Context.getAuthenticatedUser().getSystemId());
+			}
+			catch (RuntimeException e) {
+				failure.set(e);
+			}
+		}, daemonToken);
+		
+		try {
+			thread.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ContextAuthenticationException("Interrupted while preparing the daemon user");
+		}
+		
+		if (failure.get() != null || userContext.getAuthenticatedUser() == null) {
+			throw new ContextAuthenticationException("Unable to prepare the daemon user", failure.get());
+		}
+		
+		return userContext;
+	}
+	
+	@Data
+	private static class Authenticator {
+		
+		private final DaemonToken daemonToken;
+		
+		private final UserContext userContext;
+	}
+}
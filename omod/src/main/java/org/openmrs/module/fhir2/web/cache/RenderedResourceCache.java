@@ -0,0 +1,222 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Setter;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A cache of encoded resources, so that a read of a resource which has not changed since it was last
+ * read can be answered without translating and encoding it again. Each resource is cached with the
+ * version it was rendered at, and a cached rendering is only returned for that version. Several
+ * renderings, e.g., JSON and XML, may be cached for the same version.
+ * <p/>
+ * A rendering may be produced while the resource, or something it refers to, is being changed. To
+ * keep such a rendering from being cached after the change has invalidated the resource, each
+ * invalidation increments a generation, and a rendering is only cached if no invalidation happened
+ * since the {@link #getGeneration() generation} read before the resource was loaded.
+ * <p/>
+ * The size of the cache is bounded by the total number of bytes cached, see
+ * {@link FhirConstants#RENDERED_RESOURCE_CACHE_SIZE_PROPERTY}.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class RenderedResourceCache {
+	
+	/**
+	 * The resource types which are cached: frequently read and rarely changed
+	 */
+	public static final Set<String> CACHED_RESOURCE_TYPES = Collections
+	        .unmodifiableSet(new HashSet<>(Arrays.asList("Patient", "Location", "Practitioner")));
+	
+	// an estimate of the memory used by an entry other than the encoded bytes
+	private static final int ENTRY_OVERHEAD = 256;
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private volatile Cache<String, CachedResource> cache;
+	
+	private volatile boolean initialized = false;
+	
+	private final AtomicLong generation = new AtomicLong();
+	
+	/**
+	 * @param resourceType the type of the resource
+	 * @param uuid the id of the resource
+	 * @param versionId the current version of the resource
+	 * @param variant identifies the rendering, e.g., the FHIR version and encoding
+	 * @return the rendering of that version of the resource or null if it has not been cached
+	 */
+	public Rendering get(String resourceType, String uuid, String versionId, String variant) {
+		Cache<String, CachedResource> cache = getCache();
+		if (cache == null || versionId == null) {
+			return null;
+		}
+		
+		CachedResource cachedResource = cache.getIfPresent(toKey(resourceType, uuid));
+		if (cachedResource == null || !versionId.equals(cachedResource.getVersionId())) {
+			return null;
+		}
+		
+		return cachedResource.getRenderings().get(variant);
+	}
+	
+	/**
+	 * @param resourceType the type of the resource
+	 * @param uuid the id of the resource
+	 * @param versionId the version of the resource that was rendered
+	 * @param variant identifies the rendering, e.g., the FHIR version and encoding
+	 * @param generation the {@link #getGeneration() generation} read before the resource was loaded
+	 * @param rendering the rendering to cache
+	 */
+	public void put(String resourceType, String uuid, String versionId, String variant, long generation,
+	        Rendering rendering) {
+		Cache<String, CachedResource> cache = getCache();
+		if (cache == null || versionId == null || !CACHED_RESOURCE_TYPES.contains(resourceType)) {
+			return;
+		}
+		
+		// entries are replaced rather than modified, so that the cache re-weighs them
+		cache.asMap().compute(toKey(resourceType, uuid), (key, existing) -> {
+			// invalidations increment the generation before removing entries, so none can be missed here
+			if (this.generation.get() != generation) {
+				return existing;
+			}
+			
+			Map<String, Rendering> renderings = new HashMap<>();
+			if (existing != null && versionId.equals(existing.getVersionId())) {
+				renderings.putAll(existing.getRenderings());
+			}
+			
+			renderings.put(variant, rendering);
+			return new CachedResource(versionId, Collections.unmodifiableMap(renderings));
+		});
+	}
+	
+	/**
+	 * Forgets all renderings of a resource
+	 *
+	 * @param resourceType the type of the resource
+	 * @param uuid the id of the resource
+	 */
+	public void invalidate(String resourceType, String uuid) {
+		// nothing can have been cached before the cache is first used
+		generation.incrementAndGet();
+		Cache<String, CachedResource> cache = this.cache;
+		if (cache != null) {
+			cache.invalidate(toKey(resourceType, uuid));
+		}
+	}
+	
+	/**
+	 * Forgets all renderings of resources of a type, e.g., because something they all refer to has
+	 * changed
+	 *
+	 * @param resourceType the type of the resources
+	 */
+	public void invalidateResourceType(String resourceType) {
+		generation.incrementAndGet();
+		Cache<String, CachedResource> cache = this.cache;
+		if (cache != null) {
+			String prefix = resourceType + "/";
+			cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+		}
+	}
+	
+	/**
+	 * Forgets all renderings
+	 */
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		Cache<String, CachedResource> cache = this.cache;
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+	
+	/**
+	 * @return the number of invalidations so far, to be passed to
+	 *         {@link #put(String, String, String, String, long, Rendering)}
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+	
+	public boolean isEnabled() {
+		return getCache() != null;
+	}
+	
+	private Cache<String, CachedResource> getCache() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					int maxSizeMb = globalPropertyService
+					        .getGlobalProperty(FhirConstants.RENDERED_RESOURCE_CACHE_SIZE_PROPERTY, 32);
+					if (maxSizeMb > 0) {
+						cache = Caffeine.newBuilder().maximumWeight(maxSizeMb * 1024L * 1024L)
+						        .weigher((String key, CachedResource value) -> value.getWeight()).build();
+					}
+					
+					initialized = true;
+				}
+			}
+		}
+		
+		return cache;
+	}
+	
+	private static String toKey(String resourceType, String uuid) {
+		return resourceType + "/" + uuid;
+	}
+	
+	/**
+	 * A resource encoded in one particular way
+	 */
+	@Data
+	public static class Rendering {
+		
+		private final String contentType;
+		
+		private final byte[] body;
+	}
+	
+	@Data
+	private static class CachedResource {
+		
+		private final String versionId;
+		
+		private final Map<String, Rendering> renderings;
+		
+		int getWeight() {
+			int weight = ENTRY_OVERHEAD;
+			for (Rendering rendering : renderings.values()) {
+				weight += ENTRY_OVERHEAD + rendering.getBody().length;
+			}
+			
+			return weight;
+		}
+	}
+}
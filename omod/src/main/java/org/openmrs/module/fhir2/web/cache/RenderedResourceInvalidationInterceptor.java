@@ -0,0 +1,175 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Transaction;
+import org.hibernate.type.Type;
+import org.openmrs.Location;
+import org.openmrs.LocationAttribute;
+import org.openmrs.LocationAttributeType;
+import org.openmrs.LocationTag;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.Person;
+import org.openmrs.PersonAddress;
+import org.openmrs.PersonAttribute;
+import org.openmrs.PersonAttributeType;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.ProviderAttribute;
+import org.openmrs.ProviderAttributeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes renderings from the {@link RenderedResourceCache} when the objects they were rendered from
+ * change, whether through this module or any other part of OpenMRS. Changes to the objects a
+ * resource is made up of, e.g., the names of a patient, do not always change the version of the
+ * resource itself, so these are tracked as well.
+ * <p/>
+ * The affected resources are worked out just before the transaction completes, while the changed
+ * objects are still attached to the session, and only removed from the cache once the transaction
+ * has completed, so that a concurrent read cannot cache the old state again in between. Reads which
+ * loaded the old state before then are not cached either, as the removal starts a new generation of
+ * the cache.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class RenderedResourceInvalidationInterceptor extends EmptyInterceptor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private static final String ALL = "*";
+	
+	// the session factory depends on all interceptors, so this must be resolved lazily
+	@Lazy
+	@Autowired
+	private transient RenderedResourceCache cache;
+	
+	private final transient ThreadLocal<Set<Object>> changedObjects = ThreadLocal
+	        .withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+	
+	private final transient ThreadLocal<Set<String>> pendingInvalidations = ThreadLocal.withInitial(HashSet::new);
+	
+	@Override
+	public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		recordChange(entity);
+		return false;
+	}
+	
+	@Override
+	public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState,
+	        String[] propertyNames, Type[] types) {
+		recordChange(entity);
+		return false;
+	}
+	
+	@Override
+	public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		recordChange(entity);
+	}
+	
+	@Override
+	public void beforeTransactionCompletion(Transaction tx) {
+		Set<Object> changed = changedObjects.get();
+		if (changed.isEmpty()) {
+			return;
+		}
+		
+		try {
+			for (Object entity : changed) {
+				resolveInvalidations(entity, pendingInvalidations.get());
+			}
+		}
+		catch (Exception e) {
+			log.warn("Unable to determine the rendered resources affected by a change, clearing the cache", e);
+			pendingInvalidations.get().add(ALL);
+		}
+		finally {
+			changed.clear();
+		}
+	}
+	
+	@Override
+	public void afterTransactionCompletion(Transaction tx) {
+		try {
+			for (String invalidation : pendingInvalidations.get()) {
+				if (ALL.equals(invalidation)) {
+					cache.invalidateAll();
+				} else if (invalidation.indexOf('/') < 0) {
+					cache.invalidateResourceType(invalidation);
+				} else {
+					String[] parts = invalidation.split("/", 2);
+					cache.invalidate(parts[0], parts[1]);
+				}
+			}
+		}
+		finally {
+			pendingInvalidations.remove();
+			changedObjects.remove();
+		}
+	}
+	
+	private void recordChange(Object entity) {
+		if (entity instanceof Person || entity instanceof PersonName || entity instanceof PersonAddress
+		        || entity instanceof PersonAttribute || entity instanceof PatientIdentifier || entity instanceof Location
+		        || entity instanceof LocationAttribute || entity instanceof Provider || entity instanceof ProviderAttribute
+		        || entity instanceof PatientIdentifierType || entity instanceof PersonAttributeType
+		        || entity instanceof LocationAttributeType || entity instanceof LocationTag
+		        || entity instanceof ProviderAttributeType) {
+			changedObjects.get().add(entity);
+		}
+	}
+	
+	/**
+	 * @param entity the changed object
+	 * @param invalidations collects the resources to remove from the cache: either type/uuid, a
+	 *            resource type to remove all resources of that type, or {@link #ALL}
+	 */
+	static void resolveInvalidations(Object entity, Set<String> invalidations) {
+		if (entity instanceof PersonName) {
+			resolveInvalidations(((PersonName) entity).getPerson(), invalidations);
+		} else if (entity instanceof PersonAddress) {
+			resolveInvalidations(((PersonAddress) entity).getPerson(), invalidations);
+		} else if (entity instanceof PersonAttribute) {
+			resolveInvalidations(((PersonAttribute) entity).getPerson(), invalidations);
+		} else if (entity instanceof PatientIdentifier) {
+			resolveInvalidations(((PatientIdentifier) entity).getPatient(), invalidations);
+		} else if (entity instanceof Person) {
+			invalidations.add("Patient/" + ((Person) entity).getUuid());
+			// practitioners are rendered from the person of the provider
+			invalidations.add("Practitioner");
+		} else if (entity instanceof Location) {
+			// locations are rendered with a reference to their parent, which includes its name
+			invalidations.add("Location");
+		} else if (entity instanceof LocationAttribute) {
+			resolveInvalidations(((LocationAttribute) entity).getLocation(), invalidations);
+		} else if (entity instanceof Provider) {
+			invalidations.add("Practitioner/" + ((Provider) entity).getUuid());
+		} else if (entity instanceof ProviderAttribute) {
+			resolveInvalidations(((ProviderAttribute) entity).getProvider(), invalidations);
+		} else if (entity != null) {
+			// metadata used when rendering, e.g., identifier types
+			invalidations.add(ALL);
+		}
+	}
+}
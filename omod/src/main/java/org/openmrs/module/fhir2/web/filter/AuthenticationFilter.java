@@ -20,13 +20,25 @@ import javax.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
+import lombok.AccessLevel;
+import lombok.Setter;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
 import org.openmrs.api.context.Context;
+import org.openmrs.api.context.ContextAuthenticationException;
+import org.openmrs.module.fhir2.web.authentication.BearerTokenService;
+import org.openmrs.module.fhir2.web.authentication.CredentialCache;
+import org.openmrs.module.fhir2.web.authentication.UserContextUtils;
 
+@Setter(AccessLevel.PACKAGE)
 public class AuthenticationFilter implements Filter {
 	
+	private CredentialCache credentialCache;
+	
+	private BearerTokenService bearerTokenService;
+	
 	@Override
 	public void init(FilterConfig filterConfig) {
 	}
@@ -42,14 +54,20 @@ public class AuthenticationFilter implements Filter {
 			}
 			
 			if (!Context.isAuthenticated()) {
-				String basicAuth = httpRequest.getHeader("Authorization");
-				if (!StringUtils.isBlank(basicAuth) && basicAuth.startsWith("Basic")) {
-					// this is "Basic ${base64encode(username + ":" + password)}"
+				String authorization = httpRequest.getHeader("Authorization");
+				if (!StringUtils.isBlank(authorization) && authorization.startsWith("Basic")) {
+					try {
+						authenticateBasic(httpRequest, authorization);
+					}
+					catch (Exception e) {
+						HttpServletResponse httpResponse = (HttpServletResponse) response;
+						httpResponse.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Not authenticated");
+						return;
+					}
+				} else if (!StringUtils.isBlank(authorization) && authorization.startsWith("Bearer ")
+				        && getBearerTokenService() != null && getBearerTokenService().isEnabled()) {
 					try {
-						basicAuth = basicAuth.substring(6); // remove the leading "Basic "
-						String decoded = new String(Base64.decodeBase64(basicAuth), StandardCharsets.UTF_8);
-						String[] userAndPass = decoded.split(":");
-						Context.authenticate(userAndPass[0], userAndPass[1]);
+						authenticateBearer(httpRequest, authorization);
 					}
 					catch (Exception e) {
 						HttpServletResponse httpResponse = (HttpServletResponse) response;
@@ -71,4 +89,63 @@ public class AuthenticationFilter implements Filter {
 	@Override
 	public void destroy() {
 	}
+	
+	private void authenticateBasic(HttpServletRequest request, String authorization) {
+		// credentials verified recently can skip the password check
+		CredentialCache credentialCache = getCredentialCache();
+		if (credentialCache != null) {
+			String systemId = credentialCache.getSystemId(authorization);
+			if (systemId != null) {
+				try {
+					UserContextUtils.becomeUser(request, systemId);
+					credentialCache.bindToSession(request.getSession(false), authorization);
+					return;
+				}
+				catch (ContextAuthenticationException e) {
+					credentialCache.invalidate(authorization);
+				}
+			}
+		}
+		
+		// this is "Basic ${base64encode(username + ":" + password)}"
+		String basicAuth = authorization.substring(6); // remove the leading "Basic "
+		String decoded = new String(Base64.decodeBase64(basicAuth), StandardCharsets.UTF_8);
+		String[] userAndPass = decoded.split(":");
+		Context.authenticate(userAndPass[0], userAndPass[1]);
+		
+		if (credentialCache != null) {
+			credentialCache.put(authorization, Context.getAuthenticatedUser());
+			credentialCache.bindToSession(request.getSession(false), authorization);
+		}
+	}
+	
+	private void authenticateBearer(HttpServletRequest request, String authorization) {
+		String systemId = getBearerTokenService().verifyToken(authorization.substring(7).trim());
+		if (systemId == null) {
+			throw new ContextAuthenticationException("Invalid bearer token");
+		}
+		
+		UserContextUtils.becomeUser(request, systemId);
+	}
+	
+	private CredentialCache getCredentialCache() {
+		if (credentialCache == null) {
+			credentialCache = getComponent(CredentialCache.class);
+		}
+		
+		return credentialCache;
+	}
+	
+	private BearerTokenService getBearerTokenService() {
+		if (bearerTokenService == null) {
+			bearerTokenService = getComponent(BearerTokenService.class);
+		}
+		
+		return bearerTokenService;
+	}
+	
+	private static <T> T getComponent(Class<T> type) {
+		List<T> components = Context.getRegisteredComponents(type);
+		return components.isEmpty() ? null : components.get(0);
+	}
 }
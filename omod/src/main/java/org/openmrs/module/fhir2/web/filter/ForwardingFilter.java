@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import lombok.extern.slf4j.Slf4j;
 import org.openmrs.module.fhir2.web.util.FhirVersionUtils;
+import org.openmrs.module.fhir2.web.websocket.WebSocketSubscriptionChannel;
 
 @Slf4j
 public class ForwardingFilter implements Filter {
@@ -37,6 +38,13 @@ public class ForwardingFilter implements Filter {
 			String requestURI = request.getRequestURI();
 			
 			String contextPath = ((HttpServletRequest) req).getContextPath();
+			
+			// the websocket endpoint for subscriptions is served by the container rather than a FHIR servlet
+			if (requestURI.equals(contextPath + WebSocketSubscriptionChannel.ENDPOINT_PATH)) {
+				chain.doFilter(req, res);
+				return;
+			}
+			
 			StringBuilder prefix = new StringBuilder(contextPath).append("/ws/fhir2/");
 			String replacement;
 			
@@ -0,0 +1,76 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
+import org.openmrs.module.fhir2.api.metrics.FhirMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how long each request takes, per resource type and interaction, and how long it takes to
+ * encode the response. The histograms are exposed by the $metrics operation.
+ */
+@Component
+@Interceptor
+public class MetricsInterceptor {
+	
+	static final String REQUEST_START_KEY = MetricsInterceptor.class.getName() + ".requestStart";
+	
+	static final String ENCODE_START_KEY = MetricsInterceptor.class.getName() + ".encodeStart";
+	
+	@Hook(Pointcut.SERVER_INCOMING_REQUEST_PRE_HANDLED)
+	public void startRequest(RequestDetails theRequestDetails, RestOperationTypeEnum theOperation) {
+		theRequestDetails.getUserData().put(REQUEST_START_KEY, System.nanoTime());
+		
+		String operation = theRequestDetails.getOperation();
+		if (operation == null || !operation.startsWith("$")) {
+			operation = theOperation == null ? null : theOperation.getCode();
+		}
+		
+		FhirMetrics.startRequest(theRequestDetails.getResourceName(), operation);
+	}
+	
+	@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+	public boolean startEncoding(RequestDetails theRequestDetails) {
+		theRequestDetails.getUserData().put(ENCODE_START_KEY, System.nanoTime());
+		return true;
+	}
+	
+	@Hook(Pointcut.SERVER_PROCESSING_COMPLETED_NORMALLY)
+	public void completeRequest(RequestDetails theRequestDetails) {
+		Object encodeStart = theRequestDetails.getUserData().get(ENCODE_START_KEY);
+		if (encodeStart instanceof Long) {
+			FhirMetrics.recordPhase(FhirMetrics.PHASE_ENCODE, (Long) encodeStart);
+		}
+		
+		endRequest(theRequestDetails, FhirMetrics.OUTCOME_SUCCESS);
+	}
+	
+	@Hook(Pointcut.SERVER_HANDLE_EXCEPTION)
+	public boolean failRequest(RequestDetails theRequestDetails, BaseServerResponseException theException) {
+		// conditional reads answered with 304 Not Modified are handled as exceptions, but are not errors
+		endRequest(theRequestDetails,
+		    theException instanceof NotModifiedException ? FhirMetrics.OUTCOME_NOT_MODIFIED : FhirMetrics.OUTCOME_ERROR);
+		return true;
+	}
+	
+	private void endRequest(RequestDetails theRequestDetails, String outcome) {
+		Object requestStart = theRequestDetails.getUserData().get(REQUEST_START_KEY);
+		if (requestStart instanceof Long) {
+			FhirMetrics.endRequest(outcome, System.nanoTime() - (Long) requestStart);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import java.util.Map;
+
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.metrics.QueryStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements run while handling each request and warns when the same statement is run
+ * repeatedly, which usually means something is being lazily loaded in a loop. When debug logging is
+ * enabled for this class the number of statements is also returned in the X-FHIR-Query-Count header.
+ */
+@Slf4j
+@Component
+@Interceptor
+@Setter(AccessLevel.PACKAGE)
+public class QueryCountInterceptor {
+	
+	public static final String QUERY_COUNT_HEADER = "X-FHIR-Query-Count";
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private volatile Integer repeatThreshold;
+	
+	@Hook(Pointcut.SERVER_INCOMING_REQUEST_PRE_HANDLED)
+	public void startCounting(RequestDetails theRequestDetails) {
+		// read before counting starts so the lookup is not counted against the first request
+		getRepeatThreshold();
+		QueryStatistics.start();
+	}
+	
+	@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+	public boolean addQueryCountHeader(RequestDetails theRequestDetails) {
+		QueryStatistics statistics = QueryStatistics.current();
+		if (statistics != null && log.isDebugEnabled() && theRequestDetails.getResponse() != null) {
+			theRequestDetails.getResponse().addHeader(QUERY_COUNT_HEADER,
+			    String.valueOf(statistics.getStatementCount()));
+		}
+		
+		return true;
+	}
+	
+	@Hook(Pointcut.SERVER_PROCESSING_COMPLETED_NORMALLY)
+	public void completeRequest(RequestDetails theRequestDetails) {
+		stopCounting(theRequestDetails);
+	}
+	
+	@Hook(Pointcut.SERVER_HANDLE_EXCEPTION)
+	public boolean failRequest(RequestDetails theRequestDetails) {
+		stopCounting(theRequestDetails);
+		return true;
+	}
+	
+	private void stopCounting(RequestDetails theRequestDetails) {
+		QueryStatistics statistics = QueryStatistics.stop();
+		if (statistics == null) {
+			return;
+		}
+		
+		for (Map.Entry<String, Integer> repeated : statistics.getRepeatedStatements(getRepeatThreshold()).entrySet()) {
+			log.warn("{} {} ran the same statement {} times, possibly an N+1 query: {}", theRequestDetails.getRequestType(),
+			    theRequestDetails.getCompleteUrl(), repeated.getValue(), repeated.getKey());
+		}
+		
+		if (log.isDebugEnabled()) {
+			log.debug("{} {} ran {} statements and loaded {} entities in {} ms", theRequestDetails.getRequestType(),
+			    theRequestDetails.getCompleteUrl(), statistics.getStatementCount(), statistics.getEntityLoadCount(),
+			    statistics.getElapsedNanos() / 1_000_000L);
+		}
+	}
+	
+	private int getRepeatThreshold() {
+		if (repeatThreshold == null) {
+			repeatThreshold = globalPropertyService.getGlobalProperty(FhirConstants.QUERY_COUNT_REPEAT_THRESHOLD_PROPERTY,
+			    10);
+		}
+		
+		return repeatThreshold;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.RequestTypeEnum;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.api.server.ResponseDetails;
+import ca.uhn.fhir.rest.server.RestfulServerUtils;
+import ca.uhn.fhir.rest.server.RestfulServerUtils.ResponseEncoding;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.openmrs.module.fhir2.api.FhirLocationService;
+import org.openmrs.module.fhir2.api.FhirPatientService;
+import org.openmrs.module.fhir2.api.FhirPractitionerService;
+import org.openmrs.module.fhir2.api.FhirService;
+import org.openmrs.module.fhir2.web.cache.RenderedResourceCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers plain reads of frequently read resources from the {@link RenderedResourceCache}. Once the
+ * resource to read is known, its current version is looked up with a single aggregate query over the
+ * resource and the rows it is built from, e.g., the names of a patient, without loading the resource.
+ * If a rendering of that version in the requested format is cached, it is written straight to the
+ * response without loading, translating or encoding the resource. Otherwise the request is handled
+ * as usual and the encoded response is cached, unless the cache was invalidated in the meantime.
+ * <p/>
+ * Only reads without parameters other than {@code _format} and {@code _pretty} are cached, as the
+ * others, e.g., {@code _summary}, change what is rendered.
+ */
+@Slf4j
+@Component
+@Interceptor
+@Setter(AccessLevel.PACKAGE)
+public class RenderedResourceCacheInterceptor {
+	
+	private static final Set<String> CACHEABLE_PARAMETERS = Collections
+	        .unmodifiableSet(new HashSet<>(Arrays.asList(Constants.PARAM_FORMAT, Constants.PARAM_PRETTY)));
+	
+	private static final String PENDING_RENDERING_KEY = RenderedResourceCacheInterceptor.class.getName() + ".pending";
+	
+	@Autowired
+	private RenderedResourceCache cache;
+	
+	@Autowired
+	private FhirPatientService patientService;
+	
+	@Autowired
+	private FhirLocationService locationService;
+	
+	@Autowired
+	private FhirPractitionerService practitionerService;
+	
+	@Hook(Pointcut.SERVER_INCOMING_REQUEST_POST_PROCESSED)
+	public boolean serveFromCache(RequestDetails theRequestDetails, HttpServletResponse theResponse) throws IOException {
+		if (!isCacheable(theRequestDetails)) {
+			return true;
+		}
+		
+		// conditional reads are answered by the ResourceVersionInterceptor
+		if (theRequestDetails.getHeader(Constants.HEADER_IF_NONE_MATCH) != null) {
+			return true;
+		}
+		
+		// read before the version, so that a change made after this point prevents caching the response
+		long generation = cache.getGeneration();
+		FhirService<?> service = getService(theRequestDetails.getResourceName());
+		String uuid = theRequestDetails.getId().getIdPart();
+		String versionId = service == null ? null : service.getVersionId(uuid);
+		if (versionId == null) {
+			return true;
+		}
+		
+		String variant = getVariant(theRequestDetails);
+		RenderedResourceCache.Rendering rendering = cache.get(theRequestDetails.getResourceName(), uuid, versionId,
+		    variant);
+		if (rendering == null) {
+			theRequestDetails.getUserData().put(PENDING_RENDERING_KEY, new PendingRendering(versionId, variant, generation));
+			return true;
+		}
+		
+		theResponse.setStatus(Constants.STATUS_HTTP_200_OK);
+		theResponse.setContentType(rendering.getContentType());
+		theResponse.setCharacterEncoding(Constants.CHARSET_NAME_UTF8);
+		theResponse.setHeader(Constants.HEADER_ETAG, "W/\"" + versionId + "\"");
+		theResponse.setContentLength(rendering.getBody().length);
+		theResponse.getOutputStream().write(rendering.getBody());
+		theResponse.getOutputStream().flush();
+		return false;
+	}
+	
+	@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+	public boolean cacheResponse(RequestDetails theRequestDetails, ResponseDetails theResponseDetails) {
+		Object pending = theRequestDetails.getUserData().remove(PENDING_RENDERING_KEY);
+		IBaseResource resource = theResponseDetails.getResponseResource();
+		if (!(pending instanceof PendingRendering) || resource == null
+		        || theResponseDetails.getResponseCode() != Constants.STATUS_HTTP_200_OK) {
+			return true;
+		}
+		
+		PendingRendering pendingRendering = (PendingRendering) pending;
+		try {
+			FhirContext fhirContext = theRequestDetails.getFhirContext();
+			IParser parser = RestfulServerUtils.getNewParser(fhirContext, fhirContext.getVersion().getVersion(),
+			    theRequestDetails);
+			parser.setServerBaseUrl(theRequestDetails.getFhirServerBase());
+			byte[] body = parser.encodeResourceToString(resource).getBytes(StandardCharsets.UTF_8);
+			
+			ResponseEncoding responseEncoding = RestfulServerUtils
+			        .determineResponseEncodingWithDefault(theRequestDetails);
+			cache.put(theRequestDetails.getResourceName(), theRequestDetails.getId().getIdPart(),
+			    pendingRendering.versionId, pendingRendering.variant, pendingRendering.generation,
+			    new RenderedResourceCache.Rendering(responseEncoding.getResourceContentType(), body));
+		}
+		catch (Exception e) {
+			log.debug("Unable to cache rendering of {}", theRequestDetails.getId(), e);
+		}
+		
+		return true;
+	}
+	
+	private boolean isCacheable(RequestDetails theRequestDetails) {
+		if (theRequestDetails.getRequestType() != RequestTypeEnum.GET
+		        || theRequestDetails.getRestOperationType() != RestOperationTypeEnum.READ
+		        || !RenderedResourceCache.CACHED_RESOURCE_TYPES.contains(theRequestDetails.getResourceName())
+		        || !cache.isEnabled()) {
+			return false;
+		}
+		
+		IIdType id = theRequestDetails.getId();
+		if (id == null || !id.hasIdPart() || id.hasVersionIdPart()) {
+			return false;
+		}
+		
+		return theRequestDetails.getParameters() == null
+		        || CACHEABLE_PARAMETERS.containsAll(theRequestDetails.getParameters().keySet());
+	}
+	
+	private FhirService<?> getService(String resourceType) {
+		switch (resourceType) {
+			case "Patient":
+				return patientService;
+			case "Location":
+				return locationService;
+			case "Practitioner":
+				return practitionerService;
+			default:
+				return null;
+		}
+	}
+	
+	private static String getVariant(RequestDetails theRequestDetails) {
+		ResponseEncoding responseEncoding = RestfulServerUtils.determineResponseEncodingWithDefault(theRequestDetails);
+		boolean pretty = RestfulServerUtils.prettyPrintResponse(theRequestDetails.getServer(), theRequestDetails);
+		return theRequestDetails.getFhirContext().getVersion().getVersion() + "|" + responseEncoding.getEncoding() + "|"
+		        + responseEncoding.getResourceContentType() + "|" + pretty;
+	}
+	
+	private static class PendingRendering {
+		
+		private final String versionId;
+		
+		private final String variant;
+		
+		private final long generation;
+		
+		private PendingRendering(String versionId, String variant, long generation) {
+			this.versionId = versionId;
+			this.variant = variant;
+			this.generation = generation;
+		}
+	}
+}
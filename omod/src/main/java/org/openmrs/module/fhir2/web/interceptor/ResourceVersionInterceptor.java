@@ -0,0 +1,130 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.api.server.ResponseDetails;
+import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.openmrs.module.fhir2.api.FhirService;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds support for version-aware reads. The version of a resource is exposed as an ETag and a
+ * read with an If-None-Match header matching the current version is answered with a 304 before the
+ * resource is loaded or translated.
+ */
+@Component
+@Interceptor
+public class ResourceVersionInterceptor {
+	
+	@Autowired
+	@Setter(AccessLevel.PUBLIC)
+	private List<FhirService<?>> fhirServices;
+	
+	private volatile Map<String, FhirService<?>> servicesByResourceType;
+	
+	@Hook(Pointcut.SERVER_INCOMING_REQUEST_PRE_HANDLED)
+	public void handleIfNoneMatch(RequestDetails theRequestDetails, RestOperationTypeEnum theOperation) {
+		if (theOperation != RestOperationTypeEnum.READ) {
+			return;
+		}
+		
+		String ifNoneMatch = parseETag(theRequestDetails.getHeader(Constants.HEADER_IF_NONE_MATCH));
+		IIdType id = theRequestDetails.getId();
+		if (ifNoneMatch == null || id == null || !id.hasIdPart() || id.hasVersionIdPart()) {
+			return;
+		}
+		
+		FhirService<?> service = getServicesByResourceType().get(theRequestDetails.getResourceName());
+		if (service == null) {
+			return;
+		}
+		
+		if (ifNoneMatch.equals(service.getVersionId(id.getIdPart()))) {
+			throw new NotModifiedException("Not Modified");
+		}
+	}
+	
+	@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+	public boolean addVersionToResponse(RequestDetails theRequestDetails, ResponseDetails theResponseDetails) {
+		if (theRequestDetails.getRestOperationType() != RestOperationTypeEnum.READ) {
+			return true;
+		}
+		
+		// HAPI derives the ETag header from the version part of the resource id
+		IBaseResource resource = theResponseDetails.getResponseResource();
+		if (resource != null && resource.getMeta() != null && !isBlank(resource.getMeta().getVersionId())
+		        && resource.getIdElement() != null && !resource.getIdElement().hasVersionIdPart()) {
+			resource.setId(resource.getIdElement().withVersion(resource.getMeta().getVersionId()));
+		}
+		
+		return true;
+	}
+	
+	private Map<String, FhirService<?>> getServicesByResourceType() {
+		if (servicesByResourceType == null) {
+			Map<String, FhirService<?>> result = new HashMap<>();
+			
+			if (fhirServices != null) {
+				for (FhirService<?> service : fhirServices) {
+					Class<?> targetClass = AopUtils.getTargetClass(service);
+					Class<?> resourceType = ResolvableType.forClass(targetClass).as(FhirService.class).resolveGeneric(0);
+					
+					if (resourceType != null && (!result.containsKey(resourceType.getSimpleName())
+					        || AnnotationUtils.findAnnotation(targetClass, Primary.class) != null)) {
+						result.put(resourceType.getSimpleName(), service);
+					}
+				}
+			}
+			
+			servicesByResourceType = Collections.unmodifiableMap(result);
+		}
+		
+		return servicesByResourceType;
+	}
+	
+	private static String parseETag(String eTag) {
+		if (isBlank(eTag)) {
+			return null;
+		}
+		
+		String result = eTag.trim();
+		if (result.startsWith("W/")) {
+			result = result.substring(2);
+		}
+		
+		if (result.length() >= 2 && result.startsWith("\"") && result.endsWith("\"")) {
+			result = result.substring(1, result.length() - 1);
+		}
+		
+		return result;
+	}
+}
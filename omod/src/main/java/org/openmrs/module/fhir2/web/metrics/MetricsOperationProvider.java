@@ -0,0 +1,40 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.metrics;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import ca.uhn.fhir.rest.annotation.Operation;
+import org.openmrs.module.fhir2.api.metrics.FhirMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the server-level $metrics operation, which returns the request and phase latency
+ * histograms in the Prometheus text exposition format
+ */
+@Component
+public class MetricsOperationProvider {
+	
+	static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	
+	@Operation(name = "$metrics", idempotent = true, manualResponse = true)
+	@SuppressWarnings("unused")
+	public void getMetrics(HttpServletResponse response) throws IOException {
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(CONTENT_TYPE);
+		
+		try (Writer writer = response.getWriter()) {
+			FhirMetrics.writePrometheus(writer);
+		}
+	}
+}
@@ -12,6 +12,7 @@ package org.openmrs.module.fhir2.web.servlet;
 import java.util.Collection;
 
 import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.FhirVersionEnum;
 import ca.uhn.fhir.narrative.CustomThymeleafNarrativeGenerator;
 import ca.uhn.fhir.rest.api.EncodingEnum;
 import ca.uhn.fhir.rest.server.FifoMemoryPagingProvider;
@@ -24,6 +25,12 @@ import lombok.Setter;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.web.authentication.TokenOperationProvider;
+import org.openmrs.module.fhir2.web.interceptor.MetricsInterceptor;
+import org.openmrs.module.fhir2.web.interceptor.QueryCountInterceptor;
+import org.openmrs.module.fhir2.web.interceptor.RenderedResourceCacheInterceptor;
+import org.openmrs.module.fhir2.web.interceptor.ResourceVersionInterceptor;
+import org.openmrs.module.fhir2.web.metrics.MetricsOperationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -42,6 +49,24 @@ public class FhirRestServlet extends RestfulServer {
 	@Qualifier("hapiLoggingInterceptor")
 	private LoggingInterceptor loggingInterceptor;
 	
+	@Autowired
+	private ResourceVersionInterceptor resourceVersionInterceptor;
+	
+	@Autowired
+	private RenderedResourceCacheInterceptor renderedResourceCacheInterceptor;
+	
+	@Autowired
+	private MetricsInterceptor metricsInterceptor;
+	
+	@Autowired
+	private QueryCountInterceptor queryCountInterceptor;
+	
+	@Autowired
+	private TokenOperationProvider tokenOperationProvider;
+	
+	@Autowired
+	private MetricsOperationProvider metricsOperationProvider;
+	
 	@Override
 	protected void initialize() {
 		// ensure properties for this class are properly injected
@@ -61,6 +86,28 @@ public class FhirRestServlet extends RestfulServer {
 		setPagingProvider(pp);
 		setDefaultResponseEncoding(EncodingEnum.JSON);
 		registerInterceptor(loggingInterceptor);
+		registerInterceptor(resourceVersionInterceptor);
+		
+		if (renderedResourceCacheInterceptor != null) {
+			registerInterceptor(renderedResourceCacheInterceptor);
+		}
+		
+		if (metricsInterceptor != null) {
+			registerInterceptor(metricsInterceptor);
+		}
+		
+		if (queryCountInterceptor != null) {
+			registerInterceptor(queryCountInterceptor);
+		}
+		
+		if (metricsOperationProvider != null) {
+			registerProvider(metricsOperationProvider);
+		}
+		
+		// the $token operation returns R4 Parameters, so is only available on the R4 endpoint
+		if (tokenOperationProvider != null && getFhirContext().getVersion().getVersion() == FhirVersionEnum.R4) {
+			registerProvider(tokenOperationProvider);
+		}
 		
 		getFhirContext().setNarrativeGenerator(new CustomThymeleafNarrativeGenerator(
 		        FhirConstants.HAPI_NARRATIVES_PROPERTY_FILE, FhirConstants.OPENMRS_NARRATIVES_PROPERTY_FILE));
@@ -0,0 +1,78 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.websocket;
+
+import javax.websocket.CloseReason;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.MessageHandler;
+import javax.websocket.Session;
+
+import java.io.IOException;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.api.context.UserContext;
+
+/**
+ * Handles the bind requests of a single websocket connection used for subscription notifications
+ */
+@Slf4j
+public class SubscriptionWebSocketEndpoint extends Endpoint {
+	
+	private static final String BIND = "bind ";
+	
+	private final WebSocketSubscriptionChannel channel;
+	
+	public SubscriptionWebSocketEndpoint(WebSocketSubscriptionChannel channel) {
+		this.channel = channel;
+	}
+	
+	@Override
+	public void onOpen(Session session, EndpointConfig config) {
+		UserContext userContext = (UserContext) config.getUserProperties()
+		        .get(WebSocketSubscriptionChannel.USER_CONTEXT_PROPERTY);
+		if (userContext == null || userContext.getAuthenticatedUser() == null) {
+			try {
+				session.close(new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Not authenticated"));
+			}
+			catch (IOException e) {
+				log.warn("Unable to close unauthenticated websocket connection", e);
+			}
+			return;
+		}
+		
+		session.addMessageHandler(new MessageHandler.Whole<String>() {
+			
+			@Override
+			public void onMessage(String message) {
+				if (message == null || !message.startsWith(BIND)) {
+					return;
+				}
+				
+				try {
+					channel.bind(message.substring(BIND.length()).trim(), session, userContext);
+				}
+				catch (IOException e) {
+					log.warn("Unable to acknowledge websocket subscription binding", e);
+				}
+			}
+		});
+	}
+	
+	@Override
+	public void onClose(Session session, CloseReason closeReason) {
+		channel.unbind(session);
+	}
+	
+	@Override
+	public void onError(Session session, Throwable thr) {
+		channel.unbind(session);
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.websocket;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpSession;
+import javax.websocket.DeploymentException;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerContainer;
+import javax.websocket.server.ServerEndpointConfig;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionChannel;
+import org.openmrs.module.fhir2.api.subscription.SubscriptionNotification;
+import org.openmrs.web.WebConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.ServletContextAware;
+
+/**
+ * Delivers subscription notifications to websocket clients. Clients connect to
+ * {@value #ENDPOINT_PATH}, send "bind [subscription id]" for each subscription they are interested
+ * in and receive "ping [subscription id]" whenever a notification for that subscription is
+ * delivered, as described in https://www.hl7.org/fhir/R4/subscription.html#2.46.7.2
+ * <p/>
+ * The handshake must belong to an authenticated OpenMRS HTTP session. Depending on the container,
+ * the upgrade happens before or after the module's filters run, so the session's user is checked by
+ * the endpoint itself. A subscription can only be bound by the user who created it or a super user.
+ */
+@Slf4j
+@Component
+public class WebSocketSubscriptionChannel implements SubscriptionChannel, ServletContextAware {
+	
+	public static final String ENDPOINT_PATH = "/ws/fhir2/subscription";
+	
+	static final String USER_CONTEXT_PROPERTY = "openmrs.userContext";
+	
+	private final Map<String, Set<Session>> sessionsBySubscription = new ConcurrentHashMap<>();
+	
+	@Autowired
+	@Setter(AccessLevel.PACKAGE)
+	private FhirSubscriptionDao subscriptionDao;
+	
+	@Override
+	public FhirSubscription.ChannelType getChannelType() {
+		return FhirSubscription.ChannelType.WEBSOCKET;
+	}
+	
+	@Override
+	public void setServletContext(ServletContext servletContext) {
+		ServerContainer serverContainer = (ServerContainer) servletContext
+		        .getAttribute("javax.websocket.server.ServerContainer");
+		if (serverContainer == null) {
+			log.warn("The servlet container does not support websockets; websocket subscriptions are unavailable");
+			return;
+		}
+		
+		try {
+			serverContainer.addEndpoint(ServerEndpointConfig.Builder
+			        .create(SubscriptionWebSocketEndpoint.class, ENDPOINT_PATH)
+			        .configurator(new ServerEndpointConfig.Configurator() {
+				
+				        @Override
+				        public void modifyHandshake(ServerEndpointConfig config, HandshakeRequest request,
+				                HandshakeResponse response) {
+					        HttpSession httpSession = (HttpSession) request.getHttpSession();
+					        if (httpSession != null) {
+						        config.getUserProperties().put(USER_CONTEXT_PROPERTY,
+						            httpSession.getAttribute(WebConstants.OPENMRS_USER_CONTEXT_HTTPSESSION_ATTR));
+					        }
+				        }
+				        
+				        @Override
+				        @SuppressWarnings("unchecked")
+				        public <T> T getEndpointInstance(Class<T> endpointClass) {
+					        return (T) new SubscriptionWebSocketEndpoint(WebSocketSubscriptionChannel.this);
+				        }
+			        }).build());
+		}
+		catch (DeploymentException | IllegalStateException e) {
+			log.warn("Unable to register the websocket endpoint for subscriptions", e);
+		}
+	}
+	
+	@Override
+	public void deliver(SubscriptionNotification notification) throws IOException {
+		Set<Session> sessions = sessionsBySubscription.get(notification.getSubscriptionId());
+		if (sessions == null) {
+			return;
+		}
+		
+		for (Session session : sessions) {
+			if (!session.isOpen()) {
+				unbind(session);
+				continue;
+			}
+			
+			send(session, "ping " + notification.getSubscriptionId());
+		}
+	}
+	
+	void bind(String subscriptionId, Session session, UserContext userContext) throws IOException {
+		if (!isAuthorized(subscriptionId, userContext)) {
+			send(session, "error " + subscriptionId);
+			return;
+		}
+		
+		sessionsBySubscription.computeIfAbsent(subscriptionId, k -> Collections.newSetFromMap(new ConcurrentHashMap<>()))
+		        .add(session);
+		send(session, "bound " + subscriptionId);
+	}
+	
+	void unbind(Session session) {
+		sessionsBySubscription.values().forEach(sessions -> sessions.remove(session));
+	}
+	
+	static boolean canBind(FhirSubscription subscription, User user) {
+		return subscription != null && subscription.getChannelType() == FhirSubscription.ChannelType.WEBSOCKET
+		        && (user.isSuperUser() || user.equals(subscription.getCreator()));
+	}
+	
+	private boolean isAuthorized(String subscriptionId, UserContext userContext) {
+		User user = userContext == null ? null : userContext.getAuthenticatedUser();
+		if (user == null) {
+			return false;
+		}
+		
+		// messages arrive on container threads, which have no OpenMRS session of their own
+		Context.openSession();
+		try {
+			Context.setUserContext(userContext);
+			return canBind(subscriptionDao.get(subscriptionId), user);
+		}
+		finally {
+			Context.clearUserContext();
+			Context.closeSession();
+		}
+	}
+	
+	private static void send(Session session, String message) throws IOException {
+		// the basic remote endpoint does not support concurrent messages
+		synchronized (session) {
+			session.getBasicRemote().sendText(message);
+		}
+	}
+}
@@ -38,6 +38,7 @@ import org.junit.Before;
 import org.openmrs.api.APIException;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.impl.FhirGlobalPropertyServiceImpl;
+import org.openmrs.module.fhir2.web.interceptor.ResourceVersionInterceptor;
 import org.openmrs.module.fhir2.web.servlet.FhirRestServlet;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -88,6 +89,7 @@ public abstract class BaseFhirResourceProviderWebTest<T extends IResourceProvide
 		servlet = getRestfulServer();
 		servlet.setFhirContext(getFhirContext());
 		servlet.setLoggingInterceptor(interceptor);
+		servlet.setResourceVersionInterceptor(new ResourceVersionInterceptor());
 		servlet.setGlobalPropertyService(new FhirGlobalPropertyServiceImpl() {
 			
 			@Override
@@ -16,6 +16,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.openmrs.module.fhir2.FhirConstants.AUT;
@@ -106,7 +107,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 	public void findPractitionersByName_shouldReturnBundleOfPractitioners() throws Exception {
 		verifyUri(String.format("/Practitioner?name=%s", NAME));
 		
-		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(), any());
+		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -119,7 +120,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 	public void findPractitionersByIdentifier_shouldReturnBundleOfPractitioners() throws Exception {
 		verifyUri(String.format("/Practitioner?identifier=%s", PRACTITIONER_IDENTIFIER));
 		
-		verify(practitionerService).searchForPractitioners(any(), tokenAndListParamArgumentCaptor.capture());
+		verify(practitionerService).searchForPractitioners(any(), tokenAndListParamArgumentCaptor.capture(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -133,7 +134,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?identifier=%s&name=%s", PRACTITIONER_IDENTIFIER, NAME));
 		
 		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(),
-		    tokenAndListParamArgumentCaptor.capture());
+		    tokenAndListParamArgumentCaptor.capture(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -217,7 +218,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 	private void verifyUri(String uri) throws Exception {
 		Practitioner practitioner = new Practitioner();
 		practitioner.setId(PRACTITIONER_UUID);
-		when(practitionerService.searchForPractitioners(any(), any()))
+		when(practitionerService.searchForPractitioners(any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(practitioner), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -195,7 +195,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 			jsonTask = IOUtils.toString(is);
 		}
 		
-		when(service.update(anyString(), any(org.hl7.fhir.r4.model.Task.class))).thenReturn(task);
+		when(service.update(anyString(), any(org.hl7.fhir.r4.model.Task.class), isNull())).thenReturn(task);
 		
 		MockHttpServletResponse response = put("/Task/" + TASK_UUID).jsonContent(jsonTask).accept(FhirMediaTypes.JSON).go();
 		
@@ -236,7 +236,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 			jsonTask = IOUtils.toString(is);
 		}
 		
-		when(service.update(eq(WRONG_TASK_UUID), any(org.hl7.fhir.r4.model.Task.class)))
+		when(service.update(eq(WRONG_TASK_UUID), any(org.hl7.fhir.r4.model.Task.class), isNull()))
 		        .thenThrow(new MethodNotAllowedException("Can't find Task"));
 		
 		MockHttpServletResponse response = put("/Task/" + WRONG_TASK_UUID).jsonContent(jsonTask).accept(FhirMediaTypes.JSON)
@@ -249,7 +249,8 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	public void searchForTasks_shouldReturnBundleWithMatchingBasedOnResourceUUID() throws Exception {
 		verifyURI(String.format("/Task?based-on:%s=%s", FhirConstants.SERVICE_REQUEST, BASED_ON_UUID));
 		
-		verify(service).searchForTasks(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(), isNull());
+		verify(service).searchForTasks(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -268,7 +269,8 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	public void searchForTasks_shouldReturnBundleWithMatchingOwnerResourceUUID() throws Exception {
 		verifyURI(String.format("/Task?owner:%s=%s", FhirConstants.PRACTITIONER, OWNER_UUID));
 		
-		verify(service).searchForTasks(isNull(), referenceAndListParamArgumentCaptor.capture(), isNull(), isNull());
+		verify(service).searchForTasks(isNull(), referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
+		    isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -287,7 +289,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	public void searchForTasks_shouldReturnBundleWithMatchingStatus() throws Exception {
 		verifyURI(String.format("/Task?status=%s", Task.TaskStatus.ACCEPTED.toString()));
 		
-		verify(service).searchForTasks(isNull(), isNull(), tokenAndListParamArgumentCaptor.capture(), isNull());
+		verify(service).searchForTasks(isNull(), isNull(), tokenAndListParamArgumentCaptor.capture(), isNull(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -302,7 +304,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 		    Task.TaskStatus.ACCEPTED.toString()));
 		
 		verify(service).searchForTasks(referenceAndListParamArgumentCaptor.capture(), isNull(),
-		    tokenAndListParamArgumentCaptor.capture(), isNull());
+		    tokenAndListParamArgumentCaptor.capture(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -326,7 +328,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	private void verifyURI(String uri) throws Exception {
 		Task condition = new Task();
 		condition.setId(TASK_UUID);
-		when(service.searchForTasks(any(), any(), any(), any()))
+		when(service.searchForTasks(any(), any(), any(), isNull(), any()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
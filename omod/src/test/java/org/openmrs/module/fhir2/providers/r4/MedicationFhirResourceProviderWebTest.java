@@ -103,7 +103,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR4ResourcePro
 		verifyUri("/Medication?code=5087AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
 		
 		verify(fhirMedicationService).searchForMedications(tokenAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		
 		List<TokenOrListParam> listParams = tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens();
 		TokenParam tokenParam = listParams.get(0).getValuesAsQueryTokens().get(0);
@@ -117,7 +117,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR4ResourcePro
 		verifyUri("/Medication?form=5087AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
 		
 		verify(fhirMedicationService).searchForMedications(isNull(), tokenAndListParamArgumentCaptor.capture(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		
 		List<TokenOrListParam> listParams = tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens();
 		TokenParam tokenParam = listParams.get(0).getValuesAsQueryTokens().get(0);
@@ -131,7 +131,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR4ResourcePro
 		verifyUri("/Medication?status=active");
 		
 		verify(fhirMedicationService).searchForMedications(isNull(), isNull(), isNull(),
-		    tokenAndListParamArgumentCaptor.capture());
+		    tokenAndListParamArgumentCaptor.capture(), isNull());
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -148,7 +148,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR4ResourcePro
 	}
 	
 	private void verifyUri(String uri) throws Exception {
-		when(fhirMedicationService.searchForMedications(any(), any(), any(), any()))
+		when(fhirMedicationService.searchForMedications(any(), any(), any(), any(), isNull()))
 		        .thenReturn(Collections.singletonList(medication));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -192,7 +192,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR4ResourcePro
 			medicationJson = IOUtils.toString(is);
 		}
 		
-		when(fhirMedicationService.update(any(String.class), any(Medication.class))).thenReturn(medication);
+		when(fhirMedicationService.update(any(String.class), any(Medication.class), isNull())).thenReturn(medication);
 		
 		MockHttpServletResponse response = put("/Medication/" + MEDICATION_UUID).jsonContent(medicationJson)
 		        .accept(FhirMediaTypes.JSON).go();
@@ -237,7 +237,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR4ResourcePro
 			medicationJson = IOUtils.toString(is);
 		}
 		
-		when(fhirMedicationService.update(eq(WRONG_MEDICATION_UUID), any(Medication.class)))
+		when(fhirMedicationService.update(eq(WRONG_MEDICATION_UUID), any(Medication.class), isNull()))
 		        .thenThrow(new MethodNotAllowedException("Medication " + WRONG_MEDICATION_UUID + " does not exist"));
 		
 		MockHttpServletResponse response = put("/Medication/" + WRONG_MEDICATION_UUID).jsonContent(medicationJson)
@@ -0,0 +1,79 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.User;
+
+public class BearerTokenServiceTest {
+	
+	private static final String SYSTEM_ID = "admin";
+	
+	private BearerTokenService bearerTokenService;
+	
+	private User user;
+	
+	@Before
+	public void setup() {
+		bearerTokenService = new BearerTokenService();
+		bearerTokenService.setTokenTtlSeconds(3600);
+		
+		user = new User(1);
+		user.setSystemId(SYSTEM_ID);
+	}
+	
+	@Test
+	public void shouldVerifyIssuedToken() {
+		String token = bearerTokenService.issueToken(user);
+		
+		assertThat(bearerTokenService.verifyToken(token), equalTo(SYSTEM_ID));
+	}
+	
+	@Test
+	public void shouldRejectTamperedToken() {
+		String token = bearerTokenService.issueToken(user);
+		String signature = token.substring(token.indexOf('.'));
+		
+		BearerTokenService otherBearerTokenService = new BearerTokenService();
+		otherBearerTokenService.setTokenTtlSeconds(3600);
+		String forged = otherBearerTokenService.issueToken(user);
+		
+		
+		assertThat(bearerTokenService.verifyToken(forged.substring(0, forged.indexOf('.')) + signature), nullValue());
+		assertThat(bearerTokenService.verifyToken(forged), nullValue());
+	}
+	
+	@Test
+	public void shouldRejectExpiredToken() {
+		bearerTokenService.setTokenTtlSeconds(0);
+		
+		assertThat(bearerTokenService.verifyToken(bearerTokenService.issueToken(user)), nullValue());
+	}
+	
+	@Test
+	public void shouldRejectRevokedToken() {
+		String token = bearerTokenService.issueToken(user);
+		
+		bearerTokenService.revokeTokens(1);
+		
+		assertThat(bearerTokenService.verifyToken(token), nullValue());
+	}
+	
+	@Test
+	public void shouldRejectMalformedToken() {
+		assertThat(bearerTokenService.verifyToken("not-a-token"), nullValue());
+		assertThat(bearerTokenService.verifyToken(""), nullValue());
+	}
+}
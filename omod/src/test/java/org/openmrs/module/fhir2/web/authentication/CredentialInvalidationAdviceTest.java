@@ -0,0 +1,70 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.authentication;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.User;
+import org.openmrs.api.UserService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CredentialInvalidationAdviceTest {
+	
+	@Mock
+	private CredentialCache credentialCache;
+	
+	@Mock
+	private BearerTokenService bearerTokenService;
+	
+	private CredentialInvalidationAdvice advice;
+	
+	private User user;
+	
+	@Before
+	public void setup() {
+		advice = new CredentialInvalidationAdvice();
+		advice.setCredentialCache(credentialCache);
+		advice.setBearerTokenService(bearerTokenService);
+		
+		user = new User(1);
+	}
+	
+	@Test
+	public void shouldInvalidateCredentialsWhenPasswordIsChanged() throws Exception {
+		advice.afterReturning(null, UserService.class.getMethod("changePassword", User.class, String.class),
+		    new Object[] { user, "Admin123" }, null);
+		
+		verify(credentialCache).invalidateUser(1);
+		verify(bearerTokenService).revokeTokens(1);
+	}
+	
+	@Test
+	public void shouldInvalidateCredentialsWhenUserIsRetired() throws Exception {
+		advice.afterReturning(user, UserService.class.getMethod("retireUser", User.class, String.class),
+		    new Object[] { user, "left" }, null);
+		
+		verify(credentialCache).invalidateUser(1);
+	}
+	
+	@Test
+	public void shouldIgnoreOtherMethods() throws Exception {
+		advice.afterReturning(user, UserService.class.getMethod("getUser", Integer.class), new Object[] { 1 }, null);
+		
+		verify(credentialCache, never()).invalidateUser(any());
+		verify(bearerTokenService, never()).revokeTokens(any());
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RenderedResourceCacheTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String LOCATION_UUID = "c0938432-1691-11df-97a5-7038c432aabf";
+	
+	private static final String VERSION_ID = "1346457600000";
+	
+	private static final String JSON_VARIANT = "R4|JSON|application/fhir+json|false";
+	
+	private static final String XML_VARIANT = "R4|XML|application/fhir+xml|false";
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private RenderedResourceCache cache;
+	
+	private RenderedResourceCache.Rendering jsonRendering;
+	
+	private RenderedResourceCache.Rendering xmlRendering;
+	
+	@Before
+	public void setup() {
+		cache = new RenderedResourceCache();
+		cache.setGlobalPropertyService(globalPropertyService);
+		
+		jsonRendering = new RenderedResourceCache.Rendering("application/fhir+json",
+		        "{\"resourceType\":\"Patient\"}".getBytes(StandardCharsets.UTF_8));
+		xmlRendering = new RenderedResourceCache.Rendering("application/fhir+xml",
+		        "<Patient xmlns=\"http://hl7.org/fhir\"/>".getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void get_shouldReturnRenderingOfCachedVersion() {
+		enableCache();
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), sameInstance(jsonRendering));
+	}
+	
+	@Test
+	public void get_shouldNotReturnRenderingOfOtherVersion() {
+		enableCache();
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, "1346457600001", JSON_VARIANT), nullValue());
+	}
+	
+	@Test
+	public void put_shouldKeepRenderingsOfSameVersion() {
+		enableCache();
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, XML_VARIANT, cache.getGeneration(), xmlRendering);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), sameInstance(jsonRendering));
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, XML_VARIANT), sameInstance(xmlRendering));
+	}
+	
+	@Test
+	public void put_shouldDiscardRenderingsOfOlderVersion() {
+		enableCache();
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		cache.put("Patient", PATIENT_UUID, "1346457600001", XML_VARIANT, cache.getGeneration(), xmlRendering);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+		assertThat(cache.get("Patient", PATIENT_UUID, "1346457600001", JSON_VARIANT), nullValue());
+	}
+	
+	@Test
+	public void put_shouldIgnoreResourceTypesWhichAreNotCached() {
+		enableCache();
+		cache.put("Observation", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		
+		assertThat(cache.get("Observation", PATIENT_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+	}
+	
+	@Test
+	public void invalidate_shouldForgetAllRenderingsOfResource() {
+		enableCache();
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		cache.put("Location", LOCATION_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		
+		cache.invalidate("Patient", PATIENT_UUID);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+		assertThat(cache.get("Location", LOCATION_UUID, VERSION_ID, JSON_VARIANT), sameInstance(jsonRendering));
+	}
+	
+	@Test
+	public void invalidateResourceType_shouldOnlyForgetRenderingsOfThatType() {
+		enableCache();
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		cache.put("Location", LOCATION_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		
+		cache.invalidateResourceType("Location");
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), sameInstance(jsonRendering));
+		assertThat(cache.get("Location", LOCATION_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+	}
+	
+	@Test
+	public void put_shouldDropRenderingStartedBeforeInvalidation() {
+		enableCache();
+		long generation = cache.getGeneration();
+		
+		cache.invalidate("Patient", PATIENT_UUID);
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, generation, jsonRendering);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+	}
+	
+	@Test
+	public void put_shouldDropRenderingStartedBeforeInvalidationOfResourceType() {
+		enableCache();
+		long generation = cache.getGeneration();
+		
+		cache.invalidateResourceType("Patient");
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, generation, jsonRendering);
+		
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+	}
+	
+	@Test
+	public void isEnabled_shouldBeFalseWhenSizeIsZero() {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.RENDERED_RESOURCE_CACHE_SIZE_PROPERTY, 32))
+		        .thenReturn(0);
+		
+		assertThat(cache.isEnabled(), is(false));
+		
+		cache.put("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT, cache.getGeneration(), jsonRendering);
+		assertThat(cache.get("Patient", PATIENT_UUID, VERSION_ID, JSON_VARIANT), nullValue());
+	}
+	
+	private void enableCache() {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.RENDERED_RESOURCE_CACHE_SIZE_PROPERTY, 32))
+		        .thenReturn(32);
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.openmrs.Location;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+
+public class RenderedResourceInvalidationInterceptorTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String PROVIDER_UUID = "f9badd80-ab76-11e2-9e96-0800200c9a66";
+	
+	@Test
+	public void resolveInvalidations_shouldInvalidatePatientAndPractitionersWhenNameChanges() {
+		Patient patient = new Patient();
+		patient.setUuid(PATIENT_UUID);
+		PersonName name = new PersonName("Jeannette", null, "Ricky");
+		patient.addName(name);
+		
+		Set<String> invalidations = new HashSet<>();
+		RenderedResourceInvalidationInterceptor.resolveInvalidations(name, invalidations);
+		
+		assertThat(invalidations, containsInAnyOrder("Patient/" + PATIENT_UUID, "Practitioner"));
+	}
+	
+	@Test
+	public void resolveInvalidations_shouldInvalidatePatientWhenIdentifierChanges() {
+		Patient patient = new Patient();
+		patient.setUuid(PATIENT_UUID);
+		PatientIdentifier identifier = new PatientIdentifier();
+		patient.addIdentifier(identifier);
+		
+		Set<String> invalidations = new HashSet<>();
+		RenderedResourceInvalidationInterceptor.resolveInvalidations(identifier, invalidations);
+		
+		assertThat(invalidations, containsInAnyOrder("Patient/" + PATIENT_UUID, "Practitioner"));
+	}
+	
+	@Test
+	public void resolveInvalidations_shouldInvalidateOnlyChangedPractitioner() {
+		Provider provider = new Provider();
+		provider.setUuid(PROVIDER_UUID);
+		
+		Set<String> invalidations = new HashSet<>();
+		RenderedResourceInvalidationInterceptor.resolveInvalidations(provider, invalidations);
+		
+		assertThat(invalidations, containsInAnyOrder("Practitioner/" + PROVIDER_UUID));
+	}
+	
+	@Test
+	public void resolveInvalidations_shouldInvalidateAllLocationsWhenLocationChanges() {
+		Set<String> invalidations = new HashSet<>();
+		RenderedResourceInvalidationInterceptor.resolveInvalidations(new Location(), invalidations);
+		
+		assertThat(invalidations, containsInAnyOrder("Location"));
+	}
+	
+	@Test
+	public void resolveInvalidations_shouldInvalidateEverythingWhenMetadataChanges() {
+		Set<String> invalidations = new HashSet<>();
+		RenderedResourceInvalidationInterceptor.resolveInvalidations(new PatientIdentifierType(), invalidations);
+		
+		assertThat(invalidations, containsInAnyOrder("*"));
+	}
+}
@@ -12,6 +12,8 @@ package org.openmrs.module.fhir2.web.filter;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -56,6 +58,23 @@ public class ForwardingFilterTest {
 		assertThat(response.getForwardedUrl(), equalTo("/ms/fhir2R3Servlet/Person"));
 	}
 	
+	@Test
+	public void shouldPassSubscriptionWebSocketRequestsToChain() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setMethod("GET");
+		request.setContextPath("/openmrs");
+		request.setRequestURI("/openmrs/ws/fhir2/subscription");
+		
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		
+		filter.doFilter(request, response, chain);
+		
+		assertThat(response.getForwardedUrl(), nullValue());
+		assertThat(response.getStatus(), equalTo(200));
+		assertThat(chain.getRequest(), sameInstance(request));
+	}
+	
 	@Test
 	public void shouldReturn404WhenUsedWithoutVersion() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest();
@@ -0,0 +1,92 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.filter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.fhir2.web.websocket.WebSocketSubscriptionChannel;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Runs a websocket handshake for subscriptions through the module's filters in the order they are
+ * declared in config.xml, ending in a servlet which stands in for the container's upgrade handling
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionWebSocketFilterChainTest {
+	
+	@Mock
+	private UserContext userContext;
+	
+	private MockHttpServletRequest request;
+	
+	private MockHttpServletResponse response;
+	
+	private MockFilterChain chain;
+	
+	@Before
+	public void setup() {
+		Context.setUserContext(userContext);
+		
+		request = new MockHttpServletRequest();
+		request.setMethod("GET");
+		request.setContextPath("/openmrs");
+		request.setRequestURI("/openmrs" + WebSocketSubscriptionChannel.ENDPOINT_PATH);
+		request.addHeader("Connection", "Upgrade");
+		request.addHeader("Upgrade", "websocket");
+		
+		response = new MockHttpServletResponse();
+		
+		chain = new MockFilterChain(new HttpServlet() {
+			
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse res) {
+				res.setStatus(HttpServletResponse.SC_SWITCHING_PROTOCOLS);
+			}
+		}, new AuthenticationFilter(), new ForwardingFilter());
+	}
+	
+	@After
+	public void tearDown() {
+		Context.clearUserContext();
+	}
+	
+	@Test
+	public void shouldReachWebSocketEndpointWhenAuthenticated() throws Exception {
+		when(userContext.getAuthenticatedUser()).thenReturn(new User());
+		
+		chain.doFilter(request, response);
+		
+		assertThat(response.getStatus(), equalTo(HttpServletResponse.SC_SWITCHING_PROTOCOLS));
+	}
+	
+	@Test
+	public void shouldRejectWebSocketHandshakeWhenNotAuthenticated() throws Exception {
+		chain.doFilter(request, response);
+		
+		assertThat(response.getStatus(), equalTo(HttpServletResponse.SC_UNAUTHORIZED));
+	}
+}
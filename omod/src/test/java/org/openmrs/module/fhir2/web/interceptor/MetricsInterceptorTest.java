@@ -0,0 +1,101 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.api.metrics.FhirMetrics;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MetricsInterceptorTest {
+	
+	@Mock
+	private RequestDetails requestDetails;
+	
+	private final Map<Object, Object> userData = new HashMap<>();
+	
+	private MetricsInterceptor interceptor;
+	
+	@Before
+	public void setup() {
+		FhirMetrics.reset();
+		interceptor = new MetricsInterceptor();
+		when(requestDetails.getUserData()).thenReturn(userData);
+	}
+	
+	@After
+	public void tearDown() {
+		FhirMetrics.reset();
+	}
+	
+	@Test
+	public void shouldRecordSuccessfulRequestAndEncoding() throws Exception {
+		when(requestDetails.getResourceName()).thenReturn("Patient");
+		
+		interceptor.startRequest(requestDetails, RestOperationTypeEnum.SEARCH_TYPE);
+		interceptor.startEncoding(requestDetails);
+		interceptor.completeRequest(requestDetails);
+		
+		String metrics = writeMetrics();
+		assertThat(metrics,
+		    containsString("fhir2_request_duration_seconds_count{resource=\"Patient\",operation=\"search-type\","
+		            + "outcome=\"success\"} 1"));
+		assertThat(metrics, containsString(
+		    "fhir2_phase_duration_seconds_count{resource=\"Patient\",operation=\"search-type\",phase=\"encode\"} 1"));
+	}
+	
+	@Test
+	public void shouldRecordFailedRequest() throws Exception {
+		when(requestDetails.getResourceName()).thenReturn("Task");
+		when(requestDetails.getOperation()).thenReturn("$claim");
+		
+		interceptor.startRequest(requestDetails, RestOperationTypeEnum.EXTENDED_OPERATION_TYPE);
+		interceptor.failRequest(requestDetails, new ResourceNotFoundException("Not found"));
+		
+		assertThat(writeMetrics(), containsString(
+		    "fhir2_request_duration_seconds_count{resource=\"Task\",operation=\"$claim\",outcome=\"error\"} 1"));
+	}
+	
+	@Test
+	public void shouldNotRecordNotModifiedResponseAsError() throws Exception {
+		when(requestDetails.getResourceName()).thenReturn("Patient");
+		
+		interceptor.startRequest(requestDetails, RestOperationTypeEnum.READ);
+		interceptor.failRequest(requestDetails, new NotModifiedException("Not Modified"));
+		
+		String metrics = writeMetrics();
+		assertThat(metrics, containsString(
+		    "fhir2_request_duration_seconds_count{resource=\"Patient\",operation=\"read\",outcome=\"not_modified\"} 1"));
+		assertThat(metrics, not(containsString("outcome=\"error\"")));
+	}
+	
+	private String writeMetrics() throws Exception {
+		StringWriter writer = new StringWriter();
+		FhirMetrics.writePrometheus(writer);
+		return writer.toString();
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.when;
+
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.metrics.QueryStatistics;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryCountInterceptorTest {
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Mock
+	private RequestDetails requestDetails;
+	
+	private QueryCountInterceptor interceptor;
+	
+	@Before
+	public void setup() {
+		interceptor = new QueryCountInterceptor();
+		interceptor.setGlobalPropertyService(globalPropertyService);
+		when(globalPropertyService.getGlobalProperty(FhirConstants.QUERY_COUNT_REPEAT_THRESHOLD_PROPERTY, 10))
+		        .thenReturn(10);
+	}
+	
+	@After
+	public void tearDown() {
+		QueryStatistics.stop();
+	}
+	
+	@Test
+	public void shouldCountStatementsForTheDurationOfTheRequest() {
+		interceptor.startCounting(requestDetails);
+		
+		assertThat(QueryStatistics.current(), notNullValue());
+		
+		interceptor.completeRequest(requestDetails);
+		
+		assertThat(QueryStatistics.current(), nullValue());
+	}
+	
+	@Test
+	public void shouldStopCountingWhenRequestFails() {
+		interceptor.startCounting(requestDetails);
+		QueryStatistics.current().recordStatement("select * from person_name where person_id=?");
+		
+		interceptor.failRequest(requestDetails);
+		
+		assertThat(QueryStatistics.current(), nullValue());
+	}
+}
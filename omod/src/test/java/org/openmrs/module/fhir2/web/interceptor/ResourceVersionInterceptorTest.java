@@ -0,0 +1,110 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.interceptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.api.server.ResponseDetails;
+import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.api.FhirTaskService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResourceVersionInterceptorTest {
+	
+	private static final String TASK_UUID = "d899333c-5bd4-45cc-b1e7-2f9542dbcbf6";
+	
+	private static final String VERSION_ID = "1346457600000";
+	
+	@Mock
+	private FhirTaskService taskService;
+	
+	@Mock
+	private RequestDetails requestDetails;
+	
+	private ResourceVersionInterceptor interceptor;
+	
+	@Before
+	public void setup() {
+		interceptor = new ResourceVersionInterceptor();
+		interceptor.setFhirServices(Collections.singletonList(taskService));
+	}
+	
+	@Test(expected = NotModifiedException.class)
+	public void handleIfNoneMatch_shouldThrowNotModifiedWhenVersionMatches() {
+		when(requestDetails.getHeader(Constants.HEADER_IF_NONE_MATCH)).thenReturn("W/\"" + VERSION_ID + "\"");
+		when(requestDetails.getId()).thenReturn(new IdType("Task", TASK_UUID));
+		when(requestDetails.getResourceName()).thenReturn("Task");
+		when(taskService.getVersionId(TASK_UUID)).thenReturn(VERSION_ID);
+		
+		interceptor.handleIfNoneMatch(requestDetails, RestOperationTypeEnum.READ);
+	}
+	
+	@Test
+	public void handleIfNoneMatch_shouldContinueWhenVersionDiffers() {
+		when(requestDetails.getHeader(Constants.HEADER_IF_NONE_MATCH)).thenReturn("W/\"1\"");
+		when(requestDetails.getId()).thenReturn(new IdType("Task", TASK_UUID));
+		when(requestDetails.getResourceName()).thenReturn("Task");
+		when(taskService.getVersionId(TASK_UUID)).thenReturn(VERSION_ID);
+		
+		interceptor.handleIfNoneMatch(requestDetails, RestOperationTypeEnum.READ);
+	}
+	
+	@Test
+	public void handleIfNoneMatch_shouldNotLookUpVersionWithoutHeader() {
+		interceptor.handleIfNoneMatch(requestDetails, RestOperationTypeEnum.READ);
+		
+		verify(taskService, never()).getVersionId(TASK_UUID);
+	}
+	
+	@Test
+	public void addVersionToResponse_shouldAddVersionToResourceId() {
+		Task task = new Task();
+		task.setId(TASK_UUID);
+		task.getMeta().setVersionId(VERSION_ID);
+		
+		ResponseDetails responseDetails = new ResponseDetails(task);
+		when(requestDetails.getRestOperationType()).thenReturn(RestOperationTypeEnum.READ);
+		
+		interceptor.addVersionToResponse(requestDetails, responseDetails);
+		
+		assertThat(task.getIdElement().getIdPart(), equalTo(TASK_UUID));
+		assertThat(task.getIdElement().getVersionIdPart(), equalTo(VERSION_ID));
+	}
+	
+	@Test
+	public void addVersionToResponse_shouldIgnoreResourcesWithoutVersion() {
+		Task task = new Task();
+		task.setId(TASK_UUID);
+		
+		ResponseDetails responseDetails = new ResponseDetails(task);
+		when(requestDetails.getRestOperationType()).thenReturn(RestOperationTypeEnum.READ);
+		
+		interceptor.addVersionToResponse(requestDetails, responseDetails);
+		
+		assertThat(task.getIdElement().getVersionIdPart(), nullValue());
+	}
+}
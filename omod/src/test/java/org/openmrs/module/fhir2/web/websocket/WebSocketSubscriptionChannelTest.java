@@ -0,0 +1,66 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.websocket;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Role;
+import org.openmrs.User;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.util.RoleConstants;
+
+public class WebSocketSubscriptionChannelTest {
+	
+	private User creator;
+	
+	private FhirSubscription subscription;
+	
+	@Before
+	public void setup() {
+		creator = new User(1);
+		
+		subscription = new FhirSubscription();
+		subscription.setChannelType(FhirSubscription.ChannelType.WEBSOCKET);
+		subscription.setCreator(creator);
+	}
+	
+	@Test
+	public void canBind_shouldAllowCreatorOfSubscription() {
+		assertThat(WebSocketSubscriptionChannel.canBind(subscription, creator), is(true));
+	}
+	
+	@Test
+	public void canBind_shouldAllowSuperUser() {
+		User superUser = new User(2);
+		superUser.addRole(new Role(RoleConstants.SUPERUSER));
+		
+		assertThat(WebSocketSubscriptionChannel.canBind(subscription, superUser), is(true));
+	}
+	
+	@Test
+	public void canBind_shouldNotAllowOtherUsers() {
+		assertThat(WebSocketSubscriptionChannel.canBind(subscription, new User(2)), is(false));
+	}
+	
+	@Test
+	public void canBind_shouldNotAllowUnknownSubscription() {
+		assertThat(WebSocketSubscriptionChannel.canBind(null, creator), is(false));
+	}
+	
+	@Test
+	public void canBind_shouldNotAllowSubscriptionsForOtherChannels() {
+		subscription.setChannelType(FhirSubscription.ChannelType.REST_HOOK);
+		
+		assertThat(WebSocketSubscriptionChannel.canBind(subscription, creator), is(false));
+	}
+}